@@ -0,0 +1,105 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * カタログバージョンプローブの統合テストクラス
+ *
+ * <p>Flywayのマイグレーションを適用したPostgreSQLで、アウトボックスから求めるバージョンが変更を取りこぼさず、
+ * カタログへの書き込みを直列化しないことを検証する。 Dockerが使えない環境ではスキップする。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CatalogVersionProbeIntegrationTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+  private static HikariDataSource dataSource;
+  private static JdbcTemplate jdbcTemplate;
+  private static CatalogVersionProbe probe;
+
+  @BeforeAll
+  static void setUp() {
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(POSTGRES.getJdbcUrl());
+    dataSource.setUsername(POSTGRES.getUsername());
+    dataSource.setPassword(POSTGRES.getPassword());
+    Flyway.configure().dataSource(dataSource).load().migrate();
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    probe = new CatalogVersionProbe(jdbcTemplate);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    dataSource.close();
+  }
+
+  @Test
+  @DisplayName("商品を登録するとバージョンが進み、対象が0行の更新ではバージョンが変わらない")
+  void currentVersion_advancesOnlyWhenRowsChange() {
+    long before = probe.currentVersion();
+
+    insertProduct("iPhone 15");
+    long afterInsert = probe.currentVersion();
+    jdbcTemplate.update("UPDATE products SET price = price WHERE id = -1");
+
+    assertThat(afterInsert).isGreaterThan(before);
+    assertThat(probe.currentVersion()).isEqualTo(afterInsert);
+  }
+
+  @Test
+  @DisplayName("先に開始したトランザクションのコミットが遅れても、終了までバージョンを進めず、終了後に進める")
+  void currentVersion_waitsForEarlierTransaction() throws Exception {
+    long firstId = insertProduct("iPhone 15 Pro");
+    long secondId = insertProduct("iPhone SE");
+    long before = probe.currentVersion();
+
+    try (Connection earlier = dataSource.getConnection();
+        Connection later = dataSource.getConnection()) {
+      earlier.setAutoCommit(false);
+      later.setAutoCommit(false);
+      try (Statement statement = earlier.createStatement()) {
+        statement.executeUpdate("UPDATE products SET price = price + 1 WHERE id = " + firstId);
+      }
+      try (Statement statement = later.createStatement()) {
+        // 書き込みを直列化する行ロックがないため、別の行の更新は先のトランザクションを待たずに完了する
+        statement.execute("SET LOCAL lock_timeout = '1s'");
+        statement.executeUpdate("UPDATE products SET price = price + 1 WHERE id = " + secondId);
+      }
+      later.commit();
+
+      assertThat(probe.currentVersion()).isEqualTo(before);
+
+      earlier.commit();
+    }
+
+    assertThat(probe.currentVersion()).isGreaterThan(before);
+  }
+
+  /**
+   * 商品を登録する
+   *
+   * @param name 商品名
+   * @return 商品ID
+   */
+  private static long insertProduct(String name) {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO products (name, description, price, category_code)"
+            + " VALUES (?, '説明', 100000, 'iphone') RETURNING id",
+        Long.class,
+        name);
+  }
+}
@@ -0,0 +1,233 @@
+package com.example.ec.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.dto.CategoryDetailRequest;
+import com.example.ec.dto.LoginRequest;
+import com.example.ec.exception.AuthenticationException;
+import com.example.ec.service.AuthService;
+import com.example.ec.service.ProductCategoryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * ログイン集中時のカタログ読み取りの負荷テストクラス
+ *
+ * <p>ワークロード別のコネクションプールを有効にしたアプリケーションコンテキストで、{@link AuthService}のログインを認証用のプールの倍のスレッドから
+ * 繰り返し（接続を保持したままBCryptで照合する）、その最中に{@link ProductCategoryService}のカテゴリ詳細のp99を測る。
+ * プールの構成（{@code ConnectionPoolConfig}）・{@link WorkloadAspect}・{@link Workload}によるワークロードの決定を通した結果が、
+ * ログインの集中がない場合のp99から一定の範囲に収まることを検証する。 測定結果はログに出力する。
+ * 検索結果キャッシュは無効にし、カテゴリ詳細は毎回DBを検索する。 Dockerが使えない環境ではスキップする。
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+      "connection-pools.enabled=true",
+      "connection-pools.auth.maximum-pool-size=" + LoginStormIntegrationTest.AUTH_POOL_SIZE,
+      "connection-pools.auth.connection-timeout=30000",
+      "connection-pools.catalog.maximum-pool-size=2",
+      "catalog.search-cache.enabled=false"
+    })
+@Testcontainers(disabledWithoutDocker = true)
+class LoginStormIntegrationTest {
+
+  static final int AUTH_POOL_SIZE = 2;
+
+  private static final Logger log = LoggerFactory.getLogger(LoginStormIntegrationTest.class);
+  private static final int STORM_THREADS = AUTH_POOL_SIZE * 2;
+  private static final int WARMUP_REQUESTS = 50;
+  private static final int CATALOG_REQUESTS = 200;
+  private static final int PRODUCTS = 20;
+  private static final String EMAIL = "storm@example.com";
+  private static final String PASSWORD = "password123";
+
+  /** ログインの集中中のp99に許すベースラインのp99の倍率（BCryptのスレッドとのCPUの競合分） */
+  private static final int MAX_SLOWDOWN = 2;
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+  @Autowired private AuthService authService;
+
+  @Autowired private ProductCategoryService productCategoryService;
+
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired private DataSource dataSource;
+
+  /**
+   * アプリケーションの接続先をコンテナのPostgreSQLにする
+   *
+   * @param registry プロパティの登録先
+   */
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @BeforeEach
+  void setUp() {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    jdbcTemplate.update(
+        "INSERT INTO users (email, name, password_hash) VALUES (?, ?, ?)",
+        EMAIL,
+        "負荷テストユーザー",
+        passwordEncoder.encode(PASSWORD));
+    if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class) == 0) {
+      for (int i = 0; i < PRODUCTS; i++) {
+        jdbcTemplate.update(
+            "INSERT INTO products (name, price, category_code) VALUES (?, ?, 'iphone')",
+            "iPhone " + i,
+            100000 + i);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("ログインが認証用のプールを使い切っても、カテゴリ詳細のp99は集中がない場合から一定の範囲に収まる")
+  void catalogP99StaysWithinBoundDuringLoginStorm() throws Exception {
+    catalogLatencies(WARMUP_REQUESTS);
+    long baseline = p99(catalogLatencies(CATALOG_REQUESTS));
+    long hash = hashNanos();
+
+    AtomicBoolean running = new AtomicBoolean(true);
+    ExecutorService storm = Executors.newFixedThreadPool(STORM_THREADS);
+    long duringStorm;
+    double pendingLogins;
+    try {
+      for (int i = 0; i < STORM_THREADS; i++) {
+        storm.execute(() -> login(running));
+      }
+      Thread.sleep(500);
+      pendingLogins = authPending();
+      duringStorm = p99(catalogLatencies(CATALOG_REQUESTS));
+      pendingLogins = Math.max(pendingLogins, authPending());
+    } finally {
+      running.set(false);
+      storm.shutdown();
+      storm.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // 共有のプールでは、カテゴリ詳細がログイン1回分（BCryptの照合1回）の接続の保持を待つ
+    long bound = baseline * MAX_SLOWDOWN + hash / 2;
+    log.info(
+        "catalog p99 during login storm: baseline={}ms, storm={}ms, bound={}ms, "
+            + "bcrypt={}ms, authPending={}",
+        millis(baseline),
+        millis(duringStorm),
+        millis(bound),
+        millis(hash),
+        pendingLogins);
+    assertThat(pendingLogins).isPositive();
+    assertThat(duringStorm).isLessThanOrEqualTo(bound);
+  }
+
+  /**
+   * 止められるまでログインを繰り返す
+   *
+   * @param running 継続するかどうか
+   */
+  private void login(AtomicBoolean running) {
+    LoginRequest request = new LoginRequest();
+    request.setEmail(EMAIL);
+    request.setPassword(PASSWORD);
+    while (running.get()) {
+      try {
+        authService.authenticateUser(request);
+      } catch (DataAccessException | AuthenticationException e) {
+        // 接続待ちのタイムアウトは集中の結果として想定内
+      }
+    }
+  }
+
+  /**
+   * カテゴリ詳細を指定回数取得し、1回ごとのレイテンシを求める
+   *
+   * @param requests 取得回数
+   * @return レイテンシ（ナノ秒）
+   */
+  private long[] catalogLatencies(int requests) {
+    CategoryDetailRequest request = CategoryDetailRequest.builder().build();
+    long[] latencies = new long[requests];
+    for (int i = 0; i < requests; i++) {
+      long startedAt = System.nanoTime();
+      productCategoryService.getCategoryDetail("iphone", request);
+      latencies[i] = System.nanoTime() - startedAt;
+    }
+    return latencies;
+  }
+
+  /**
+   * BCryptによる照合1回の時間を求める
+   *
+   * @return 照合時間（ナノ秒）
+   */
+  private long hashNanos() {
+    String hash = passwordEncoder.encode(PASSWORD);
+    long startedAt = System.nanoTime();
+    passwordEncoder.matches(PASSWORD, hash);
+    return System.nanoTime() - startedAt;
+  }
+
+  /**
+   * 認証用のプールで接続を待っているスレッド数を取得する
+   *
+   * @return 接続待ちのスレッド数（プールのメトリクスが未登録の場合は0）
+   */
+  private double authPending() {
+    Gauge pending =
+        meterRegistry
+            .find("hikaricp.connections.pending")
+            .tag("pool", WorkloadType.AUTH.getPoolName())
+            .gauge();
+    return pending != null ? pending.value() : 0.0;
+  }
+
+  /**
+   * レイテンシのp99を求める
+   *
+   * @param latencies レイテンシ（ナノ秒）
+   * @return p99（ナノ秒）
+   */
+  private static long p99(long[] latencies) {
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+  }
+
+  /**
+   * ナノ秒をミリ秒の文字列にする
+   *
+   * @param nanos ナノ秒
+   * @return ミリ秒（小数点以下2桁）
+   */
+  private static String millis(long nanos) {
+    return String.format("%.2f", nanos / 1_000_000.0);
+  }
+}
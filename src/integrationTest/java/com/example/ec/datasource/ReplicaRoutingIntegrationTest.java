@@ -0,0 +1,129 @@
+package com.example.ec.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * リードレプリカ振り分けの統合テストクラス
+ *
+ * <p>2つのPostgreSQLコンテナをプライマリとレプリカに見立て（ストリーミングレプリケーションの代わりに、どちらに接続したかを識別する行を入れておく）、
+ * 読み取り専用トランザクションがレプリカへ、更新トランザクションとプライマリからの読み取りを指定した範囲がプライマリへ振り分けられること、
+ * およびレプリカ停止時にプライマリへフォールバックすることを検証する。 Dockerが使えない環境ではスキップする。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingIntegrationTest {
+
+  private static final String NODE_SQL = "SELECT name FROM node";
+
+  @Container
+  private final PostgreSQLContainer<?> primaryContainer = new PostgreSQLContainer<>("postgres:15");
+
+  @Container
+  private final PostgreSQLContainer<?> replicaContainer = new PostgreSQLContainer<>("postgres:15");
+
+  private HikariDataSource primaryPool;
+  private ReplicaRoutingDataSource routingDataSource;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnlyTransaction;
+  private TransactionTemplate writeTransaction;
+
+  @BeforeEach
+  void setUp() {
+    primaryPool = pool(primaryContainer, "primary");
+    HikariDataSource replicaPool = pool(replicaContainer, "replica-0");
+    new JdbcTemplate(primaryPool).execute("CREATE TABLE node AS SELECT 'primary' AS name");
+    new JdbcTemplate(replicaPool).execute("CREATE TABLE node AS SELECT 'replica' AS name");
+
+    routingDataSource =
+        new ReplicaRoutingDataSource(
+            primaryPool,
+            List.of(new ReplicaRoutingDataSource.Replica("replica-0", replicaPool)),
+            5000L,
+            new SimpleMeterRegistry());
+    routingDataSource.checkReplicas();
+
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    writeTransaction = new TransactionTemplate(transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    routingDataSource.close();
+    primaryPool.close();
+  }
+
+  @Test
+  @DisplayName("読み取り専用トランザクションはレプリカ、更新トランザクションはプライマリで実行される")
+  void routesByTransactionReadOnlyFlag() {
+    assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isTrue();
+    assertThat(routingDataSource.getReplicas().get(0).getLag()).isZero();
+
+    assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+    assertThat(writeTransaction.execute(status -> currentNode())).isEqualTo("primary");
+  }
+
+  @Test
+  @DisplayName("プライマリからの読み取りを指定した読み取り専用トランザクションは、正常なレプリカがあってもプライマリで実行される")
+  void primaryReadContextRoutesReadOnlyToPrimary() {
+    try (PrimaryReadContext.Scope scope = PrimaryReadContext.enter()) {
+      assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("primary");
+    }
+
+    assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+  }
+
+  @Test
+  @DisplayName("レプリカが停止した場合は読み取り専用トランザクションもプライマリで実行される")
+  void fallsBackToPrimaryWhenReplicaIsDown() {
+    replicaContainer.stop();
+    routingDataSource.checkReplicas();
+
+    assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+    assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("primary");
+  }
+
+  /**
+   * 接続中のノード名を取得する
+   *
+   * @return ノード名
+   */
+  private String currentNode() {
+    return jdbcTemplate.queryForObject(NODE_SQL, String.class);
+  }
+
+  /**
+   * コンテナへのコネクションプールを生成する
+   *
+   * @param container PostgreSQLコンテナ
+   * @param poolName プール名
+   * @return コネクションプール
+   */
+  private HikariDataSource pool(PostgreSQLContainer<?> container, String poolName) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(poolName);
+    dataSource.setJdbcUrl(container.getJdbcUrl());
+    dataSource.setUsername(container.getUsername());
+    dataSource.setPassword(container.getPassword());
+    dataSource.setMaximumPoolSize(2);
+    dataSource.setConnectionTimeout(2000);
+    return dataSource;
+  }
+}
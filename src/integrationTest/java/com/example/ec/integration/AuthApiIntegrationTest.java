@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.example.ec.dto.LoginRequest;
 import com.example.ec.entity.User;
+import com.example.ec.querycount.QueryBudget;
 import com.example.ec.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,12 +54,15 @@ class AuthApiIntegrationTest {
             .name(TEST_USER_NAME)
             .passwordHash(passwordEncoder.encode(TEST_PASSWORD))
             .build();
-    userRepository.save(testUser);
+    // deleteAllの削除を計測対象のテスト本体の自動フラッシュに持ち越さないよう、ここでフラッシュする
+    userRepository.saveAndFlush(testUser);
   }
 
   @Test
   @DisplayName("疎通テスト1: 正常系（有効な認証情報）")
+  @QueryBudget(statements = 1, rows = 1)
   void login_withValidCredentials_returnsTokenAndUserInfo() throws Exception {
+    // 1. メールアドレスでのユーザーの検索（1行）。 接続はテストのトランザクションで取得済みのものを使う
     LoginRequest loginRequest = new LoginRequest();
     loginRequest.setEmail(TEST_EMAIL);
     loginRequest.setPassword(TEST_PASSWORD);
@@ -0,0 +1,113 @@
+package com.example.ec.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.dbperf.DbPerfEndpoint;
+import com.example.ec.dbperf.DbPerfSampler;
+import com.example.ec.dbperf.DbPerfSnapshot;
+import com.example.ec.repository.ProductRepository;
+import com.example.ec.repository.ProductVariantRepository;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * クエリ性能ダッシュボードの統合テストクラス
+ *
+ * <p>{@code pg_stat_statements}を読み込んだPostgreSQLでリポジトリのメソッドを呼び出し、
+ * SQLに付けたメソッド名のコメントで実行統計がメソッドごとに集計されることを検証する。
+ * Dockerが使えない環境ではスキップする。
+ */
+@SpringBootTest(
+    properties = {"dbperf.enabled=true", "logging.level.org.springframework.security=WARN"})
+@Testcontainers(disabledWithoutDocker = true)
+class DbPerfEndpointIntegrationTest {
+
+  private static final String COUNT_METHOD = "ProductRepository.countByCategoryCodeAndIsActiveTrue";
+  private static final String VARIANT_METHOD = "ProductVariantRepository.findByProductId";
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES =
+      new PostgreSQLContainer<>("postgres:15")
+          .withCommand("postgres", "-c", "shared_preload_libraries=pg_stat_statements");
+
+  @Autowired private DbPerfEndpoint dbPerfEndpoint;
+
+  @Autowired private DbPerfSampler dbPerfSampler;
+
+  @Autowired private ProductRepository productRepository;
+
+  @Autowired private ProductVariantRepository productVariantRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /**
+   * PostgreSQLコンテナを接続先に設定する
+   *
+   * @param registry プロパティの登録先
+   */
+  @DynamicPropertySource
+  static void datasourceProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+  }
+
+  @Test
+  @DisplayName("リポジトリのメソッドごとに実行回数を集計し、同じメソッドの呼び出しは1件にまとめる")
+  void snapshot_groupsByRepositoryMethod() {
+    DbPerfSnapshot before = dbPerfSampler.snapshot();
+
+    for (int i = 0; i < 3; i++) {
+      productRepository.countByCategoryCodeAndIsActiveTrue("iphone");
+      productVariantRepository.findByProductId((long) i);
+    }
+    DbPerfSnapshot after = dbPerfSampler.snapshot();
+
+    assertThat(after.methods()).containsKeys(COUNT_METHOD, VARIANT_METHOD);
+    assertThat(after.methods().get(COUNT_METHOD).minus(before.methods().get(COUNT_METHOD)).calls())
+        .isEqualTo(3);
+    assertThat(
+            after.methods().get(VARIANT_METHOD).minus(before.methods().get(VARIANT_METHOD)).calls())
+        .isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("区間ごと・リセット以降の統計を返し、区間にはサンプリング後の呼び出しを含める")
+  @SuppressWarnings("unchecked")
+  void report_includesWindowDeltas() {
+    dbPerfSampler.sample();
+    for (int i = 0; i < 2; i++) {
+      productRepository.countByCategoryCodeAndIsActiveTrue("ipad");
+    }
+
+    Map<String, Object> report = dbPerfEndpoint.report(null);
+
+    assertThat(report).containsEntry("available", true);
+    List<Map<String, Object>> windows = (List<Map<String, Object>>) report.get("windows");
+    assertThat(windows).hasSize(3);
+    List<Map<String, Object>> methods = (List<Map<String, Object>>) windows.get(0).get("methods");
+    assertThat(methods)
+        .filteredOn(row -> COUNT_METHOD.equals(row.get("method")))
+        .singleElement()
+        .satisfies(row -> assertThat((Long) row.get("calls")).isGreaterThanOrEqualTo(2L));
+    assertThat((List<Map<String, Object>>) report.get("since_reset"))
+        .extracting(row -> row.get("method"))
+        .contains(COUNT_METHOD);
+  }
+}
@@ -0,0 +1,133 @@
+package com.example.ec.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.ec.querycount.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * 商品カテゴリAPIのクエリ数の統合テストクラス
+ *
+ * <p>Flywayのマイグレーションを適用したPostgreSQL（カテゴリ4件）にiPhoneカテゴリの商品3件・バリアント6件・キャンペーン1件を登録し、
+ * 各エンドポイントの1回の呼び出しで実行するSQLの回数・読み取る行数・接続の取得回数が{@link QueryBudget}の上限以内であることを検証する。
+ * DTOへの変換に遅延ロードが増えるなどの回帰は、実行したSQLの一覧を付けて失敗する。 結果を毎回DBから取得するよう検索結果キャッシュは無効にする。
+ * 上限は第2レベルキャッシュ・クエリキャッシュが空の状態（各テストを単独で実行した場合）の件数とし、先に実行したテストで
+ * キャッシュが埋まっている場合はそれより少なくなる。 商品バリアントの画像URLがJSONB列のためH2では実行できず、
+ * Dockerが使えない環境ではスキップする。
+ */
+@SpringBootTest(
+    properties = {
+      "query-count.enabled=true",
+      "catalog.search-cache.enabled=false",
+      "logging.level.org.springframework.security=WARN"
+    })
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ProductCategoryApiQueryBudgetIntegrationTest {
+
+  private static final String CATEGORIES_ENDPOINT = "/api/v1/products/categories";
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+  private static boolean seeded;
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /**
+   * PostgreSQLコンテナを接続先に設定する
+   *
+   * @param registry プロパティの登録先
+   */
+  @DynamicPropertySource
+  static void datasourceProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @BeforeEach
+  void setUp() {
+    if (seeded) {
+      return;
+    }
+    jdbcTemplate.update(
+        "INSERT INTO campaigns (campaign_code, campaign_name, badge_text, valid_from)"
+            + " VALUES ('SPRING', '春のキャンペーン', '春割', CURRENT_TIMESTAMP - INTERVAL '1 day')");
+    for (int i = 1; i <= 3; i++) {
+      Long productId =
+          jdbcTemplate.queryForObject(
+              "INSERT INTO products (name, description, price, category_code)"
+                  + " VALUES (?, '説明', ?, 'iphone') RETURNING id",
+              Long.class,
+              "iPhone " + i,
+              100000 + i);
+      for (String color : new String[] {"black", "white"}) {
+        jdbcTemplate.update(
+            "INSERT INTO product_variants (product_id, manufacturer, model_name, color_code,"
+                + " image_urls) VALUES (?, 'Apple', ?, ?, '[\"image.jpg\"]'::jsonb)",
+            productId,
+            "iPhone " + i,
+            color);
+      }
+      if (i == 1) {
+        jdbcTemplate.update(
+            "INSERT INTO product_campaigns (product_id, campaign_id)"
+                + " SELECT ?, id FROM campaigns WHERE campaign_code = 'SPRING'",
+            productId);
+      }
+    }
+    seeded = true;
+  }
+
+  @Test
+  @DisplayName("カテゴリ一覧: カテゴリの取得とカテゴリごとの商品数の取得（4カテゴリ）に収まる")
+  @QueryBudget(statements = 5, rows = 8, connections = 1)
+  void getCategories_staysWithinBudget() throws Exception {
+    // 1. アクティブなカテゴリ（4行） 2〜5. カテゴリごとの商品数（各1行）
+    // サービスの読み取り専用トランザクションで1つの接続を使う
+    mockMvc
+        .perform(get(CATEGORIES_ENDPOINT))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.length()").value(4));
+  }
+
+  @Test
+  @DisplayName("カテゴリ詳細: カテゴリ・商品ページ・バリアント・キャンペーンの一括取得に収まる")
+  @QueryBudget(statements = 5, rows = 12, connections = 1)
+  void getCategoryDetail_staysWithinBudget() throws Exception {
+    // 1. カテゴリ（1行） 2. 商品ページ（3行。1ページに収まるため件数のクエリは実行しない）
+    // 3. バリアント（6行） 4. 商品キャンペーン関連のバッチ取得（1行） 5. キャンペーンのバッチ取得（1行）
+    // DB検索の間だけ開始する読み取り専用トランザクションで1つの接続を使う
+    mockMvc
+        .perform(get(CATEGORIES_ENDPOINT + "/iphone").param("size", "20"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.products.length()").value(3));
+  }
+
+  @Test
+  @DisplayName("おすすめ商品: カテゴリの存在確認だけに収まる")
+  @QueryBudget(statements = 1, rows = 1, connections = 1)
+  void getRecommendations_staysWithinBudget() throws Exception {
+    // 1. カテゴリの存在確認（1行）
+    mockMvc
+        .perform(get(CATEGORIES_ENDPOINT + "/iphone/recommendations"))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,279 @@
+package com.example.ec.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.catalog.CatalogData;
+import com.example.ec.catalog.CatalogFilter;
+import com.example.ec.config.CatalogConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * カタログJDBC読み取りリポジトリの統合テストクラス
+ *
+ * <p>Flywayのマイグレーションを適用したPostgreSQLに商品・バリアント・キャンペーンを登録し、
+ * 配列パラメータ（{@code = ANY(?)}）・JSONBの画像URL・キャンペーンの有効期間の扱いがJPAのリポジトリと一致することを検証する。
+ * Dockerが使えない環境ではスキップする。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CatalogJdbcReadRepositoryIntegrationTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+  private static HikariDataSource dataSource;
+  private static CatalogJdbcReadRepository repository;
+  private static Map<String, Long> productIds;
+
+  @BeforeAll
+  static void setUp() {
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(POSTGRES.getJdbcUrl());
+    dataSource.setUsername(POSTGRES.getUsername());
+    dataSource.setPassword(POSTGRES.getPassword());
+    Flyway.configure().dataSource(dataSource).load().migrate();
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    insertProduct(jdbcTemplate, "iPhone 15 Pro", "チタニウムデザイン", "159800", true);
+    insertProduct(jdbcTemplate, "iPhone 15", "ダイナミックアイランド", "124800", true);
+    insertProduct(jdbcTemplate, "iPhone SE", "コンパクト", "62800", true);
+    insertProduct(jdbcTemplate, "iPhone 12", "販売終了", "80000", false);
+    productIds =
+        jdbcTemplate.queryForList("SELECT id, name FROM products").stream()
+            .collect(
+                Collectors.toMap(
+                    row -> (String) row.get("name"), row -> ((Number) row.get("id")).longValue()));
+
+    insertVariant(jdbcTemplate, "iPhone 15 Pro", "256GB", "ブラック", "[\"pro-black.jpg\"]");
+    insertVariant(jdbcTemplate, "iPhone 15 Pro", "512GB", "ホワイト", null);
+    insertVariant(jdbcTemplate, "iPhone 15", "128GB", "ブルー", "[\"15-blue.jpg\"]");
+    insertVariant(jdbcTemplate, "iPhone SE", "64GB", "ブラック", "[]");
+
+    Instant now = Instant.now();
+    insertCampaign(jdbcTemplate, "SPRING", now.minus(1, ChronoUnit.DAYS), null);
+    insertCampaign(
+        jdbcTemplate, "EXPIRED", now.minus(10, ChronoUnit.DAYS), now.minus(1, ChronoUnit.DAYS));
+    insertCampaign(
+        jdbcTemplate, "AUTUMN", now.plus(1, ChronoUnit.DAYS), now.plus(10, ChronoUnit.DAYS));
+    linkCampaign(jdbcTemplate, "iPhone 15 Pro", "SPRING");
+    linkCampaign(jdbcTemplate, "iPhone 15 Pro", "EXPIRED");
+    linkCampaign(jdbcTemplate, "iPhone 15 Pro", "AUTUMN");
+
+    repository = new CatalogJdbcReadRepository(dataSource, new CatalogConfig());
+  }
+
+  @AfterAll
+  static void tearDown() {
+    dataSource.close();
+  }
+
+  @Test
+  @DisplayName("アクティブなカテゴリをアクティブな商品数とともに表示順に取得する")
+  void findActiveCategorySummaries() {
+    List<CatalogJdbcReadRepository.CategorySummary> summaries =
+        repository.findActiveCategorySummaries();
+
+    assertThat(summaries)
+        .extracting(summary -> summary.category().categoryCode())
+        .containsExactly("iphone", "android", "refurbished", "accessories");
+    assertThat(summaries)
+        .extracting(CatalogJdbcReadRepository.CategorySummary::productCount)
+        .containsExactly(3L, 0L, 0L, 0L);
+  }
+
+  @Test
+  @DisplayName("ソート順とページングに従って商品を取得し、総数を返す")
+  void findProductPage_sortedAndPaged() {
+    CatalogJdbcReadRepository.ProductPage firstPage =
+        repository.findProductPage("iphone", "", CatalogFilter.none(), "price", true, 0, 2);
+    CatalogJdbcReadRepository.ProductPage secondPage =
+        repository.findProductPage("iphone", "", CatalogFilter.none(), "price", true, 1, 2);
+
+    assertThat(firstPage.products())
+        .extracting(CatalogData.ProductRow::name)
+        .containsExactly("iPhone 15 Pro", "iPhone 15");
+    assertThat(firstPage.total()).isEqualTo(3L);
+    assertThat(secondPage.products())
+        .extracting(CatalogData.ProductRow::name)
+        .containsExactly("iPhone SE");
+    assertThat(secondPage.total()).isEqualTo(3L);
+  }
+
+  @Test
+  @DisplayName("キーワード・価格帯・ファセットの条件をANDで結合して絞り込む")
+  void findProductPage_filtered() {
+    CatalogFilter filter =
+        new CatalogFilter(
+            List.of("Apple"), null, List.of("ブラック", "ブルー"), new BigDecimal("100000"), null);
+
+    CatalogJdbcReadRepository.ProductPage page =
+        repository.findProductPage("iphone", "iphone 15", filter, "name", false, 0, 20);
+
+    assertThat(page.products())
+        .extracting(CatalogData.ProductRow::name)
+        .containsExactly("iPhone 15", "iPhone 15 Pro");
+    assertThat(page.total()).isEqualTo(2L);
+  }
+
+  @Test
+  @DisplayName("JVMのデフォルトロケールがトルコ語でも、大文字のキーワードがDBのLOWERと一致する")
+  void findProductPage_keywordIndependentOfDefaultLocale() {
+    withTurkishLocale(
+        () ->
+            assertThat(
+                    repository
+                        .findProductPage(
+                            "iphone", "IPHONE 15", CatalogFilter.none(), "name", false, 0, 20)
+                        .products())
+                .extracting(CatalogData.ProductRow::name)
+                .containsExactly("iPhone 15", "iPhone 15 Pro"));
+  }
+
+  @Test
+  @DisplayName("商品IDの配列でバリアントを取得し、JSONBの画像URLを読み取る")
+  void findVariants() {
+    List<CatalogData.VariantRow> variants =
+        repository.findVariants(
+            List.of(productIds.get("iPhone 15 Pro"), productIds.get("iPhone SE")));
+
+    assertThat(variants)
+        .extracting(CatalogData.VariantRow::storageCapacity)
+        .containsExactly("256GB", "512GB", "64GB");
+    assertThat(variants.get(0).imageUrls()).containsExactly("pro-black.jpg");
+    assertThat(variants.get(1).imageUrls()).isNull();
+    assertThat(variants.get(2).imageUrls()).isEmpty();
+    assertThat(repository.findVariants(List.of())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("終了していないアクティブなキャンペーンのバッジを開始・終了日時とともに取得する")
+  void findCampaignBadges() {
+    Instant now = Instant.now();
+    List<CatalogJdbcReadRepository.CampaignBadgeRow> badges =
+        repository.findCampaignBadges(List.copyOf(productIds.values()), now);
+
+    assertThat(badges)
+        .extracting(CatalogJdbcReadRepository.CampaignBadgeRow::campaignCode)
+        .containsExactly("SPRING", "AUTUMN");
+    assertThat(badges)
+        .allMatch(badge -> badge.productId() == productIds.get("iPhone 15 Pro"))
+        .extracting(badge -> badge.isValidAt(now))
+        .containsExactly(true, false);
+    assertThat(badges.get(0).badgeText()).isEqualTo("SPRINGのバッジ");
+    assertThat(badges.get(0).validTo()).isNull();
+    assertThat(badges.get(1).validFrom()).isAfter(now);
+  }
+
+  /**
+   * iPhoneカテゴリに商品を登録する
+   *
+   * @param jdbcTemplate JDBCテンプレート
+   * @param name 商品名
+   * @param description 商品説明
+   * @param price 価格
+   * @param active アクティブな場合true
+   */
+  private static void insertProduct(
+      JdbcTemplate jdbcTemplate, String name, String description, String price, boolean active) {
+    jdbcTemplate.update(
+        "INSERT INTO products (name, description, price, category_code, is_active) "
+            + "VALUES (?, ?, ?, 'iphone', ?)",
+        name,
+        description,
+        new BigDecimal(price),
+        active);
+  }
+
+  /**
+   * 商品にAppleのバリアントを登録する
+   *
+   * @param jdbcTemplate JDBCテンプレート
+   * @param productName 商品名
+   * @param storageCapacity ストレージ容量
+   * @param colorName カラー名
+   * @param imageUrls 画像URLのJSON配列（null可）
+   */
+  private static void insertVariant(
+      JdbcTemplate jdbcTemplate,
+      String productName,
+      String storageCapacity,
+      String colorName,
+      String imageUrls) {
+    jdbcTemplate.update(
+        "INSERT INTO product_variants "
+            + "(product_id, manufacturer, model_name, storage_capacity, color_name, image_urls) "
+            + "VALUES (?, 'Apple', ?, ?, ?, CAST(? AS jsonb))",
+        productIds.get(productName),
+        productName,
+        storageCapacity,
+        colorName,
+        imageUrls);
+  }
+
+  /**
+   * アクティブなキャンペーンを登録する
+   *
+   * @param jdbcTemplate JDBCテンプレート
+   * @param campaignCode キャンペーンコード
+   * @param validFrom 有効期間開始
+   * @param validTo 有効期間終了（null可）
+   */
+  private static void insertCampaign(
+      JdbcTemplate jdbcTemplate, String campaignCode, Instant validFrom, Instant validTo) {
+    jdbcTemplate.update(
+        "INSERT INTO campaigns (campaign_code, campaign_name, badge_text, valid_from, valid_to) "
+            + "VALUES (?, ?, ?, ?, ?)",
+        campaignCode,
+        campaignCode + "キャンペーン",
+        campaignCode + "のバッジ",
+        Timestamp.from(validFrom),
+        validTo != null ? Timestamp.from(validTo) : null);
+  }
+
+  /**
+   * 商品とキャンペーンを関連付ける
+   *
+   * @param jdbcTemplate JDBCテンプレート
+   * @param productName 商品名
+   * @param campaignCode キャンペーンコード
+   */
+  private static void linkCampaign(
+      JdbcTemplate jdbcTemplate, String productName, String campaignCode) {
+    jdbcTemplate.update(
+        "INSERT INTO product_campaigns (product_id, campaign_id) "
+            + "SELECT ?, id FROM campaigns WHERE campaign_code = ?",
+        productIds.get(productName),
+        campaignCode);
+  }
+
+  /**
+   * JVMのデフォルトロケールをトルコ語に切り替えて処理を実行する（終了後に元に戻す）
+   *
+   * @param action 処理
+   */
+  private static void withTurkishLocale(Runnable action) {
+    Locale original = Locale.getDefault();
+    Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+    try {
+      action.run();
+    } finally {
+      Locale.setDefault(original);
+    }
+  }
+}
@@ -0,0 +1,193 @@
+package com.example.ec.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.catalog.CatalogFilter;
+import com.example.ec.entity.Product;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * 商品検索条件の統合テストクラス
+ *
+ * <p>インメモリカタログエンジンを使わない場合のDBでの絞り込み（{@link ProductSpecifications}）が、
+ * エンジンのファセットインデックスと同じ規則（同一ファセット内はOR、ファセット間と価格帯はAND、いずれかのバリアントが一致すればヒット）で
+ * 評価されることを検証する。 商品バリアントの画像URLがJSONB列のためH2では実行できず、Dockerが使えない環境ではスキップする。
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ProductSpecificationsIntegrationTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+  @Autowired private ProductRepository productRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /**
+   * PostgreSQLコンテナを接続先に設定する
+   *
+   * @param registry プロパティの登録先
+   */
+  @DynamicPropertySource
+  static void datasourceProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @BeforeEach
+  void setUp() {
+    insertProduct("iPhone 15 Pro", "チタニウムデザイン", "159800", "iphone", true);
+    insertProduct("iPhone 15", "ダイナミックアイランド", "124800", "iphone", true);
+    insertProduct("iPhone SE", "コンパクト", "62800", "iphone", true);
+    insertProduct("iPhone 12", "販売終了", "80000", "iphone", false);
+    insertProduct("Pixel 8", "Google", "112900", "android", true);
+    insertVariant("iPhone 15 Pro", "Apple", "256GB", "ブラック");
+    insertVariant("iPhone 15 Pro", "Apple", "512GB", "ホワイト");
+    insertVariant("iPhone 15", "Apple", "128GB", "ブルー");
+    insertVariant("iPhone SE", "Apple", "64GB", "ブラック");
+    insertVariant("iPhone 12", "Apple", "128GB", "ブラック");
+    insertVariant("Pixel 8", "Google", "128GB", "ブラック");
+  }
+
+  @Test
+  @DisplayName("絞り込みなしではカテゴリ内のアクティブな商品だけを返す")
+  void matching_noFilter() {
+    assertThat(find(null, CatalogFilter.none()))
+        .containsExactly("iPhone 15", "iPhone 15 Pro", "iPhone SE");
+  }
+
+  @Test
+  @DisplayName("同じファセットの複数の値はORで結合し、いずれかのバリアントが一致すればヒットする")
+  void matching_valuesWithinFacetAreOred() {
+    CatalogFilter filter = new CatalogFilter(null, null, List.of("ホワイト", "ブルー"), null, null);
+
+    assertThat(find(null, filter)).containsExactly("iPhone 15", "iPhone 15 Pro");
+  }
+
+  @Test
+  @DisplayName("ファセット間はANDで結合する（同じバリアントでなくてもよい）")
+  void matching_facetsAreAnded() {
+    CatalogFilter filter =
+        new CatalogFilter(List.of("Apple"), List.of("512GB"), List.of("ブラック"), null, null);
+
+    assertThat(find(null, filter)).containsExactly("iPhone 15 Pro");
+  }
+
+  @Test
+  @DisplayName("価格帯は両端を含み、キーワード・ファセットとANDで結合する")
+  void matching_priceRangeAndKeyword() {
+    CatalogFilter priceOnly =
+        new CatalogFilter(null, null, null, new BigDecimal("62800"), new BigDecimal("124800"));
+    CatalogFilter withFacet =
+        new CatalogFilter(null, null, List.of("ブラック"), new BigDecimal("62800"), null);
+
+    assertThat(find(null, priceOnly)).containsExactly("iPhone 15", "iPhone SE");
+    assertThat(find("iphone 15", withFacet)).containsExactly("iPhone 15 Pro");
+  }
+
+  @Test
+  @DisplayName("JVMのデフォルトロケールがトルコ語でも、大文字のキーワードがDBのLOWERと一致する")
+  void matching_keywordIndependentOfDefaultLocale() {
+    withTurkishLocale(
+        () ->
+            assertThat(find("IPHONE 15", CatalogFilter.none()))
+                .containsExactly("iPhone 15", "iPhone 15 Pro"));
+  }
+
+  @Test
+  @DisplayName("該当するバリアントがない値を指定した場合は0件")
+  void matching_unknownValue() {
+    CatalogFilter filter = new CatalogFilter(List.of("Google"), null, null, null, null);
+
+    assertThat(find(null, filter)).isEmpty();
+  }
+
+  /**
+   * iPhoneカテゴリで検索条件に一致する商品名を名前順に取得する
+   *
+   * @param keyword 検索キーワード（null可）
+   * @param filter 絞り込み条件
+   * @return 商品名
+   */
+  private List<String> find(String keyword, CatalogFilter filter) {
+    return productRepository
+        .findAll(ProductSpecifications.matching("iphone", keyword, filter), Sort.by("name"))
+        .stream()
+        .map(Product::getName)
+        .toList();
+  }
+
+  /**
+   * 商品を登録する
+   *
+   * @param name 商品名
+   * @param description 商品説明
+   * @param price 価格
+   * @param categoryCode カテゴリコード
+   * @param active アクティブな場合true
+   */
+  private void insertProduct(
+      String name, String description, String price, String categoryCode, boolean active) {
+    jdbcTemplate.update(
+        "INSERT INTO products (name, description, price, category_code, is_active) "
+            + "VALUES (?, ?, ?, ?, ?)",
+        name,
+        description,
+        new BigDecimal(price),
+        categoryCode,
+        active);
+  }
+
+  /**
+   * 商品にバリアントを登録する
+   *
+   * @param productName 商品名
+   * @param manufacturer メーカー
+   * @param storageCapacity ストレージ容量
+   * @param colorName カラー名
+   */
+  private void insertVariant(
+      String productName, String manufacturer, String storageCapacity, String colorName) {
+    jdbcTemplate.update(
+        "INSERT INTO product_variants "
+            + "(product_id, manufacturer, model_name, storage_capacity, color_name) "
+            + "SELECT id, ?, name, ?, ? FROM products WHERE name = ?",
+        manufacturer,
+        storageCapacity,
+        colorName,
+        productName);
+  }
+
+  /**
+   * JVMのデフォルトロケールをトルコ語に切り替えて処理を実行する（終了後に元に戻す）
+   *
+   * @param action 処理
+   */
+  private static void withTurkishLocale(Runnable action) {
+    Locale original = Locale.getDefault();
+    Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+    try {
+      action.run();
+    } finally {
+      Locale.setDefault(original);
+    }
+  }
+}
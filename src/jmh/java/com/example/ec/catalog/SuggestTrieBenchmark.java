@@ -0,0 +1,73 @@
+package com.example.ec.catalog;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SuggestTrieのベンチマーク
+ *
+ * <p>入力補完の検索レイテンシをサンプリングモードで計測する。 目標はp99で200マイクロ秒未満で、{@code jmh}タスクの後に
+ * {@code jmhLatencyBudget}タスクが判定する。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestTrieBenchmark {
+
+  private static final String[] MANUFACTURERS = {"Apple", "Google", "Samsung", "ソニー", "シャープ"};
+  private static final String[] SERIES = {"iPhone", "Pixel", "Galaxy", "エクスペリア", "AQUOS"};
+  private static final String[] EDITIONS = {"", " Pro", " Pro Max", " Plus", " mini", " ウルトラ"};
+
+  @Param({"10000", "100000"})
+  private int productCount;
+
+  private SuggestTrie trie;
+  private String[] queries;
+  private int next;
+
+  /** 商品名・モデル名・メーカーからなる候補語でトライ木を構築し、検索する接頭辞を用意する */
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    SuggestTrie.Builder builder = new SuggestTrie.Builder();
+    for (int i = 0; i < productCount; i++) {
+      int brand = random.nextInt(MANUFACTURERS.length);
+      String edition = EDITIONS[random.nextInt(EDITIONS.length)];
+      String model = SERIES[brand] + " " + (random.nextInt(20) + 1) + edition;
+      builder.add(model + " " + (random.nextInt(4) + 1) * 128 + "GB #" + i, 1);
+      builder.add(model, 1);
+      builder.add(MANUFACTURERS[brand], 1);
+    }
+    trie = builder.build(20);
+
+    List<String> prefixes =
+        List.of("i", "ip", "iph", "iphone 1", "ＩＰＨＯＮＥ", "pro", "ｴｸｽﾍﾟﾘｱ", "えくす", "galaxy 5", "aq");
+    queries = prefixes.toArray(new String[0]);
+  }
+
+  /**
+   * 接頭辞から補完候補を取得する
+   *
+   * @return 補完候補
+   */
+  @Benchmark
+  public List<String> suggest() {
+    String query = queries[next++ % queries.length];
+    return trie.suggest(query, 10);
+  }
+}
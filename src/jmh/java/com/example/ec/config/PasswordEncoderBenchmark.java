@@ -0,0 +1,51 @@
+package com.example.ec.config;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoderのベンチマーク
+ *
+ * <p>ログインごとのパスワードの照合のレイテンシを、{@link SecurityConfig#passwordEncoder()}の設定のまま計測する。
+ * ハッシュの強度を変えた場合のログインのCPUコストの変化はこのベンチマークで確認する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+  private static final String PASSWORD = "benchmark-password-123";
+
+  private PasswordEncoder passwordEncoder;
+  private String encodedPassword;
+
+  /** アプリケーションと同じPasswordEncoderでパスワードをハッシュ化する */
+  @Setup
+  public void setUp() {
+    passwordEncoder = new SecurityConfig().passwordEncoder();
+    encodedPassword = passwordEncoder.encode(PASSWORD);
+  }
+
+  /**
+   * 正しいパスワードを照合する
+   *
+   * @return 一致した場合true
+   */
+  @Benchmark
+  public boolean matches() {
+    return passwordEncoder.matches(PASSWORD, encodedPassword);
+  }
+}
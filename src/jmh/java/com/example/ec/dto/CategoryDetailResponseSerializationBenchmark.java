@@ -0,0 +1,149 @@
+package com.example.ec.dto;
+
+import com.example.ec.entity.ImageUrls;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * カテゴリ詳細レスポンスのJSONシリアライズのベンチマーク
+ *
+ * <p>application.ymlと同じく{@code SNAKE_CASE}の命名戦略を設定したObjectMapperで、
+ * 商品・ファセット・ページネーションを含むレスポンスをバイト列に書き出す。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryDetailResponseSerializationBenchmark {
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private CategoryDetailResponse response;
+
+  /** Spring Bootの自動設定と同じ設定のObjectMapperと、1ページ分のレスポンスを用意する */
+  @Setup
+  public void setUp() {
+    objectMapper =
+        Jackson2ObjectMapperBuilder.json()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    List<CategoryDetailResponse.ProductItem> products = new ArrayList<>();
+    for (long id = 1; id <= pageSize; id++) {
+      products.add(
+          CategoryDetailResponse.ProductItem.builder()
+              .productId(id)
+              .productName("iPhone " + id)
+              .description("商品説明 " + id)
+              .price(BigDecimal.valueOf(50000 + id * 10))
+              .manufacturer("Apple")
+              .modelName("iPhone " + id)
+              .storageCapacity("256GB")
+              .colorCode("#000000")
+              .colorName("ブラック")
+              .imageUrls(
+                  ImageUrls.fromJson(
+                      "[\"https://example.com/" + id + "/1.jpg\","
+                          + "\"https://example.com/" + id + "/2.jpg\"]"))
+              .campaigns(
+                  List.of(
+                      CategoryDetailResponse.CampaignBadge.builder()
+                          .campaignCode("SPRING")
+                          .badgeText("期間限定")
+                          .build()))
+              .build());
+    }
+    response =
+        CategoryDetailResponse.builder()
+            .success(true)
+            .message("カテゴリ詳細を取得しました")
+            .data(
+                CategoryDetailResponse.DataWrapper.builder()
+                    .category(
+                        CategoryDetailResponse.CategoryInfo.builder()
+                            .categoryCode("iphone")
+                            .displayName("iPhone")
+                            .heroImageUrl("https://example.com/hero.jpg")
+                            .leadText("最新のiPhone")
+                            .build())
+                    .products(products)
+                    .meta(
+                        CategoryDetailResponse.Meta.builder()
+                            .pagination(
+                                CategoryDetailResponse.Pagination.builder()
+                                    .page(1)
+                                    .perPage(pageSize)
+                                    .total(1000L)
+                                    .pages(1000 / pageSize)
+                                    .build())
+                            .facets(
+                                CategoryDetailResponse.Facets.builder()
+                                    .manufacturer(facetValues("Apple", "Google", "Samsung"))
+                                    .storageCapacity(facetValues("128GB", "256GB", "512GB"))
+                                    .colorName(facetValues("ブラック", "ホワイト", "ブルー"))
+                                    .price(
+                                        CategoryDetailResponse.PriceRange.builder()
+                                            .min(BigDecimal.valueOf(50000))
+                                            .max(BigDecimal.valueOf(200000))
+                                            .build())
+                                    .build())
+                            .build())
+                    .build())
+            .timestamp(Instant.now())
+            .requestId("benchmark-request")
+            .build();
+  }
+
+  /**
+   * レスポンスをJSONのバイト列に書き出す
+   *
+   * @return JSON
+   * @throws JsonProcessingException シリアライズエラー
+   */
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  /**
+   * ファセットの値のリストを生成する
+   *
+   * @param values 値
+   * @return ファセットの値（件数は値の位置から決める）
+   */
+  private static List<CategoryDetailResponse.FacetValue> facetValues(String... values) {
+    List<CategoryDetailResponse.FacetValue> facetValues = new ArrayList<>();
+    for (int i = 0; i < values.length; i++) {
+      facetValues.add(
+          CategoryDetailResponse.FacetValue.builder()
+              .value(values[i])
+              .count(100 * (i + 1))
+              .build());
+    }
+    return facetValues;
+  }
+}
@@ -0,0 +1,209 @@
+package com.example.ec.repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * 商品IDによるバリアント取得のベンチマーク
+ *
+ * <p>ページサイズ（1〜100件）が混在する状況で、{@code IN (?, ?, ...)}と{@code = ANY(配列)}のレイテンシを
+ * サンプリングモードで計測する。 アプリケーションと同じくサーバーサイドプリペアドステートメントを初回実行から使い（{@code prepareThreshold=1}）、
+ * 各イテレーションの終わりに接続が保持するプリペアドステートメント数とプランキャッシュのメモリ量（{@code pg_backend_memory_contexts}）を出力する。
+ * DBはTestcontainersのPostgreSQLを使うため、Dockerが必要。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VariantFetchBenchmark {
+
+  private static final int PRODUCT_COUNT = 10000;
+  private static final int VARIANTS_PER_PRODUCT = 4;
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final int PAGE_COUNT = 1000;
+  private static final String SELECT = "SELECT id, product_id, model_name FROM product_variants ";
+  private static final String ORDER_BY = " ORDER BY product_id, id";
+  private static final String ANY_SQL =
+      SELECT + "WHERE product_id = ANY(CAST(? AS bigint[]))" + ORDER_BY;
+  private static final String PLAN_CACHE_SQL =
+      "SELECT (SELECT COUNT(*) FROM pg_prepared_statements), "
+          + "(SELECT COALESCE(SUM(total_bytes), 0) FROM pg_backend_memory_contexts "
+          + "WHERE name LIKE 'CachedPlan%')";
+
+  /** 取得方法 */
+  public enum Strategy {
+    /** パラメータ数がページサイズごとに変わるIN句 */
+    IN_LIST,
+    /** 1つの配列パラメータ */
+    ANY_ARRAY
+  }
+
+  @Param({"IN_LIST", "ANY_ARRAY"})
+  private Strategy strategy;
+
+  private PostgreSQLContainer<?> container;
+  private Connection connection;
+  private String[] inListSql;
+  private Long[][] pages;
+  private int next;
+
+  /**
+   * PostgreSQLを起動してバリアントを投入し、ページサイズの混在した取得対象のIDを用意する
+   *
+   * @throws SQLException 準備エラー
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    container = new PostgreSQLContainer<>("postgres:15");
+    container.start();
+    Properties properties = new Properties();
+    properties.setProperty("user", container.getUsername());
+    properties.setProperty("password", container.getPassword());
+    properties.setProperty("prepareThreshold", "1");
+    connection = DriverManager.getConnection(container.getJdbcUrl(), properties);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "CREATE TABLE product_variants (id BIGSERIAL PRIMARY KEY, product_id BIGINT NOT NULL, "
+              + "model_name VARCHAR(200))");
+      statement.execute(
+          "INSERT INTO product_variants (product_id, model_name) "
+              + "SELECT p, 'model-' || p || '-' || v FROM generate_series(1, "
+              + PRODUCT_COUNT
+              + ") p, generate_series(1, "
+              + VARIANTS_PER_PRODUCT
+              + ") v");
+      statement.execute(
+          "CREATE INDEX idx_product_variants_product_id ON product_variants(product_id)");
+      statement.execute("ANALYZE product_variants");
+    }
+
+    inListSql = new String[MAX_PAGE_SIZE + 1];
+    for (int size = 1; size <= MAX_PAGE_SIZE; size++) {
+      String placeholders =
+          IntStream.range(0, size).mapToObj(i -> "?").collect(Collectors.joining(", "));
+      inListSql[size] = SELECT + "WHERE product_id IN (" + placeholders + ")" + ORDER_BY;
+    }
+    Random random = new Random(42);
+    pages = new Long[PAGE_COUNT][];
+    for (int i = 0; i < PAGE_COUNT; i++) {
+      int size = random.nextInt(MAX_PAGE_SIZE) + 1;
+      int first = random.nextInt(PRODUCT_COUNT - size + 1) + 1;
+      pages[i] = IntStream.range(first, first + size).mapToObj(Long::valueOf).toArray(Long[]::new);
+    }
+  }
+
+  /**
+   * 接続が保持するプリペアドステートメント数とプランキャッシュのメモリ量を出力する
+   *
+   * @throws SQLException 取得エラー
+   */
+  @TearDown(Level.Iteration)
+  public void reportPlanCache() throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(PLAN_CACHE_SQL)) {
+      rs.next();
+      System.out.printf(
+          "%n[%s] preparedStatements=%d, cachedPlanBytes=%d%n",
+          strategy, rs.getLong(1), rs.getLong(2));
+    }
+  }
+
+  /**
+   * 接続を閉じてPostgreSQLを停止する
+   *
+   * @throws SQLException 切断エラー
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    connection.close();
+    container.stop();
+  }
+
+  /**
+   * 1ページ分の商品IDでバリアントを取得する
+   *
+   * @return 取得した行数
+   * @throws SQLException 取得エラー
+   */
+  @Benchmark
+  public int fetch() throws SQLException {
+    Long[] productIds = pages[next++ % PAGE_COUNT];
+    return strategy == Strategy.IN_LIST ? fetchByInList(productIds) : fetchByAnyArray(productIds);
+  }
+
+  /**
+   * IN句でバリアントを取得する
+   *
+   * @param productIds 商品ID
+   * @return 取得した行数
+   * @throws SQLException 取得エラー
+   */
+  private int fetchByInList(Long[] productIds) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(inListSql[productIds.length])) {
+      for (int i = 0; i < productIds.length; i++) {
+        statement.setLong(i + 1, productIds[i]);
+      }
+      return count(statement);
+    }
+  }
+
+  /**
+   * 配列パラメータでバリアントを取得する
+   *
+   * @param productIds 商品ID
+   * @return 取得した行数
+   * @throws SQLException 取得エラー
+   */
+  private int fetchByAnyArray(Long[] productIds) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(ANY_SQL)) {
+      Array array = connection.createArrayOf("bigint", productIds);
+      statement.setArray(1, array);
+      int rows = count(statement);
+      array.free();
+      return rows;
+    }
+  }
+
+  /**
+   * クエリを実行して結果の行数を数える
+   *
+   * @param statement プリペアドステートメント
+   * @return 行数
+   * @throws SQLException 取得エラー
+   */
+  private static int count(PreparedStatement statement) throws SQLException {
+    int rows = 0;
+    try (ResultSet rs = statement.executeQuery()) {
+      while (rs.next()) {
+        rows++;
+      }
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.ec.service;
+
+import com.example.ec.ProductCategoryApplication;
+import com.example.ec.datagen.CatalogDataGenerator;
+import com.example.ec.datagen.CatalogDataSpec;
+import com.example.ec.dto.CategoryDetailRequest;
+import com.example.ec.dto.CategoryDetailResponse;
+import com.example.ec.dto.CategoryListResponse;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * カタログ読み取り（カテゴリ一覧・カテゴリ詳細）のベンチマーク
+ *
+ * <p>JPAのリポジトリ（{@code jpa}）とJDBC読み取りリポジトリ（{@code jdbc}）で、1回の呼び出しあたりのレイテンシと割り当て量を比較する。
+ * 割り当て量は{@code ./gradlew jmh -PjmhIncludes=CatalogReadBenchmark}の
+ * {@code gc.alloc.rate.norm}（B/op）で確認する。 DB検索そのものを比べるため、インメモリエンジン・検索結果キャッシュ・
+ * 同一検索の合流は無効にしてアプリケーションを起動する。 DBはTestcontainersのPostgreSQLを使うため、Dockerが必要。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogReadBenchmark {
+
+  @Param({"jpa", "jdbc"})
+  private String repository;
+
+  private PostgreSQLContainer<?> container;
+  private ConfigurableApplicationContext context;
+  private ProductCategoryService service;
+  private CategoryDetailRequest detailRequest;
+
+  /**
+   * PostgreSQLとアプリケーションを起動し、小規模な合成データ（商品2,000件）を投入する
+   *
+   * @throws Exception 投入に失敗した場合
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    container = new PostgreSQLContainer<>("postgres:15");
+    container.start();
+    context =
+        new SpringApplicationBuilder(ProductCategoryApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=" + container.getJdbcUrl(),
+                "spring.datasource.username=" + container.getUsername(),
+                "spring.datasource.password=" + container.getPassword(),
+                "jwt.secret=benchmark-jwt-secret-key-for-benchmark-purposes-only-32bytes",
+                "catalog.engine.enabled=false",
+                "catalog.search-cache.enabled=false",
+                "catalog.single-flight.enabled=false",
+                "catalog.jdbc-read.enabled=" + "jdbc".equals(repository),
+                "logging.level.com.example.ec=WARN",
+                "logging.level.org.springframework.security=WARN")
+            .run();
+    CatalogDataGenerator.load(context.getBean(DataSource.class), CatalogDataSpec.small());
+    service = context.getBean(ProductCategoryService.class);
+    detailRequest = CategoryDetailRequest.builder().page(3).size(20).sort("price").build();
+  }
+
+  /** アプリケーションとPostgreSQLを停止する */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+    container.stop();
+  }
+
+  /**
+   * カテゴリ一覧を取得する
+   *
+   * @return カテゴリ一覧レスポンス
+   */
+  @Benchmark
+  public CategoryListResponse categories() {
+    return service.getCategories();
+  }
+
+  /**
+   * カテゴリ詳細の1ページ（20件、バリアント・キャンペーンを含む）を取得する
+   *
+   * @return カテゴリ詳細レスポンス
+   */
+  @Benchmark
+  public CategoryDetailResponse categoryDetail() {
+    return service.getCategoryDetail("iphone", detailRequest);
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.ec.service;
+
+import com.example.ec.config.JwtConfig;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JwtServiceのベンチマーク
+ *
+ * <p>ログインごとのアクセストークンの生成と、認証が必要なリクエストごとのトークンの検証のレイテンシを計測する。
+ * どちらも署名用キーの取得（シークレットのBase64デコード）を含む。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+  private static final String EMAIL = "benchmark@example.com";
+
+  private JwtService jwtService;
+  private String token;
+
+  /** 本番と同じ長さのシークレットでJwtServiceを生成し、検証するトークンを発行する */
+  @Setup
+  public void setUp() {
+    JwtConfig jwtConfig = new JwtConfig();
+    jwtConfig.setSecret(
+        Base64.getEncoder()
+            .encodeToString(
+                "benchmark-jwt-secret-key-for-benchmark-purposes-only-32bytes"
+                    .getBytes(StandardCharsets.UTF_8)));
+    jwtConfig.setAccessTokenExpiration(TimeUnit.HOURS.toMillis(1));
+    jwtConfig.setRefreshTokenExpiration(TimeUnit.DAYS.toMillis(7));
+    jwtService = new JwtService(jwtConfig);
+    token = jwtService.generateAccessToken(EMAIL);
+  }
+
+  /**
+   * アクセストークンを生成する
+   *
+   * @return アクセストークン
+   */
+  @Benchmark
+  public String generateAccessToken() {
+    return jwtService.generateAccessToken(EMAIL);
+  }
+
+  /**
+   * アクセストークンを検証する
+   *
+   * @return 有効な場合true
+   */
+  @Benchmark
+  public boolean validateToken() {
+    return jwtService.validateToken(token);
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.ec.service;
+
+import com.example.ec.dto.CategoryDetailResponse;
+import com.example.ec.entity.Campaign;
+import com.example.ec.entity.ImageUrls;
+import com.example.ec.entity.Product;
+import com.example.ec.entity.ProductCampaign;
+import com.example.ec.entity.ProductVariant;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 商品エンティティからレスポンスDTOへの変換のベンチマーク
+ *
+ * <p>カテゴリ詳細のDB検索と同じく、ページ内の全商品を、ページ内の全バリアントのリストを渡して
+ * {@link ProductCategoryService#convertToProductItem(Product, List)}で変換する。
+ * 各商品は4つのバリアントと、有効・終了済みのキャンペーンを1つずつ持つ。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductItemConversionBenchmark {
+
+  private static final int VARIANTS_PER_PRODUCT = 4;
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private List<Product> products;
+  private List<ProductVariant> variants;
+
+  /** ページ内の商品・バリアント・キャンペーンを用意する */
+  @Setup
+  public void setUp() {
+    Instant now = Instant.now();
+    Campaign currentCampaign =
+        Campaign.builder()
+            .id(1L)
+            .campaignCode("CURRENT")
+            .badgeText("期間限定")
+            .validFrom(now.minus(1, ChronoUnit.DAYS))
+            .validTo(now.plus(30, ChronoUnit.DAYS))
+            .isActive(true)
+            .build();
+    Campaign endedCampaign =
+        Campaign.builder()
+            .id(2L)
+            .campaignCode("ENDED")
+            .badgeText("終了")
+            .validFrom(now.minus(60, ChronoUnit.DAYS))
+            .validTo(now.minus(30, ChronoUnit.DAYS))
+            .isActive(true)
+            .build();
+
+    products = new ArrayList<>();
+    variants = new ArrayList<>();
+    for (long id = 1; id <= pageSize; id++) {
+      Product product =
+          Product.builder()
+              .id(id)
+              .name("iPhone " + id)
+              .description("商品説明 " + id)
+              .price(BigDecimal.valueOf(50000 + id * 10))
+              .isActive(true)
+              .build();
+      product
+          .getProductCampaigns()
+          .add(ProductCampaign.builder().product(product).campaign(currentCampaign).build());
+      product
+          .getProductCampaigns()
+          .add(ProductCampaign.builder().product(product).campaign(endedCampaign).build());
+      products.add(product);
+      for (int v = 0; v < VARIANTS_PER_PRODUCT; v++) {
+        variants.add(
+            ProductVariant.builder()
+                .id(id * VARIANTS_PER_PRODUCT + v)
+                .product(product)
+                .manufacturer("Apple")
+                .modelName("iPhone " + id)
+                .storageCapacity((v + 1) * 128 + "GB")
+                .colorCode("#00000" + v)
+                .colorName("カラー " + v)
+                .imageUrls(
+                    ImageUrls.fromJson(
+                        "[\"https://example.com/" + id + "/" + v + "/1.jpg\","
+                            + "\"https://example.com/" + id + "/" + v + "/2.jpg\"]"))
+                .build());
+      }
+    }
+  }
+
+  /**
+   * ページ内の全商品をDTOに変換する
+   *
+   * @return 商品アイテムDTO
+   */
+  @Benchmark
+  public List<CategoryDetailResponse.ProductItem> convertPage() {
+    List<CategoryDetailResponse.ProductItem> items = new ArrayList<>(products.size());
+    for (Product product : products) {
+      items.add(ProductCategoryService.convertToProductItem(product, variants));
+    }
+    return items;
+  }
+}
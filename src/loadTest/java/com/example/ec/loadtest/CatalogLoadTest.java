@@ -0,0 +1,204 @@
+package com.example.ec.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.datagen.CatalogDataGenerator;
+import com.example.ec.datagen.CatalogDataSpec;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * ログイン・カテゴリ一覧・カテゴリ詳細のエンドツーエンドの負荷テストクラス
+ *
+ * <p>TestcontainersのPostgreSQLに接続したアプリケーションを起動し、{@link CatalogDataGenerator}で小規模な合成データ（商品2,000件・
+ * ユーザー1,000件）を投入してから、{@link OpenModelLoadGenerator}で一定の到着率の負荷をかける。 ログインは合成データのユーザーから毎回選ぶ。
+ * 到着率・期間・シナリオの構成比・ベースラインは{@code ./gradlew loadTest}のプロパティ（{@code -PloadTestRate}など）で指定し、
+ * 結果は{@code build/reports/load-test}にJSONとHTMLで書き出す。 Dockerが使えない環境ではスキップする。
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "logging.level.com.example.ec=WARN",
+      "logging.level.org.springframework.security=WARN"
+    })
+@Testcontainers(disabledWithoutDocker = true)
+class CatalogLoadTest {
+
+  private static final CatalogDataSpec SPEC = CatalogDataSpec.small();
+  private static final List<String> SORTS = List.of("name", "price", "createdAt");
+  private static final double MAX_ERROR_RATIO = 0.01;
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+  @LocalServerPort private int port;
+
+  @Autowired private DataSource dataSource;
+
+  /**
+   * PostgreSQLコンテナを接続先に設定する
+   *
+   * @param registry プロパティの登録先
+   */
+  @DynamicPropertySource
+  static void datasourceProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @Test
+  @DisplayName("一定の到着率の負荷でエラー率が1%未満であり、ベースラインから悪化していない")
+  void loadTest() throws Exception {
+    CatalogDataGenerator.load(dataSource, SPEC);
+    Random random = new Random(42);
+    URI baseUri = URI.create("http://localhost:" + port);
+    Map<String, LoadScenario> scenarios =
+        Map.of(
+            "login",
+            new LoadScenario(
+                "login",
+                () ->
+                    HttpRequest.newBuilder(baseUri.resolve("/api/v1/auth/login"))
+                        .timeout(Duration.ofSeconds(10))
+                        .header("Content-Type", "application/json")
+                        .POST(
+                            HttpRequest.BodyPublishers.ofString(
+                                loginBody(1 + random.nextInt(SPEC.users()))))
+                        .build()),
+            "categories",
+            new LoadScenario(
+                "categories",
+                () ->
+                    HttpRequest.newBuilder(baseUri.resolve("/api/v1/products/categories"))
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build()),
+            "categoryDetail",
+            new LoadScenario(
+                "categoryDetail",
+                () ->
+                    HttpRequest.newBuilder(
+                            baseUri.resolve(
+                                "/api/v1/products/categories/iphone?page="
+                                    + random.nextInt(5)
+                                    + "&size=20&sort="
+                                    + SORTS.get(random.nextInt(SORTS.size()))))
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build()));
+    ScenarioMix mix =
+        ScenarioMix.parse(
+            System.getProperty("loadTest.mix", "login=1,categories=4,categoryDetail=5"),
+            scenarios);
+    HttpClient.Builder httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5));
+    ExecutorService executor = virtualThreadExecutor();
+    if (executor != null) {
+      httpClient.executor(executor);
+    }
+    OpenModelLoadGenerator generator =
+        new OpenModelLoadGenerator(
+            httpClient.build(),
+            mix,
+            Double.parseDouble(System.getProperty("loadTest.rate", "50")),
+            42L);
+
+    LoadTestResult result;
+    try {
+      result =
+          generator.run(
+              Duration.ofSeconds(Long.getLong("loadTest.warmup", 10)),
+              Duration.ofSeconds(Long.getLong("loadTest.duration", 30)),
+              Duration.ofSeconds(30));
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+
+    LoadTestReport.write(
+        result, Path.of(System.getProperty("loadTest.reportDir", "build/reports/load-test")));
+    for (LoadTestResult.ScenarioResult scenario : result.scenarios()) {
+      System.out.printf(
+          Locale.ROOT,
+          "%-16s requests=%d errors=%d throughput=%.1f/s p50=%.2fms p99=%.2fms p99.9=%.2fms%n",
+          scenario.name(),
+          scenario.requests(),
+          scenario.errors(),
+          scenario.throughput(),
+          scenario.p50(),
+          scenario.p99(),
+          scenario.p999());
+    }
+
+    assertThat(result.total().requests()).isPositive();
+    assertThat((double) result.total().errors() / result.total().requests())
+        .as("エラー率")
+        .isLessThan(MAX_ERROR_RATIO);
+    String baseline = System.getProperty("loadTest.baseline");
+    if (baseline != null && !baseline.isBlank()) {
+      Path baselineFile = Path.of(baseline);
+      assertThat(baselineFile).as("ベースライン").exists();
+      assertThat(
+              LoadTestReport.regressions(
+                  result,
+                  LoadTestReport.readBaseline(baselineFile),
+                  Double.parseDouble(System.getProperty("loadTest.threshold", "10"))))
+          .as("ベースラインからの悪化")
+          .isEmpty();
+    }
+  }
+
+  /**
+   * HTTPクライアントが応答の処理に使う仮想スレッドのエグゼキューターを生成する
+   *
+   * <p>ビルドはJava 17を対象とするため、ストレステストと同じく仮想スレッドはリフレクションで生成する
+   * （{@code Executors.newVirtualThreadPerTaskExecutor()}）。
+   * リクエストは非同期に送信するため、どちらのスレッドでも応答待ちの間はスレッドを占有しない。
+   *
+   * @return エグゼキューター（Java 21より前の実行環境ではnullとし、HttpClientの既定のスレッドプールを使う）
+   */
+  private static ExecutorService virtualThreadExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 合成データのユーザーのログインリクエストの本文を組み立てる
+   *
+   * @param userId ユーザーID
+   * @return リクエストの本文
+   */
+  private static String loginBody(int userId) {
+    return "{\"email\":\""
+        + CatalogDataGenerator.email(userId)
+        + "\",\"password\":\""
+        + CatalogDataGenerator.password(SPEC, userId)
+        + "\"}";
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.ec.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+/**
+ * 負荷テストのシナリオ
+ *
+ * @param name シナリオ名（レポート・シナリオ構成の指定で使う）
+ * @param request 送信するリクエストの生成（負荷生成のスレッドからだけ呼び出す）
+ */
+record LoadScenario(String name, Supplier<HttpRequest> request) {}
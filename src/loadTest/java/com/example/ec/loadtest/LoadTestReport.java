@@ -0,0 +1,173 @@
+package com.example.ec.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 負荷テストのレポート
+ *
+ * <p>結果をJSON（ベースラインとして保存・比較する形式）とHTMLに書き出し、ベースラインとの比較で悪化を検出する。
+ */
+final class LoadTestReport {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private LoadTestReport() {}
+
+  /**
+   * 結果をJSONとHTMLに書き出す
+   *
+   * @param result 結果
+   * @param directory 出力先ディレクトリ（{@code load-test.json}・{@code load-test.html}を書き出す）
+   * @throws IOException 書き出しエラー
+   */
+  static void write(LoadTestResult result, Path directory) throws IOException {
+    Files.createDirectories(directory);
+    OBJECT_MAPPER
+        .writerWithDefaultPrettyPrinter()
+        .writeValue(directory.resolve("load-test.json").toFile(), result);
+    Files.writeString(directory.resolve("load-test.html"), html(result), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * ベースラインの結果を読み込む
+   *
+   * @param file ベースラインのJSON（{@link #write}で書き出したもの）
+   * @return 結果
+   * @throws IOException 読み込みエラー
+   */
+  static LoadTestResult readBaseline(Path file) throws IOException {
+    return OBJECT_MAPPER.readValue(file.toFile(), LoadTestResult.class);
+  }
+
+  /**
+   * ベースラインと比べて閾値を超えて悪化したシナリオを列挙する
+   *
+   * <p>p99・p99.9は増加、スループットは減少を悪化とする。 ベースラインにないシナリオは比較しない。
+   *
+   * @param current 今回の結果
+   * @param baseline ベースラインの結果
+   * @param thresholdPercent 許容する悪化の割合（%）
+   * @return 悪化の内容（なければ空リスト）
+   */
+  static List<String> regressions(
+      LoadTestResult current, LoadTestResult baseline, double thresholdPercent) {
+    Map<String, LoadTestResult.ScenarioResult> baselineByName =
+        withTotal(baseline).stream()
+            .collect(Collectors.toMap(LoadTestResult.ScenarioResult::name, Function.identity()));
+    List<String> regressions = new ArrayList<>();
+    for (LoadTestResult.ScenarioResult scenario : withTotal(current)) {
+      LoadTestResult.ScenarioResult before = baselineByName.get(scenario.name());
+      if (before == null) {
+        continue;
+      }
+      compare(regressions, scenario.name(), "p99", before.p99(), scenario.p99(), thresholdPercent);
+      compare(
+          regressions, scenario.name(), "p99.9", before.p999(), scenario.p999(), thresholdPercent);
+      compare(
+          regressions,
+          scenario.name(),
+          "throughput",
+          -before.throughput(),
+          -scenario.throughput(),
+          thresholdPercent);
+    }
+    return regressions;
+  }
+
+  /**
+   * 値が大きいほど悪い指標を比較し、閾値を超えて悪化していれば追加する
+   *
+   * @param regressions 悪化の内容の追加先
+   * @param scenario シナリオ名
+   * @param metric 指標名
+   * @param before ベースラインの値（大きいほど悪い向きにそろえた値）
+   * @param after 今回の値（大きいほど悪い向きにそろえた値）
+   * @param thresholdPercent 許容する悪化の割合（%）
+   */
+  private static void compare(
+      List<String> regressions,
+      String scenario,
+      String metric,
+      double before,
+      double after,
+      double thresholdPercent) {
+    if (before == 0) {
+      return;
+    }
+    double worsePercent = (after - before) / Math.abs(before) * 100;
+    if (worsePercent > thresholdPercent) {
+      regressions.add(
+          String.format(
+              Locale.ROOT,
+              "%s %s: %.3f -> %.3f (%.1f%% 悪化)",
+              scenario,
+              metric,
+              Math.abs(before),
+              Math.abs(after),
+              worsePercent));
+    }
+  }
+
+  /**
+   * シナリオごとの結果に合計を加える
+   *
+   * @param result 結果
+   * @return シナリオごとの結果と合計
+   */
+  private static List<LoadTestResult.ScenarioResult> withTotal(LoadTestResult result) {
+    List<LoadTestResult.ScenarioResult> scenarios = new ArrayList<>(result.scenarios());
+    scenarios.add(result.total());
+    return scenarios;
+  }
+
+  /**
+   * 結果の表をHTMLで生成する
+   *
+   * @param result 結果
+   * @return HTML
+   */
+  private static String html(LoadTestResult result) {
+    StringBuilder html = new StringBuilder();
+    html.append("<!DOCTYPE html>\n<html lang=\"ja\">\n<head>\n<meta charset=\"UTF-8\">\n")
+        .append("<title>負荷テスト結果</title>\n")
+        .append("<style>table{border-collapse:collapse}th,td{border:1px solid #999;")
+        .append("padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}")
+        .append("</style>\n</head>\n<body>\n<h1>負荷テスト結果</h1>\n")
+        .append(
+            String.format(
+                Locale.ROOT,
+                "<p>到着率 %.1f req/s、計測期間 %.0f 秒（レイテンシは予定した送信時刻からの時間）</p>%n",
+                result.targetRate(),
+                result.durationSeconds()))
+        .append("<table>\n<tr><th>シナリオ</th><th>リクエスト</th><th>エラー</th>")
+        .append("<th>スループット (req/s)</th><th>p50 (ms)</th><th>p90 (ms)</th>")
+        .append("<th>p99 (ms)</th><th>p99.9 (ms)</th><th>最大 (ms)</th></tr>\n");
+    for (LoadTestResult.ScenarioResult scenario : withTotal(result)) {
+      html.append(
+          String.format(
+              Locale.ROOT,
+              "<tr><td>%s</td><td>%d</td><td>%d</td><td>%.1f</td><td>%.2f</td><td>%.2f</td>"
+                  + "<td>%.2f</td><td>%.2f</td><td>%.2f</td></tr>%n",
+              scenario.name(),
+              scenario.requests(),
+              scenario.errors(),
+              scenario.throughput(),
+              scenario.p50(),
+              scenario.p90(),
+              scenario.p99(),
+              scenario.p999(),
+              scenario.max()));
+    }
+    return html.append("</table>\n</body>\n</html>\n").toString();
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.ec.loadtest;
+
+import java.util.List;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 負荷テストの結果
+ *
+ * @param targetRate 目標の到着率（リクエスト/秒）
+ * @param durationSeconds 計測期間（秒、ウォームアップを除く）
+ * @param scenarios シナリオごとの結果
+ * @param total 全シナリオの合計
+ */
+record LoadTestResult(
+    double targetRate,
+    double durationSeconds,
+    List<ScenarioResult> scenarios,
+    ScenarioResult total) {
+
+  /**
+   * シナリオの結果
+   *
+   * <p>レイテンシは予定した送信時刻から応答の受信までの時間（ミリ秒）。
+   *
+   * @param name シナリオ名
+   * @param requests 計測したリクエスト数（完了待ちを打ち切ったリクエストを含む）
+   * @param errors エラー（4xx・5xx・タイムアウト・接続エラー）の数
+   * @param throughput 完了したリクエストのスループット（リクエスト/秒、完了待ちを打ち切ったリクエストを除く）
+   * @param p50 50パーセンタイル
+   * @param p90 90パーセンタイル
+   * @param p99 99パーセンタイル
+   * @param p999 99.9パーセンタイル
+   * @param max 最大値
+   */
+  record ScenarioResult(
+      String name,
+      long requests,
+      long errors,
+      double throughput,
+      double p50,
+      double p90,
+      double p99,
+      double p999,
+      double max) {
+
+    /**
+     * レイテンシのヒストグラム（ナノ秒）から結果を生成する
+     *
+     * @param name シナリオ名
+     * @param histogram レイテンシのヒストグラム
+     * @param errors エラーの数
+     * @param timeouts 完了待ちを打ち切ったリクエスト数（エラーの数に含まれる）
+     * @param durationSeconds 計測期間（秒）
+     * @return シナリオの結果
+     */
+    static ScenarioResult of(
+        String name, Histogram histogram, long errors, long timeouts, double durationSeconds) {
+      long requests = histogram.getTotalCount();
+      return new ScenarioResult(
+          name,
+          requests,
+          errors,
+          (requests - timeouts) / durationSeconds,
+          millis(histogram.getValueAtPercentile(50.0)),
+          millis(histogram.getValueAtPercentile(90.0)),
+          millis(histogram.getValueAtPercentile(99.0)),
+          millis(histogram.getValueAtPercentile(99.9)),
+          millis(histogram.getMaxValue()));
+    }
+
+    /**
+     * ナノ秒をミリ秒に変換する
+     *
+     * @param nanos ナノ秒
+     * @return ミリ秒
+     */
+    private static double millis(long nanos) {
+      return nanos / 1_000_000.0;
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package com.example.ec.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * オープンモデルの負荷生成
+ *
+ * <p>応答を待たずに一定の到着率でリクエストを送信し、レイテンシを予定した送信時刻から測る。
+ * サーバーが遅くなっても送信間隔は変わらず、負荷生成側が遅れた分もレイテンシに含まれるため、
+ * 応答を待ってから次を送るクローズドモデルで起きる協調的欠落（coordinated omission）が起きない。
+ * リクエストは非同期のHttpClientで送信し、応答待ちのためにスレッドを占有しない。
+ */
+final class OpenModelLoadGenerator {
+
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final HttpClient httpClient;
+  private final ScenarioMix mix;
+  private final double ratePerSecond;
+  private final Random random;
+
+  /**
+   * 負荷生成を生成する
+   *
+   * @param httpClient HTTPクライアント
+   * @param mix シナリオの構成比
+   * @param ratePerSecond 到着率（リクエスト/秒）
+   * @param seed シナリオの選択に使う乱数のシード
+   */
+  OpenModelLoadGenerator(HttpClient httpClient, ScenarioMix mix, double ratePerSecond, long seed) {
+    if (ratePerSecond <= 0) {
+      throw new IllegalArgumentException("到着率は正の値で指定してください: " + ratePerSecond);
+    }
+    this.httpClient = httpClient;
+    this.mix = mix;
+    this.ratePerSecond = ratePerSecond;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * ウォームアップの後、計測期間の間負荷をかけて結果を集計する
+   *
+   * <p>ウォームアップ中に予定したリクエストの応答は集計しない。 計測期間の終了後は送信済みのリクエストの完了を待つ。
+   * 待つ上限を過ぎても完了しないリクエストはタイムアウトのエラーとし、打ち切った時点までの経過時間をレイテンシとして記録する
+   * （記録しないと、最も遅いリクエストほど結果から抜け落ちる）。 打ち切った後に完了した応答は記録しない。
+   *
+   * @param warmup ウォームアップ期間
+   * @param duration 計測期間
+   * @param drainTimeout 計測期間の終了後に送信済みのリクエストの完了を待つ上限
+   * @return 結果
+   * @throws InterruptedException 割り込まれた場合
+   */
+  LoadTestResult run(Duration warmup, Duration duration, Duration drainTimeout)
+      throws InterruptedException {
+    Map<String, Histogram> histograms = new LinkedHashMap<>();
+    Map<String, LongAdder> errors = new LinkedHashMap<>();
+    Map<String, LongAdder> timeouts = new LinkedHashMap<>();
+    for (LoadScenario scenario : mix.scenarios()) {
+      histograms.put(scenario.name(), newHistogram());
+      errors.put(scenario.name(), new LongAdder());
+      timeouts.put(scenario.name(), new LongAdder());
+    }
+    Map<Long, PendingRequest> pending = new ConcurrentHashMap<>();
+
+    long intervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+    long startedAt = System.nanoTime();
+    long measureFrom = startedAt + warmup.toNanos();
+    long endAt = measureFrom + duration.toNanos();
+    for (long i = 0; ; i++) {
+      long scheduledAt = startedAt + i * intervalNanos;
+      if (scheduledAt >= endAt) {
+        break;
+      }
+      long delay = scheduledAt - System.nanoTime();
+      if (delay > 0) {
+        LockSupport.parkNanos(delay);
+      }
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      LoadScenario scenario = mix.next(random);
+      long requestId = i;
+      pending.put(
+          requestId, new PendingRequest(scenario.name(), scheduledAt, scheduledAt >= measureFrom));
+      httpClient
+          .sendAsync(scenario.request().get(), HttpResponse.BodyHandlers.discarding())
+          .whenComplete(
+              (response, error) -> {
+                // 打ち切り済みのリクエストはタイムアウトとして記録済み
+                PendingRequest request = pending.remove(requestId);
+                if (request != null && request.measured()) {
+                  record(
+                      histograms,
+                      errors,
+                      request,
+                      System.nanoTime(),
+                      error != null || response.statusCode() >= 400);
+                }
+              });
+    }
+
+    long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+    while (!pending.isEmpty() && System.nanoTime() < drainDeadline) {
+      Thread.sleep(10);
+    }
+    long abandonedAt = System.nanoTime();
+    for (Long requestId : pending.keySet()) {
+      PendingRequest request = pending.remove(requestId);
+      if (request != null && request.measured()) {
+        record(histograms, errors, request, abandonedAt, true);
+        timeouts.get(request.scenario()).increment();
+      }
+    }
+    return summarize(histograms, errors, timeouts, duration.toNanos() / 1e9);
+  }
+
+  /**
+   * リクエストのレイテンシとエラーを記録する
+   *
+   * @param histograms シナリオごとのレイテンシのヒストグラム
+   * @param errors シナリオごとのエラー数
+   * @param request リクエスト
+   * @param finishedAt 完了（または打ち切り）の時刻（{@link System#nanoTime()}）
+   * @param error エラーの場合true
+   */
+  private static void record(
+      Map<String, Histogram> histograms,
+      Map<String, LongAdder> errors,
+      PendingRequest request,
+      long finishedAt,
+      boolean error) {
+    long latency = finishedAt - request.scheduledAt();
+    histograms.get(request.scenario()).recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+    if (error) {
+      errors.get(request.scenario()).increment();
+    }
+  }
+
+  /**
+   * シナリオごとのヒストグラムとエラー数を結果にまとめる
+   *
+   * @param histograms シナリオごとのレイテンシのヒストグラム
+   * @param errors シナリオごとのエラー数
+   * @param timeouts シナリオごとの完了待ちを打ち切ったリクエスト数
+   * @param durationSeconds 計測期間（秒）
+   * @return 結果
+   */
+  private LoadTestResult summarize(
+      Map<String, Histogram> histograms,
+      Map<String, LongAdder> errors,
+      Map<String, LongAdder> timeouts,
+      double durationSeconds) {
+    Histogram total = newHistogram();
+    long totalErrors = 0;
+    long totalTimeouts = 0;
+    List<LoadTestResult.ScenarioResult> scenarios = new ArrayList<>();
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      long scenarioErrors = errors.get(entry.getKey()).sum();
+      long scenarioTimeouts = timeouts.get(entry.getKey()).sum();
+      scenarios.add(
+          LoadTestResult.ScenarioResult.of(
+              entry.getKey(), entry.getValue(), scenarioErrors, scenarioTimeouts, durationSeconds));
+      total.add(entry.getValue());
+      totalErrors += scenarioErrors;
+      totalTimeouts += scenarioTimeouts;
+    }
+    return new LoadTestResult(
+        ratePerSecond,
+        durationSeconds,
+        scenarios,
+        LoadTestResult.ScenarioResult.of(
+            "total", total, totalErrors, totalTimeouts, durationSeconds));
+  }
+
+  /**
+   * レイテンシ（ナノ秒）を記録するヒストグラムを生成する
+   *
+   * @return 複数スレッドから記録できるヒストグラム
+   */
+  private static Histogram newHistogram() {
+    return new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+  }
+
+  /**
+   * 完了を待っているリクエスト
+   *
+   * @param scenario シナリオ名
+   * @param scheduledAt 予定した送信時刻（{@link System#nanoTime()}）
+   * @param measured 計測期間中に予定したリクエストの場合true
+   */
+  private record PendingRequest(String scenario, long scheduledAt, boolean measured) {}
+}
@@ -0,0 +1,94 @@
+package com.example.ec.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * シナリオの構成比
+ *
+ * <p>{@code login=1,categories=4,categoryDetail=5}のような「シナリオ名=重み」の並びから生成し、
+ * 重みに比例した確率でシナリオを選ぶ。
+ */
+final class ScenarioMix {
+
+  private final List<LoadScenario> scenarios;
+  private final int[] cumulativeWeights;
+
+  /**
+   * シナリオと累積の重みから生成する
+   *
+   * @param scenarios シナリオ
+   * @param cumulativeWeights シナリオごとの累積の重み
+   */
+  private ScenarioMix(List<LoadScenario> scenarios, int[] cumulativeWeights) {
+    this.scenarios = scenarios;
+    this.cumulativeWeights = cumulativeWeights;
+  }
+
+  /**
+   * 構成比の指定を解析する
+   *
+   * @param spec 構成比の指定（「シナリオ名=重み」のカンマ区切り）
+   * @param available 指定できるシナリオ（シナリオ名から引く）
+   * @return シナリオの構成比
+   * @throws IllegalArgumentException 未知のシナリオ名・正でない重み・空の指定の場合
+   */
+  static ScenarioMix parse(String spec, Map<String, LoadScenario> available) {
+    List<LoadScenario> scenarios = new ArrayList<>();
+    List<Integer> weights = new ArrayList<>();
+    for (String entry : spec.split(",")) {
+      if (entry.isBlank()) {
+        continue;
+      }
+      String[] parts = entry.split("=", 2);
+      LoadScenario scenario = available.get(parts[0].trim());
+      if (scenario == null) {
+        throw new IllegalArgumentException(
+            "未知のシナリオです: " + parts[0].trim() + "（指定可能: " + available.keySet() + "）");
+      }
+      int weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 1;
+      if (weight <= 0) {
+        throw new IllegalArgumentException("重みは正の整数で指定してください: " + entry);
+      }
+      scenarios.add(scenario);
+      weights.add(weight);
+    }
+    if (scenarios.isEmpty()) {
+      throw new IllegalArgumentException("シナリオが指定されていません: " + spec);
+    }
+    int[] cumulativeWeights = new int[weights.size()];
+    int total = 0;
+    for (int i = 0; i < weights.size(); i++) {
+      total += weights.get(i);
+      cumulativeWeights[i] = total;
+    }
+    return new ScenarioMix(List.copyOf(scenarios), cumulativeWeights);
+  }
+
+  /**
+   * 構成に含まれるシナリオを取得する
+   *
+   * @return シナリオ（指定順）
+   */
+  List<LoadScenario> scenarios() {
+    return scenarios;
+  }
+
+  /**
+   * 重みに比例した確率でシナリオを選ぶ
+   *
+   * @param random 乱数
+   * @return シナリオ
+   */
+  LoadScenario next(Random random) {
+    int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return scenarios.get(i);
+      }
+    }
+    throw new IllegalStateException("到達しない");
+  }
+}
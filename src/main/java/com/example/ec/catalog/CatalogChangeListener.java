@@ -0,0 +1,429 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログ変更リスナー
+ *
+ * <p>PostgreSQLの{@code LISTEN catalog_changes}で、カタログ関連テーブルのトリガーが送る変更通知を受け取り、
+ * {@link CatalogInvalidationEvent}として発行する。通知を受け取ると{@link CatalogVersionTracker}のポーリングも予約し、
+ * 既存のキャッシュ（インメモリエンジン・入力補完・検索結果キャッシュ）をポーリング間隔を待たずに更新させる。
+ * ポーリングは受信スレッドとは別のスレッドで{@code version-poll-debounce}ミリ秒待ってから行い、その間の通知は1回にまとめる。
+ *
+ * <p>LISTENはセッション単位のため、コネクションプールとは別に専用のコネクションを1本保持する。 切断時は指数バックオフで再接続し、
+ * 接続が切れていた間の変更は{@code catalog_change_log}から読み直してから通知の受信を再開する。 連番はコミット順ではないため、
+ * 読み直しは接続中に確認した実行中トランザクションの最小ID（xmin）以上のトランザクションが書いた行を対象にする。
+ * 通知済みの行を再び発行することがあるが、無効化は冪等なため問題ない。 古い変更ログの削除は{@link CatalogChangeLogPruner}が行う。
+ *
+ * <p>発行件数はテーブル・経路別のカウンター{@code catalog.change.events}（タグ{@code table}・{@code source}:
+ * notify・catch-up）、接続状態は{@code catalog.change.listener.connected}として記録する。
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.change-listener", name = "enabled", havingValue = "true")
+@Slf4j
+public class CatalogChangeListener {
+
+  /** 通知チャネル名 */
+  static final String CHANNEL = "catalog_changes";
+
+  private static final String METRIC_NAME = "catalog.change.events";
+  private static final int CATCH_UP_BATCH_SIZE = 1000;
+  private static final String LATEST_SEQUENCE_SQL =
+      "SELECT COALESCE(MAX(seq), 0) FROM catalog_change_log";
+  private static final String XMIN_SQL =
+      "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+  private static final String CATCH_UP_SQL =
+      "SELECT seq, table_name, operation, row_key FROM catalog_change_log "
+          + "WHERE xid >= ?::xid8 AND seq > ? ORDER BY seq LIMIT "
+          + CATCH_UP_BATCH_SIZE;
+
+  /** 連番が未取得であることを表す値 */
+  private static final long UNKNOWN_SEQUENCE = -1L;
+
+  /** トランザクションIDが未取得であることを表す値 */
+  private static final long UNKNOWN_XMIN = -1L;
+
+  private final DataSourceProperties dataSourceProperties;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CatalogVersionTracker catalogVersionTracker;
+  private final MeterRegistry meterRegistry;
+  private final CatalogConfig.ChangeListener config;
+  private final AtomicLong lastSequence = new AtomicLong(UNKNOWN_SEQUENCE);
+  private final ScheduledExecutorService versionPollExecutor;
+  private final AtomicBoolean versionPollScheduled = new AtomicBoolean();
+
+  /** 再接続時の読み直しの起点（このID以上のトランザクションが書いた行を読み直す）。受信スレッドのみが参照する */
+  private long resumeXmin = UNKNOWN_XMIN;
+
+  /** 直近に取得したxmin。それまでに届いた通知を処理し終えた次回の確認時に起点へ昇格する。受信スレッドのみが参照する */
+  private long pendingXmin = UNKNOWN_XMIN;
+
+  private long xminCheckedAt;
+  private volatile boolean running;
+  private volatile boolean connected;
+  private volatile Connection connection;
+  private Thread thread;
+
+  /**
+   * カタログ変更リスナーを生成する
+   *
+   * @param dataSourceProperties データソース設定（専用コネクションの接続先）
+   * @param objectMapper 通知ペイロードの解析に使うObjectMapper
+   * @param eventPublisher イベント発行
+   * @param catalogVersionTracker カタログバージョントラッカー
+   * @param catalogConfig カタログ設定
+   * @param meterRegistry メトリクスレジストリ
+   */
+  public CatalogChangeListener(
+      DataSourceProperties dataSourceProperties,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      CatalogVersionTracker catalogVersionTracker,
+      CatalogConfig catalogConfig,
+      MeterRegistry meterRegistry) {
+    this.dataSourceProperties = dataSourceProperties;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    this.catalogVersionTracker = catalogVersionTracker;
+    this.meterRegistry = meterRegistry;
+    this.config = catalogConfig.getChangeListener();
+    this.versionPollExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "catalog-change-version-poll");
+              thread.setDaemon(true);
+              return thread;
+            });
+    Gauge.builder("catalog.change.listener.connected", this, listener -> listener.connected ? 1 : 0)
+        .description("変更通知の専用コネクションでLISTEN中かどうか")
+        .register(meterRegistry);
+    Gauge.builder("catalog.change.listener.last-sequence", lastSequence, AtomicLong::get)
+        .register(meterRegistry);
+  }
+
+  /** アプリケーション起動完了後に受信スレッドを開始する */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    thread = new Thread(this::run, "catalog-change-listener");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** 受信スレッドとバージョン確認のスレッドを停止し、専用コネクションを閉じる */
+  @PreDestroy
+  public synchronized void stop() {
+    running = false;
+    closeQuietly(connection);
+    if (thread != null) {
+      thread.interrupt();
+    }
+    versionPollExecutor.shutdownNow();
+  }
+
+  /**
+   * 受け取った通知ペイロードを無効化イベントとして発行する
+   *
+   * <p>1件以上発行した場合は、カタログバージョンのポーリングを予約する。
+   *
+   * @param payloads 通知ペイロード
+   */
+  void handleNotifications(List<String> payloads) {
+    boolean published = false;
+    for (String payload : payloads) {
+      published |= dispatch(payload);
+    }
+    if (published) {
+      requestVersionPoll();
+    }
+  }
+
+  /**
+   * カタログバージョンのポーリングを予約する
+   *
+   * <p>予約済みで未実行のポーリングがあれば何もしない（待ち時間中の通知はそのポーリングにまとめる）。
+   * ポーリングはDBに問い合わせ、変化があればキャッシュを同期的に更新するため、受信スレッドでは実行しない。
+   */
+  private void requestVersionPoll() {
+    if (!versionPollScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      versionPollExecutor.schedule(
+          () -> {
+            versionPollScheduled.set(false);
+            catalogVersionTracker.poll();
+          },
+          config.getVersionPollDebounce(),
+          TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      versionPollScheduled.set(false);
+    }
+  }
+
+  /**
+   * 最後に発行した変更の連番を取得する
+   *
+   * @return 連番（未取得の場合は-1）
+   */
+  long lastSequence() {
+    return lastSequence.get();
+  }
+
+  /** 停止されるまで接続・受信・再接続を繰り返す */
+  private void run() {
+    long backoff = config.getReconnectInitialBackoff();
+    while (running) {
+      try {
+        listen();
+        backoff = config.getReconnectInitialBackoff();
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("カタログ変更通知の受信が中断しました。{}ms後に再接続します: {}", backoff, e.getMessage());
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        backoff = Math.min(backoff * 2, config.getReconnectMaxBackoff());
+      }
+    }
+  }
+
+  /**
+   * 専用コネクションでLISTENし、切断されるか停止されるまで通知を受信する
+   *
+   * @throws SQLException 接続・受信エラー
+   */
+  private void listen() throws SQLException {
+    try (Connection listenConnection =
+        DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword())) {
+      connection = listenConnection;
+      listenConnection.setAutoCommit(true);
+      PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+      // LISTEN前に実行中だったトランザクションは、LISTEN後にコミットされれば通知され、前にコミットされていれば読み直しで見える
+      long xminBeforeListen = currentXmin(listenConnection);
+      try (Statement statement = listenConnection.createStatement()) {
+        statement.execute("LISTEN " + CHANNEL);
+      }
+      catchUp(listenConnection, xminBeforeListen);
+      connected = true;
+      log.info("カタログ変更通知の受信を開始しました: lastSequence={}", lastSequence.get());
+      while (running) {
+        PGNotification[] notifications =
+            pgConnection.getNotifications((int) config.getPollTimeout());
+        if (notifications != null && notifications.length > 0) {
+          handleNotifications(
+              Arrays.stream(notifications).map(PGNotification::getParameter).toList());
+        }
+        if (System.currentTimeMillis() - xminCheckedAt >= config.getPollTimeout()) {
+          advanceResumePoint(listenConnection);
+        }
+      }
+    } finally {
+      connected = false;
+      connection = null;
+      // 取得後の通知を処理し終えたか分からないため、このコネクションで取得したxminは起点にしない
+      pendingXmin = UNKNOWN_XMIN;
+    }
+  }
+
+  /**
+   * 読み直しの起点以上のトランザクションが書いた変更を変更ログから読み直して発行する
+   *
+   * <p>初回接続時は読み直さず、現在の最新の連番から受信を始める（起動直後のキャッシュは空のため）。
+   * 読み直しを終えると、LISTEN前に取得したxminを次の起点とする（それより前のトランザクションはすべて読み直しで見えている）。
+   *
+   * @param listenConnection 専用コネクション
+   * @param xminBeforeListen LISTEN前に取得した実行中トランザクションの最小ID
+   * @throws SQLException 読み取りエラー
+   */
+  private void catchUp(Connection listenConnection, long xminBeforeListen) throws SQLException {
+    if (resumeXmin == UNKNOWN_XMIN) {
+      try (Statement statement = listenConnection.createStatement();
+          ResultSet rs = statement.executeQuery(LATEST_SEQUENCE_SQL)) {
+        rs.next();
+        lastSequence.accumulateAndGet(rs.getLong(1), Math::max);
+      }
+      markResumePoint(xminBeforeListen);
+      return;
+    }
+    int caughtUp = 0;
+    int fetched;
+    long cursor = 0;
+    do {
+      fetched = 0;
+      try (PreparedStatement statement = listenConnection.prepareStatement(CATCH_UP_SQL)) {
+        statement.setString(1, Long.toString(resumeXmin));
+        statement.setLong(2, cursor);
+        try (ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            fetched++;
+            cursor = rs.getLong("seq");
+            publish(
+                cursor,
+                rs.getString("table_name"),
+                rs.getString("operation").trim(),
+                rs.getString("row_key"),
+                "catch-up");
+          }
+        }
+      }
+      caughtUp += fetched;
+    } while (fetched == CATCH_UP_BATCH_SIZE && running);
+    if (!running) {
+      return;
+    }
+    markResumePoint(xminBeforeListen);
+    if (caughtUp > 0) {
+      log.info("切断中のカタログ変更を読み直しました: {}件", caughtUp);
+      requestVersionPoll();
+    }
+  }
+
+  /**
+   * 読み直しの起点を設定する
+   *
+   * @param xmin 起点とするトランザクションID
+   */
+  private void markResumePoint(long xmin) {
+    resumeXmin = xmin;
+    pendingXmin = xmin;
+    xminCheckedAt = System.currentTimeMillis();
+  }
+
+  /**
+   * 前回取得したxminを読み直しの起点に昇格し、新しいxminを取得する
+   *
+   * <p>xminより前のトランザクションの通知は取得の直後に届くことがあるため、取得したxminは1回分遅らせて起点にする。
+   * 通知がない間も専用コネクションが生きていることの確認を兼ねる（通知の待ち受けだけでは、経路上で黙って切断されたコネクションを検知できない）。
+   *
+   * @param listenConnection 専用コネクション
+   * @throws SQLException 接続が切れている場合
+   */
+  private void advanceResumePoint(Connection listenConnection) throws SQLException {
+    long xmin = currentXmin(listenConnection);
+    resumeXmin = pendingXmin;
+    pendingXmin = xmin;
+    xminCheckedAt = System.currentTimeMillis();
+  }
+
+  /**
+   * 実行中のトランザクションの最小IDを取得する（これより前のトランザクションはすべて完了している）
+   *
+   * @param listenConnection 専用コネクション
+   * @return トランザクションID
+   * @throws SQLException 読み取りエラー
+   */
+  private static long currentXmin(Connection listenConnection) throws SQLException {
+    try (Statement statement = listenConnection.createStatement();
+        ResultSet rs = statement.executeQuery(XMIN_SQL)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  /**
+   * 通知ペイロードを解析して無効化イベントを発行する
+   *
+   * @param payload 通知ペイロード（JSON）
+   * @return 発行した場合はtrue
+   */
+  private boolean dispatch(String payload) {
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(payload);
+    } catch (JsonProcessingException e) {
+      log.warn("カタログ変更通知のペイロードを解析できません: {}", payload);
+      return false;
+    }
+    return publish(
+        node.path("seq").asLong(),
+        node.path("table").asText(),
+        node.path("op").asText(),
+        node.path("key").asText(),
+        "notify");
+  }
+
+  /**
+   * 無効化イベントを発行して連番を進める
+   *
+   * @param sequence 変更ログの連番
+   * @param tableName テーブル名
+   * @param operationCode 変更の種類のコード
+   * @param key 変更された行のキー
+   * @param source 経路（notify・catch-up）
+   * @return 発行した場合はtrue
+   */
+  private boolean publish(
+      long sequence, String tableName, String operationCode, String key, String source) {
+    Optional<CatalogTable> table = CatalogTable.fromTableName(tableName);
+    Optional<CatalogInvalidationEvent.Operation> operation =
+        CatalogInvalidationEvent.Operation.fromCode(operationCode);
+    lastSequence.accumulateAndGet(sequence, Math::max);
+    if (table.isEmpty() || operation.isEmpty()) {
+      log.warn("不明なカタログ変更を無視します: table={}, op={}", tableName, operationCode);
+      return false;
+    }
+    eventPublisher.publishEvent(
+        new CatalogInvalidationEvent(sequence, table.get(), operation.get(), key));
+    meterRegistry.counter(METRIC_NAME, "table", tableName, "source", source).increment();
+    return true;
+  }
+
+  /**
+   * コネクションを例外を無視して閉じる
+   *
+   * @param target 閉じるコネクション（nullの場合は何もしない）
+   */
+  private static void closeQuietly(Connection target) {
+    if (target == null) {
+      return;
+    }
+    try {
+      target.close();
+    } catch (SQLException e) {
+      log.debug("カタログ変更通知の専用コネクションを閉じる際にエラーが発生しました: {}", e.getMessage());
+    }
+  }
+}
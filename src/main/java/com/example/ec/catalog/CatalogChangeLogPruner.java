@@ -0,0 +1,49 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import java.sql.Timestamp;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログ変更ログの定期削除
+ *
+ * <p>変更ログはトリガーが{@link CatalogChangeListener}の有効・無効に関係なく書き込むため、削除もリスナーとは独立して行う。
+ * 変更ログのテーブルはFlywayのマイグレーションで作成されるため、Flywayが無効の場合（H2を使うテストなど）は動作しない。
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "spring.flyway",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogChangeLogPruner {
+
+  private static final String PRUNE_SQL = "DELETE FROM catalog_change_log WHERE changed_at < ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final CatalogConfig catalogConfig;
+
+  /** 保持期間を過ぎた変更ログを削除する */
+  @Scheduled(fixedDelayString = "${catalog.change-listener.prune-interval:3600000}")
+  public void prune() {
+    try {
+      long retention = catalogConfig.getChangeListener().getRetention();
+      Timestamp threshold = Timestamp.from(Instant.now().minusMillis(retention));
+      int deleted = jdbcTemplate.update(PRUNE_SQL, threshold);
+      if (deleted > 0) {
+        log.debug("古いカタログ変更ログを削除しました: {}件", deleted);
+      }
+    } catch (DataAccessException e) {
+      log.warn("カタログ変更ログの削除に失敗しました: {}", e.getMessage());
+    }
+  }
+}
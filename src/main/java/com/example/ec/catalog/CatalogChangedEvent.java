@@ -0,0 +1,10 @@
+package com.example.ec.catalog;
+
+/**
+ * カタログ変更イベント
+ *
+ * <p>カタログ（カテゴリ・商品・バリアント・キャンペーン）のバージョンが変化したことを通知するアプリケーションイベント。
+ *
+ * @param version 変更後のカタログバージョン
+ */
+public record CatalogChangedEvent(long version) {}
@@ -0,0 +1,100 @@
+package com.example.ec.catalog;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * カタログデータ
+ *
+ * <p>インメモリカタログを構築するための入力データ。 エンティティから切り離された不変のレコードのみを保持する。
+ *
+ * @param categories アクティブなカテゴリ（表示順）
+ * @param products アクティブな商品
+ * @param variants アクティブな商品のバリアント
+ * @param campaigns アクティブなキャンペーン
+ * @param productCampaigns 商品とキャンペーンの関連
+ */
+public record CatalogData(
+    List<CategoryRow> categories,
+    List<ProductRow> products,
+    List<VariantRow> variants,
+    List<CampaignRow> campaigns,
+    List<ProductCampaignRow> productCampaigns) {
+
+  /**
+   * カテゴリレコード
+   *
+   * @param categoryCode カテゴリコード
+   * @param displayName 表示名
+   * @param heroImageUrl ヒーロー画像URL
+   * @param leadText リード文
+   * @param displayOrder 表示順
+   */
+  public record CategoryRow(
+      String categoryCode,
+      String displayName,
+      String heroImageUrl,
+      String leadText,
+      int displayOrder) {}
+
+  /**
+   * 商品レコード
+   *
+   * @param id 商品ID
+   * @param name 商品名
+   * @param description 商品説明
+   * @param price 価格
+   * @param categoryCode カテゴリコード
+   * @param createdAt 作成日時
+   */
+  public record ProductRow(
+      long id,
+      String name,
+      String description,
+      BigDecimal price,
+      String categoryCode,
+      Instant createdAt) {}
+
+  /**
+   * バリアントレコード
+   *
+   * @param id バリアントID
+   * @param productId 商品ID
+   * @param manufacturer メーカー
+   * @param modelName モデル名
+   * @param storageCapacity ストレージ容量
+   * @param colorCode カラーコード
+   * @param colorName カラー名
+   * @param imageUrls 画像URLリスト
+   */
+  public record VariantRow(
+      long id,
+      long productId,
+      String manufacturer,
+      String modelName,
+      String storageCapacity,
+      String colorCode,
+      String colorName,
+      List<String> imageUrls) {}
+
+  /**
+   * キャンペーンレコード
+   *
+   * @param id キャンペーンID
+   * @param campaignCode キャンペーンコード
+   * @param badgeText バッジテキスト
+   * @param validFrom 有効期間開始（制限なしの場合null）
+   * @param validTo 有効期間終了（制限なしの場合null）
+   */
+  public record CampaignRow(
+      long id, String campaignCode, String badgeText, Instant validFrom, Instant validTo) {}
+
+  /**
+   * 商品キャンペーン関連レコード
+   *
+   * @param productId 商品ID
+   * @param campaignId キャンペーンID
+   */
+  public record ProductCampaignRow(long productId, long campaignId) {}
+}
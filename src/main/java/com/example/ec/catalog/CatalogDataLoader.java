@@ -0,0 +1,145 @@
+package com.example.ec.catalog;
+
+import com.example.ec.entity.Campaign;
+import com.example.ec.entity.Category;
+import com.example.ec.entity.Product;
+import com.example.ec.entity.ProductCampaign;
+import com.example.ec.entity.ProductVariant;
+import com.example.ec.repository.CategoryRepository;
+import com.example.ec.repository.ProductCampaignRepository;
+import com.example.ec.repository.ProductRepository;
+import com.example.ec.repository.ProductVariantRepository;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * カタログデータローダー
+ *
+ * <p>インメモリカタログの構築に必要なアクティブなカタログデータをDBから一括で読み込み、 エンティティから切り離されたレコードに変換する。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogDataLoader {
+
+  private final CategoryRepository categoryRepository;
+  private final ProductRepository productRepository;
+  private final ProductVariantRepository productVariantRepository;
+  private final ProductCampaignRepository productCampaignRepository;
+
+  /**
+   * アクティブなカタログデータを全件読み込む
+   *
+   * @return カタログデータ
+   */
+  @Transactional(readOnly = true)
+  public CatalogData loadAll() {
+    List<CatalogData.CategoryRow> categories =
+        categoryRepository.findByIsActiveTrueOrderByDisplayOrder().stream()
+            .map(CatalogDataLoader::toCategoryRow)
+            .toList();
+
+    List<CatalogData.ProductRow> products =
+        productRepository.findAllActiveWithCategory().stream()
+            .map(CatalogDataLoader::toProductRow)
+            .toList();
+
+    List<CatalogData.VariantRow> variants =
+        productVariantRepository.findAllOfActiveProducts().stream()
+            .map(CatalogDataLoader::toVariantRow)
+            .toList();
+
+    List<ProductCampaign> productCampaigns = productCampaignRepository.findAllWithActiveCampaign();
+    Map<Long, CatalogData.CampaignRow> campaigns = new LinkedHashMap<>();
+    for (ProductCampaign productCampaign : productCampaigns) {
+      Campaign campaign = productCampaign.getCampaign();
+      campaigns.computeIfAbsent(campaign.getId(), id -> toCampaignRow(campaign));
+    }
+    List<CatalogData.ProductCampaignRow> links =
+        productCampaigns.stream()
+            .map(
+                productCampaign ->
+                    new CatalogData.ProductCampaignRow(
+                        productCampaign.getId().getProductId(),
+                        productCampaign.getId().getCampaignId()))
+            .toList();
+
+    log.info(
+        "カタログデータを読み込みました: categories={}, products={}, variants={}, campaigns={}",
+        categories.size(),
+        products.size(),
+        variants.size(),
+        campaigns.size());
+    return new CatalogData(
+        categories, products, variants, List.copyOf(campaigns.values()), links);
+  }
+
+  /**
+   * カテゴリエンティティをレコードに変換する
+   *
+   * @param category カテゴリエンティティ
+   * @return カテゴリレコード
+   */
+  static CatalogData.CategoryRow toCategoryRow(Category category) {
+    return new CatalogData.CategoryRow(
+        category.getCategoryCode(),
+        category.getDisplayName(),
+        category.getHeroImageUrl(),
+        category.getLeadText(),
+        category.getDisplayOrder() != null ? category.getDisplayOrder() : 0);
+  }
+
+  /**
+   * 商品エンティティをレコードに変換する
+   *
+   * @param product 商品エンティティ
+   * @return 商品レコード
+   */
+  static CatalogData.ProductRow toProductRow(Product product) {
+    return new CatalogData.ProductRow(
+        product.getId(),
+        product.getName(),
+        product.getDescription(),
+        product.getPrice(),
+        product.getCategory().getCategoryCode(),
+        product.getCreatedAt());
+  }
+
+  /**
+   * バリアントエンティティをレコードに変換する
+   *
+   * @param variant バリアントエンティティ
+   * @return バリアントレコード
+   */
+  static CatalogData.VariantRow toVariantRow(ProductVariant variant) {
+    return new CatalogData.VariantRow(
+        variant.getId(),
+        variant.getProduct().getId(),
+        variant.getManufacturer(),
+        variant.getModelName(),
+        variant.getStorageCapacity(),
+        variant.getColorCode(),
+        variant.getColorName(),
+        variant.getImageUrls());
+  }
+
+  /**
+   * キャンペーンエンティティをレコードに変換する
+   *
+   * @param campaign キャンペーンエンティティ
+   * @return キャンペーンレコード
+   */
+  static CatalogData.CampaignRow toCampaignRow(Campaign campaign) {
+    return new CatalogData.CampaignRow(
+        campaign.getId(),
+        campaign.getCampaignCode(),
+        campaign.getBadgeText(),
+        campaign.getValidFrom(),
+        campaign.getValidTo());
+  }
+}
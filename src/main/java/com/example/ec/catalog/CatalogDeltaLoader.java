@@ -0,0 +1,229 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.entity.Campaign;
+import com.example.ec.entity.Product;
+import com.example.ec.entity.ProductCampaign;
+import com.example.ec.repository.ProductCampaignRepository;
+import com.example.ec.repository.ProductRepository;
+import com.example.ec.repository.ProductVariantRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * カタログ差分ローダー
+ *
+ * <p>{@code catalog_outbox}を確保せずにログとして読み、前回の構築以降に変更された商品・キャンペーンだけをDBから読み直して
+ * 現在のカタログデータに反映する。 イベントを確保して1つのノードに配信するのではなく、ノードごとに持つインメモリカタログ
+ * （ファセットのビットマップ・入力補完のトライ木を含む）を各ノードがこのクラスで差分更新する。
+ *
+ * <p>読み取り位置は構築前に確認した「実行中トランザクションの最小ID（xmin）」とし、それ以上のトランザクションが書いたイベントを読む
+ * （連番はコミット順ではないため）。 既に反映済みの変更を再び読むことはあるが、集約の現在の状態を読み直すため結果は変わらない。
+ *
+ * <p>次の場合は差分を返さず、全件の読み込みを求める。
+ *
+ * <ul>
+ *   <li>カテゴリの変更・TRUNCATEなど、商品・キャンペーン以外の集約のイベントがある
+ *   <li>変更された集約が{@code catalog.engine.delta-max-aggregates}を超える
+ *   <li>読み取り位置がアウトボックスの保持期間の半分より古く、イベントが削除されている可能性がある
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.engine", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogDeltaLoader {
+
+  private static final String PRODUCT_AGGREGATE = "product";
+  private static final String CAMPAIGN_AGGREGATE = "campaign";
+  private static final String POSITION_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text";
+  private static final String CHANGES_SQL =
+      "SELECT DISTINCT aggregate_type, aggregate_id FROM catalog_outbox "
+          + "WHERE xid >= ?::xid8 LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ProductRepository productRepository;
+  private final ProductVariantRepository productVariantRepository;
+  private final ProductCampaignRepository productCampaignRepository;
+  private final CatalogConfig catalogConfig;
+
+  /**
+   * 現在の読み取り位置を取得する
+   *
+   * <p>カタログデータの読み込みより前に取得し、次回の差分の起点とする。
+   *
+   * @return 読み取り位置（取得できない場合はOptional.empty()）
+   */
+  public Optional<Position> currentPosition() {
+    try {
+      String xmin = jdbcTemplate.queryForObject(POSITION_SQL, String.class);
+      return Optional.ofNullable(xmin).map(value -> new Position(value, Instant.now()));
+    } catch (DataAccessException e) {
+      log.debug("カタログ差分の読み取り位置を取得できません: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * 読み取り位置以降の変更をカタログデータに反映する
+   *
+   * @param base 反映元のカタログデータ
+   * @param since 前回の構築前に取得した読み取り位置
+   * @return 変更を反映したカタログデータ（全件の読み込みが必要な場合はOptional.empty()）
+   */
+  @Transactional(readOnly = true)
+  public Optional<CatalogData> loadChanges(CatalogData base, Position since) {
+    long retention = catalogConfig.getOutbox().getRetention();
+    if (since.takenAt().isBefore(Instant.now().minusMillis(retention / 2))) {
+      return Optional.empty();
+    }
+    int maxAggregates = catalogConfig.getEngine().getDeltaMaxAggregates();
+    Set<Long> productIds = new LinkedHashSet<>();
+    Set<Long> campaignIds = new LinkedHashSet<>();
+    List<String> otherAggregates = new ArrayList<>();
+    jdbcTemplate.query(
+        CHANGES_SQL,
+        rs -> {
+          String aggregateType = rs.getString("aggregate_type");
+          if (PRODUCT_AGGREGATE.equals(aggregateType)) {
+            productIds.add(Long.parseLong(rs.getString("aggregate_id")));
+          } else if (CAMPAIGN_AGGREGATE.equals(aggregateType)) {
+            campaignIds.add(Long.parseLong(rs.getString("aggregate_id")));
+          } else {
+            otherAggregates.add(aggregateType);
+          }
+        },
+        since.xmin(),
+        maxAggregates + 1);
+    int changed = productIds.size() + campaignIds.size() + otherAggregates.size();
+    if (!otherAggregates.isEmpty() || changed > maxAggregates) {
+      log.info(
+          "カタログの変更を差分で反映できないため、全件を読み込みます: aggregates={}, others={}",
+          changed,
+          otherAggregates);
+      return Optional.empty();
+    }
+    if (changed == 0) {
+      return Optional.of(base);
+    }
+    return Optional.of(merge(base, productIds, campaignIds));
+  }
+
+  /**
+   * 変更された商品・キャンペーンを読み直してカタログデータに反映する
+   *
+   * @param base 反映元のカタログデータ
+   * @param productIds 変更された商品ID
+   * @param campaignIds 変更されたキャンペーンID
+   * @return 変更を反映したカタログデータ
+   */
+  private CatalogData merge(CatalogData base, Set<Long> productIds, Set<Long> campaignIds) {
+    List<CatalogData.ProductRow> products = new ArrayList<>();
+    for (CatalogData.ProductRow product : base.products()) {
+      if (!productIds.contains(product.id())) {
+        products.add(product);
+      }
+    }
+    List<CatalogData.VariantRow> variants = new ArrayList<>();
+    for (CatalogData.VariantRow variant : base.variants()) {
+      if (!productIds.contains(variant.productId())) {
+        variants.add(variant);
+      }
+    }
+    List<CatalogData.ProductCampaignRow> links = new ArrayList<>();
+    for (CatalogData.ProductCampaignRow link : base.productCampaigns()) {
+      if (!productIds.contains(link.productId()) && !campaignIds.contains(link.campaignId())) {
+        links.add(link);
+      }
+    }
+    Map<Long, CatalogData.CampaignRow> campaigns = new LinkedHashMap<>();
+    for (CatalogData.CampaignRow campaign : base.campaigns()) {
+      if (!campaignIds.contains(campaign.id())) {
+        campaigns.put(campaign.id(), campaign);
+      }
+    }
+
+    if (!productIds.isEmpty()) {
+      Set<Long> activeProductIds = new LinkedHashSet<>();
+      for (Product product : productRepository.findActiveWithCategoryByIdIn(productIds)) {
+        products.add(CatalogDataLoader.toProductRow(product));
+        activeProductIds.add(product.getId());
+      }
+      // 全件の読み込みと同じく、アクティブな商品のバリアントだけを含める
+      productVariantRepository.findByProductIds(List.copyOf(activeProductIds)).stream()
+          .map(CatalogDataLoader::toVariantRow)
+          .forEach(variants::add);
+      addLinks(
+          productCampaignRepository.findWithActiveCampaignByProductIdIn(productIds),
+          Set.of(),
+          links,
+          campaigns);
+    }
+    if (!campaignIds.isEmpty()) {
+      addLinks(
+          productCampaignRepository.findWithActiveCampaignByCampaignIdIn(campaignIds),
+          productIds,
+          links,
+          campaigns);
+    }
+
+    // 関連がなくなったキャンペーンは全件の読み込みと同じく含めない
+    Set<Long> linkedCampaignIds = new LinkedHashSet<>();
+    for (CatalogData.ProductCampaignRow link : links) {
+      linkedCampaignIds.add(link.campaignId());
+    }
+    campaigns.keySet().retainAll(linkedCampaignIds);
+
+    log.debug(
+        "カタログの変更を差分で読み込みました: products={}, campaigns={}",
+        productIds.size(),
+        campaignIds.size());
+    return new CatalogData(
+        base.categories(), products, variants, List.copyOf(campaigns.values()), links);
+  }
+
+  /**
+   * 読み直した商品キャンペーン関連とキャンペーンを追加する
+   *
+   * @param reloaded 読み直した商品キャンペーン関連
+   * @param skippedProductIds 関連を追加済みの商品ID（商品ごとに読み直した関連は追加しない）
+   * @param links 追加先の商品キャンペーン関連
+   * @param campaigns 追加先のキャンペーン（読み直した内容で置き換える）
+   */
+  private static void addLinks(
+      List<ProductCampaign> reloaded,
+      Set<Long> skippedProductIds,
+      List<CatalogData.ProductCampaignRow> links,
+      Map<Long, CatalogData.CampaignRow> campaigns) {
+    for (ProductCampaign productCampaign : reloaded) {
+      long productId = productCampaign.getId().getProductId();
+      long campaignId = productCampaign.getId().getCampaignId();
+      Campaign campaign = productCampaign.getCampaign();
+      campaigns.put(campaignId, CatalogDataLoader.toCampaignRow(campaign));
+      if (!skippedProductIds.contains(productId)) {
+        links.add(new CatalogData.ProductCampaignRow(productId, campaignId));
+      }
+    }
+  }
+
+  /**
+   * アウトボックスの読み取り位置
+   *
+   * @param xmin 取得時点で実行中のトランザクションの最小ID
+   * @param takenAt 取得日時
+   */
+  public record Position(String xmin, Instant takenAt) {}
+}
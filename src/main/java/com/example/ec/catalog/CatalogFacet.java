@@ -0,0 +1,27 @@
+package com.example.ec.catalog;
+
+/**
+ * カタログのファセット
+ *
+ * <p>カテゴリ詳細APIで絞り込み・件数集計の対象となる商品バリアントの属性。
+ */
+public enum CatalogFacet {
+  MANUFACTURER("manufacturer"),
+  STORAGE_CAPACITY("storageCapacity"),
+  COLOR_NAME("colorName");
+
+  private final String attributeName;
+
+  CatalogFacet(String attributeName) {
+    this.attributeName = attributeName;
+  }
+
+  /**
+   * ファセットに対応する商品バリアントエンティティの属性名を取得する
+   *
+   * @return 属性名
+   */
+  public String getAttributeName() {
+    return attributeName;
+  }
+}
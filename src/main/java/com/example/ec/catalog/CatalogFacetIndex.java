@@ -0,0 +1,113 @@
+package com.example.ec.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * カタログのファセットインデックス
+ *
+ * <p>カテゴリ内の属性値ごとに、その値を持つバリアントが一つ以上ある商品の行番号を圧縮ビットマップ（Roaring Bitmap）で保持する。
+ * 絞り込みはビットマップのAND/OR、ファセットの件数は積集合の要素数で求める。 構築後は不変のため、読み取りはロック不要。
+ */
+final class CatalogFacetIndex {
+
+  private final RoaringBitmap[] categoryRows;
+  private final List<Map<CatalogFacet, SortedMap<String, RoaringBitmap>>> valueRows;
+
+  /**
+   * ファセットインデックスを構築する
+   *
+   * @param categoryCount カテゴリ数
+   * @param productCategories 行番号ごとのカテゴリ序数
+   * @param variantOffsets 行番号ごとのバリアント開始位置
+   * @param facetColumns ファセットごとのバリアントの辞書コード列
+   * @param dictionary 文字列辞書
+   */
+  CatalogFacetIndex(
+      int categoryCount,
+      int[] productCategories,
+      int[] variantOffsets,
+      Map<CatalogFacet, int[]> facetColumns,
+      StringDictionary dictionary) {
+    categoryRows = new RoaringBitmap[categoryCount];
+    valueRows = new ArrayList<>(categoryCount);
+    for (int category = 0; category < categoryCount; category++) {
+      categoryRows[category] = new RoaringBitmap();
+      Map<CatalogFacet, SortedMap<String, RoaringBitmap>> facets =
+          new EnumMap<>(CatalogFacet.class);
+      for (CatalogFacet facet : CatalogFacet.values()) {
+        facets.put(facet, new TreeMap<>());
+      }
+      valueRows.add(facets);
+    }
+
+    // 行番号の昇順に追加するため、各ビットマップへの追加は末尾への追記になる
+    for (int row = 0; row < productCategories.length; row++) {
+      int category = productCategories[row];
+      categoryRows[category].add(row);
+      for (Map.Entry<CatalogFacet, int[]> column : facetColumns.entrySet()) {
+        SortedMap<String, RoaringBitmap> values = valueRows.get(category).get(column.getKey());
+        for (int v = variantOffsets[row]; v < variantOffsets[row + 1]; v++) {
+          int code = column.getValue()[v];
+          if (code != StringDictionary.NULL_CODE) {
+            values.computeIfAbsent(dictionary.get(code), key -> new RoaringBitmap()).add(row);
+          }
+        }
+      }
+    }
+
+    for (int category = 0; category < categoryCount; category++) {
+      categoryRows[category].runOptimize();
+      for (SortedMap<String, RoaringBitmap> values : valueRows.get(category).values()) {
+        values.values().forEach(RoaringBitmap::runOptimize);
+      }
+    }
+  }
+
+  /**
+   * カテゴリに属する商品の行番号を取得する
+   *
+   * @param category カテゴリ序数
+   * @return 行番号のビットマップ（呼び出し側で変更しないこと）
+   */
+  RoaringBitmap categoryRows(int category) {
+    return categoryRows[category];
+  }
+
+  /**
+   * カテゴリ内のファセット値ごとの行番号を取得する
+   *
+   * @param category カテゴリ序数
+   * @param facet ファセット
+   * @return ファセット値の昇順に並べた行番号のビットマップ（呼び出し側で変更しないこと）
+   */
+  SortedMap<String, RoaringBitmap> values(int category, CatalogFacet facet) {
+    return Collections.unmodifiableSortedMap(valueRows.get(category).get(facet));
+  }
+
+  /**
+   * ファセットのいずれかの値に一致する行番号を取得する
+   *
+   * @param category カテゴリ序数
+   * @param facet ファセット
+   * @param selected 選択値
+   * @return 選択値のビットマップの和集合
+   */
+  RoaringBitmap matching(int category, CatalogFacet facet, List<String> selected) {
+    SortedMap<String, RoaringBitmap> values = valueRows.get(category).get(facet);
+    RoaringBitmap result = new RoaringBitmap();
+    for (String value : selected) {
+      RoaringBitmap rows = values.get(value);
+      if (rows != null) {
+        result.or(rows);
+      }
+    }
+    return result;
+  }
+}
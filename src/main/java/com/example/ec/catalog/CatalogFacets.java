@@ -0,0 +1,31 @@
+package com.example.ec.catalog;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * カテゴリのファセット集計結果
+ *
+ * <p>各ファセットの件数は、そのファセット自身を除く絞り込み条件を適用した商品数。 価格帯は価格条件を除く絞り込み条件に一致する商品の最小・最大価格。
+ *
+ * @param manufacturers メーカーごとの件数
+ * @param storageCapacities ストレージ容量ごとの件数
+ * @param colorNames カラー名ごとの件数
+ * @param minPrice 最小価格（該当商品がない場合null）
+ * @param maxPrice 最大価格（該当商品がない場合null）
+ */
+public record CatalogFacets(
+    List<FacetCount> manufacturers,
+    List<FacetCount> storageCapacities,
+    List<FacetCount> colorNames,
+    BigDecimal minPrice,
+    BigDecimal maxPrice) {
+
+  /**
+   * ファセット値ごとの件数
+   *
+   * @param value ファセット値
+   * @param count 商品数
+   */
+  public record FacetCount(String value, int count) {}
+}
@@ -0,0 +1,77 @@
+package com.example.ec.catalog;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * カタログの絞り込み条件
+ *
+ * <p>同一ファセット内の複数の値はOR、ファセット間および価格帯はANDで結合する。 商品はいずれかのバリアントが条件に一致すればヒットする。
+ *
+ * @param manufacturers メーカー
+ * @param storageCapacities ストレージ容量
+ * @param colorNames カラー名
+ * @param minPrice 下限価格（null可）
+ * @param maxPrice 上限価格（null可）
+ */
+public record CatalogFilter(
+    List<String> manufacturers,
+    List<String> storageCapacities,
+    List<String> colorNames,
+    BigDecimal minPrice,
+    BigDecimal maxPrice) {
+
+  private static final CatalogFilter NONE =
+      new CatalogFilter(List.of(), List.of(), List.of(), null, null);
+
+  /** 絞り込み条件を生成する（nullのリストは空リストとして扱う） */
+  public CatalogFilter {
+    manufacturers = manufacturers != null ? List.copyOf(manufacturers) : List.of();
+    storageCapacities = storageCapacities != null ? List.copyOf(storageCapacities) : List.of();
+    colorNames = colorNames != null ? List.copyOf(colorNames) : List.of();
+  }
+
+  /**
+   * 絞り込みなしの条件を取得する
+   *
+   * @return 絞り込みなしの条件
+   */
+  public static CatalogFilter none() {
+    return NONE;
+  }
+
+  /**
+   * ファセットの選択値を取得する
+   *
+   * @param facet ファセット
+   * @return 選択値（未選択の場合は空リスト）
+   */
+  public List<String> values(CatalogFacet facet) {
+    return switch (facet) {
+      case MANUFACTURER -> manufacturers;
+      case STORAGE_CAPACITY -> storageCapacities;
+      case COLOR_NAME -> colorNames;
+    };
+  }
+
+  /**
+   * 価格帯の条件が指定されているか判定する
+   *
+   * @return 下限・上限のいずれかが指定されている場合true
+   */
+  public boolean hasPriceRange() {
+    return minPrice != null || maxPrice != null;
+  }
+
+  /**
+   * 絞り込み条件が一つも指定されていないか判定する
+   *
+   * @return 条件がない場合true
+   */
+  public boolean isEmpty() {
+    return manufacturers.isEmpty()
+        && storageCapacities.isEmpty()
+        && colorNames.isEmpty()
+        && !hasPriceRange();
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.ec.catalog;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * カタログ無効化イベント
+ *
+ * <p>カタログ関連テーブルの1行の変更を通知するアプリケーションイベント。他ノードやSQLによる直接更新も含め、PostgreSQLの変更通知から発行される。
+ * 再接続時の差分読み込みで同じ変更が重複して届くことがあるため、受け取る側は冪等に無効化すること。
+ *
+ * @param sequence 変更ログの連番
+ * @param table 変更されたテーブル
+ * @param operation 変更の種類
+ * @param key 変更された行のキー（テーブルごとの意味は{@link CatalogTable}を参照）
+ */
+public record CatalogInvalidationEvent(
+    long sequence, CatalogTable table, Operation operation, String key) {
+
+  /** 変更の種類 */
+  public enum Operation {
+    INSERT("I"),
+    UPDATE("U"),
+    DELETE("D");
+
+    private final String code;
+
+    Operation(String code) {
+      this.code = code;
+    }
+
+    /**
+     * 変更ログ上のコードから対応する値を取得する
+     *
+     * @param code コード（I・U・D）
+     * @return 対応する値（不明なコードの場合は空）
+     */
+    public static Optional<Operation> fromCode(String code) {
+      return Arrays.stream(values()).filter(operation -> operation.code.equals(code)).findFirst();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import java.sql.Timestamp;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログアウトボックスの定期削除
+ *
+ * <p>アウトボックスはトリガーがカタログへの書き込みごとに追記し、読むのは{@link CatalogDeltaLoader}の差分読み取りと
+ * {@link CatalogVersionProbe}だけのため、作成から保持期間を過ぎたイベントを削除する。
+ * 最新のトランザクションが書いたイベントは{@link CatalogVersionProbe}のバージョンの基準のため、保持期間を過ぎても残す。
+ * アウトボックスのテーブルはFlywayのマイグレーションで作成されるため、Flywayが無効の場合（H2を使うテストなど）は動作しない。
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "spring.flyway",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogOutboxPruner {
+
+  private static final String KEEP_LATEST = " AND xid < (SELECT max(xid) FROM catalog_outbox)";
+  private static final String PRUNE_SQL =
+      "DELETE FROM catalog_outbox WHERE created_at < ?" + KEEP_LATEST;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final CatalogConfig catalogConfig;
+
+  /** 保持期間を過ぎたイベントを削除する */
+  @Scheduled(fixedDelayString = "${catalog.outbox.prune-interval:3600000}")
+  public void prune() {
+    try {
+      long retention = catalogConfig.getOutbox().getRetention();
+      Timestamp threshold = Timestamp.from(Instant.now().minusMillis(retention));
+      int deleted = jdbcTemplate.update(PRUNE_SQL, threshold);
+      if (deleted > 0) {
+        log.debug("古いカタログアウトボックスイベントを削除しました: {}件", deleted);
+      }
+    } catch (DataAccessException e) {
+      log.warn("カタログアウトボックスの削除に失敗しました: {}", e.getMessage());
+    }
+  }
+}
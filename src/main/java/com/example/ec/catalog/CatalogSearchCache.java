@@ -0,0 +1,358 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.dto.CategoryDetailResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * カテゴリ検索結果キャッシュ
+ *
+ * <p>DBで検索したカテゴリ詳細のページを、正規化した検索条件（{@link CatalogSearchKey}）をキーとしてキャッシュする。
+ * CaffeineのW-TinyLFU（Count-Min Sketchによる頻度推定）で受け入れを判定するため、一度きりのクエリが頻出クエリを追い出さない。
+ * キーにはカタログバージョンを含め、バージョンが変わると古いエントリはヒットしなくなる（変更検知時には全件破棄する）。
+ *
+ * <p>有効期限の直前には、XFetch（確率的早期再計算）により{@code now - delta * beta * ln(rand) >= expiry}を満たした
+ * リクエストだけがバックグラウンドで再検索する（deltaは前回の検索所要時間）。これにより各ノードの再検索が期限切れの瞬間に集中しない。
+ * 期限切れ後に再検索がDB起因の例外で失敗した場合は、期限切れから{@code staleIfError}ミリ秒以内であれば古い結果を返す。
+ *
+ * <p>結果に含まれるキャンペーンバッジは検索時点のものなので、ページ内の商品のキャンペーンが次に開始・終了する時刻
+ * （{@link SearchPage#validUntil()}）が有効期間より早ければ、その時刻を有効期限とする。
+ *
+ * <p>ヒット・ミス・期限切れ結果の返却はカテゴリをタグとしたカウンター{@code catalog.search.cache.requests}に、
+ * 早期再計算の実行は{@code catalog.search.cache.early-refreshes}に記録する。
+ * カウンターはカテゴリごとに初回の記録時に登録し、以降は登録済みのものを使う。
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "catalog.search-cache",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@Slf4j
+public class CatalogSearchCache {
+
+  private static final String METRIC_NAME = "catalog.search.cache.requests";
+  private static final String EARLY_REFRESH_METRIC_NAME = "catalog.search.cache.early-refreshes";
+  private static final int REFRESH_QUEUE_CAPACITY = 100;
+
+  private final Cache<Key, Entry> cache;
+  private final CatalogVersionTracker catalogVersionTracker;
+  private final MeterRegistry meterRegistry;
+  private final long timeToLive;
+  private final long staleIfError;
+  private final double earlyRefreshBeta;
+  private final LongSupplier clock;
+  private final DoubleSupplier random;
+  private final ThreadPoolExecutor refreshExecutor;
+  private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+  private final Map<String, CategoryCounters> counters = new ConcurrentHashMap<>();
+
+  /**
+   * 検索結果キャッシュを生成する
+   *
+   * @param catalogConfig カタログ設定
+   * @param catalogVersionTracker カタログバージョントラッカー
+   * @param meterRegistry メトリクスレジストリ
+   */
+  @Autowired
+  public CatalogSearchCache(
+      CatalogConfig catalogConfig,
+      CatalogVersionTracker catalogVersionTracker,
+      MeterRegistry meterRegistry) {
+    this(
+        catalogConfig,
+        catalogVersionTracker,
+        meterRegistry,
+        System::currentTimeMillis,
+        () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  /**
+   * 時刻と乱数の供給元を指定して検索結果キャッシュを生成する
+   *
+   * @param catalogConfig カタログ設定
+   * @param catalogVersionTracker カタログバージョントラッカー
+   * @param meterRegistry メトリクスレジストリ
+   * @param clock 現在時刻（エポックミリ秒）の供給元
+   * @param random 早期再計算の判定に使う[0, 1)の乱数の供給元
+   */
+  CatalogSearchCache(
+      CatalogConfig catalogConfig,
+      CatalogVersionTracker catalogVersionTracker,
+      MeterRegistry meterRegistry,
+      LongSupplier clock,
+      DoubleSupplier random) {
+    CatalogConfig.SearchCache config = catalogConfig.getSearchCache();
+    this.timeToLive = config.getTimeToLive();
+    this.staleIfError = config.getStaleIfError();
+    this.earlyRefreshBeta = config.getEarlyRefreshBeta();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(Duration.ofMillis(timeToLive + staleIfError))
+            .recordStats()
+            .build();
+    this.catalogVersionTracker = catalogVersionTracker;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.random = random;
+    this.refreshExecutor = createRefreshExecutor(config.getRefreshThreads());
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalogSearch");
+  }
+
+  /**
+   * キャッシュから検索結果を取得し、なければ検索して格納する
+   *
+   * <p>有効期限内のエントリはそのまま返し、XFetchの判定に当たった場合はバックグラウンドで再検索する。
+   * 期限切れ（またはエントリなし）の場合は検索し、DB起因の例外で失敗したときは期限切れ後の猶予内のエントリがあればそれを返す。
+   *
+   * <p>検索がそれ以外の例外で終了した場合は何も格納せず、メトリクスも記録しない（存在しないカテゴリでタグが増えないようにするため）。
+   *
+   * @param searchKey 検索条件
+   * @param loader キャッシュにない場合の検索処理
+   * @return 検索結果と期限切れの結果かどうか
+   */
+  public Lookup get(CatalogSearchKey searchKey, Supplier<SearchPage> loader) {
+    Key key = new Key(catalogVersionTracker.lastKnownVersion(), searchKey);
+    String categoryCode = searchKey.categoryCode();
+    long now = clock.getAsLong();
+    Entry cached = cache.getIfPresent(key);
+    if (cached != null && now < cached.expiresAt()) {
+      counters(categoryCode).hit().increment();
+      if (shouldRefreshEarly(cached, now)) {
+        refreshAsync(key, loader);
+      }
+      return new Lookup(cached.page(), false, true);
+    }
+    Entry loaded;
+    try {
+      loaded = load(key, loader);
+    } catch (DataAccessException | TransactionException e) {
+      if (cached == null || now >= cached.expiresAt() + staleIfError) {
+        throw e;
+      }
+      log.warn(
+          "検索に失敗したため期限切れの検索結果を返します: category={}, expiredFor={}ms",
+          categoryCode,
+          now - cached.expiresAt(),
+          e);
+      counters(categoryCode).stale().increment();
+      return new Lookup(cached.page(), true, false);
+    }
+    counters(categoryCode).miss().increment();
+    return new Lookup(loaded.page(), false, false);
+  }
+
+  /**
+   * カタログ変更時に全エントリを破棄する
+   *
+   * @param event カタログ変更イベント
+   */
+  @EventListener
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    log.debug("カタログ変更により検索結果キャッシュを破棄します: version={}", event.version());
+    cache.invalidateAll();
+  }
+
+  /** バックグラウンド再検索用のスレッドプールを停止する */
+  @PreDestroy
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  /**
+   * XFetchにより有効期限前に再検索すべきかを判定する
+   *
+   * <p>{@code -ln(rand)}は指数分布に従うため、期限が近いほど、また前回の検索に時間がかかったほど再検索する確率が高くなる。
+   *
+   * @param entry キャッシュエントリ
+   * @param now 現在時刻（エポックミリ秒）
+   * @return 再検索すべき場合はtrue
+   */
+  private boolean shouldRefreshEarly(Entry entry, long now) {
+    if (earlyRefreshBeta <= 0) {
+      return false;
+    }
+    double gap = -entry.delta() * earlyRefreshBeta * Math.log(random.getAsDouble());
+    return now + gap >= entry.expiresAt();
+  }
+
+  /**
+   * バックグラウンドで再検索してエントリを置き換える
+   *
+   * <p>同じキーの再検索は同時に1件までとし、スレッドプールが埋まっている場合は見送る（次のリクエストで改めて判定される）。
+   *
+   * @param key キャッシュキー
+   * @param loader 検索処理
+   */
+  private void refreshAsync(Key key, Supplier<SearchPage> loader) {
+    if (!refreshing.add(key)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              load(key, loader);
+              counters(key.searchKey().categoryCode()).refreshSuccess().increment();
+            } catch (RuntimeException e) {
+              log.warn(
+                  "検索結果の早期再計算に失敗しました: category={}", key.searchKey().categoryCode(), e);
+              counters(key.searchKey().categoryCode()).refreshFailure().increment();
+            } finally {
+              refreshing.remove(key);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      refreshing.remove(key);
+    }
+  }
+
+  /**
+   * カテゴリのカウンターを取得する（初回のみ登録する）
+   *
+   * @param categoryCode カテゴリコード
+   * @return カテゴリのカウンター
+   */
+  private CategoryCounters counters(String categoryCode) {
+    CategoryCounters registered = counters.get(categoryCode);
+    if (registered != null) {
+      return registered;
+    }
+    return counters.computeIfAbsent(
+        categoryCode,
+        category ->
+            new CategoryCounters(
+                meterRegistry.counter(METRIC_NAME, "category", category, "result", "hit"),
+                meterRegistry.counter(METRIC_NAME, "category", category, "result", "miss"),
+                meterRegistry.counter(METRIC_NAME, "category", category, "result", "stale"),
+                meterRegistry.counter(
+                    EARLY_REFRESH_METRIC_NAME, "category", category, "outcome", "success"),
+                meterRegistry.counter(
+                    EARLY_REFRESH_METRIC_NAME, "category", category, "outcome", "failure")));
+  }
+
+  /**
+   * 検索して所要時間とともにキャッシュに格納する
+   *
+   * <p>有効期限は有効期間の経過時か、結果のキャンペーンバッジが変わる時刻のうち早い方とする。
+   *
+   * @param key キャッシュキー
+   * @param loader 検索処理
+   * @return 格納したエントリ
+   */
+  private Entry load(Key key, Supplier<SearchPage> loader) {
+    long startedAt = clock.getAsLong();
+    SearchPage page = loader.get();
+    long finishedAt = clock.getAsLong();
+    long expiresAt = Math.min(finishedAt + timeToLive, page.validUntil());
+    Entry entry = new Entry(page, finishedAt - startedAt, expiresAt);
+    cache.put(key, entry);
+    return entry;
+  }
+
+  /**
+   * バックグラウンド再検索用のスレッドプールを生成する
+   *
+   * @param threads スレッド数
+   * @return スレッドプール
+   */
+  private static ThreadPoolExecutor createRefreshExecutor(int threads) {
+    AtomicInteger sequence = new AtomicInteger();
+    return new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+        runnable -> {
+          Thread thread =
+              new Thread(runnable, "catalog-search-refresh-" + sequence.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * キャッシュキー
+   *
+   * @param catalogVersion 検索時点のカタログバージョン
+   * @param searchKey 検索条件
+   */
+  private record Key(long catalogVersion, CatalogSearchKey searchKey) {}
+
+  /**
+   * カテゴリごとのカウンター
+   *
+   * @param hit ヒット
+   * @param miss ミス
+   * @param stale 期限切れの結果の返却
+   * @param refreshSuccess 早期再計算の成功
+   * @param refreshFailure 早期再計算の失敗
+   */
+  private record CategoryCounters(
+      Counter hit, Counter miss, Counter stale, Counter refreshSuccess, Counter refreshFailure) {}
+
+  /**
+   * キャッシュエントリ
+   *
+   * @param page 検索結果
+   * @param delta 検索の所要時間（ミリ秒）
+   * @param expiresAt 有効期限（エポックミリ秒）
+   */
+  private record Entry(SearchPage page, long delta, long expiresAt) {}
+
+  /**
+   * キャッシュからの取得結果
+   *
+   * @param page 検索結果
+   * @param stale DB障害のため有効期限切れの結果を返した場合はtrue
+   * @param hit 有効期限内のエントリを返した場合はtrue（検索した場合・期限切れの結果を返した場合はfalse）
+   */
+  public record Lookup(SearchPage page, boolean stale, boolean hit) {}
+
+  /**
+   * キャッシュする検索結果
+   *
+   * <p>レスポンスのタイムスタンプ・リクエストIDは含めず、取得のたびに採番する。
+   *
+   * @param category カテゴリ情報
+   * @param products ページ内の商品
+   * @param total 商品総数
+   * @param pages 総ページ数
+   * @param validUntil ページ内の商品のキャンペーンが次に開始・終了し、バッジが変わる時刻（エポックミリ秒、予定がなければ{@link
+   *     Long#MAX_VALUE}）
+   */
+  public record SearchPage(
+      CategoryDetailResponse.CategoryInfo category,
+      List<CategoryDetailResponse.ProductItem> products,
+      long total,
+      int pages,
+      long validUntil) {}
+}
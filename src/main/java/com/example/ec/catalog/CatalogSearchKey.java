@@ -0,0 +1,23 @@
+package com.example.ec.catalog;
+
+/**
+ * カテゴリ検索条件のキー
+ *
+ * <p>検索結果キャッシュやリクエストの合流で、同一の検索かを判定するために正規化した検索条件。
+ *
+ * @param categoryCode カテゴリコード
+ * @param keyword {@link SearchTextNormalizer#normalizeCacheKey}で揃えたキーワード（キーワードなしの場合は空文字列）
+ * @param filter 絞り込み条件
+ * @param sort ソートフィールド
+ * @param order ソート順（ascまたはdesc）
+ * @param page ページ番号
+ * @param size ページサイズ
+ */
+public record CatalogSearchKey(
+    String categoryCode,
+    String keyword,
+    CatalogFilter filter,
+    String sort,
+    String order,
+    int page,
+    int size) {}
@@ -0,0 +1,122 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログ検索のリクエスト合流（single-flight）
+ *
+ * <p>同じ検索条件の処理が実行中であれば、後続のリクエストは新たに検索せず実行中の{@link CompletableFuture}の結果を共有する。
+ * 待ち時間には上限があり、超過した場合は待つのをやめて自ら検索する。 先行する処理が例外で終了した場合は、合流したリクエストにも同じ例外を返す。
+ *
+ * <p>処理件数は{@code catalog.singleflight.requests}（タグ{@code outcome}:
+ * leader・coalesced・fallthrough）、合流率は{@code catalog.singleflight.coalescing.ratio}として記録する。
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "catalog.single-flight",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@Slf4j
+public class CatalogSingleFlight {
+
+  private static final String METRIC_NAME = "catalog.singleflight.requests";
+
+  private final Map<CatalogSearchKey, CompletableFuture<Object>> inFlight =
+      new ConcurrentHashMap<>();
+  private final long maxWaitMillis;
+  private final Counter leaders;
+  private final Counter coalesced;
+  private final Counter fallThroughs;
+
+  /**
+   * リクエスト合流を生成する
+   *
+   * @param catalogConfig カタログ設定
+   * @param meterRegistry メトリクスレジストリ
+   */
+  public CatalogSingleFlight(CatalogConfig catalogConfig, MeterRegistry meterRegistry) {
+    this.maxWaitMillis = catalogConfig.getSingleFlight().getMaxWait();
+    this.leaders = meterRegistry.counter(METRIC_NAME, "outcome", "leader");
+    this.coalesced = meterRegistry.counter(METRIC_NAME, "outcome", "coalesced");
+    this.fallThroughs = meterRegistry.counter(METRIC_NAME, "outcome", "fallthrough");
+    Gauge.builder(
+            "catalog.singleflight.coalescing.ratio", this, CatalogSingleFlight::coalescingRatio)
+        .description("同一検索の実行中に合流して結果を共有したリクエストの割合")
+        .register(meterRegistry);
+    Gauge.builder("catalog.singleflight.in-flight", inFlight, Map::size).register(meterRegistry);
+  }
+
+  /**
+   * 同じ検索条件の実行中の処理があれば結果を共有し、なければ自ら実行する
+   *
+   * @param <T> 結果の型
+   * @param key 検索条件
+   * @param supplier 検索処理
+   * @return 検索結果
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(CatalogSearchKey key, Supplier<T> supplier) {
+    CompletableFuture<Object> own = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+    if (existing == null) {
+      leaders.increment();
+      try {
+        T result = supplier.get();
+        own.complete(result);
+        return result;
+      } catch (RuntimeException | Error e) {
+        own.completeExceptionally(e);
+        throw e;
+      } finally {
+        inFlight.remove(key, own);
+      }
+    }
+
+    try {
+      Object shared = existing.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+      coalesced.increment();
+      return (T) shared;
+    } catch (ExecutionException e) {
+      coalesced.increment();
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    } catch (TimeoutException e) {
+      log.debug("実行中の検索が{}ms以内に完了しないため自ら検索します: key={}", maxWaitMillis, key);
+      fallThroughs.increment();
+      return supplier.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("実行中の検索の待機中に割り込まれました", e);
+    }
+  }
+
+  /**
+   * 合流率を計算する
+   *
+   * @return 合流したリクエスト数 / 全リクエスト数（リクエストがない場合は0）
+   */
+  double coalescingRatio() {
+    double total = leaders.count() + coalesced.count() + fallThroughs.count();
+    return total == 0 ? 0.0 : coalesced.count() / total;
+  }
+}
@@ -0,0 +1,602 @@
+package com.example.ec.catalog;
+
+import com.example.ec.dto.CategoryDetailResponse;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * カタログスナップショット
+ *
+ * <p>アクティブな商品を列指向（struct-of-arrays）で保持する不変のスナップショット。 文字列は辞書コード、価格は最小通貨単位（1/100）の{@code
+ * long}、作成日時はエポックミリ秒で保持する。 カテゴリごとに名前・価格・作成日時の昇順に並べた行番号の置換配列を事前に計算しており、
+ * 降順は同じ配列を末尾から読むことで、どのソート条件でもページサイズに比例した時間でページを切り出せる。
+ *
+ * <p>メーカー・ストレージ容量・カラー名による絞り込みとファセット件数は{@link CatalogFacetIndex}のビットマップ演算で求める。
+ *
+ * <p>更新時は新しいスナップショットを構築して参照を差し替える（copy-on-write）ため、読み取り側はロック不要。
+ */
+public final class CatalogSnapshot {
+
+  private static final int PRICE_SCALE = 2;
+
+  private final long version;
+  private final StringDictionary dictionary;
+
+  private final CatalogData.CategoryRow[] categories;
+  private final Map<String, Integer> categoryOrdinals;
+
+  private final long[] productIds;
+  private final long[] prices;
+  private final int[] productCategories;
+  private final long[] createdAtMillis;
+  private final int[] names;
+  private final int[] descriptions;
+
+  private final int[] variantOffsets;
+  private final long[] variantIds;
+  private final int[] manufacturers;
+  private final int[] modelNames;
+  private final int[] storageCapacities;
+  private final int[] colorCodes;
+  private final int[] colorNames;
+  private final List<List<String>> imageUrls;
+
+  private final int[] campaignOffsets;
+  private final int[] campaignRefs;
+  private final long[] campaignIds;
+  private final int[] campaignCodes;
+  private final int[] badgeTexts;
+  private final long[] validFromMillis;
+  private final long[] validToMillis;
+
+  /** [ソートキー][カテゴリ序数] → 昇順に並べた行番号 */
+  private final int[][][] sortedRows;
+
+  private final CatalogFacetIndex facetIndex;
+
+  private CatalogSnapshot(CatalogData data, long version) {
+    this.version = version;
+    StringDictionary.Builder dictionaryBuilder = new StringDictionary.Builder();
+
+    categories = data.categories().toArray(new CatalogData.CategoryRow[0]);
+    categoryOrdinals = new HashMap<>();
+    for (int i = 0; i < categories.length; i++) {
+      categoryOrdinals.put(categories[i].categoryCode(), i);
+    }
+
+    List<CatalogData.ProductRow> products =
+        data.products().stream()
+            .filter(product -> categoryOrdinals.containsKey(product.categoryCode()))
+            .sorted(Comparator.comparingLong(CatalogData.ProductRow::id))
+            .toList();
+    int productCount = products.size();
+    productIds = new long[productCount];
+    prices = new long[productCount];
+    productCategories = new int[productCount];
+    createdAtMillis = new long[productCount];
+    names = new int[productCount];
+    descriptions = new int[productCount];
+    Map<Long, Integer> rowsByProductId = new HashMap<>(productCount * 2);
+    for (int row = 0; row < productCount; row++) {
+      CatalogData.ProductRow product = products.get(row);
+      productIds[row] = product.id();
+      prices[row] = toMinorUnits(product.price());
+      productCategories[row] = categoryOrdinals.get(product.categoryCode());
+      createdAtMillis[row] = product.createdAt() != null ? product.createdAt().toEpochMilli() : 0L;
+      names[row] = dictionaryBuilder.encode(product.name());
+      descriptions[row] = dictionaryBuilder.encode(product.description());
+      rowsByProductId.put(product.id(), row);
+    }
+
+    List<CatalogData.VariantRow> variants =
+        data.variants().stream()
+            .filter(variant -> rowsByProductId.containsKey(variant.productId()))
+            .sorted(
+                Comparator.comparingInt(
+                        (CatalogData.VariantRow variant) ->
+                            rowsByProductId.get(variant.productId()))
+                    .thenComparingLong(CatalogData.VariantRow::id))
+            .toList();
+    int variantCount = variants.size();
+    variantOffsets = new int[productCount + 1];
+    variantIds = new long[variantCount];
+    manufacturers = new int[variantCount];
+    modelNames = new int[variantCount];
+    storageCapacities = new int[variantCount];
+    colorCodes = new int[variantCount];
+    colorNames = new int[variantCount];
+    List<List<String>> urls = new ArrayList<>(variantCount);
+    for (int i = 0; i < variantCount; i++) {
+      CatalogData.VariantRow variant = variants.get(i);
+      variantOffsets[rowsByProductId.get(variant.productId()) + 1]++;
+      variantIds[i] = variant.id();
+      manufacturers[i] = dictionaryBuilder.encode(variant.manufacturer());
+      modelNames[i] = dictionaryBuilder.encode(variant.modelName());
+      storageCapacities[i] = dictionaryBuilder.encode(variant.storageCapacity());
+      colorCodes[i] = dictionaryBuilder.encode(variant.colorCode());
+      colorNames[i] = dictionaryBuilder.encode(variant.colorName());
+      urls.add(variant.imageUrls() != null ? List.copyOf(variant.imageUrls()) : null);
+    }
+    imageUrls = urls;
+    accumulate(variantOffsets);
+
+    List<CatalogData.CampaignRow> campaigns =
+        data.campaigns().stream()
+            .sorted(Comparator.comparingLong(CatalogData.CampaignRow::id))
+            .toList();
+    int campaignCount = campaigns.size();
+    campaignIds = new long[campaignCount];
+    campaignCodes = new int[campaignCount];
+    badgeTexts = new int[campaignCount];
+    validFromMillis = new long[campaignCount];
+    validToMillis = new long[campaignCount];
+    Map<Long, Integer> campaignIndexes = new HashMap<>(campaignCount * 2);
+    for (int i = 0; i < campaignCount; i++) {
+      CatalogData.CampaignRow campaign = campaigns.get(i);
+      campaignIds[i] = campaign.id();
+      campaignCodes[i] = dictionaryBuilder.encode(campaign.campaignCode());
+      badgeTexts[i] = dictionaryBuilder.encode(campaign.badgeText());
+      validFromMillis[i] =
+          campaign.validFrom() != null ? campaign.validFrom().toEpochMilli() : Long.MIN_VALUE;
+      validToMillis[i] =
+          campaign.validTo() != null ? campaign.validTo().toEpochMilli() : Long.MAX_VALUE;
+      campaignIndexes.put(campaign.id(), i);
+    }
+
+    List<CatalogData.ProductCampaignRow> links =
+        data.productCampaigns().stream()
+            .filter(link -> rowsByProductId.containsKey(link.productId()))
+            .filter(link -> campaignIndexes.containsKey(link.campaignId()))
+            .sorted(
+                Comparator.comparingInt(
+                        (CatalogData.ProductCampaignRow link) ->
+                            rowsByProductId.get(link.productId()))
+                    .thenComparingLong(CatalogData.ProductCampaignRow::campaignId))
+            .toList();
+    campaignOffsets = new int[productCount + 1];
+    campaignRefs = new int[links.size()];
+    for (int i = 0; i < links.size(); i++) {
+      CatalogData.ProductCampaignRow link = links.get(i);
+      campaignOffsets[rowsByProductId.get(link.productId()) + 1]++;
+      campaignRefs[i] = campaignIndexes.get(link.campaignId());
+    }
+    accumulate(campaignOffsets);
+
+    dictionary = dictionaryBuilder.build();
+    sortedRows = buildSortedRows();
+
+    Map<CatalogFacet, int[]> facetColumns = new EnumMap<>(CatalogFacet.class);
+    facetColumns.put(CatalogFacet.MANUFACTURER, manufacturers);
+    facetColumns.put(CatalogFacet.STORAGE_CAPACITY, storageCapacities);
+    facetColumns.put(CatalogFacet.COLOR_NAME, colorNames);
+    facetIndex =
+        new CatalogFacetIndex(
+            categories.length, productCategories, variantOffsets, facetColumns, dictionary);
+  }
+
+  /**
+   * カタログデータからスナップショットを構築する
+   *
+   * @param data カタログデータ
+   * @param version スナップショット構築時のカタログバージョン
+   * @return カタログスナップショット
+   */
+  public static CatalogSnapshot build(CatalogData data, long version) {
+    return new CatalogSnapshot(data, version);
+  }
+
+  /**
+   * スナップショット構築時のカタログバージョンを取得する
+   *
+   * @return カタログバージョン
+   */
+  public long version() {
+    return version;
+  }
+
+  /**
+   * スナップショットに含まれる商品数を取得する
+   *
+   * @return 商品数
+   */
+  public int productCount() {
+    return productIds.length;
+  }
+
+  /**
+   * カテゴリの商品ページを切り出す
+   *
+   * @param categoryCode カテゴリコード
+   * @param filter 絞り込み条件
+   * @param sortKey ソートキー
+   * @param descending 降順の場合true
+   * @param page ページ番号（0始まり）
+   * @param size ページサイズ
+   * @param now キャンペーン有効判定に用いる現在時刻
+   * @return 商品ページ（カテゴリがスナップショットに存在しない場合はOptional.empty()）
+   */
+  public Optional<CategoryPage> categoryPage(
+      String categoryCode,
+      CatalogFilter filter,
+      CatalogSortKey sortKey,
+      boolean descending,
+      int page,
+      int size,
+      Instant now) {
+    Integer ordinal = categoryOrdinals.get(categoryCode);
+    if (ordinal == null) {
+      return Optional.empty();
+    }
+    RoaringBitmap inCategory = facetIndex.categoryRows(ordinal);
+    Map<CatalogFacet, RoaringBitmap> facetMatches = new EnumMap<>(CatalogFacet.class);
+    for (CatalogFacet facet : CatalogFacet.values()) {
+      List<String> selected = filter.values(facet);
+      if (!selected.isEmpty()) {
+        facetMatches.put(facet, facetIndex.matching(ordinal, facet, selected));
+      }
+    }
+    RoaringBitmap priceMatches = filter.hasPriceRange() ? priceMatches(ordinal, filter) : null;
+
+    List<RoaringBitmap> conditions = new ArrayList<>(facetMatches.values());
+    if (priceMatches != null) {
+      conditions.add(priceMatches);
+    }
+    RoaringBitmap matches = intersect(inCategory, conditions);
+
+    int[] rows = sortedRows[sortKey.ordinal()][ordinal];
+    long offset = (long) page * size;
+    long nowMillis = now.toEpochMilli();
+    List<CategoryDetailResponse.ProductItem> items = new ArrayList<>();
+    if (conditions.isEmpty()) {
+      int from = (int) Math.min(offset, rows.length);
+      int to = (int) Math.min((long) from + size, rows.length);
+      for (int i = from; i < to; i++) {
+        int row = descending ? rows[rows.length - 1 - i] : rows[i];
+        items.add(toProductItem(row, nowMillis));
+      }
+    } else {
+      long skipped = 0;
+      for (int i = 0; i < rows.length && items.size() < size; i++) {
+        int row = descending ? rows[rows.length - 1 - i] : rows[i];
+        if (matches.contains(row) && skipped++ >= offset) {
+          items.add(toProductItem(row, nowMillis));
+        }
+      }
+    }
+
+    CatalogFacets facets = buildFacets(ordinal, inCategory, facetMatches, priceMatches);
+    return Optional.of(
+        new CategoryPage(categories[ordinal], items, matches.getCardinality(), facets));
+  }
+
+  /**
+   * スナップショットの内容をカタログデータに復元する
+   *
+   * @return カタログデータ
+   */
+  public CatalogData toData() {
+    List<CatalogData.ProductRow> products = new ArrayList<>(productIds.length);
+    List<CatalogData.VariantRow> variants = new ArrayList<>(variantIds.length);
+    List<CatalogData.ProductCampaignRow> links = new ArrayList<>(campaignRefs.length);
+    for (int row = 0; row < productIds.length; row++) {
+      products.add(
+          new CatalogData.ProductRow(
+              productIds[row],
+              dictionary.get(names[row]),
+              dictionary.get(descriptions[row]),
+              BigDecimal.valueOf(prices[row], PRICE_SCALE),
+              categories[productCategories[row]].categoryCode(),
+              Instant.ofEpochMilli(createdAtMillis[row])));
+      for (int v = variantOffsets[row]; v < variantOffsets[row + 1]; v++) {
+        variants.add(
+            new CatalogData.VariantRow(
+                variantIds[v],
+                productIds[row],
+                dictionary.get(manufacturers[v]),
+                dictionary.get(modelNames[v]),
+                dictionary.get(storageCapacities[v]),
+                dictionary.get(colorCodes[v]),
+                dictionary.get(colorNames[v]),
+                imageUrls.get(v)));
+      }
+      for (int c = campaignOffsets[row]; c < campaignOffsets[row + 1]; c++) {
+        links.add(
+            new CatalogData.ProductCampaignRow(productIds[row], campaignIds[campaignRefs[c]]));
+      }
+    }
+    List<CatalogData.CampaignRow> campaigns = new ArrayList<>(campaignIds.length);
+    for (int i = 0; i < campaignIds.length; i++) {
+      campaigns.add(
+          new CatalogData.CampaignRow(
+              campaignIds[i],
+              dictionary.get(campaignCodes[i]),
+              dictionary.get(badgeTexts[i]),
+              toInstantOrNull(validFromMillis[i], Long.MIN_VALUE),
+              toInstantOrNull(validToMillis[i], Long.MAX_VALUE)));
+    }
+    return new CatalogData(List.of(categories), products, variants, campaigns, links);
+  }
+
+  /**
+   * 行番号の商品をDTOに変換する
+   *
+   * @param row 行番号
+   * @param nowMillis キャンペーン有効判定に用いる現在時刻（エポックミリ秒）
+   * @return 商品アイテムDTO
+   */
+  private CategoryDetailResponse.ProductItem toProductItem(int row, long nowMillis) {
+    int firstVariant = variantOffsets[row] < variantOffsets[row + 1] ? variantOffsets[row] : -1;
+
+    List<CategoryDetailResponse.CampaignBadge> campaignBadges = new ArrayList<>();
+    for (int c = campaignOffsets[row]; c < campaignOffsets[row + 1]; c++) {
+      int campaign = campaignRefs[c];
+      if (validFromMillis[campaign] <= nowMillis && nowMillis <= validToMillis[campaign]) {
+        campaignBadges.add(
+            CategoryDetailResponse.CampaignBadge.builder()
+                .campaignCode(dictionary.get(campaignCodes[campaign]))
+                .badgeText(dictionary.get(badgeTexts[campaign]))
+                .build());
+      }
+    }
+
+    return CategoryDetailResponse.ProductItem.builder()
+        .productId(productIds[row])
+        .productName(dictionary.get(names[row]))
+        .description(dictionary.get(descriptions[row]))
+        .price(BigDecimal.valueOf(prices[row], PRICE_SCALE))
+        .manufacturer(firstVariant >= 0 ? dictionary.get(manufacturers[firstVariant]) : null)
+        .modelName(firstVariant >= 0 ? dictionary.get(modelNames[firstVariant]) : null)
+        .storageCapacity(
+            firstVariant >= 0 ? dictionary.get(storageCapacities[firstVariant]) : null)
+        .colorCode(firstVariant >= 0 ? dictionary.get(colorCodes[firstVariant]) : null)
+        .colorName(firstVariant >= 0 ? dictionary.get(colorNames[firstVariant]) : null)
+        .imageUrls(firstVariant >= 0 ? imageUrls.get(firstVariant) : new ArrayList<>())
+        .campaigns(campaignBadges)
+        .build();
+  }
+
+  /**
+   * 価格帯に一致するカテゴリ内の行番号を取得する
+   *
+   * <p>価格昇順の置換配列を二分探索して範囲を切り出す。
+   *
+   * @param ordinal カテゴリ序数
+   * @param filter 絞り込み条件
+   * @return 行番号のビットマップ
+   */
+  private RoaringBitmap priceMatches(int ordinal, CatalogFilter filter) {
+    int[] rows = sortedRows[CatalogSortKey.PRICE.ordinal()][ordinal];
+    int from =
+        filter.minPrice() != null ? lowerBound(rows, boundToMinorUnits(filter.minPrice())) : 0;
+    long max = filter.maxPrice() != null ? boundToMinorUnits(filter.maxPrice()) : Long.MAX_VALUE;
+    int to = max != Long.MAX_VALUE ? lowerBound(rows, max + 1) : rows.length;
+    RoaringBitmap result = new RoaringBitmap();
+    for (int i = from; i < to; i++) {
+      result.add(rows[i]);
+    }
+    return result;
+  }
+
+  /**
+   * 価格昇順の置換配列で、指定価格以上となる最初の位置を求める
+   *
+   * @param rows 価格昇順の行番号
+   * @param price 最小通貨単位の価格
+   * @return 位置（該当しない場合は配列長）
+   */
+  private int lowerBound(int[] rows, long price) {
+    int low = 0;
+    int high = rows.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (prices[rows[mid]] < price) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * ファセットの件数と価格帯を集計する
+   *
+   * @param ordinal カテゴリ序数
+   * @param inCategory カテゴリに属する行番号
+   * @param facetMatches ファセットごとの絞り込み結果
+   * @param priceMatches 価格帯の絞り込み結果（条件がない場合null）
+   * @return ファセット集計結果
+   */
+  private CatalogFacets buildFacets(
+      int ordinal,
+      RoaringBitmap inCategory,
+      Map<CatalogFacet, RoaringBitmap> facetMatches,
+      RoaringBitmap priceMatches) {
+    Map<CatalogFacet, List<CatalogFacets.FacetCount>> counts = new EnumMap<>(CatalogFacet.class);
+    for (CatalogFacet facet : CatalogFacet.values()) {
+      List<RoaringBitmap> others = new ArrayList<>();
+      facetMatches.forEach(
+          (other, matches) -> {
+            if (other != facet) {
+              others.add(matches);
+            }
+          });
+      if (priceMatches != null) {
+        others.add(priceMatches);
+      }
+      RoaringBitmap base = intersect(inCategory, others);
+      SortedMap<String, RoaringBitmap> values = facetIndex.values(ordinal, facet);
+      List<CatalogFacets.FacetCount> facetCounts = new ArrayList<>(values.size());
+      values.forEach(
+          (value, rows) ->
+              facetCounts.add(
+                  new CatalogFacets.FacetCount(value, RoaringBitmap.andCardinality(rows, base))));
+      counts.put(facet, facetCounts);
+    }
+
+    RoaringBitmap priceBase = intersect(inCategory, facetMatches.values());
+    int[] priceRows = sortedRows[CatalogSortKey.PRICE.ordinal()][ordinal];
+    BigDecimal minPrice = null;
+    BigDecimal maxPrice = null;
+    for (int row : priceRows) {
+      if (priceBase.contains(row)) {
+        minPrice = BigDecimal.valueOf(prices[row], PRICE_SCALE);
+        break;
+      }
+    }
+    for (int i = priceRows.length - 1; i >= 0; i--) {
+      if (priceBase.contains(priceRows[i])) {
+        maxPrice = BigDecimal.valueOf(prices[priceRows[i]], PRICE_SCALE);
+        break;
+      }
+    }
+
+    return new CatalogFacets(
+        counts.get(CatalogFacet.MANUFACTURER),
+        counts.get(CatalogFacet.STORAGE_CAPACITY),
+        counts.get(CatalogFacet.COLOR_NAME),
+        minPrice,
+        maxPrice);
+  }
+
+  /**
+   * ビットマップの積集合を求める
+   *
+   * @param base 基準となるビットマップ（変更しない）
+   * @param others 積を取るビットマップ
+   * @return 積集合（othersが空の場合はbaseそのもの）
+   */
+  private static RoaringBitmap intersect(RoaringBitmap base, Collection<RoaringBitmap> others) {
+    if (others.isEmpty()) {
+      return base;
+    }
+    RoaringBitmap result = base.clone();
+    for (RoaringBitmap other : others) {
+      result.and(other);
+    }
+    return result;
+  }
+
+  /**
+   * カテゴリ・ソートキーごとの置換配列を構築する
+   *
+   * @return [ソートキー][カテゴリ序数] → 昇順に並べた行番号
+   */
+  private int[][][] buildSortedRows() {
+    int[] counts = new int[categories.length];
+    for (int category : productCategories) {
+      counts[category]++;
+    }
+    int[][] rowsByCategory = new int[categories.length][];
+    for (int i = 0; i < categories.length; i++) {
+      rowsByCategory[i] = new int[counts[i]];
+    }
+    int[] positions = new int[categories.length];
+    for (int row = 0; row < productCategories.length; row++) {
+      int category = productCategories[row];
+      rowsByCategory[category][positions[category]++] = row;
+    }
+
+    CatalogSortKey[] keys = CatalogSortKey.values();
+    int[][][] result = new int[keys.length][categories.length][];
+    for (CatalogSortKey key : keys) {
+      Comparator<Integer> comparator = comparatorFor(key).thenComparingLong(row -> productIds[row]);
+      for (int category = 0; category < categories.length; category++) {
+        Integer[] boxed = Arrays.stream(rowsByCategory[category]).boxed().toArray(Integer[]::new);
+        Arrays.sort(boxed, comparator);
+        result[key.ordinal()][category] =
+            Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * ソートキーに対応する行番号の比較関数を取得する
+   *
+   * @param key ソートキー
+   * @return 行番号の比較関数
+   */
+  private Comparator<Integer> comparatorFor(CatalogSortKey key) {
+    return switch (key) {
+      case PRICE -> Comparator.comparingLong(row -> prices[row]);
+      case CREATED_AT -> Comparator.comparingLong(row -> createdAtMillis[row]);
+      default -> Comparator.comparing(row -> dictionary.get(names[row]));
+    };
+  }
+
+  /**
+   * 件数配列を累積和に変換してオフセット配列にする
+   *
+   * @param offsets 件数配列（先頭は0）
+   */
+  private static void accumulate(int[] offsets) {
+    for (int i = 1; i < offsets.length; i++) {
+      offsets[i] += offsets[i - 1];
+    }
+  }
+
+  /**
+   * エポックミリ秒を日時に変換する
+   *
+   * @param millis エポックミリ秒
+   * @param unbounded 期間制限なしを表す番兵値
+   * @return 日時（番兵値の場合null）
+   */
+  private static Instant toInstantOrNull(long millis, long unbounded) {
+    return millis != unbounded ? Instant.ofEpochMilli(millis) : null;
+  }
+
+  /**
+   * 価格を最小通貨単位に変換する
+   *
+   * @param price 価格
+   * @return 最小通貨単位の価格
+   */
+  private static long toMinorUnits(BigDecimal price) {
+    return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  /**
+   * 絞り込み条件の価格を最小通貨単位に変換する
+   *
+   * <p>条件の価格は商品の価格と違って桁数の上限がないため、longに収まらない場合は例外にせず上限・下限に丸める。
+   *
+   * @param price 価格
+   * @return 最小通貨単位の価格（longの範囲に丸めた値）
+   */
+  private static long boundToMinorUnits(BigDecimal price) {
+    BigInteger units = price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue();
+    if (units.bitLength() < Long.SIZE) {
+      return units.longValue();
+    }
+    return units.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+  }
+
+  /**
+   * カテゴリの商品ページ
+   *
+   * @param category カテゴリ
+   * @param products ページ内の商品
+   * @param total 絞り込み条件に一致する商品総数
+   * @param facets ファセット集計結果
+   */
+  public record CategoryPage(
+      CatalogData.CategoryRow category,
+      List<CategoryDetailResponse.ProductItem> products,
+      long total,
+      CatalogFacets facets) {}
+}
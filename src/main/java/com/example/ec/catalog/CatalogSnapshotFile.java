@@ -0,0 +1,360 @@
+package com.example.ec.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * カタログスナップショットファイル
+ *
+ * <p>カタログデータをバージョン付きのバイナリ形式でローカルディスクに書き出し、起動時に{@link FileChannel#map}でメモリマップして読み込む。
+ *
+ * <p>ファイルは固定長ヘッダー（マジックナンバー、フォーマットバージョン、カタログバージョン、書き出し日時、ペイロード長、CRC32C）と
+ * ペイロード（文字列テーブル、カテゴリ、商品、バリアント、キャンペーン、商品キャンペーン関連の各セクション）で構成される。
+ * ヘッダーとチェックサムのいずれかが一致しない場合は破損として扱う。
+ */
+final class CatalogSnapshotFile {
+
+  /** マジックナンバー（"ECAT"） */
+  static final int MAGIC = 0x45434154;
+
+  /** 現在のフォーマットバージョン */
+  static final int FORMAT_VERSION = 1;
+
+  /** ヘッダーのバイト数 */
+  static final int HEADER_SIZE = 40;
+
+  /** 日時がnullであることを表す秒値 */
+  private static final long NULL_INSTANT = Long.MIN_VALUE;
+
+  private CatalogSnapshotFile() {}
+
+  /**
+   * スナップショットファイルを書き出す
+   *
+   * <p>一時ファイルに書き出してからアトミックに置き換えるため、書き出し途中のファイルが読まれることはない。
+   *
+   * @param path 書き出し先
+   * @param catalogVersion カタログバージョン
+   * @param data カタログデータ
+   * @throws IOException 書き出しエラー
+   */
+  static void write(Path path, long catalogVersion, CatalogData data) throws IOException {
+    byte[] payload = encodePayload(data);
+    CRC32C crc = new CRC32C();
+    crc.update(payload);
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putInt(FORMAT_VERSION);
+    header.putLong(catalogVersion);
+    header.putLong(Instant.now().toEpochMilli());
+    header.putLong(payload.length);
+    header.putInt((int) crc.getValue());
+    header.putInt(0);
+    header.flip();
+
+    Path directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        ByteBuffer body = ByteBuffer.wrap(payload);
+        while (header.hasRemaining()) {
+          channel.write(header);
+        }
+        while (body.hasRemaining()) {
+          channel.write(body);
+        }
+        channel.force(true);
+      }
+      Files.move(
+          temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * スナップショットファイルをメモリマップして読み込む
+   *
+   * @param path 読み込み元
+   * @return スナップショットファイルの内容
+   * @throws IOException 読み込みエラー、またはヘッダー・チェックサムが一致しない場合
+   */
+  static Contents read(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IOException("スナップショットファイルのサイズが不正です: " + size);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+      int magic = buffer.getInt();
+      if (magic != MAGIC) {
+        throw new IOException("スナップショットファイルではありません");
+      }
+      int formatVersion = buffer.getInt();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("未対応のフォーマットバージョンです: " + formatVersion);
+      }
+      long catalogVersion = buffer.getLong();
+      Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+      long payloadLength = buffer.getLong();
+      int checksum = buffer.getInt();
+      buffer.getInt();
+      if (payloadLength != size - HEADER_SIZE) {
+        throw new IOException("ペイロード長が一致しません: " + payloadLength);
+      }
+
+      ByteBuffer payload = buffer.slice();
+      CRC32C crc = new CRC32C();
+      crc.update(payload.duplicate());
+      if ((int) crc.getValue() != checksum) {
+        throw new IOException("チェックサムが一致しません");
+      }
+
+      try {
+        return new Contents(catalogVersion, writtenAt, decodePayload(payload));
+      } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+        throw new IOException("ペイロードが破損しています", e);
+      }
+    }
+  }
+
+  /**
+   * カタログデータをペイロードにエンコードする
+   *
+   * @param data カタログデータ
+   * @return ペイロード
+   * @throws IOException エンコードエラー
+   */
+  private static byte[] encodePayload(CatalogData data) throws IOException {
+    StringDictionary.Builder strings = new StringDictionary.Builder();
+    ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+    DataOutputStream rows = new DataOutputStream(rowBytes);
+
+    rows.writeInt(data.categories().size());
+    for (CatalogData.CategoryRow category : data.categories()) {
+      rows.writeInt(strings.encode(category.categoryCode()));
+      rows.writeInt(strings.encode(category.displayName()));
+      rows.writeInt(strings.encode(category.heroImageUrl()));
+      rows.writeInt(strings.encode(category.leadText()));
+      rows.writeInt(category.displayOrder());
+    }
+
+    rows.writeInt(data.products().size());
+    for (CatalogData.ProductRow product : data.products()) {
+      rows.writeLong(product.id());
+      rows.writeInt(strings.encode(product.name()));
+      rows.writeInt(strings.encode(product.description()));
+      rows.writeLong(product.price().unscaledValue().longValueExact());
+      rows.writeInt(product.price().scale());
+      rows.writeInt(strings.encode(product.categoryCode()));
+      writeInstant(rows, product.createdAt());
+    }
+
+    rows.writeInt(data.variants().size());
+    for (CatalogData.VariantRow variant : data.variants()) {
+      rows.writeLong(variant.id());
+      rows.writeLong(variant.productId());
+      rows.writeInt(strings.encode(variant.manufacturer()));
+      rows.writeInt(strings.encode(variant.modelName()));
+      rows.writeInt(strings.encode(variant.storageCapacity()));
+      rows.writeInt(strings.encode(variant.colorCode()));
+      rows.writeInt(strings.encode(variant.colorName()));
+      if (variant.imageUrls() == null) {
+        rows.writeInt(-1);
+      } else {
+        rows.writeInt(variant.imageUrls().size());
+        for (String url : variant.imageUrls()) {
+          rows.writeInt(strings.encode(url));
+        }
+      }
+    }
+
+    rows.writeInt(data.campaigns().size());
+    for (CatalogData.CampaignRow campaign : data.campaigns()) {
+      rows.writeLong(campaign.id());
+      rows.writeInt(strings.encode(campaign.campaignCode()));
+      rows.writeInt(strings.encode(campaign.badgeText()));
+      writeInstant(rows, campaign.validFrom());
+      writeInstant(rows, campaign.validTo());
+    }
+
+    rows.writeInt(data.productCampaigns().size());
+    for (CatalogData.ProductCampaignRow link : data.productCampaigns()) {
+      rows.writeLong(link.productId());
+      rows.writeLong(link.campaignId());
+    }
+    rows.flush();
+
+    StringDictionary dictionary = strings.build();
+    ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(rowBytes.size() * 2);
+    DataOutputStream payload = new DataOutputStream(payloadBytes);
+    payload.writeInt(dictionary.size());
+    for (int code = 0; code < dictionary.size(); code++) {
+      byte[] bytes = dictionary.get(code).getBytes(StandardCharsets.UTF_8);
+      payload.writeInt(bytes.length);
+      payload.write(bytes);
+    }
+    rowBytes.writeTo(payload);
+    payload.flush();
+    return payloadBytes.toByteArray();
+  }
+
+  /**
+   * ペイロードをカタログデータにデコードする
+   *
+   * @param payload ペイロード
+   * @return カタログデータ
+   */
+  private static CatalogData decodePayload(ByteBuffer payload) {
+    String[] strings = new String[payload.getInt()];
+    for (int code = 0; code < strings.length; code++) {
+      byte[] bytes = new byte[payload.getInt()];
+      payload.get(bytes);
+      strings[code] = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int categoryCount = payload.getInt();
+    List<CatalogData.CategoryRow> categories = new ArrayList<>(categoryCount);
+    for (int i = 0; i < categoryCount; i++) {
+      categories.add(
+          new CatalogData.CategoryRow(
+              readString(payload, strings),
+              readString(payload, strings),
+              readString(payload, strings),
+              readString(payload, strings),
+              payload.getInt()));
+    }
+
+    int productCount = payload.getInt();
+    List<CatalogData.ProductRow> products = new ArrayList<>(productCount);
+    for (int i = 0; i < productCount; i++) {
+      long id = payload.getLong();
+      String name = readString(payload, strings);
+      String description = readString(payload, strings);
+      long unscaledPrice = payload.getLong();
+      BigDecimal price = new BigDecimal(BigInteger.valueOf(unscaledPrice), payload.getInt());
+      products.add(
+          new CatalogData.ProductRow(
+              id, name, description, price, readString(payload, strings), readInstant(payload)));
+    }
+
+    int variantCount = payload.getInt();
+    List<CatalogData.VariantRow> variants = new ArrayList<>(variantCount);
+    for (int i = 0; i < variantCount; i++) {
+      long id = payload.getLong();
+      long productId = payload.getLong();
+      String manufacturer = readString(payload, strings);
+      String modelName = readString(payload, strings);
+      String storageCapacity = readString(payload, strings);
+      String colorCode = readString(payload, strings);
+      String colorName = readString(payload, strings);
+      int urlCount = payload.getInt();
+      List<String> imageUrls = null;
+      if (urlCount >= 0) {
+        imageUrls = new ArrayList<>(urlCount);
+        for (int u = 0; u < urlCount; u++) {
+          imageUrls.add(readString(payload, strings));
+        }
+      }
+      variants.add(
+          new CatalogData.VariantRow(
+              id,
+              productId,
+              manufacturer,
+              modelName,
+              storageCapacity,
+              colorCode,
+              colorName,
+              imageUrls));
+    }
+
+    int campaignCount = payload.getInt();
+    List<CatalogData.CampaignRow> campaigns = new ArrayList<>(campaignCount);
+    for (int i = 0; i < campaignCount; i++) {
+      campaigns.add(
+          new CatalogData.CampaignRow(
+              payload.getLong(),
+              readString(payload, strings),
+              readString(payload, strings),
+              readInstant(payload),
+              readInstant(payload)));
+    }
+
+    int linkCount = payload.getInt();
+    List<CatalogData.ProductCampaignRow> links = new ArrayList<>(linkCount);
+    for (int i = 0; i < linkCount; i++) {
+      links.add(new CatalogData.ProductCampaignRow(payload.getLong(), payload.getLong()));
+    }
+
+    return new CatalogData(categories, products, variants, campaigns, links);
+  }
+
+  /**
+   * 文字列テーブルのコードを読み取り文字列に変換する
+   *
+   * @param payload ペイロード
+   * @param strings 文字列テーブル
+   * @return 文字列（nullを表すコードの場合null）
+   */
+  private static String readString(ByteBuffer payload, String[] strings) {
+    int code = payload.getInt();
+    return code == StringDictionary.NULL_CODE ? null : strings[code];
+  }
+
+  /**
+   * 日時を秒とナノ秒で書き出す
+   *
+   * @param out 出力先
+   * @param instant 日時（null可）
+   * @throws IOException 書き出しエラー
+   */
+  private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+    if (instant == null) {
+      out.writeLong(NULL_INSTANT);
+      out.writeInt(0);
+    } else {
+      out.writeLong(instant.getEpochSecond());
+      out.writeInt(instant.getNano());
+    }
+  }
+
+  /**
+   * 秒とナノ秒から日時を読み取る
+   *
+   * @param payload ペイロード
+   * @return 日時（nullとして書き出された場合null）
+   */
+  private static Instant readInstant(ByteBuffer payload) {
+    long seconds = payload.getLong();
+    int nanos = payload.getInt();
+    return seconds == NULL_INSTANT ? null : Instant.ofEpochSecond(seconds, nanos);
+  }
+
+  /**
+   * スナップショットファイルの内容
+   *
+   * @param catalogVersion 書き出し時のカタログバージョン
+   * @param writtenAt 書き出し日時
+   * @param data カタログデータ
+   */
+  record Contents(long catalogVersion, Instant writtenAt, CatalogData data) {}
+}
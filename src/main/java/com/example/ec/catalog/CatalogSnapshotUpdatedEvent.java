@@ -0,0 +1,11 @@
+package com.example.ec.catalog;
+
+/**
+ * カタログスナップショット更新イベント
+ *
+ * <p>{@link InMemoryCatalogEngine}が配信中のスナップショットを差し替えた（ファイルからの復元を含む）ことを通知するアプリケーションイベント。
+ * スナップショットから派生する読み取り用の構造は、DBを読み直さずにこのスナップショットから再構築する。
+ *
+ * @param snapshot 差し替え後のスナップショット
+ */
+public record CatalogSnapshotUpdatedEvent(CatalogSnapshot snapshot) {}
@@ -0,0 +1,28 @@
+package com.example.ec.catalog;
+
+/**
+ * カタログのソートキー
+ *
+ * <p>カテゴリ詳細APIのsortパラメータに対応するソートキー。
+ */
+public enum CatalogSortKey {
+  NAME,
+  PRICE,
+  CREATED_AT;
+
+  /**
+   * クライアントから指定されたソートフィールドをソートキーに変換する
+   *
+   * @param sort ソートフィールド
+   * @return ソートキー（未知の値の場合はNAME）
+   */
+  public static CatalogSortKey from(String sort) {
+    if ("price".equals(sort)) {
+      return PRICE;
+    }
+    if ("createdAt".equals(sort)) {
+      return CREATED_AT;
+    }
+    return NAME;
+  }
+}
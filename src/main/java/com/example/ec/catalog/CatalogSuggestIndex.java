@@ -0,0 +1,182 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 入力補完インデックス
+ *
+ * <p>カテゴリごとに商品名・モデル名・メーカーを候補語とする{@link SuggestTrie}を保持する。 候補語の重みはその語を持つ商品数。
+ * {@link InMemoryCatalogEngine}のスナップショットから構築するためDBにはアクセスせず、エンジンと同じ{@code
+ * catalog.engine.enabled=true}の場合のみ有効になる。
+ *
+ * <p>スナップショットが差し替わるたびに専用の単一スレッドで再構築し、参照を差し替える。 再構築中に届いた更新は最新の1件にまとめて反映する。
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.engine", name = "enabled", havingValue = "true")
+@Slf4j
+public class CatalogSuggestIndex {
+
+  private final int topK;
+  private final ExecutorService rebuildExecutor;
+  private final AtomicReference<CatalogSnapshot> pending = new AtomicReference<>();
+
+  private volatile Map<String, SuggestTrie> tries;
+
+  /** 再構築スレッドからのみ参照する、構築済みインデックスのカタログバージョン */
+  private long builtVersion = -1;
+
+  /**
+   * コンストラクタ
+   *
+   * @param catalogConfig カタログ設定
+   */
+  public CatalogSuggestIndex(CatalogConfig catalogConfig) {
+    this.topK = catalogConfig.getSuggest().getTopK();
+    this.rebuildExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "catalog-suggest-rebuild");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * スナップショットの差し替え時に再構築を予約する
+   *
+   * <p>イベントを発行したスレッドではトライ木を構築せず、再構築スレッドに引き渡す。
+   * 再構築待ちのスナップショットがあれば置き換えるだけで、タスクは追加しない。
+   *
+   * @param event スナップショット更新イベント
+   */
+  @EventListener
+  public void onSnapshotUpdated(CatalogSnapshotUpdatedEvent event) {
+    if (pending.getAndSet(event.snapshot()) != null) {
+      return;
+    }
+    try {
+      rebuildExecutor.execute(this::rebuildPending);
+    } catch (RejectedExecutionException e) {
+      log.debug("停止中のため入力補完インデックスを再構築しません: version={}", event.snapshot().version());
+    }
+  }
+
+  /** 再構築スレッドを停止する */
+  @PreDestroy
+  public void shutdown() {
+    rebuildExecutor.shutdownNow();
+  }
+
+  /**
+   * 再構築待ちの最新スナップショットからインデックスを再構築して差し替える
+   *
+   * <p>構築済みと同じバージョンであれば何もしない。構築に失敗した場合は現在のインデックスを維持する。
+   */
+  private void rebuildPending() {
+    CatalogSnapshot snapshot = pending.getAndSet(null);
+    if (snapshot == null || snapshot.version() == builtVersion) {
+      return;
+    }
+    try {
+      long startedAt = System.nanoTime();
+      Map<String, SuggestTrie> rebuilt = build(snapshot.toData(), topK);
+      tries = rebuilt;
+      builtVersion = snapshot.version();
+      log.info(
+          "入力補完インデックスを構築しました: version={}, categories={}, terms={}, elapsedMs={}",
+          snapshot.version(),
+          rebuilt.size(),
+          rebuilt.values().stream().mapToInt(SuggestTrie::termCount).sum(),
+          (System.nanoTime() - startedAt) / 1_000_000);
+    } catch (RuntimeException e) {
+      log.warn("入力補完インデックスの構築に失敗しました: version={}", snapshot.version(), e);
+    }
+  }
+
+  /**
+   * 入力中の文字列に対する補完候補を取得する
+   *
+   * @param categoryCode カテゴリコード
+   * @param query 入力中の文字列
+   * @param limit 最大件数
+   * @return 補完候補（インデックス未構築の場合は空リスト、カテゴリが存在しない場合はOptional.empty()）
+   */
+  public Optional<List<String>> suggest(String categoryCode, String query, int limit) {
+    Map<String, SuggestTrie> current = tries;
+    if (current == null) {
+      return Optional.of(List.of());
+    }
+    SuggestTrie trie = current.get(categoryCode);
+    if (trie == null) {
+      return Optional.empty();
+    }
+    return Optional.of(trie.suggest(query, limit));
+  }
+
+  /**
+   * カタログデータからカテゴリごとのトライ木を構築する
+   *
+   * @param data カタログデータ
+   * @param topK ノードごとに保持する補完候補の件数
+   * @return カテゴリコード → トライ木
+   */
+  static Map<String, SuggestTrie> build(CatalogData data, int topK) {
+    Map<Long, String> categoryByProduct = new HashMap<>();
+    Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    for (CatalogData.ProductRow product : data.products()) {
+      categoryByProduct.put(product.id(), product.categoryCode());
+      termsByProduct.computeIfAbsent(product.id(), id -> new LinkedHashSet<>()).add(product.name());
+    }
+    for (CatalogData.VariantRow variant : data.variants()) {
+      Set<String> terms = termsByProduct.get(variant.productId());
+      if (terms != null) {
+        addIfPresent(terms, variant.modelName());
+        addIfPresent(terms, variant.manufacturer());
+      }
+    }
+
+    Map<String, SuggestTrie.Builder> builders = new HashMap<>();
+    for (CatalogData.CategoryRow category : data.categories()) {
+      builders.put(category.categoryCode(), new SuggestTrie.Builder());
+    }
+    // 同じ商品に同じ語が複数回現れても重みは1とする
+    termsByProduct.forEach(
+        (productId, terms) -> {
+          SuggestTrie.Builder builder = builders.get(categoryByProduct.get(productId));
+          if (builder != null) {
+            terms.forEach(term -> builder.add(term, 1));
+          }
+        });
+
+    Map<String, SuggestTrie> result = new HashMap<>(builders.size() * 2);
+    builders.forEach((categoryCode, builder) -> result.put(categoryCode, builder.build(topK)));
+    return result;
+  }
+
+  /**
+   * nullでない文字列を集合に追加する
+   *
+   * @param terms 候補語の集合
+   * @param term 候補語（null可）
+   */
+  private static void addIfPresent(Set<String> terms, String term) {
+    if (term != null) {
+      terms.add(term);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.ec.catalog;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * カタログテーブル
+ *
+ * <p>変更通知の対象となるカタログ関連テーブル。イベントのキーは、カテゴリではカテゴリコード、商品キャンペーン関連では商品ID、それ以外は行のIDとなる。
+ */
+public enum CatalogTable {
+  CATEGORIES("categories"),
+  PRODUCTS("products"),
+  PRODUCT_VARIANTS("product_variants"),
+  CAMPAIGNS("campaigns"),
+  PRODUCT_CAMPAIGNS("product_campaigns");
+
+  private final String tableName;
+
+  CatalogTable(String tableName) {
+    this.tableName = tableName;
+  }
+
+  /**
+   * テーブル名を取得する
+   *
+   * @return テーブル名
+   */
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   * テーブル名から対応する値を取得する
+   *
+   * @param tableName テーブル名
+   * @return 対応する値（対象外のテーブルの場合は空）
+   */
+  public static Optional<CatalogTable> fromTableName(String tableName) {
+    return Arrays.stream(values()).filter(table -> table.tableName.equals(tableName)).findFirst();
+  }
+}
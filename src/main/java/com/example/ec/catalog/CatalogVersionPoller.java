@@ -0,0 +1,31 @@
+package com.example.ec.catalog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログバージョンの定期ポーリング
+ *
+ * <p>インメモリカタログエンジンのスナップショットと検索結果キャッシュのキーを最新のバージョンに保つため、
+ * {@code catalog.version.poll-interval}間隔で{@link CatalogVersionTracker#poll()}を呼び出す。
+ * エンジン・検索結果キャッシュのいずれかが有効な場合に動作し、どちらも無効の場合は定期的には問い合わせない
+ * （カタログ変更通知（{@link CatalogChangeListener}）を受け取ったときだけバージョンを確認する）。
+ * バージョンはFlywayのマイグレーションで作成するアウトボックスから求めるため、Flywayが無効の場合（H2を使うテストなど）は動作しない。
+ */
+@Component
+@ConditionalOnExpression(
+    "(${catalog.engine.enabled:false} or ${catalog.search-cache.enabled:true})"
+        + " and ${spring.flyway.enabled:true}")
+@RequiredArgsConstructor
+public class CatalogVersionPoller {
+
+  private final CatalogVersionTracker catalogVersionTracker;
+
+  /** カタログバージョンをポーリングする */
+  @Scheduled(fixedDelayString = "${catalog.version.poll-interval:30000}")
+  public void poll() {
+    catalogVersionTracker.poll();
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.ec.catalog;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログバージョンプローブ
+ *
+ * <p>カタログ関連テーブルの変更ごとにトリガーが書き込む{@code catalog_outbox}のうち、実行中トランザクションの最小ID（xmin）
+ * より小さいトランザクションが書いた行の最大のトランザクションIDをカタログのバージョンとする。
+ * xminより小さいトランザクションはすべて終了しているため、後からコミットされる変更のIDは必ず現在のバージョンより大きく、
+ * バージョンは単調増加して変更を取りこぼさない。 テーブルの件数や更新日時からは分からない変更
+ * （{@code updated_at}を更新しない直接のSQL、件数の変わらない商品キャンペーン関連の付け替え、TRUNCATE）も検知する。
+ * 書き込み側は行ロックを取らず、対象が0行の文ではバージョンが進まない。
+ * 長時間実行中のトランザクションがあるとxminが進まないため、その間の変更の検知はトランザクションの終了まで遅れる。
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionProbe {
+
+  private static final String VERSION_SQL =
+      "SELECT xid::text FROM catalog_outbox "
+          + "WHERE xid < pg_snapshot_xmin(pg_current_snapshot()) ORDER BY xid DESC LIMIT 1";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 現在のカタログバージョンを取得する
+   *
+   * @return カタログバージョン（変更が記録されていない場合は0）
+   */
+  public long currentVersion() {
+    List<String> versions = jdbcTemplate.queryForList(VERSION_SQL, String.class);
+    return versions.isEmpty() ? 0L : Long.parseLong(versions.get(0));
+  }
+}
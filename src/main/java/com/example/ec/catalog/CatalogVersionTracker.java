@@ -0,0 +1,53 @@
+package com.example.ec.catalog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログバージョントラッカー
+ *
+ * <p>カタログバージョンを確認し、変化を検知したら{@link CatalogChangedEvent}を発行する。
+ * 確認は{@link CatalogVersionPoller}（エンジンか検索結果キャッシュの有効時の定期ポーリング）と
+ * {@link CatalogChangeListener}（変更通知の受信時）が行う。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersionTracker {
+
+  /** バージョン未取得を表す値 */
+  public static final long UNKNOWN_VERSION = Long.MIN_VALUE;
+
+  private final CatalogVersionProbe catalogVersionProbe;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AtomicLong lastVersion = new AtomicLong(UNKNOWN_VERSION);
+
+  /** カタログバージョンを確認し、変化があればイベントを発行する */
+  public synchronized void poll() {
+    long version;
+    try {
+      version = catalogVersionProbe.currentVersion();
+    } catch (DataAccessException e) {
+      log.warn("カタログバージョンの取得に失敗しました: {}", e.getMessage());
+      return;
+    }
+    long previous = lastVersion.getAndSet(version);
+    if (previous != version) {
+      log.info("カタログバージョンの変化を検知しました: {} -> {}", previous, version);
+      eventPublisher.publishEvent(new CatalogChangedEvent(version));
+    }
+  }
+
+  /**
+   * 最後に観測したカタログバージョンを取得する
+   *
+   * @return カタログバージョン（未取得の場合はUNKNOWN_VERSION）
+   */
+  public long lastKnownVersion() {
+    return lastVersion.get();
+  }
+}
@@ -0,0 +1,180 @@
+package com.example.ec.catalog;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.datasource.PrimaryReadContext;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * インメモリカタログエンジン
+ *
+ * <p>アクティブな商品を列指向の{@link CatalogSnapshot}として保持し、キーワードなしのカテゴリ詳細をDBに問い合わせずに返す。
+ * カタログの変更を検知すると新しいスナップショットを構築して参照を差し替えるため、読み取りはロック不要。 {@code
+ * catalog.engine.enabled=true}の場合のみ有効になる。
+ *
+ * <p>DBから構築したスナップショットはローカルディスクにも書き出し、再起動時はメモリマップしたファイルから即座に復元する。
+ * 復元したスナップショットのバージョンは起動完了の直後に定期監視を待たずバックグラウンドでDBと照合し、古ければDBから再構築する。
+ * ファイルを読めない場合・復元に失敗した場合は起動を止めず、DBから構築する。
+ *
+ * <p>2回目以降の構築では、{@link CatalogDeltaLoader}でアウトボックスから前回以降に変更された商品・キャンペーンだけを読み直し、
+ * 現在のスナップショットのデータに反映して構築する（カテゴリの変更など差分で反映できない場合は全件を読み込む）。
+ * スナップショットを差し替えるたびに{@link CatalogSnapshotUpdatedEvent}を発行し、入力補完のインデックスも更新させる。
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.engine", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryCatalogEngine {
+
+  private final CatalogDataLoader catalogDataLoader;
+  private final CatalogDeltaLoader catalogDeltaLoader;
+  private final CatalogVersionProbe catalogVersionProbe;
+  private final CatalogVersionTracker catalogVersionTracker;
+  private final CatalogConfig catalogConfig;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private volatile CatalogSnapshot snapshot;
+
+  /** 現在のスナップショットの構築前に取得した差分の読み取り位置（未取得の場合はnull） */
+  private CatalogDeltaLoader.Position deltaPosition;
+
+  /** スナップショットファイルが存在すれば、起動直後から配信できるよう読み込む */
+  @PostConstruct
+  public void restoreFromFile() {
+    CatalogConfig.Snapshot fileConfig = catalogConfig.getEngine().getSnapshot();
+    if (!fileConfig.isEnabled()) {
+      return;
+    }
+    Path path = Path.of(fileConfig.getPath());
+    if (!Files.exists(path)) {
+      log.info("スナップショットファイルが存在しないため、DBから構築します: path={}", path);
+      return;
+    }
+    try {
+      long startedAt = System.nanoTime();
+      CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(path);
+      CatalogSnapshot restored = CatalogSnapshot.build(contents.data(), contents.catalogVersion());
+      snapshot = restored;
+      log.info(
+          "スナップショットファイルから復元しました: version={}, writtenAt={}, products={}, elapsedMs={}",
+          contents.catalogVersion(),
+          contents.writtenAt(),
+          restored.productCount(),
+          (System.nanoTime() - startedAt) / 1_000_000);
+    } catch (IOException e) {
+      log.warn("スナップショットファイルを利用できないため、DBから構築します: {}", e.getMessage());
+    } catch (RuntimeException e) {
+      // チェックサムは一致してもデータの配置が変わっている場合など、復元に失敗しても起動は止めない
+      log.warn("スナップショットファイルから復元できないため、DBから構築します: path={}", path, e);
+    }
+  }
+
+  /**
+   * アプリケーション起動完了時、スナップショットが未構築であればDBから構築する
+   *
+   * <p>ファイルから復元済みの場合は、リスナーの登録が済んだこの時点で更新イベントを発行し、
+   * 復元したスナップショットのバージョンをバックグラウンドでDBと照合する（古ければバージョンの変化の検知で再構築される）。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    CatalogSnapshot restored = snapshot;
+    if (restored == null) {
+      refresh();
+      return;
+    }
+    eventPublisher.publishEvent(new CatalogSnapshotUpdatedEvent(restored));
+    Thread versionCheck = new Thread(catalogVersionTracker::poll, "catalog-engine-version-check");
+    versionCheck.setDaemon(true);
+    versionCheck.start();
+  }
+
+  /**
+   * カタログ変更時にスナップショットを再構築する
+   *
+   * @param event カタログ変更イベント
+   */
+  @EventListener
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    CatalogSnapshot current = snapshot;
+    if (current == null || current.version() != event.version()) {
+      refresh();
+    }
+  }
+
+  /**
+   * DBからスナップショットを再構築して差し替える
+   *
+   * <p>前回の構築時の読み取り位置があれば変更分だけを読み込み、なければ全件を読み込む。 構築に失敗した場合は現在のスナップショットを維持し、
+   * 呼び出し元（スケジューラー・イベントの発行元）には例外を伝えない。 リードレプリカが有効でも、データはバージョンと同じプライマリから読む。
+   */
+  public synchronized void refresh() {
+    // バージョンと読み取り位置はプライマリで取得するため、データもレプリカではなくプライマリから読む
+    try (PrimaryReadContext.Scope scope = PrimaryReadContext.enter()) {
+      // 読み込み中の変更を取りこぼさないよう、データより先にバージョンと読み取り位置を取得する
+      long version = catalogVersionProbe.currentVersion();
+      Optional<CatalogDeltaLoader.Position> position = catalogDeltaLoader.currentPosition();
+      long startedAt = System.nanoTime();
+      CatalogSnapshot current = snapshot;
+      Optional<CatalogData> delta =
+          current != null && deltaPosition != null
+              ? catalogDeltaLoader.loadChanges(current.toData(), deltaPosition)
+              : Optional.empty();
+      CatalogData data = delta.isPresent() ? delta.get() : catalogDataLoader.loadAll();
+      CatalogSnapshot rebuilt = CatalogSnapshot.build(data, version);
+      snapshot = rebuilt;
+      deltaPosition = position.orElse(null);
+      log.info(
+          "カタログスナップショットを構築しました: version={}, products={}, delta={}, elapsedMs={}",
+          version,
+          rebuilt.productCount(),
+          delta.isPresent(),
+          (System.nanoTime() - startedAt) / 1_000_000);
+      eventPublisher.publishEvent(new CatalogSnapshotUpdatedEvent(rebuilt));
+      writeToFile(version, data);
+    } catch (DataAccessException e) {
+      log.warn("カタログスナップショットの構築に失敗しました: {}", e.getMessage());
+    } catch (RuntimeException e) {
+      log.error("カタログスナップショットの構築に失敗しました", e);
+    }
+  }
+
+  /**
+   * スナップショットをファイルに書き出す
+   *
+   * <p>書き出しに失敗してもメモリ上のスナップショットは有効なため、警告ログのみ出力する。
+   *
+   * @param version カタログバージョン
+   * @param data カタログデータ
+   */
+  private void writeToFile(long version, CatalogData data) {
+    CatalogConfig.Snapshot fileConfig = catalogConfig.getEngine().getSnapshot();
+    if (!fileConfig.isEnabled()) {
+      return;
+    }
+    try {
+      CatalogSnapshotFile.write(Path.of(fileConfig.getPath()), version, data);
+    } catch (IOException e) {
+      log.warn("スナップショットファイルの書き出しに失敗しました: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 現在のスナップショットを取得する
+   *
+   * @return スナップショット（未構築の場合はOptional.empty()）
+   */
+  public Optional<CatalogSnapshot> currentSnapshot() {
+    return Optional.ofNullable(snapshot);
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.ec.catalog;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 検索文字列の正規化
+ *
+ * <p>NFKC正規化で全角英数字・半角カナを統一したうえで、英字を小文字に、カタカナをひらがなに揃え、連続する空白を一つにまとめる。
+ * 入力補完で表記ゆれを吸収するために使用する。 検索結果キャッシュのキーは、DBの部分一致検索と結果が変わらないよう英字の小文字化のみ行う。
+ */
+public final class SearchTextNormalizer {
+
+  private static final char KATAKANA_FIRST = 'ァ';
+  private static final char KATAKANA_LAST = 'ヶ';
+  private static final int KATAKANA_TO_HIRAGANA = 'ァ' - 'ぁ';
+
+  private SearchTextNormalizer() {}
+
+  /**
+   * 検索結果キャッシュのキー用にキーワードを揃える
+   *
+   * <p>DBの部分一致検索は大文字・小文字を区別しないため、英字の小文字化のみ行う。
+   * NFKC正規化や空白の整理は検索結果が変わりうるため行わない（キーが同じなら検索結果も同じになるようにする）。
+   *
+   * @param keyword キーワード（null可）
+   * @return キー用のキーワード（nullの場合は空文字列）
+   */
+  public static String normalizeCacheKey(String keyword) {
+    return keyword == null ? "" : keyword.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 文字列を正規化する
+   *
+   * @param text 文字列（null可）
+   * @return 正規化した文字列（nullの場合は空文字列）
+   */
+  public static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    StringBuilder normalized = new StringBuilder(folded.length());
+    boolean pendingSpace = false;
+    for (int i = 0; i < folded.length(); i++) {
+      char c = folded.charAt(i);
+      if (Character.isWhitespace(c)) {
+        pendingSpace = normalized.length() > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        normalized.append(' ');
+        pendingSpace = false;
+      }
+      if (c >= KATAKANA_FIRST && c <= KATAKANA_LAST) {
+        c = (char) (c - KATAKANA_TO_HIRAGANA);
+      }
+      normalized.append(c);
+    }
+    return normalized.toString();
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.ec.catalog;
+
+import com.example.ec.entity.CacheRegions;
+import com.example.ec.entity.Campaign;
+import com.example.ec.entity.Category;
+import com.example.ec.entity.Product;
+import com.example.ec.entity.ProductCampaign;
+import com.example.ec.entity.ProductVariant;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 第2レベルキャッシュの無効化
+ *
+ * <p>このノードのHibernateを経由した更新はHibernate自身がキャッシュを無効化するが、他ノードやSQLによる直接更新は検知できない。
+ * {@link CatalogInvalidationEvent}（PostgreSQLの変更通知）を受け取り、変更された行に対応するエントリだけを破棄する。
+ * 変更通知を無効にしている場合は、application.confで設定したリージョンの有効期間が反映の遅れの上限となる。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheInvalidator {
+
+  private static final String PRODUCT_CAMPAIGNS_ROLE =
+      Product.class.getName() + ".productCampaigns";
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  /**
+   * 変更された行に対応する第2レベルキャッシュのエントリを破棄する
+   *
+   * @param event カタログ無効化イベント
+   */
+  @EventListener
+  public void onCatalogInvalidation(CatalogInvalidationEvent event) {
+    Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    String key = event.key();
+    switch (event.table()) {
+      case CATEGORIES -> {
+        cache.evictEntityData(Category.class, key);
+        cache.evictQueryRegion(CacheRegions.ACTIVE_CATEGORIES_QUERY);
+      }
+      case PRODUCTS -> cache.evictCollectionData(PRODUCT_CAMPAIGNS_ROLE, Long.valueOf(key));
+      case PRODUCT_VARIANTS -> cache.evictEntityData(ProductVariant.class, Long.valueOf(key));
+      case CAMPAIGNS -> cache.evictEntityData(Campaign.class, Long.valueOf(key));
+      case PRODUCT_CAMPAIGNS -> {
+        // 変更通知のキーは商品IDのみのため、関連エンティティはリージョンごと破棄する
+        cache.evictCollectionData(PRODUCT_CAMPAIGNS_ROLE, Long.valueOf(key));
+        cache.evictEntityData(ProductCampaign.class);
+      }
+    }
+    log.debug("第2レベルキャッシュを無効化しました: table={}, key={}", event.table(), key);
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.ec.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文字列辞書
+ *
+ * <p>カラム内の文字列を整数コードに置き換えるための不変の辞書。 同一文字列は一つのインスタンスに集約される。
+ */
+final class StringDictionary {
+
+  /** null値を表すコード */
+  static final int NULL_CODE = -1;
+
+  private final String[] values;
+
+  private StringDictionary(String[] values) {
+    this.values = values;
+  }
+
+  /**
+   * コードに対応する文字列を取得する
+   *
+   * @param code 辞書コード
+   * @return 文字列（NULL_CODEの場合null）
+   */
+  String get(int code) {
+    return code == NULL_CODE ? null : values[code];
+  }
+
+  /**
+   * 辞書に登録された文字列数を取得する
+   *
+   * @return 文字列数
+   */
+  int size() {
+    return values.length;
+  }
+
+  /** 辞書ビルダー */
+  static final class Builder {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * 文字列を辞書に登録してコードを取得する
+     *
+     * @param value 文字列（null可）
+     * @return 辞書コード
+     */
+    int encode(String value) {
+      if (value == null) {
+        return NULL_CODE;
+      }
+      Integer code = codes.get(value);
+      if (code == null) {
+        code = values.size();
+        codes.put(value, code);
+        values.add(value);
+      }
+      return code;
+    }
+
+    /**
+     * 不変の辞書を生成する
+     *
+     * @return 文字列辞書
+     */
+    StringDictionary build() {
+      return new StringDictionary(values.toArray(new String[0]));
+    }
+  }
+}
@@ -0,0 +1,266 @@
+package com.example.ec.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 入力補完用のトライ木
+ *
+ * <p>正規化した候補語（およびその単語境界以降の部分文字列）を登録した不変のトライ木。 ノードは幅優先順に配列へ平坦化しており、
+ * 子ノードはラベル順に連続して並ぶため二分探索で辿れる。 各ノードには配下の候補語のうち重みの大きい上位K件を事前に計算して保持するため、
+ * 検索は接頭辞の長さに比例した時間で完了する。
+ */
+final class SuggestTrie {
+
+  private static final int ROOT = 0;
+
+  private final String[] terms;
+  private final char[] labels;
+  private final int[] firstChild;
+  private final int[] childCount;
+  private final int[] topOffsets;
+  private final int[] topTerms;
+
+  private SuggestTrie(
+      String[] terms,
+      char[] labels,
+      int[] firstChild,
+      int[] childCount,
+      int[] topOffsets,
+      int[] topTerms) {
+    this.terms = terms;
+    this.labels = labels;
+    this.firstChild = firstChild;
+    this.childCount = childCount;
+    this.topOffsets = topOffsets;
+    this.topTerms = topTerms;
+  }
+
+  /**
+   * 入力中の文字列に対する補完候補を取得する
+   *
+   * @param query 入力中の文字列
+   * @param limit 最大件数
+   * @return 重みの降順に並べた補完候補
+   */
+  List<String> suggest(String query, int limit) {
+    String key = SearchTextNormalizer.normalize(query);
+    if (key.isEmpty()) {
+      return List.of();
+    }
+    int node = ROOT;
+    for (int i = 0; i < key.length(); i++) {
+      node = findChild(node, key.charAt(i));
+      if (node < 0) {
+        return List.of();
+      }
+    }
+    int from = topOffsets[node];
+    int to = Math.min(topOffsets[node + 1], from + Math.max(limit, 0));
+    List<String> suggestions = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      suggestions.add(terms[topTerms[i]]);
+    }
+    return suggestions;
+  }
+
+  /**
+   * 登録されている候補語の数を取得する
+   *
+   * @return 候補語数
+   */
+  int termCount() {
+    return terms.length;
+  }
+
+  /**
+   * トライ木のノード数を取得する
+   *
+   * @return ノード数
+   */
+  int nodeCount() {
+    return labels.length;
+  }
+
+  /**
+   * ラベルに一致する子ノードを二分探索する
+   *
+   * @param node 親ノード
+   * @param label ラベル
+   * @return 子ノード（存在しない場合は-1）
+   */
+  private int findChild(int node, char label) {
+    int low = firstChild[node];
+    int high = low + childCount[node] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      char midLabel = labels[mid];
+      if (midLabel < label) {
+        low = mid + 1;
+      } else if (midLabel > label) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /** トライ木ビルダー */
+  static final class Builder {
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Long> weights = new ArrayList<>();
+
+    /**
+     * 候補語を登録する
+     *
+     * <p>正規化後に同じになる候補語は一つにまとめ、重みを加算する（表示には最初に登録された表記を使う）。
+     *
+     * @param term 候補語（null・空白のみの場合は無視）
+     * @param weight 重み
+     * @return このビルダー
+     */
+    Builder add(String term, long weight) {
+      String key = SearchTextNormalizer.normalize(term);
+      if (key.isEmpty()) {
+        return this;
+      }
+      Integer id = termIds.get(key);
+      if (id == null) {
+        id = terms.size();
+        termIds.put(key, id);
+        keys.add(key);
+        terms.add(term.strip());
+        weights.add(0L);
+      }
+      weights.set(id, weights.get(id) + weight);
+      return this;
+    }
+
+    /**
+     * 不変のトライ木を構築する
+     *
+     * @param topK ノードごとに保持する補完候補の件数
+     * @return トライ木
+     */
+    SuggestTrie build(int topK) {
+      Node root = new Node('\0');
+      for (int id = 0; id < keys.size(); id++) {
+        String key = keys.get(id);
+        // 「15 pro」のように途中の単語から入力しても補完できるよう、単語境界以降の部分文字列も登録する
+        for (int start = 0; start < key.length(); start++) {
+          if (start == 0 || key.charAt(start - 1) == ' ') {
+            insert(root, key, start, id);
+          }
+        }
+      }
+
+      Comparator<Integer> ranking =
+          Comparator.comparingLong((Integer id) -> weights.get(id))
+              .reversed()
+              .thenComparingInt(id -> terms.get(id).length())
+              .thenComparing(terms::get);
+      rankTopTerms(root, ranking, topK);
+
+      List<Node> order = new ArrayList<>();
+      order.add(root);
+      for (int i = 0; i < order.size(); i++) {
+        Node node = order.get(i);
+        node.firstChild = order.size();
+        order.addAll(node.children.values());
+      }
+
+      int nodeCount = order.size();
+      char[] labels = new char[nodeCount];
+      int[] firstChild = new int[nodeCount];
+      int[] childCount = new int[nodeCount];
+      int[] topOffsets = new int[nodeCount + 1];
+      for (int i = 0; i < nodeCount; i++) {
+        Node node = order.get(i);
+        labels[i] = node.label;
+        firstChild[i] = node.firstChild;
+        childCount[i] = node.children.size();
+        topOffsets[i + 1] = topOffsets[i] + node.topTerms.length;
+      }
+      int[] topTerms = new int[topOffsets[nodeCount]];
+      for (int i = 0; i < nodeCount; i++) {
+        int[] nodeTop = order.get(i).topTerms;
+        System.arraycopy(nodeTop, 0, topTerms, topOffsets[i], nodeTop.length);
+      }
+
+      return new SuggestTrie(
+          terms.toArray(new String[0]), labels, firstChild, childCount, topOffsets, topTerms);
+    }
+
+    /**
+     * 文字列をトライ木に挿入する
+     *
+     * @param root ルートノード
+     * @param key 正規化した候補語
+     * @param start 挿入を開始する位置
+     * @param id 候補語ID
+     */
+    private static void insert(Node root, String key, int start, int id) {
+      Node node = root;
+      for (int i = start; i < key.length(); i++) {
+        char label = key.charAt(i);
+        node = node.children.computeIfAbsent(label, Node::new);
+      }
+      node.endings.add(id);
+    }
+
+    /**
+     * 各ノードの上位K件の候補語を帰りがけ順に計算する
+     *
+     * @param root ルートノード
+     * @param ranking 候補語IDの順位付け
+     * @param topK 保持する件数
+     */
+    private static void rankTopTerms(Node root, Comparator<Integer> ranking, int topK) {
+      Deque<Node> stack = new ArrayDeque<>();
+      List<Node> postOrder = new ArrayList<>();
+      stack.push(root);
+      while (!stack.isEmpty()) {
+        Node node = stack.pop();
+        postOrder.add(node);
+        node.children.values().forEach(stack::push);
+      }
+      for (int i = postOrder.size() - 1; i >= 0; i--) {
+        Node node = postOrder.get(i);
+        Set<Integer> candidates = new LinkedHashSet<>(node.endings);
+        for (Node child : node.children.values()) {
+          for (int id : child.topTerms) {
+            candidates.add(id);
+          }
+        }
+        node.topTerms =
+            candidates.stream().sorted(ranking).limit(topK).mapToInt(Integer::intValue).toArray();
+      }
+    }
+  }
+
+  /** 構築中のトライ木のノード */
+  private static final class Node {
+
+    private final char label;
+    private final TreeMap<Character, Node> children = new TreeMap<>();
+    private final Set<Integer> endings = new LinkedHashSet<>();
+    private int[] topTerms;
+    private int firstChild;
+
+    private Node(char label) {
+      this.label = label;
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package com.example.ec.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログ設定クラス
+ *
+ * <p>application.ymlからカタログ読み取り系（インメモリエンジン、バージョン監視など）の設定値を読み込むための設定クラス。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogConfig {
+
+  /** インメモリカタログエンジンの設定 */
+  private Engine engine = new Engine();
+
+  /** カタログバージョン監視の設定 */
+  private Version version = new Version();
+
+  /** 入力補完の設定 */
+  private Suggest suggest = new Suggest();
+
+  /** 検索結果キャッシュの設定 */
+  private SearchCache searchCache = new SearchCache();
+
+  /** リクエスト合流の設定 */
+  private SingleFlight singleFlight = new SingleFlight();
+
+  /** カタログ変更通知の設定 */
+  private ChangeListener changeListener = new ChangeListener();
+
+  /** カタログアウトボックスの設定 */
+  private Outbox outbox = new Outbox();
+
+  /** JDBC読み取りリポジトリの設定 */
+  private JdbcRead jdbcRead = new JdbcRead();
+
+  /** インメモリカタログエンジンの設定 */
+  @Data
+  public static class Engine {
+
+    /** インメモリカタログエンジンを有効にするか */
+    private boolean enabled = false;
+
+    /** スナップショットファイルの設定 */
+    private Snapshot snapshot = new Snapshot();
+
+    /** 差分更新で読み直す集約の上限（超えた場合は全件を読み込む） */
+    private int deltaMaxAggregates = 500;
+  }
+
+  /** スナップショットファイルの設定 */
+  @Data
+  public static class Snapshot {
+
+    /** スナップショットファイルによるウォームリスタートを有効にするか */
+    private boolean enabled = true;
+
+    /** スナップショットファイルのパス */
+    private String path = "/tmp/ec-catalog/catalog-snapshot.bin";
+  }
+
+  /** カタログバージョン監視の設定 */
+  @Data
+  public static class Version {
+
+    /** カタログバージョンのポーリング間隔（ミリ秒） */
+    private long pollInterval = 30000L;
+  }
+
+  /** 入力補完の設定 */
+  @Data
+  public static class Suggest {
+
+    /** トライ木のノードごとに保持する補完候補の件数 */
+    private int topK = 20;
+  }
+
+  /** 検索結果キャッシュの設定 */
+  @Data
+  public static class SearchCache {
+
+    /** 検索結果キャッシュを有効にするか */
+    private boolean enabled = true;
+
+    /** 最大エントリ数 */
+    private long maximumSize = 10000L;
+
+    /** エントリの有効期間（ミリ秒） */
+    private long timeToLive = 600000L;
+
+    /** 早期再計算（XFetch）の積極度。大きいほど期限前に再検索しやすく、0以下で無効 */
+    private double earlyRefreshBeta = 1.0;
+
+    /** DB障害時に期限切れの検索結果を返す猶予（期限切れからのミリ秒） */
+    private long staleIfError = 300000L;
+
+    /** バックグラウンド再検索のスレッド数 */
+    private int refreshThreads = 2;
+  }
+
+  /** リクエスト合流の設定 */
+  @Data
+  public static class SingleFlight {
+
+    /** 同一検索のリクエスト合流を有効にするか */
+    private boolean enabled = true;
+
+    /** 実行中の検索の完了を待つ最大時間（ミリ秒） */
+    private long maxWait = 2000L;
+  }
+
+  /** カタログ変更通知（PostgreSQLのLISTEN/NOTIFY）の設定 */
+  @Data
+  public static class ChangeListener {
+
+    /** 変更通知の受信を有効にするか（PostgreSQL専用） */
+    private boolean enabled = false;
+
+    /** 通知を待つ最大時間（ミリ秒）。通知がなければコネクションの生存を確認する */
+    private long pollTimeout = 10000L;
+
+    /** 再接続の初回待ち時間（ミリ秒） */
+    private long reconnectInitialBackoff = 1000L;
+
+    /** 再接続の最大待ち時間（ミリ秒） */
+    private long reconnectMaxBackoff = 60000L;
+
+    /** 通知を受けてからカタログバージョンを確認するまでの待ち時間（ミリ秒）。この間の通知は1回の確認にまとめる */
+    private long versionPollDebounce = 100L;
+
+    /** 変更ログの保持期間（ミリ秒）。これより長く切断されたノードは差分を読み直せない。削除はリスナーの有効・無効に関係なく行う */
+    private long retention = 86400000L;
+
+    /** 古い変更ログを削除する間隔（ミリ秒） */
+    private long pruneInterval = 3600000L;
+  }
+
+  /** カタログアウトボックスの設定 */
+  @Data
+  public static class Outbox {
+
+    /** イベントの保持期間（ミリ秒）。インメモリカタログの差分更新で読めるのはこの期間内のイベントのみ */
+    private long retention = 604800000L;
+
+    /** 保持期間を過ぎたイベントを削除する間隔（ミリ秒） */
+    private long pruneInterval = 3600000L;
+  }
+
+  /** JDBC読み取りリポジトリの設定 */
+  @Data
+  public static class JdbcRead {
+
+    /** カテゴリ一覧・詳細のDB検索をJPAではなくJDBCで行うか（PostgreSQL専用） */
+    private boolean enabled = false;
+
+    /** 1回のフェッチで取得する行数 */
+    private int fetchSize = 200;
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.ec.config;
+
+import com.example.ec.datasource.WorkloadType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * コネクションプール設定クラス
+ *
+ * <p>application.ymlからワークロード別（認証・カタログ読み取り・バックグラウンド処理）のコネクションプールの設定値を読み込むための設定クラス。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "connection-pools")
+public class ConnectionPoolConfig {
+
+  /** ワークロード別のコネクションプールを使うかどうか */
+  private boolean enabled = false;
+
+  /** 認証用のコネクションプール */
+  private Pool auth = new Pool();
+
+  /** カタログ読み取り用のコネクションプール */
+  private Pool catalog = new Pool();
+
+  /** バックグラウンド処理用のコネクションプール */
+  private Pool background = new Pool();
+
+  /** パッケージ名とワークロードの対応（アノテーションで指定していないサービスに適用する） */
+  private Map<String, WorkloadType> packages = new LinkedHashMap<>();
+
+  /** コネクションプールの設定 */
+  @Data
+  public static class Pool {
+
+    /** 最大接続数 */
+    private int maximumPoolSize = 10;
+
+    /** 接続取得の待ち時間の上限（ミリ秒） */
+    private long connectionTimeout = 30000;
+  }
+}
@@ -0,0 +1,252 @@
+package com.example.ec.config;
+
+import com.example.ec.datasource.ReplicaHealthIndicator;
+import com.example.ec.datasource.ReplicaRoutingDataSource;
+import com.example.ec.datasource.WorkloadPoolMeterFilter;
+import com.example.ec.datasource.WorkloadRoutingDataSource;
+import com.example.ec.datasource.WorkloadType;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * DataSource振り分け設定クラス
+ *
+ * <p>ワークロード別のコネクションプール（{@code connection-pools.enabled=true}）とリードレプリカへの振り分け
+ * （{@code read-replica.enabled=true}）のいずれかが有効な場合、アプリケーションのDataSourceを次の構成に置き換える。
+ *
+ * <pre>
+ * LazyConnectionDataSourceProxy
+ *   └ ReplicaRoutingDataSource（読み取り専用トランザクション → レプリカ）
+ *       └ WorkloadRoutingDataSource（ワークロード → 認証・カタログ・バックグラウンド・既定のプール）
+ * </pre>
+ *
+ * <p>無効な機能の層は省く。 遅延取得により、接続は最初のSQL実行時（トランザクションの属性とワークロードが確定した後）に振り分けられる。
+ */
+@Configuration
+@ConditionalOnExpression("${read-replica.enabled:false} or ${connection-pools.enabled:false}")
+public class DataSourceRoutingConfig {
+
+  /**
+   * 既定のコネクションプールを生成する（{@code spring.datasource.hikari}の設定を適用する）
+   *
+   * <p>プール名は{@code spring.datasource.hikari.pool-name}で上書きしない限り{@code default}とする。
+   *
+   * @param properties DataSource設定
+   * @return 既定のDataSource
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName(WorkloadType.DEFAULT.getPoolName());
+    return dataSource;
+  }
+
+  /**
+   * ワークロード別コネクションプール振り分けDataSourceを生成する
+   *
+   * @param primaryDataSource 既定のDataSource（接続先・ドライバーのプロパティを引き継ぐ）
+   * @param connectionPoolConfig コネクションプール設定
+   * @param meterRegistry メトリクスレジストリ
+   * @return ワークロード別コネクションプール振り分けDataSource
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "connection-pools", name = "enabled", havingValue = "true")
+  public WorkloadRoutingDataSource workloadRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      ConnectionPoolConfig connectionPoolConfig,
+      MeterRegistry meterRegistry) {
+    Map<WorkloadType, DataSource> pools = new EnumMap<>(WorkloadType.class);
+    pools.put(
+        WorkloadType.AUTH,
+        workloadPool(
+            WorkloadType.AUTH, connectionPoolConfig.getAuth(), primaryDataSource, meterRegistry));
+    pools.put(
+        WorkloadType.CATALOG,
+        workloadPool(
+            WorkloadType.CATALOG,
+            connectionPoolConfig.getCatalog(),
+            primaryDataSource,
+            meterRegistry));
+    pools.put(
+        WorkloadType.BACKGROUND,
+        workloadPool(
+            WorkloadType.BACKGROUND,
+            connectionPoolConfig.getBackground(),
+            primaryDataSource,
+            meterRegistry));
+    return new WorkloadRoutingDataSource(primaryDataSource, pools);
+  }
+
+  /**
+   * コネクションプールのメトリクスにワークロードのタグを付けるフィルターを生成する
+   *
+   * @return メーターフィルター
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "connection-pools", name = "enabled", havingValue = "true")
+  public WorkloadPoolMeterFilter workloadPoolMeterFilter() {
+    return new WorkloadPoolMeterFilter();
+  }
+
+  /**
+   * リードレプリカ振り分けDataSourceを生成する
+   *
+   * @param primaryDataSource 既定のDataSource
+   * @param workloadRoutingDataSource ワークロード別コネクションプール振り分けDataSource（有効な場合はプライマリとして使う）
+   * @param properties DataSource設定（レプリカの認証情報の既定値）
+   * @param readReplicaConfig リードレプリカ設定
+   * @param meterRegistry メトリクスレジストリ
+   * @return リードレプリカ振り分けDataSource
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "read-replica", name = "enabled", havingValue = "true")
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      ObjectProvider<WorkloadRoutingDataSource> workloadRoutingDataSource,
+      DataSourceProperties properties,
+      ReadReplicaConfig readReplicaConfig,
+      MeterRegistry meterRegistry) {
+    List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+    List<ReadReplicaConfig.Node> nodes = readReplicaConfig.getNodes();
+    for (int i = 0; i < nodes.size(); i++) {
+      String name = "replica-" + i;
+      replicas.add(
+          new ReplicaRoutingDataSource.Replica(
+              name,
+              replicaPool(
+                  name,
+                  nodes.get(i),
+                  primaryDataSource,
+                  properties,
+                  readReplicaConfig,
+                  meterRegistry)));
+    }
+    DataSource primary = workloadRoutingDataSource.getIfAvailable(() -> primaryDataSource);
+    return new ReplicaRoutingDataSource(
+        primary, replicas, readReplicaConfig.getMaxLag(), meterRegistry);
+  }
+
+  /**
+   * アプリケーションが使うDataSourceを生成する
+   *
+   * @param primaryDataSource 既定のDataSource
+   * @param workloadRoutingDataSource ワークロード別コネクションプール振り分けDataSource（無効な場合はなし）
+   * @param replicaRoutingDataSource リードレプリカ振り分けDataSource（無効な場合はなし）
+   * @return 接続を遅延取得するDataSource
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      HikariDataSource primaryDataSource,
+      ObjectProvider<WorkloadRoutingDataSource> workloadRoutingDataSource,
+      ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+    DataSource target =
+        replicaRoutingDataSource.getIfAvailable(
+            () -> workloadRoutingDataSource.getIfAvailable(() -> primaryDataSource));
+    return new LazyConnectionDataSourceProxy(target);
+  }
+
+  /**
+   * リードレプリカのヘルスインジケーターを生成する
+   *
+   * @param replicaRoutingDataSource リードレプリカ振り分けDataSource
+   * @return ヘルスインジケーター
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "read-replica", name = "enabled", havingValue = "true")
+  public ReplicaHealthIndicator readReplicasHealthIndicator(
+      ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new ReplicaHealthIndicator(replicaRoutingDataSource);
+  }
+
+  /**
+   * ワークロード用のコネクションプールを生成する
+   *
+   * @param workload ワークロード
+   * @param pool コネクションプールの設定
+   * @param primaryDataSource 既定のDataSource（接続先・ドライバーのプロパティを引き継ぐ）
+   * @param meterRegistry メトリクスレジストリ
+   * @return ワークロード用のDataSource
+   */
+  private HikariDataSource workloadPool(
+      WorkloadType workload,
+      ConnectionPoolConfig.Pool pool,
+      HikariDataSource primaryDataSource,
+      MeterRegistry meterRegistry) {
+    HikariDataSource dataSource = newPool(workload.getPoolName(), primaryDataSource, meterRegistry);
+    dataSource.setJdbcUrl(primaryDataSource.getJdbcUrl());
+    dataSource.setUsername(primaryDataSource.getUsername());
+    dataSource.setPassword(primaryDataSource.getPassword());
+    dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+    dataSource.setConnectionTimeout(pool.getConnectionTimeout());
+    return dataSource;
+  }
+
+  /**
+   * レプリカのコネクションプールを生成する
+   *
+   * @param name レプリカ名
+   * @param node レプリカの接続先
+   * @param primaryDataSource 既定のDataSource（ドライバーのプロパティを引き継ぐ）
+   * @param properties DataSource設定（認証情報の既定値）
+   * @param readReplicaConfig リードレプリカ設定
+   * @param meterRegistry メトリクスレジストリ
+   * @return レプリカのDataSource
+   */
+  private HikariDataSource replicaPool(
+      String name,
+      ReadReplicaConfig.Node node,
+      HikariDataSource primaryDataSource,
+      DataSourceProperties properties,
+      ReadReplicaConfig readReplicaConfig,
+      MeterRegistry meterRegistry) {
+    HikariDataSource dataSource = newPool(name, primaryDataSource, meterRegistry);
+    dataSource.setJdbcUrl(node.getUrl());
+    dataSource.setUsername(
+        node.getUsername() != null ? node.getUsername() : properties.determineUsername());
+    dataSource.setPassword(
+        node.getPassword() != null ? node.getPassword() : properties.determinePassword());
+    dataSource.setMaximumPoolSize(readReplicaConfig.getMaximumPoolSize());
+    dataSource.setReadOnly(true);
+    // レプリカ停止中でも起動できるよう、起動時の疎通確認は行わない（ヘルスチェックで判定する）
+    dataSource.setInitializationFailTimeout(-1);
+    return dataSource;
+  }
+
+  /**
+   * 既定のコネクションプールのドライバー設定を引き継ぎ、メトリクスを記録するコネクションプールを生成する
+   *
+   * @param poolName プール名
+   * @param primaryDataSource 既定のDataSource
+   * @param meterRegistry メトリクスレジストリ
+   * @return コネクションプール
+   */
+  private HikariDataSource newPool(
+      String poolName, HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(poolName);
+    if (primaryDataSource.getDriverClassName() != null) {
+      dataSource.setDriverClassName(primaryDataSource.getDriverClassName());
+    }
+    dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+    dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    return dataSource;
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.ec.config;
+
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * クエリ性能ダッシュボード設定クラス
+ *
+ * <p>application.ymlから{@code pg_stat_statements}のサンプリングと{@code /actuator/dbperf}の設定値を読み込むための設定クラス。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "dbperf")
+public class DbPerfConfig {
+
+  /** SQLへのメソッド名のコメント付与と{@code /actuator/dbperf}を有効にするかどうか */
+  private boolean enabled = false;
+
+  /** {@code pg_stat_statements}のサンプリング間隔（ミリ秒） */
+  private long sampleInterval = 60000L;
+
+  /** 差分を集計する区間の長さ（ミリ秒） */
+  private List<Long> windows = List.of(300000L, 900000L, 3600000L);
+
+  /** 件数を指定しなかった場合に区間ごとに返すメソッドの最大件数 */
+  private int limit = 50;
+}
@@ -0,0 +1,37 @@
+package com.example.ec.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * JFR設定クラス
+ *
+ * <p>application.ymlからJFRのカスタムイベントの発行と、管理エンドポイントで開始する記録の設定値を読み込むための設定クラス。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jfr")
+public class JfrConfig {
+
+  /** リポジトリ・JWT・パスワード照合のイベントの発行と{@code /actuator/flightrecording}を有効にするかどうか */
+  private boolean enabled = false;
+
+  /** 管理エンドポイントで開始する記録の設定（JDKの{@code default}・{@code profile}、または.jfcファイルのパス） */
+  private String settings = "profile";
+
+  /** 記録時間を指定しなかった場合の記録時間（ミリ秒） */
+  private long defaultDuration = 60000L;
+
+  /** 記録時間の上限（ミリ秒） */
+  private long maxDuration = 600000L;
+
+  /** 記録のサイズの上限（バイト、超えた分は古いものから破棄する） */
+  private long maxSize = 104857600L;
+
+  /** 記録ファイルの出力先ディレクトリ */
+  private String directory = "/tmp/ec-jfr";
+
+  /** 出力先ディレクトリに残す記録ファイル（スナップショットを含む）の上限（超えた分は古いものから削除する） */
+  private int maxFiles = 10;
+}
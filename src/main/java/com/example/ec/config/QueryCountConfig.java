@@ -0,0 +1,31 @@
+package com.example.ec.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * クエリ数計測設定クラス
+ *
+ * <p>application.ymlからHTTPリクエストごとのSQLの実行回数・DB時間の計測とN+1の検出の設定値を読み込むための設定クラス。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "query-count")
+public class QueryCountConfig {
+
+  /** リクエストごとのSQLの実行回数・DB時間を計測するかどうか */
+  private boolean enabled = false;
+
+  /** レスポンスに{@code X-Db-Query-Count}・{@code Server-Timing}ヘッダーを付けるかどうか（本番以外で有効にする） */
+  private boolean responseHeaders = false;
+
+  /** 1つのリクエストで同じ形のSQLがこの回数以上実行された場合にN+1の疑いとする */
+  private int repeatThreshold = 3;
+
+  /** 同じ箇所のN+1の疑いの警告ログを出力する間隔（ミリ秒） */
+  private long logInterval = 60000L;
+
+  /** 記録するN+1の疑いの箇所（エンドポイントとSQLの形の組み合わせ）の最大数 */
+  private int maxOffenders = 100;
+}
@@ -0,0 +1,47 @@
+package com.example.ec.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * リードレプリカ設定クラス
+ *
+ * <p>application.ymlから読み取り専用トランザクションの振り分け先（リードレプリカ）の設定値を読み込むための設定クラス。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "read-replica")
+public class ReadReplicaConfig {
+
+  /** 読み取り専用トランザクションをレプリカへ振り分けるかどうか */
+  private boolean enabled = false;
+
+  /** レプリカの接続先 */
+  private List<Node> nodes = new ArrayList<>();
+
+  /** 振り分け対象とするレプリケーション遅延の上限（ミリ秒） */
+  private long maxLag = 5000;
+
+  /** ヘルスチェック・遅延測定の間隔（ミリ秒） */
+  private long healthCheckInterval = 5000;
+
+  /** レプリカごとのコネクションプールの最大サイズ */
+  private int maximumPoolSize = 10;
+
+  /** レプリカの接続先 */
+  @Data
+  public static class Node {
+
+    /** JDBC URL */
+    private String url;
+
+    /** ユーザー名（未指定の場合はプライマリと同じ） */
+    private String username;
+
+    /** パスワード（未指定の場合はプライマリと同じ） */
+    private String password;
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.ec.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * スケジューリング設定クラス
+ *
+ * <p>カタログバージョンのポーリングなど、バックグラウンドで定期実行される処理を有効化する。
+ * 実行スレッドはSpring Bootの{@code spring.task.scheduling.pool.size}のスレッドプールで、
+ * 時間のかかる処理（アウトボックスの削除・レプリカの遅延確認など）が他の定期実行を止めないよう複数スレッドとする。
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -0,0 +1,54 @@
+package com.example.ec.config;
+
+import com.example.ec.entity.CacheRegions;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 第2レベルキャッシュのメトリクス設定クラス
+ *
+ * <p>Hibernate全体の統計（{@code hibernate.generate_statistics}）を有効にせずにリージョン別のヒット・ミスを確認できるよう、
+ * 第2レベルキャッシュの各リージョンのJCacheの統計（application.confの{@code monitoring.statistics}）を
+ * {@code cache.gets}などのメトリクス（タグ{@code cache}にリージョン名）として公開する。
+ */
+@Configuration
+public class SecondLevelCacheMetricsConfig {
+
+  /**
+   * 第2レベルキャッシュのリージョンのメトリクスを登録するバインダーを生成する
+   *
+   * <p>リージョンファクトリーがJCache以外の場合（第2レベルキャッシュが無効な場合など）は何も登録しない。
+   *
+   * @param entityManagerFactory エンティティマネージャーファクトリー
+   * @return メトリクスバインダー
+   */
+  @Bean
+  public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+    return registry -> {
+      RegionFactory regionFactory =
+          entityManagerFactory
+              .unwrap(SessionFactoryImplementor.class)
+              .getCache()
+              .getRegionFactory();
+      if (!(regionFactory instanceof JCacheRegionFactory jcacheRegionFactory)) {
+        return;
+      }
+      CacheManager cacheManager = jcacheRegionFactory.getCacheManager();
+      for (String region : CacheRegions.ALL) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache != null) {
+          JCacheMetrics.monitor(registry, cache, Tags.empty());
+        }
+      }
+    };
+  }
+}
@@ -40,6 +40,11 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers("/api/v1/health/**")
                     .permitAll()
+                    .requestMatchers(
+                        "/actuator/querycount/**",
+                        "/actuator/flightrecording/**",
+                        "/actuator/dbperf/**")
+                    .hasRole("ADMIN")
                     .requestMatchers("/actuator/**")
                     .permitAll()
                     .anyRequest()
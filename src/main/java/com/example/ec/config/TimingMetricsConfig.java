@@ -0,0 +1,30 @@
+package com.example.ec.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 処理時間メトリクス設定クラス
+ *
+ * <p>application.ymlからリポジトリ・サービス・カタログのリクエストの処理時間メトリクスの設定値を読み込むための設定クラス。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "timing-metrics")
+public class TimingMetricsConfig {
+
+  /** 処理時間メトリクスを記録するかどうか */
+  private boolean enabled = true;
+
+  /** SLOのバケット境界（ミリ秒） */
+  private List<Long> slo = new ArrayList<>(List.of(5L, 10L, 25L, 50L, 100L, 250L, 500L, 1000L));
+
+  /** パーセンタイルを集計できるヒストグラムを公開するかどうか */
+  private boolean percentileHistogram = true;
+
+  /** タグに個別の値を使うカテゴリコードの最大数（超えた分は{@code other}にまとめる） */
+  private int maxCategoryTags = 20;
+}
@@ -4,7 +4,10 @@ import com.example.ec.dto.CategoryDetailRequest;
 import com.example.ec.dto.CategoryDetailResponse;
 import com.example.ec.dto.CategoryListResponse;
 import com.example.ec.dto.CategoryRecommendationResponse;
+import com.example.ec.dto.CategorySuggestRequest;
+import com.example.ec.dto.CategorySuggestResponse;
 import com.example.ec.service.ProductCategoryService;
+import com.example.ec.service.ProductSuggestService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +32,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ProductCategoryController {
 
   private final ProductCategoryService productCategoryService;
+  private final ProductSuggestService productSuggestService;
 
   /**
    * カテゴリ一覧を取得する
@@ -72,4 +76,19 @@ public class ProductCategoryController {
         productCategoryService.getRecommendations(categoryCode);
     return ResponseEntity.ok(response);
   }
+
+  /**
+   * 入力補完候補を取得する
+   *
+   * @param categoryCode カテゴリコード
+   * @param request リクエストパラメータ
+   * @return 入力補完レスポンス
+   */
+  @GetMapping("/{categoryCode}/suggest")
+  public ResponseEntity<CategorySuggestResponse> getSuggestions(
+      @PathVariable String categoryCode, @ModelAttribute @Valid CategorySuggestRequest request) {
+    log.debug("入力補完リクエストを受信しました: categoryCode={}, request={}", categoryCode, request);
+    CategorySuggestResponse response = productSuggestService.getSuggestions(categoryCode, request);
+    return ResponseEntity.ok(response);
+  }
 }
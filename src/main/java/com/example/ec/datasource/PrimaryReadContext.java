@@ -0,0 +1,48 @@
+package com.example.ec.datasource;
+
+/**
+ * プライマリからの読み取りの指定
+ *
+ * <p>{@link ReplicaRoutingDataSource}は、ここで指定された範囲では読み取り専用トランザクションの接続もプライマリから取得する。
+ * プライマリで読んだカタログバージョンや差分の読み取り位置と組み合わせる読み取り（インメモリカタログの構築・検索結果キャッシュへの格納）は、
+ * 遅延のあるレプリカから読むと古いデータに新しいバージョンを付けてしまうため、この範囲で実行する。
+ */
+public final class PrimaryReadContext {
+
+  private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+  private PrimaryReadContext() {}
+
+  /**
+   * 現在のスレッドでプライマリからの読み取りが指定されているかを判定する
+   *
+   * @return 指定されている場合はtrue
+   */
+  public static boolean isActive() {
+    return Boolean.TRUE.equals(ACTIVE.get());
+  }
+
+  /**
+   * プライマリからの読み取りを指定する（戻り値を閉じると元の指定に戻す）
+   *
+   * @return 元に戻すためのスコープ
+   */
+  public static Scope enter() {
+    boolean previous = isActive();
+    ACTIVE.set(Boolean.TRUE);
+    return () -> {
+      if (!previous) {
+        ACTIVE.remove();
+      }
+    };
+  }
+
+  /** プライマリからの読み取りの指定範囲 */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+
+    /** 元の指定に戻す */
+    @Override
+    void close();
+  }
+}
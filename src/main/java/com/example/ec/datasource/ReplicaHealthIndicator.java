@@ -0,0 +1,48 @@
+package com.example.ec.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * リードレプリカのヘルスインジケーター
+ *
+ * <p>レプリカごとの振り分け状態と遅延を詳細として返す。 レプリカが使えなくても読み取りはプライマリへフォールバックするため、ステータスは常にUPとし、
+ * 正常なレプリカがない場合は{@code fallback: true}を付ける。
+ */
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+  private final ReplicaRoutingDataSource routingDataSource;
+
+  /**
+   * ヘルスインジケーターを生成する
+   *
+   * @param routingDataSource リードレプリカ振り分けDataSource
+   */
+  public ReplicaHealthIndicator(ReplicaRoutingDataSource routingDataSource) {
+    this.routingDataSource = routingDataSource;
+  }
+
+  /**
+   * 最後のヘルスチェック時点のレプリカの状態を返す
+   *
+   * @return ヘルス情報
+   */
+  @Override
+  public Health health() {
+    Health.Builder builder = Health.up();
+    boolean anyHealthy = false;
+    for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+      Map<String, Object> details = new LinkedHashMap<>();
+      details.put("healthy", replica.isHealthy());
+      details.put("lagMs", replica.getLag());
+      if (replica.getLastError() != null) {
+        details.put("error", replica.getLastError());
+      }
+      builder.withDetail(replica.getName(), details);
+      anyHealthy |= replica.isHealthy();
+    }
+    return builder.withDetail("fallback", !anyHealthy).build();
+  }
+}
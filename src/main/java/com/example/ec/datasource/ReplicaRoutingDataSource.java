@@ -0,0 +1,325 @@
+package com.example.ec.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * リードレプリカ振り分けDataSource
+ *
+ * <p>読み取り専用トランザクション（{@code @Transactional(readOnly = true)}）の接続を、正常なレプリカへラウンドロビンで振り分ける。
+ * それ以外の接続（更新トランザクション・トランザクション外）は常にプライマリへ向ける。 接続取得時点でトランザクションの属性が確定している必要があるため、
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}で包んで使う。
+ *
+ * <p>レプリカは定期的なヘルスチェックで{@code pg_last_xact_replay_timestamp()}からレプリケーション遅延を測定し、
+ * 疎通できない・遅延が{@code maxLag}ミリ秒を超えたレプリカは振り分け対象から外す。 正常なレプリカがない場合や接続取得に失敗した場合はプライマリへフォールバックする。
+ * ヘルスチェックが一度も成功していないレプリカは振り分け対象に含めない。
+ *
+ * <p>レプリカから読んだ行は最大{@code maxLag}ミリ秒（とヘルスチェックの間隔）だけ古い可能性がある。
+ * 第2レベルキャッシュの無効化はプライマリでの変更時に行われるため、その後にレプリカから読んだ古い行をキャッシュに書き込むと、
+ * 次の変更かキャッシュの有効期限まで古い行を返し続ける。 そのためレプリカへ振り分けたトランザクションのHibernateセッションは
+ * キャッシュを読むだけとし（{@link CacheMode#GET}）、キャッシュへの書き込みはプライマリから読んだ場合に限る。
+ * 同じ理由で、プライマリで読んだバージョンと組み合わせる読み取りは{@link PrimaryReadContext}で指定し、
+ * 読み取り専用でもプライマリへ向ける。
+ *
+ * <p>振り分け結果はカウンター{@code datasource.routing.connections}（タグ{@code target}: プライマリまたはレプリカ名、
+ * {@code reason}: write・read・primary-read・fallback）に、レプリカの遅延と状態はゲージ
+ * {@code datasource.replica.lag}（秒）・{@code datasource.replica.healthy}に記録する。
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  /** プライマリを表す振り分け先の名前 */
+  public static final String PRIMARY = "primary";
+
+  private static final String METRIC_NAME = "datasource.routing.connections";
+
+  /**
+   * レプリケーション遅延（ミリ秒）を取得するSQL
+   *
+   * <p>リカバリ中でない（スタンバイではない）場合と、受信済みのWALをすべて適用済みの場合は遅延0とみなす
+   * （更新がない間は最後の適用時刻が古くなり続けるため）。 一度も適用していない場合はNULLになり、遅延不明として扱う。
+   */
+  static final String LAG_SQL =
+      "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+          + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+          + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final long maxLag;
+  private final MeterRegistry meterRegistry;
+  private final AtomicInteger sequence = new AtomicInteger();
+
+  /**
+   * リードレプリカ振り分けDataSourceを生成する
+   *
+   * @param primary プライマリのDataSource
+   * @param replicas レプリカ
+   * @param maxLag 振り分け対象とするレプリケーション遅延の上限（ミリ秒）
+   * @param meterRegistry メトリクスレジストリ
+   */
+  public ReplicaRoutingDataSource(
+      DataSource primary, List<Replica> replicas, long maxLag, MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.maxLag = maxLag;
+    this.meterRegistry = meterRegistry;
+    for (Replica replica : this.replicas) {
+      Gauge.builder("datasource.replica.lag", replica, r -> r.lag < 0 ? -1.0 : r.lag / 1000.0)
+          .description("レプリカのレプリケーション遅延（秒、不明な場合は-1）")
+          .tag("replica", replica.name)
+          .register(meterRegistry);
+      Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+          .description("レプリカが振り分け対象かどうか（1: 対象、0: 除外）")
+          .tag("replica", replica.name)
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * 現在のトランザクションに応じた振り分け先から接続を取得する
+   *
+   * @return 接続
+   * @throws SQLException プライマリからの接続取得に失敗した場合
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return primaryConnection("write");
+    }
+    if (PrimaryReadContext.isActive()) {
+      return primaryConnection("primary-read");
+    }
+    Replica replica = nextHealthyReplica();
+    if (replica == null) {
+      return primaryConnection("fallback");
+    }
+    try {
+      Connection connection = replica.dataSource.getConnection();
+      count(replica.name, "read");
+      disableSecondLevelCachePut();
+      return connection;
+    } catch (SQLException e) {
+      markUnhealthy(replica, e);
+      return primaryConnection("fallback");
+    }
+  }
+
+  /**
+   * 認証情報を指定した接続取得（未サポート）
+   *
+   * @param username ユーザー名
+   * @param password パスワード
+   * @return なし
+   * @throws SQLException 常にスローする
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("認証情報を指定した接続取得はサポートしていません");
+  }
+
+  /** 全レプリカの疎通とレプリケーション遅延を確認し、振り分け対象を更新する */
+  @Scheduled(fixedDelayString = "${read-replica.health-check-interval:5000}")
+  public void checkReplicas() {
+    for (Replica replica : replicas) {
+      checkReplica(replica);
+    }
+  }
+
+  /**
+   * レプリカの状態を取得する
+   *
+   * @return レプリカ（設定順）
+   */
+  public List<Replica> getReplicas() {
+    return replicas;
+  }
+
+  /** レプリカのコネクションプールを閉じる（プライマリはSpringが管理するため閉じない） */
+  @Override
+  public void close() {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception e) {
+          log.warn("レプリカのコネクションプールを閉じられませんでした: replica={}", replica.name, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * 1つのレプリカの疎通とレプリケーション遅延を確認する
+   *
+   * @param replica レプリカ
+   */
+  private void checkReplica(Replica replica) {
+    try (Connection connection = replica.dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(LAG_SQL)) {
+      rs.next();
+      double lag = rs.getDouble(1);
+      boolean known = !rs.wasNull();
+      replica.lag = known ? Math.max(0L, Math.round(lag)) : -1L;
+      replica.lastError = null;
+      boolean healthy = known && replica.lag <= maxLag;
+      if (healthy != replica.healthy) {
+        if (healthy) {
+          log.info("レプリカを振り分け対象に戻します: replica={}, lag={}ms", replica.name, replica.lag);
+        } else {
+          log.warn(
+              "レプリカの遅延が大きいため振り分け対象から外します: replica={}, lag={}ms", replica.name, replica.lag);
+        }
+      }
+      replica.healthy = healthy;
+    } catch (SQLException e) {
+      replica.lag = -1L;
+      markUnhealthy(replica, e);
+    }
+  }
+
+  /**
+   * 次に振り分ける正常なレプリカを選ぶ
+   *
+   * @return レプリカ（正常なレプリカがない場合はnull）
+   */
+  private Replica nextHealthyReplica() {
+    int size = replicas.size();
+    if (size == 0) {
+      return null;
+    }
+    int start = Math.floorMod(sequence.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (replica.healthy) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 現在のトランザクションのHibernateセッションで、第2レベルキャッシュ（クエリキャッシュを含む）への書き込みを止める
+   *
+   * <p>キャッシュからの読み取りは続ける。 リクエスト全体でセッションを共有している場合（Open Session in View）は、
+   * 同じリクエストの後続のトランザクションもキャッシュに書き込まない。
+   */
+  private static void disableSecondLevelCachePut() {
+    for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+      if (resource instanceof EntityManagerHolder holder) {
+        holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+      }
+    }
+  }
+
+  /**
+   * プライマリから接続を取得する
+   *
+   * @param reason 振り分けの理由
+   * @return 接続
+   * @throws SQLException 接続取得に失敗した場合
+   */
+  private Connection primaryConnection(String reason) throws SQLException {
+    Connection connection = primary.getConnection();
+    count(PRIMARY, reason);
+    return connection;
+  }
+
+  /**
+   * レプリカを振り分け対象から外す（次のヘルスチェックで回復を確認する）
+   *
+   * @param replica レプリカ
+   * @param e 発生した例外
+   */
+  private void markUnhealthy(Replica replica, SQLException e) {
+    if (replica.healthy) {
+      log.warn(
+          "レプリカに接続できないため振り分け対象から外します: replica={}: {}", replica.name, e.getMessage());
+    }
+    replica.healthy = false;
+    replica.lastError = e.getMessage();
+  }
+
+  /**
+   * 振り分け結果を記録する
+   *
+   * @param target 振り分け先
+   * @param reason 振り分けの理由
+   */
+  private void count(String target, String reason) {
+    meterRegistry.counter(METRIC_NAME, "target", target, "reason", reason).increment();
+  }
+
+  /** 振り分け先のレプリカ */
+  public static class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long lag = -1L;
+    private volatile String lastError;
+
+    /**
+     * レプリカを生成する（最初のヘルスチェックまでは振り分け対象外）
+     *
+     * @param name レプリカ名（メトリクスのタグに使う）
+     * @param dataSource レプリカのDataSource
+     */
+    public Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    /**
+     * レプリカ名を取得する
+     *
+     * @return レプリカ名
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * 振り分け対象かどうかを取得する
+     *
+     * @return 振り分け対象の場合はtrue
+     */
+    public boolean isHealthy() {
+      return healthy;
+    }
+
+    /**
+     * 最後に測定したレプリケーション遅延を取得する
+     *
+     * @return 遅延（ミリ秒、不明な場合は-1）
+     */
+    public long getLag() {
+      return lag;
+    }
+
+    /**
+     * 最後のヘルスチェック・接続取得で発生したエラーを取得する
+     *
+     * @return エラーメッセージ（エラーがない場合はnull）
+     */
+    public String getLastError() {
+      return lastError;
+    }
+  }
+}
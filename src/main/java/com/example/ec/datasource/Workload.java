@@ -0,0 +1,26 @@
+package com.example.ec.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * DB接続のワークロードを指定するアノテーション
+ *
+ * <p>クラスに付けた場合は全メソッド、メソッドに付けた場合はそのメソッドの呼び出し中に取得する接続を、指定したワークロードのコネクションプールから取得する。
+ * メソッドの指定はクラスの指定より優先する。
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+  /**
+   * ワークロード種別
+   *
+   * @return ワークロード種別
+   */
+  WorkloadType value();
+}
@@ -0,0 +1,111 @@
+package com.example.ec.datasource;
+
+import com.example.ec.config.ConnectionPoolConfig;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * ワークロード設定アスペクト
+ *
+ * <p>サービス・{@link Workload}付きのクラスやメソッド・{@code @Scheduled}メソッドの呼び出し中、
+ * {@link WorkloadContext}にワークロードを設定する。 ワークロードは次の順に決める。
+ *
+ * <ol>
+ *   <li>メソッドの{@link Workload}
+ *   <li>クラスの{@link Workload}
+ *   <li>{@code @Scheduled}メソッドはバックグラウンド
+ *   <li>{@code connection-pools.packages}のうちクラス名に最も長く一致するパッケージのワークロード
+ * </ol>
+ *
+ * <p>トランザクションの開始前に設定するよう最も外側で実行し、既にワークロードが設定されている場合（サービスから別のサービスを呼ぶ場合など）は呼び出し元のワークロードを引き継ぐ。
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "connection-pools", name = "enabled", havingValue = "true")
+public class WorkloadAspect {
+
+  private final Map<String, WorkloadType> packages;
+  private final Map<Method, Optional<WorkloadType>> resolved = new ConcurrentHashMap<>();
+
+  /**
+   * ワークロード設定アスペクトを生成する
+   *
+   * @param connectionPoolConfig コネクションプール設定
+   */
+  public WorkloadAspect(ConnectionPoolConfig connectionPoolConfig) {
+    this.packages = Map.copyOf(connectionPoolConfig.getPackages());
+  }
+
+  /**
+   * ワークロードを設定してメソッドを実行する
+   *
+   * @param joinPoint ジョインポイント
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around(
+      "@within(org.springframework.stereotype.Service)"
+          + " || @within(com.example.ec.datasource.Workload)"
+          + " || @annotation(com.example.ec.datasource.Workload)"
+          + " || @annotation(org.springframework.scheduling.annotation.Scheduled)")
+  public Object applyWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (WorkloadContext.current() != null) {
+      return joinPoint.proceed();
+    }
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+    Optional<WorkloadType> workload =
+        resolved.computeIfAbsent(
+            AopUtils.getMostSpecificMethod(method, targetClass),
+            specific -> Optional.ofNullable(resolve(specific, targetClass)));
+    if (workload.isEmpty()) {
+      return joinPoint.proceed();
+    }
+    try (WorkloadContext.Scope scope = WorkloadContext.enter(workload.get())) {
+      return joinPoint.proceed();
+    }
+  }
+
+  /**
+   * メソッドのワークロードを決める
+   *
+   * @param method メソッド（実装クラスのもの）
+   * @param targetClass 実装クラス
+   * @return ワークロード（決まらない場合はnull）
+   */
+  WorkloadType resolve(Method method, Class<?> targetClass) {
+    Workload annotation = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+    if (annotation == null) {
+      annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+    }
+    if (annotation != null) {
+      return annotation.value();
+    }
+    if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) {
+      return WorkloadType.BACKGROUND;
+    }
+    String className = targetClass.getName();
+    String matched = null;
+    for (String packageName : packages.keySet()) {
+      if (className.startsWith(packageName + ".")
+          && (matched == null || packageName.length() > matched.length())) {
+        matched = packageName;
+      }
+    }
+    return matched != null ? packages.get(matched) : null;
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.ec.datasource;
+
+/**
+ * 現在のスレッドのワークロード
+ *
+ * <p>{@link WorkloadRoutingDataSource}は接続取得時にここで設定されたワークロードのコネクションプールを選ぶ。
+ */
+public final class WorkloadContext {
+
+  private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+  private WorkloadContext() {}
+
+  /**
+   * 現在のスレッドのワークロードを取得する
+   *
+   * @return ワークロード（設定されていない場合はnull）
+   */
+  public static WorkloadType current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * ワークロードを設定する（戻り値を閉じると元のワークロードに戻す）
+   *
+   * @param workload ワークロード
+   * @return 元に戻すためのスコープ
+   */
+  public static Scope enter(WorkloadType workload) {
+    WorkloadType previous = CURRENT.get();
+    CURRENT.set(workload);
+    return () -> {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    };
+  }
+
+  /** ワークロードの設定範囲 */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+
+    /** 元のワークロードに戻す */
+    @Override
+    void close();
+  }
+}
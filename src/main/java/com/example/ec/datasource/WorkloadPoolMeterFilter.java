@@ -0,0 +1,30 @@
+package com.example.ec.datasource;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * コネクションプールのメトリクスにワークロードのタグを付けるフィルター
+ *
+ * <p>HikariCPのメトリクス（{@code hikaricp.*}）のうち、プール名がワークロードのプール名と一致するものにタグ{@code workload}を付ける。
+ */
+public class WorkloadPoolMeterFilter implements MeterFilter {
+
+  private static final String HIKARI_METER_PREFIX = "hikaricp.";
+
+  /**
+   * HikariCPのメトリクスにワークロードのタグを付ける
+   *
+   * @param id メーターID
+   * @return タグを付けたメーターID
+   */
+  @Override
+  public Meter.Id map(Meter.Id id) {
+    if (!id.getName().startsWith(HIKARI_METER_PREFIX)) {
+      return id;
+    }
+    WorkloadType workload = WorkloadType.fromPoolName(id.getTag("pool"));
+    return workload != null ? id.withTag(Tag.of("workload", workload.getPoolName())) : id;
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.ec.datasource;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * ワークロード別コネクションプール振り分けDataSource
+ *
+ * <p>{@link WorkloadContext}に設定されたワークロードのコネクションプールから接続を取得する。
+ * ワークロードが設定されていない場合や、専用のプールがないワークロードは既定のプールを使う。
+ */
+@Slf4j
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+  private final Map<WorkloadType, DataSource> pools;
+
+  /**
+   * ワークロード別コネクションプール振り分けDataSourceを生成する
+   *
+   * @param defaultDataSource 既定のDataSource（Springが管理するため閉じない）
+   * @param pools ワークロードごとのコネクションプール
+   */
+  public WorkloadRoutingDataSource(
+      DataSource defaultDataSource, Map<WorkloadType, DataSource> pools) {
+    this.pools = new EnumMap<>(pools);
+    setDefaultTargetDataSource(defaultDataSource);
+    setTargetDataSources(new HashMap<>(pools));
+    afterPropertiesSet();
+  }
+
+  /**
+   * 現在のスレッドのワークロードを振り分けのキーとする
+   *
+   * @return ワークロード（設定されていない場合はnull）
+   */
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return WorkloadContext.current();
+  }
+
+  /** ワークロード別のコネクションプールを閉じる */
+  @Override
+  public void close() {
+    pools.forEach(
+        (workload, pool) -> {
+          if (pool instanceof AutoCloseable closeable) {
+            try {
+              closeable.close();
+            } catch (Exception e) {
+              log.warn("コネクションプールを閉じられませんでした: workload={}", workload, e);
+            }
+          }
+        });
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.ec.datasource;
+
+/**
+ * DB接続のワークロード種別
+ *
+ * <p>ワークロードごとに別のコネクションプールを割り当て、ある種類の負荷が他の種類の接続を枯渇させないようにする（バルクヘッド）。
+ */
+public enum WorkloadType {
+  DEFAULT("default"),
+  AUTH("auth"),
+  CATALOG("catalog"),
+  BACKGROUND("background");
+
+  private final String poolName;
+
+  WorkloadType(String poolName) {
+    this.poolName = poolName;
+  }
+
+  /**
+   * ワークロードのコネクションプール名を取得する（メトリクスのタグにも使う）
+   *
+   * @return プール名
+   */
+  public String getPoolName() {
+    return poolName;
+  }
+
+  /**
+   * プール名からワークロードを取得する
+   *
+   * @param poolName プール名
+   * @return ワークロード（該当しない場合はnull）
+   */
+  public static WorkloadType fromPoolName(String poolName) {
+    for (WorkloadType workload : values()) {
+      if (workload.poolName.equals(poolName)) {
+        return workload;
+      }
+    }
+    return null;
+  }
+}
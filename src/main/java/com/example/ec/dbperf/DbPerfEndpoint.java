@@ -0,0 +1,119 @@
+package com.example.ec.dbperf;
+
+import com.example.ec.config.DbPerfConfig;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * クエリ性能ダッシュボードの管理エンドポイント
+ *
+ * <p>{@code GET /actuator/dbperf}（{@code ?limit=20}で件数を指定）で、リポジトリのメソッドごとのSQLの実行統計を
+ * {@code dbperf.windows}の区間ごと、および統計のリセット以降について、実行時間の合計の多い順に返す。
+ * {@code pg_stat_statements}を利用できない場合は{@code available: false}と理由を返す。
+ * 公開するには{@code management.endpoints.web.exposure.include}に追加する（ADMINロールが必要）。
+ */
+@Component
+@Endpoint(id = "dbperf")
+@ConditionalOnProperty(prefix = "dbperf", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class DbPerfEndpoint {
+
+  private static final Comparator<Map.Entry<String, StatementStats>> BY_TOTAL_TIME =
+      Comparator.comparingDouble(
+              (Map.Entry<String, StatementStats> entry) -> entry.getValue().totalTimeMs())
+          .reversed()
+          .thenComparing(Map.Entry::getKey);
+
+  private final DbPerfSampler dbPerfSampler;
+  private final DbPerfConfig dbPerfConfig;
+
+  /**
+   * リポジトリのメソッドごとの実行統計を取得する
+   *
+   * @param limit 区間ごとの最大件数（省略時は{@code dbperf.limit}）
+   * @return 取得時刻・区間ごとの統計・統計のリセット以降の統計
+   */
+  @ReadOperation
+  public Map<String, Object> report(@Nullable Integer limit) {
+    int max = limit != null && limit > 0 ? limit : dbPerfConfig.getLimit();
+    Map<String, Object> result = new LinkedHashMap<>();
+    DbPerfSnapshot current;
+    try {
+      current = dbPerfSampler.snapshot();
+    } catch (DataAccessException e) {
+      result.put("available", false);
+      result.put("error", e.getMostSpecificCause().getMessage());
+      return result;
+    }
+    result.put("available", true);
+    result.put("taken_at", Instant.ofEpochMilli(current.takenAt()));
+    List<Map<String, Object>> windows = new ArrayList<>();
+    for (DbPerfWindow window : dbPerfSampler.windows(current)) {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("window_seconds", window.windowMs() / 1000);
+      entry.put("covered_seconds", window.coveredMs() / 1000);
+      entry.put("methods", rows(window.methods(), max));
+      windows.add(entry);
+    }
+    result.put("windows", windows);
+    result.put("since_reset", rows(current.methods(), max));
+    return result;
+  }
+
+  /**
+   * メソッドごとの統計を実行時間の合計の多い順に整形する
+   *
+   * @param methods メソッドごとの統計
+   * @param limit 最大件数
+   * @return メソッド名・実行回数・実行時間・行数・ブロック数・ヒット率
+   */
+  private static List<Map<String, Object>> rows(Map<String, StatementStats> methods, int limit) {
+    return methods.entrySet().stream()
+        .sorted(BY_TOTAL_TIME)
+        .limit(limit)
+        .map(DbPerfEndpoint::row)
+        .toList();
+  }
+
+  /**
+   * 1メソッドの統計を整形する
+   *
+   * @param entry メソッド名と統計
+   * @return 整形した統計（最大実行時間が区間内に更新されていない場合はnull）
+   */
+  private static Map<String, Object> row(Map.Entry<String, StatementStats> entry) {
+    StatementStats stats = entry.getValue();
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("method", entry.getKey());
+    row.put("calls", stats.calls());
+    row.put("total_ms", round(stats.totalTimeMs()));
+    row.put("mean_ms", round(stats.meanTimeMs()));
+    row.put("max_ms", stats.maxTimeMs() < 0 ? null : round(stats.maxTimeMs()));
+    row.put("rows", stats.rows());
+    row.put("shared_blks_hit", stats.sharedBlksHit());
+    row.put("shared_blks_read", stats.sharedBlksRead());
+    row.put("hit_ratio", round(stats.hitRatio()));
+    return row;
+  }
+
+  /**
+   * 小数第3位に丸める
+   *
+   * @param value 値
+   * @return 丸めた値
+   */
+  private static double round(double value) {
+    return Math.round(value * 1000) / 1000.0;
+  }
+}
@@ -0,0 +1,158 @@
+package com.example.ec.dbperf;
+
+import com.example.ec.config.DbPerfConfig;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code pg_stat_statements}のサンプラー
+ *
+ * <p>{@code pg_stat_statements}は統計のリセット以降の累積値しか持たないため、定期的に取得して履歴に保持し、
+ * 現在の値との差分で直近の区間ごとの統計を計算する。 履歴は最も長い区間の計算に必要な分だけ保持する。
+ */
+@Component
+@ConditionalOnProperty(prefix = "dbperf", name = "enabled", havingValue = "true")
+@Slf4j
+public class DbPerfSampler {
+
+  private final PgStatStatementsReader reader;
+  private final DbPerfConfig dbPerfConfig;
+  private final LongSupplier clock;
+  private final Deque<DbPerfSnapshot> history = new ArrayDeque<>();
+
+  /**
+   * サンプラーを生成する
+   *
+   * @param reader {@code pg_stat_statements}の読み取り
+   * @param dbPerfConfig クエリ性能ダッシュボード設定
+   */
+  @Autowired
+  public DbPerfSampler(PgStatStatementsReader reader, DbPerfConfig dbPerfConfig) {
+    this(reader, dbPerfConfig, System::currentTimeMillis);
+  }
+
+  /**
+   * 時刻の供給元を指定してサンプラーを生成する
+   *
+   * @param reader {@code pg_stat_statements}の読み取り
+   * @param dbPerfConfig クエリ性能ダッシュボード設定
+   * @param clock 現在時刻（エポックミリ秒）の供給元
+   */
+  DbPerfSampler(PgStatStatementsReader reader, DbPerfConfig dbPerfConfig, LongSupplier clock) {
+    this.reader = reader;
+    this.dbPerfConfig = dbPerfConfig;
+    this.clock = clock;
+  }
+
+  /** {@code pg_stat_statements}を取得して履歴に追加し、不要になった古い履歴を破棄する */
+  @Scheduled(fixedDelayString = "${dbperf.sample-interval:60000}")
+  public void sample() {
+    DbPerfSnapshot snapshot;
+    try {
+      snapshot = snapshot();
+    } catch (DataAccessException e) {
+      log.warn("pg_stat_statementsの取得に失敗しました: {}", e.getMessage());
+      return;
+    }
+    synchronized (history) {
+      history.addLast(snapshot);
+      prune(snapshot.takenAt());
+    }
+  }
+
+  /**
+   * 現在の{@code pg_stat_statements}を取得する（履歴には追加しない）
+   *
+   * @return 現在の累積の統計
+   * @throws DataAccessException {@code pg_stat_statements}を利用できない場合
+   */
+  public DbPerfSnapshot snapshot() {
+    long takenAt = clock.getAsLong();
+    return new DbPerfSnapshot(takenAt, reader.read());
+  }
+
+  /**
+   * 設定された区間ごとに、現在の統計と履歴との差分を計算する
+   *
+   * <p>区間の開始時刻以前で最も新しい履歴を基準とし、ない場合は最も古い履歴を基準とする（集計できた長さは短くなる）。
+   * 履歴がない場合は差分を計算できないため、集計できた長さ0・メソッドなしとする。
+   *
+   * @param current 現在の累積の統計
+   * @return 区間ごとの差分（設定の順）
+   */
+  public List<DbPerfWindow> windows(DbPerfSnapshot current) {
+    List<DbPerfSnapshot> snapshots;
+    synchronized (history) {
+      snapshots = new ArrayList<>(history);
+    }
+    List<DbPerfWindow> windows = new ArrayList<>();
+    for (long window : dbPerfConfig.getWindows()) {
+      DbPerfSnapshot baseline = baseline(snapshots, current.takenAt() - window);
+      if (baseline == null) {
+        windows.add(new DbPerfWindow(window, 0, Map.of()));
+        continue;
+      }
+      Map<String, StatementStats> methods = new TreeMap<>();
+      current
+          .methods()
+          .forEach(
+              (method, stats) -> {
+                StatementStats delta = stats.minus(baseline.methods().get(method));
+                if (delta.calls() > 0) {
+                  methods.put(method, delta);
+                }
+              });
+      windows.add(
+          new DbPerfWindow(
+              window, Math.max(0, current.takenAt() - baseline.takenAt()), methods));
+    }
+    return windows;
+  }
+
+  /**
+   * 区間の開始時刻に対する基準の履歴を選ぶ
+   *
+   * @param snapshots 古い順の履歴
+   * @param from 区間の開始時刻（エポックミリ秒）
+   * @return 開始時刻以前で最も新しい履歴（ない場合は最も古い履歴、履歴がない場合はnull）
+   */
+  private static DbPerfSnapshot baseline(List<DbPerfSnapshot> snapshots, long from) {
+    DbPerfSnapshot baseline = snapshots.isEmpty() ? null : snapshots.get(0);
+    for (DbPerfSnapshot snapshot : snapshots) {
+      if (snapshot.takenAt() > from) {
+        break;
+      }
+      baseline = snapshot;
+    }
+    return baseline;
+  }
+
+  /**
+   * 最も長い区間の基準にならなくなった古い履歴を破棄する
+   *
+   * <p>最も長い区間の開始時刻以前の履歴は、そのうち最も新しいものだけを残す。
+   *
+   * @param now 現在時刻（エポックミリ秒）
+   */
+  private void prune(long now) {
+    long from = now - dbPerfConfig.getWindows().stream().mapToLong(Long::longValue).max().orElse(0);
+    while (history.size() > 1) {
+      DbPerfSnapshot oldest = history.removeFirst();
+      if (history.getFirst().takenAt() > from) {
+        history.addFirst(oldest);
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.ec.dbperf;
+
+import java.util.Map;
+
+/**
+ * ある時点のリポジトリのメソッドごとの累積の実行統計
+ *
+ * @param takenAt 取得時刻（エポックミリ秒）
+ * @param methods {@code リポジトリ名.メソッド名}ごとの統計
+ */
+public record DbPerfSnapshot(long takenAt, Map<String, StatementStats> methods) {}
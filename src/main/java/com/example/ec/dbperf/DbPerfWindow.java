@@ -0,0 +1,12 @@
+package com.example.ec.dbperf;
+
+import java.util.Map;
+
+/**
+ * 区間内のリポジトリのメソッドごとの実行統計
+ *
+ * @param windowMs 区間の長さ（ミリ秒）
+ * @param coveredMs 実際に集計できた長さ（ミリ秒、起動直後などで履歴が足りない場合は区間の長さより短い）
+ * @param methods {@code リポジトリ名.メソッド名}ごとの区間内の差分（区間内に実行されたメソッドのみ）
+ */
+public record DbPerfWindow(long windowMs, long coveredMs, Map<String, StatementStats> methods) {}
@@ -0,0 +1,61 @@
+package com.example.ec.dbperf;
+
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code pg_stat_statements}の読み取り
+ *
+ * <p>接続先のデータベースのSQLのうち、{@link RepositoryCommentStatementInspector}がコメントを付けたものを
+ * コメントのメソッド名ごとに合計して返す。 {@code pg_stat_statements}はパラメータを除いた形（queryid）ごとに集計し、
+ * 最初に実行されたSQLの文字列を保持するため、 同じ形のSQLを複数のメソッドが発行する場合は
+ * 最初に実行したメソッドに計上される。
+ *
+ * <p>PostgreSQL 13以降で、{@code shared_preload_libraries}への追加と
+ * {@code CREATE EXTENSION pg_stat_statements}が必要。
+ */
+@Component
+@ConditionalOnProperty(prefix = "dbperf", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PgStatStatementsReader {
+
+  private static final String STATS_SQL =
+      "SELECT substring(s.query from '^/\\* ec:([^ ]+) \\*/') AS method,"
+          + " SUM(s.calls) AS calls, SUM(s.total_exec_time) AS total_time,"
+          + " MAX(s.max_exec_time) AS max_time, SUM(s.rows) AS rows,"
+          + " SUM(s.shared_blks_hit) AS shared_blks_hit,"
+          + " SUM(s.shared_blks_read) AS shared_blks_read"
+          + " FROM pg_stat_statements s JOIN pg_database d ON d.oid = s.dbid"
+          + " WHERE d.datname = current_database() AND s.query LIKE '/* ec:%'"
+          + " GROUP BY 1";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * リポジトリのメソッドごとの累積の実行統計を取得する
+   *
+   * @return {@code リポジトリ名.メソッド名}ごとの統計（名前順）
+   * @throws org.springframework.dao.DataAccessException {@code pg_stat_statements}を利用できない場合
+   */
+  public Map<String, StatementStats> read() {
+    Map<String, StatementStats> methods = new TreeMap<>();
+    jdbcTemplate.query(
+        STATS_SQL,
+        rs -> {
+          methods.put(
+              rs.getString("method"),
+              new StatementStats(
+                  rs.getLong("calls"),
+                  rs.getDouble("total_time"),
+                  rs.getDouble("max_time"),
+                  rs.getLong("rows"),
+                  rs.getLong("shared_blks_hit"),
+                  rs.getLong("shared_blks_read")));
+        });
+    return methods;
+  }
+}
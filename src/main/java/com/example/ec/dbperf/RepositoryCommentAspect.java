@@ -0,0 +1,48 @@
+package com.example.ec.dbperf;
+
+import com.example.ec.metrics.RepositoryMetricsAspect;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * リポジトリのメソッド名の設定アスペクト
+ *
+ * <p>Spring Dataのリポジトリのメソッドの呼び出し中、{@link RepositoryMethodContext}に{@code リポジトリ名.メソッド名}を設定する。
+ * リポジトリのメソッドから別のメソッドを呼ぶ場合（デフォルトメソッドなど）は、SQLを発行した内側のメソッドを優先する。
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "dbperf", name = "enabled", havingValue = "true")
+public class RepositoryCommentAspect {
+
+  private final Map<Class<?>, Map<Method, String>> names = new ConcurrentHashMap<>();
+
+  /**
+   * メソッド名を設定してリポジトリのメソッドを実行する
+   *
+   * @param joinPoint ジョインポイント
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+  public Object applyMethodName(ProceedingJoinPoint joinPoint) throws Throwable {
+    Object target = joinPoint.getTarget();
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    String name =
+        names
+            .computeIfAbsent(target.getClass(), type -> new ConcurrentHashMap<>())
+            .computeIfAbsent(
+                method,
+                key -> RepositoryMetricsAspect.repositoryName(target) + "." + key.getName());
+    try (RepositoryMethodContext.Scope scope = RepositoryMethodContext.enter(name)) {
+      return joinPoint.proceed();
+    }
+  }
+}
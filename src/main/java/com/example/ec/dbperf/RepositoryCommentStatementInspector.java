@@ -0,0 +1,50 @@
+package com.example.ec.dbperf;
+
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernateが発行するSQLにリポジトリのメソッド名のコメントを付けるStatementInspector
+ *
+ * <p>{@link RepositoryMethodContext}にメソッドが設定されている場合、SQLの先頭に{@code ec:リポジトリ名.メソッド名}のブロックコメントを付ける。
+ * PostgreSQLの{@code pg_stat_statements}は最初に実行されたSQLの文字列をコメントごと保持するため、
+ * {@link PgStatStatementsReader}はこのコメントから発行元のメソッドを判別する。
+ * リポジトリの外で発行されるSQL（遅延ロードなど）とJDBC読み取りリポジトリのSQLにはコメントを付けない。
+ */
+@Component
+@ConditionalOnProperty(prefix = "dbperf", name = "enabled", havingValue = "true")
+public class RepositoryCommentStatementInspector
+    implements StatementInspector, HibernatePropertiesCustomizer {
+
+  /** コメントの接頭辞 */
+  static final String COMMENT_PREFIX = "/* ec:";
+
+  /**
+   * 実行中のリポジトリのメソッド名をコメントとして付ける
+   *
+   * @param sql Hibernateが生成したSQL
+   * @return コメントを付けたSQL（リポジトリの外の場合はそのまま）
+   */
+  @Override
+  public String inspect(String sql) {
+    String method = RepositoryMethodContext.current();
+    if (method == null) {
+      return sql;
+    }
+    return COMMENT_PREFIX + method + " */ " + sql;
+  }
+
+  /**
+   * HibernateのStatementInspectorとして登録する
+   *
+   * @param hibernateProperties Hibernateの設定
+   */
+  @Override
+  public void customize(Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.ec.dbperf;
+
+/**
+ * 現在のスレッドで実行中のリポジトリのメソッド
+ *
+ * <p>{@link RepositoryCommentStatementInspector}はSQLの準備時にここで設定されたメソッド名をコメントとして付ける。
+ */
+public final class RepositoryMethodContext {
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private RepositoryMethodContext() {}
+
+  /**
+   * 現在のスレッドで実行中のリポジトリのメソッドを取得する
+   *
+   * @return {@code リポジトリ名.メソッド名}（リポジトリの外の場合はnull）
+   */
+  public static String current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * 実行中のメソッドを設定する（戻り値を閉じると元のメソッドに戻す）
+   *
+   * @param method {@code リポジトリ名.メソッド名}
+   * @return 元に戻すためのスコープ
+   */
+  public static Scope enter(String method) {
+    String previous = CURRENT.get();
+    CURRENT.set(method);
+    return () -> {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    };
+  }
+
+  /** 実行中のメソッドの設定範囲 */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+
+    /** 元のメソッドに戻す */
+    @Override
+    void close();
+  }
+}
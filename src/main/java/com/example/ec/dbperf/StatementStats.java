@@ -0,0 +1,63 @@
+package com.example.ec.dbperf;
+
+/**
+ * リポジトリのメソッドが発行したSQLの累積の実行統計
+ *
+ * <p>{@code pg_stat_statements}の値をメソッドごとに合計したもの（最大実行時間は最大値）。
+ *
+ * @param calls 実行回数
+ * @param totalTimeMs 実行時間の合計（ミリ秒）
+ * @param maxTimeMs 最大実行時間（ミリ秒、統計のリセット以降）
+ * @param rows 取得・更新した行数
+ * @param sharedBlksHit 共有バッファでヒットしたブロック数
+ * @param sharedBlksRead 共有バッファになくディスク（OSのキャッシュを含む）から読んだブロック数
+ */
+public record StatementStats(
+    long calls,
+    double totalTimeMs,
+    double maxTimeMs,
+    long rows,
+    long sharedBlksHit,
+    long sharedBlksRead) {
+
+  /**
+   * 以前の統計との差分を計算する
+   *
+   * <p>実行回数が減っている場合は統計がリセットされた（またはエントリが破棄された）とみなし、現在の値をそのまま差分とする。
+   * 最大実行時間は区間ごとには記録されないため、区間内に更新された場合のみ現在の値とし、更新されていない場合は-1とする。
+   *
+   * @param baseline 以前の統計（ない場合はnull）
+   * @return 差分
+   */
+  public StatementStats minus(StatementStats baseline) {
+    if (baseline == null || calls < baseline.calls) {
+      return this;
+    }
+    return new StatementStats(
+        calls - baseline.calls,
+        totalTimeMs - baseline.totalTimeMs,
+        maxTimeMs > baseline.maxTimeMs ? maxTimeMs : -1,
+        rows - baseline.rows,
+        sharedBlksHit - baseline.sharedBlksHit,
+        sharedBlksRead - baseline.sharedBlksRead);
+  }
+
+  /**
+   * 平均実行時間を計算する
+   *
+   * @return 平均実行時間（ミリ秒、実行されていない場合は0）
+   */
+  public double meanTimeMs() {
+    return calls == 0 ? 0.0 : totalTimeMs / calls;
+  }
+
+  /**
+   * 共有バッファのヒット率を計算する
+   *
+   * @return ヒットしたブロック数 / 参照したブロック数（参照がない場合は1）
+   */
+  public double hitRatio() {
+    long blocks = sharedBlksHit + sharedBlksRead;
+    return blocks == 0 ? 1.0 : (double) sharedBlksHit / blocks;
+  }
+}
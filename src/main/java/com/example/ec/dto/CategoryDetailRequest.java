@@ -1,8 +1,12 @@
 package com.example.ec.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +23,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CategoryDetailRequest {
 
+  /** 価格の上限（商品の価格の列 DECIMAL(10, 2) の最大値） */
+  private static final String MAX_PRICE = "99999999.99";
+
   @Size(max = 100, message = "キーワードは100文字以内で指定してください")
   private String keyword;
 
@@ -34,4 +41,21 @@ public class CategoryDetailRequest {
   @Builder.Default private String sort = "name";
 
   @Builder.Default private String order = "asc";
+
+  @Size(max = 20, message = "メーカーは20件以内で指定してください")
+  private List<String> manufacturer;
+
+  @Size(max = 20, message = "ストレージ容量は20件以内で指定してください")
+  private List<String> storageCapacity;
+
+  @Size(max = 20, message = "カラー名は20件以内で指定してください")
+  private List<String> colorName;
+
+  @DecimalMin(value = "0", message = "下限価格は0以上である必要があります")
+  @DecimalMax(value = MAX_PRICE, message = "下限価格は" + MAX_PRICE + "以下である必要があります")
+  private BigDecimal minPrice;
+
+  @DecimalMin(value = "0", message = "上限価格は0以上である必要があります")
+  @DecimalMax(value = MAX_PRICE, message = "上限価格は" + MAX_PRICE + "以下である必要があります")
+  private BigDecimal maxPrice;
 }
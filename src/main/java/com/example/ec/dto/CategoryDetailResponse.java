@@ -96,7 +96,7 @@ public class CategoryDetailResponse {
   /**
    * メタ情報クラス
    *
-   * <p>ページネーション情報を含む。
+   * <p>ページネーション情報と、インメモリカタログエンジンで集計したファセット情報を含む。
    */
   @Data
   @Builder
@@ -104,6 +104,10 @@ public class CategoryDetailResponse {
   @AllArgsConstructor
   public static class Meta {
     private Pagination pagination;
+    private Facets facets;
+
+    /** DB障害のため有効期限切れのキャッシュから返した場合はtrue */
+    private boolean stale;
   }
 
   /** ページネーション情報クラス */
@@ -117,4 +121,40 @@ public class CategoryDetailResponse {
     private Long total;
     private Integer pages;
   }
+
+  /**
+   * ファセット情報クラス
+   *
+   * <p>各ファセットの件数は、そのファセット自身を除く絞り込み条件を適用した商品数。
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Facets {
+    private List<FacetValue> manufacturer;
+    private List<FacetValue> storageCapacity;
+    private List<FacetValue> colorName;
+    private PriceRange price;
+  }
+
+  /** ファセット値クラス */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class FacetValue {
+    private String value;
+    private Integer count;
+  }
+
+  /** 価格帯クラス */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class PriceRange {
+    private BigDecimal min;
+    private BigDecimal max;
+  }
 }
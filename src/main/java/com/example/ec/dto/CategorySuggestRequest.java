@@ -0,0 +1,31 @@
+package com.example.ec.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * カテゴリ入力補完リクエストDTO
+ *
+ * <p>入力補完APIのリクエストパラメータを表すDTO。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySuggestRequest {
+
+  @NotBlank(message = "入力文字列は必須です")
+  @Size(max = 100, message = "入力文字列は100文字以内で指定してください")
+  private String q;
+
+  @Min(value = 1, message = "取得件数は1以上である必要があります")
+  @Max(value = 20, message = "取得件数は20以下である必要があります")
+  @Builder.Default
+  private Integer limit = 10;
+}
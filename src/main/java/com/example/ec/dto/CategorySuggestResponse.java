@@ -0,0 +1,40 @@
+package com.example.ec.dto;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * カテゴリ入力補完レスポンスDTO
+ *
+ * <p>入力補完APIのレスポンスを表すDTO。 組織標準のAPIレスポンスフォーマットに準拠。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySuggestResponse {
+
+  private Boolean success;
+  private String message;
+  private DataWrapper data;
+  private Instant timestamp;
+  private String requestId;
+
+  /**
+   * データラッパークラス
+   *
+   * <p>入力文字列と補完候補リストを含む。
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class DataWrapper {
+    private String query;
+    private List<String> suggestions;
+  }
+}
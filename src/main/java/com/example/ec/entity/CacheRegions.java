@@ -0,0 +1,41 @@
+package com.example.ec.entity;
+
+import java.util.List;
+
+/**
+ * 第2レベルキャッシュのリージョン名
+ *
+ * <p>リージョンごとの最大件数・有効期間はapplication.conf（Caffeine JCache）で設定する。
+ */
+public final class CacheRegions {
+
+  /** カテゴリエンティティ */
+  public static final String CATEGORY = "category";
+
+  /** キャンペーンエンティティ */
+  public static final String CAMPAIGN = "campaign";
+
+  /** 商品バリアントエンティティ */
+  public static final String PRODUCT_VARIANT = "product-variant";
+
+  /** 商品キャンペーン関連エンティティ */
+  public static final String PRODUCT_CAMPAIGN = "product-campaign";
+
+  /** Product.productCampaignsコレクション */
+  public static final String PRODUCT_CAMPAIGNS = "product-campaigns";
+
+  /** アクティブなカテゴリ一覧のクエリ */
+  public static final String ACTIVE_CATEGORIES_QUERY = "active-categories-query";
+
+  /** すべてのリージョン名（メトリクスの登録に使う） */
+  public static final List<String> ALL =
+      List.of(
+          CATEGORY,
+          CAMPAIGN,
+          PRODUCT_VARIANT,
+          PRODUCT_CAMPAIGN,
+          PRODUCT_CAMPAIGNS,
+          ACTIVE_CATEGORIES_QUERY);
+
+  private CacheRegions() {}
+}
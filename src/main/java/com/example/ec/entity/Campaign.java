@@ -1,5 +1,6 @@
 package com.example.ec.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +14,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * キャンペーンエンティティ
@@ -21,6 +24,8 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Table(name = "campaigns")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CAMPAIGN)
 @Data
 @Builder
 @NoArgsConstructor
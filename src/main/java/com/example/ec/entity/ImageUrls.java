@@ -0,0 +1,175 @@
+package com.example.ec.entity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 画像URLリスト（JSON配列の遅延デコード）
+ *
+ * <p>DBから読み取ったJSON配列の文字列をそのまま保持し、要素に初めてアクセスしたときにデコードする変更不可のリスト。
+ * レスポンスへのシリアライズでは保持している文字列をJSONの値として直接書き出すため、先頭以外のバリアントのように参照されない画像URLは一度もデコードされない。
+ */
+@JsonSerialize(using = ImageUrls.RawJsonSerializer.class)
+public final class ImageUrls extends AbstractList<String> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+  private final String json;
+  private transient volatile List<String> decoded;
+
+  /**
+   * 画像URLリストを生成する
+   *
+   * @param json JSON配列の文字列
+   */
+  private ImageUrls(String json) {
+    this.json = json;
+  }
+
+  /**
+   * JSON配列の文字列から画像URLリストを生成する（デコードはしない）
+   *
+   * @param json JSON配列の文字列（null可）
+   * @return 画像URLリスト（nullの場合はnull）
+   */
+  public static ImageUrls fromJson(String json) {
+    return json != null ? new ImageUrls(json) : null;
+  }
+
+  /**
+   * 画像URLのリストをJSON配列の文字列に変換する
+   *
+   * @param urls 画像URLのリスト（null可）
+   * @return JSON配列の文字列（nullの場合はnull）
+   */
+  public static String toJson(List<String> urls) {
+    if (urls == null) {
+      return null;
+    }
+    if (urls instanceof ImageUrls imageUrls) {
+      return imageUrls.json;
+    }
+    try {
+      return OBJECT_MAPPER.writeValueAsString(urls);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("画像URLをJSONに変換できません", e);
+    }
+  }
+
+  /**
+   * 保持しているJSON配列の文字列を取得する
+   *
+   * @return JSON配列の文字列
+   */
+  public String json() {
+    return json;
+  }
+
+  /**
+   * デコード済みかどうかを判定する
+   *
+   * @return デコード済みの場合true
+   */
+  public boolean isDecoded() {
+    return decoded != null;
+  }
+
+  /**
+   * 指定位置の画像URLを取得する
+   *
+   * @param index 位置
+   * @return 画像URL
+   */
+  @Override
+  public String get(int index) {
+    return urls().get(index);
+  }
+
+  /**
+   * 画像URLの件数を取得する
+   *
+   * @return 件数
+   */
+  @Override
+  public int size() {
+    return urls().size();
+  }
+
+  /**
+   * リストとして等しいか判定する（JSONの文字列が同じ場合はデコードせずに判定する）
+   *
+   * @param other 比較対象
+   * @return 等しい場合true
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof ImageUrls imageUrls && json.equals(imageUrls.json)) {
+      return true;
+    }
+    return super.equals(other);
+  }
+
+  /**
+   * ハッシュコードを取得する
+   *
+   * @return ハッシュコード
+   */
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  /**
+   * デコードした画像URLを取得する（初回のみJSONをデコードする）
+   *
+   * @return 画像URL
+   */
+  private List<String> urls() {
+    List<String> result = decoded;
+    if (result == null) {
+      try {
+        result = Collections.unmodifiableList(OBJECT_MAPPER.readValue(json, STRING_LIST));
+      } catch (JsonProcessingException e) {
+        throw new UncheckedIOException("画像URLのJSONを読み取れません: " + json, e);
+      }
+      decoded = result;
+    }
+    return result;
+  }
+
+  /** 保持しているJSON配列の文字列をそのままJSONの値として書き出すシリアライザー */
+  public static class RawJsonSerializer extends StdSerializer<ImageUrls> {
+
+    /** シリアライザーを生成する */
+    public RawJsonSerializer() {
+      super(ImageUrls.class);
+    }
+
+    /**
+     * JSON配列の文字列をそのまま書き出す
+     *
+     * @param value 画像URLリスト
+     * @param generator JSONジェネレーター
+     * @param provider シリアライザープロバイダー
+     * @throws IOException 書き込みエラー
+     */
+    @Override
+    public void serialize(ImageUrls value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeRawValue(value.json);
+    }
+  }
+}
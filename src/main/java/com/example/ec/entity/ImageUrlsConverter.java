@@ -0,0 +1,37 @@
+package com.example.ec.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.List;
+
+/**
+ * 画像URLリストのコンバーター
+ *
+ * <p>JSONB列の文字列をデコードせずに{@link ImageUrls}で包む。 JSONのJDBC型と組み合わせると、
+ * Hibernateは文字列の属性をそのまま読み書きするため、エンティティの取得時に画像URLがデコードされない。
+ */
+@Converter
+public class ImageUrlsConverter implements AttributeConverter<List<String>, String> {
+
+  /**
+   * 画像URLリストを列の値に変換する
+   *
+   * @param urls 画像URLリスト（null可）
+   * @return JSON配列の文字列（nullの場合はnull）
+   */
+  @Override
+  public String convertToDatabaseColumn(List<String> urls) {
+    return ImageUrls.toJson(urls);
+  }
+
+  /**
+   * 列の値を画像URLリストに変換する（デコードはアクセス時まで行わない）
+   *
+   * @param json JSON配列の文字列（null可）
+   * @return 画像URLリスト（nullの場合はnull）
+   */
+  @Override
+  public List<String> convertToEntityAttribute(String json) {
+    return ImageUrls.fromJson(json);
+  }
+}
@@ -1,5 +1,6 @@
 package com.example.ec.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -11,6 +12,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 商品キャンペーン関連エンティティ
@@ -19,6 +22,8 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Table(name = "product_campaigns")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PRODUCT_CAMPAIGN)
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,6 +1,8 @@
 package com.example.ec.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -17,6 +19,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -27,6 +31,8 @@ import org.hibernate.type.SqlTypes;
  */
 @Entity
 @Table(name = "product_variants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PRODUCT_VARIANT)
 @Data
 @Builder
 @NoArgsConstructor
@@ -56,6 +62,7 @@ public class ProductVariant {
   @Column(name = "color_name", length = 50)
   private String colorName;
 
+  @Convert(converter = ImageUrlsConverter.class)
   @JdbcTypeCode(SqlTypes.JSON)
   @Column(name = "image_urls", columnDefinition = "jsonb")
   private List<String> imageUrls;
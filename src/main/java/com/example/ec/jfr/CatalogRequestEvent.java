@@ -0,0 +1,83 @@
+package com.example.ec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * カタログのリクエストのJFRイベント
+ *
+ * <p>カテゴリ一覧・カテゴリ詳細の処理の開始から終了までを1件のイベントとし、同じスレッドのCPU・割り当てのサンプルと対応付けられるようにする。
+ * 記録していない間は{@link #shouldCommit()}がfalseとなり、項目の設定も行わない。
+ */
+@Name("com.example.ec.CatalogRequest")
+@Label("Catalog Request")
+@Category({"EC", "Catalog"})
+@Description("カテゴリ一覧・カテゴリ詳細のリクエストの処理")
+@StackTrace(false)
+public class CatalogRequestEvent extends Event {
+
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Category")
+  String category;
+
+  @Label("Page")
+  int page;
+
+  @Label("Page Size")
+  int size;
+
+  @Label("Sort")
+  String sort;
+
+  @Label("Order")
+  String order;
+
+  @Label("Cache Outcome")
+  @Description("結果の取得元（engine・hit・miss・stale・none）")
+  String cache;
+
+  /** カテゴリ一覧の処理を終了し、記録中であればイベントを書き込む */
+  public void completeCategories() {
+    end();
+    if (shouldCommit()) {
+      endpoint = "categories";
+      commit();
+    }
+  }
+
+  /**
+   * カテゴリ詳細の処理を終了し、記録中であればイベントを書き込む
+   *
+   * @param categoryCode カテゴリコード
+   * @param pageNumber ページ番号（0始まり）
+   * @param pageSize ページサイズ
+   * @param sortField ソート項目
+   * @param sortOrder ソート順
+   * @param cacheOutcome 結果の取得元
+   */
+  public void completeCategoryDetail(
+      String categoryCode,
+      int pageNumber,
+      int pageSize,
+      String sortField,
+      String sortOrder,
+      String cacheOutcome) {
+    end();
+    if (shouldCommit()) {
+      endpoint = "categoryDetail";
+      category = categoryCode;
+      page = pageNumber;
+      size = pageSize;
+      sort = sortField;
+      order = sortOrder;
+      cache = cacheOutcome;
+      commit();
+    }
+  }
+}
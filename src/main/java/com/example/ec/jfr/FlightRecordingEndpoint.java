@@ -0,0 +1,253 @@
+package com.example.ec.jfr;
+
+import com.example.ec.config.JfrConfig;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * JFRのオンデマンドの記録の管理エンドポイント
+ *
+ * <p>{@code POST /actuator/flightrecording}（本文 {@code {"duration": 60000}}、ミリ秒）で記録を開始し、
+ * {@code GET /actuator/flightrecording/{name}}で記録中のスナップショットまたは終了した記録を{@code .jfr}ファイルとして返す。
+ * {@code GET /actuator/flightrecording}で状況を確認し、{@code DELETE}で記録時間の前に終了する。
+ *
+ * <p>記録は同時に1件までで、記録時間は{@code jfr.max-duration}、サイズは{@code jfr.max-size}を上限とする。
+ * 記録時間が過ぎるとJFRが{@code jfr.directory}に書き出して終了する。 アプリケーションのカスタムイベントは閾値なしで有効にする。
+ * 出力先に残す記録ファイルは{@code jfr.max-files}を上限とし、記録の開始・スナップショットの書き出しのたびに
+ * 記録名（開始時刻）の古いものから削除する。
+ * 公開するには{@code management.endpoints.web.exposure.include}に追加する（ADMINロールが必要）。
+ */
+@Component
+@Endpoint(id = "flightrecording")
+@ConditionalOnProperty(prefix = "jfr", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecordingEndpoint {
+
+  private static final List<Class<? extends Event>> EVENT_TYPES =
+      List.of(
+          CatalogRequestEvent.class,
+          RepositoryQueryEvent.class,
+          JwtOperationEvent.class,
+          PasswordVerifyEvent.class);
+  private static final String NAME_PREFIX = "ec-";
+  private static final String FILE_SUFFIX = ".jfr";
+  private static final DateTimeFormatter NAME_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS").withZone(ZoneOffset.UTC);
+
+  private final JfrConfig jfrConfig;
+
+  private Recording recording;
+  private Path file;
+
+  /**
+   * 直近の記録の状況を取得する
+   *
+   * @return 記録名・状態・開始時刻・記録時間・サイズ・出力先（記録がない場合は状態のみ）
+   */
+  @ReadOperation
+  public synchronized Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    if (recording == null) {
+      status.put("state", "NONE");
+      return status;
+    }
+    status.put("name", recording.getName());
+    status.put("state", recording.getState().name());
+    status.put("started_at", recording.getStartTime());
+    status.put("duration_ms", recording.getDuration().toMillis());
+    status.put("max_size", recording.getMaxSize());
+    status.put("size", recording.getSize());
+    status.put("file", file.toString());
+    return status;
+  }
+
+  /**
+   * 記録を開始する
+   *
+   * <p>記録中の場合は新たに開始せず、現在の記録の状況を返す。
+   *
+   * @param duration 記録時間（ミリ秒、省略時は{@code jfr.default-duration}、{@code jfr.max-duration}で切り詰める）
+   * @return 開始したかどうかと記録の状況
+   */
+  @WriteOperation
+  public synchronized Map<String, Object> start(@Nullable Long duration) {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      Map<String, Object> result = status();
+      result.put("started", false);
+      return result;
+    }
+    long millis =
+        Math.min(
+            duration != null && duration > 0 ? duration : jfrConfig.getDefaultDuration(),
+            jfrConfig.getMaxDuration());
+    Recording next = new Recording(configuration());
+    try {
+      next.setName(NAME_PREFIX + NAME_TIMESTAMP.format(Instant.now()));
+      for (Class<? extends Event> type : EVENT_TYPES) {
+        next.enable(type).withThreshold(Duration.ZERO);
+      }
+      next.setToDisk(true);
+      next.setMaxSize(jfrConfig.getMaxSize());
+      next.setDuration(Duration.ofMillis(millis));
+      Path directory = Path.of(jfrConfig.getDirectory());
+      Files.createDirectories(directory);
+      Path nextFile = directory.resolve(next.getName() + FILE_SUFFIX);
+      next.setDestination(nextFile);
+      next.start();
+      if (recording != null) {
+        recording.close();
+      }
+      recording = next;
+      file = nextFile;
+    } catch (IOException e) {
+      next.close();
+      throw new UncheckedIOException("JFRの記録を開始できません", e);
+    }
+    log.info("JFRの記録を開始しました: name={}, durationMs={}", recording.getName(), millis);
+    pruneFiles();
+    Map<String, Object> result = status();
+    result.put("started", true);
+    return result;
+  }
+
+  /**
+   * 記録中のスナップショット、または終了した記録のファイルを取得する
+   *
+   * @param name 記録名
+   * @return {@code .jfr}ファイル（記録名が直近の記録と一致しない場合、ファイルがない場合はnull）
+   */
+  @ReadOperation(produces = "application/octet-stream")
+  public synchronized Resource dump(@Selector String name) {
+    if (recording == null || !recording.getName().equals(name)) {
+      return null;
+    }
+    if (recording.getState() == RecordingState.RUNNING) {
+      Path snapshot = snapshotFile();
+      try {
+        recording.dump(snapshot);
+      } catch (IOException e) {
+        throw new UncheckedIOException("JFRの記録を書き出せません", e);
+      }
+      pruneFiles();
+      return new FileSystemResource(snapshot);
+    }
+    return Files.exists(file) ? new FileSystemResource(file) : null;
+  }
+
+  /**
+   * 記録時間の前に記録を終了してファイルに書き出す
+   *
+   * @return 記録の状況
+   */
+  @DeleteOperation
+  public synchronized Map<String, Object> stop() {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      recording.stop();
+      log.info("JFRの記録を終了しました: name={}, file={}", recording.getName(), file);
+    }
+    return status();
+  }
+
+  /** アプリケーションの終了時、記録中であれば終了してファイルに書き出す */
+  @PreDestroy
+  public synchronized void shutdown() {
+    if (recording != null) {
+      stop();
+      recording.close();
+    }
+  }
+
+  /**
+   * 直近の記録のスナップショットの出力先を取得する
+   *
+   * @return スナップショットのファイル
+   */
+  private Path snapshotFile() {
+    return file.resolveSibling(recording.getName() + "-snapshot" + FILE_SUFFIX);
+  }
+
+  /**
+   * 出力先ディレクトリの記録ファイルが{@code jfr.max-files}を超えた分を、記録名の古いものから削除する
+   *
+   * <p>記録名は開始時刻を含むため、ファイル名の順が記録の開始順になる。 直近の記録のファイルとスナップショットは削除せず、
+   * 件数には含める。 削除に失敗してもリクエストは失敗させない。
+   */
+  private void pruneFiles() {
+    Set<Path> current = Set.of(file, snapshotFile());
+    List<Path> older;
+    try (Stream<Path> files = Files.list(file.getParent())) {
+      older =
+          files
+              .filter(
+                  path -> {
+                    String fileName = path.getFileName().toString();
+                    return fileName.startsWith(NAME_PREFIX) && fileName.endsWith(FILE_SUFFIX);
+                  })
+              .filter(path -> !current.contains(path))
+              .sorted(Comparator.comparing(Path::getFileName).reversed())
+              .toList();
+    } catch (IOException e) {
+      log.warn("JFRの記録ファイルを一覧できません: directory={}", file.getParent(), e);
+      return;
+    }
+    long currentFiles = current.stream().filter(Files::exists).count();
+    int keep = (int) Math.max(0, jfrConfig.getMaxFiles() - currentFiles);
+    for (Path path : older.subList(Math.min(keep, older.size()), older.size())) {
+      try {
+        Files.deleteIfExists(path);
+        log.info("古いJFRの記録ファイルを削除しました: file={}", path);
+      } catch (IOException e) {
+        log.warn("古いJFRの記録ファイルを削除できません: file={}", path, e);
+      }
+    }
+  }
+
+  /**
+   * 記録の設定を読み込む
+   *
+   * @return {@code jfr.settings}の設定（{@code .jfc}で終わる場合はファイル、それ以外はJDKの設定名）
+   */
+  private Configuration configuration() {
+    String settings = jfrConfig.getSettings();
+    try {
+      return settings.endsWith(".jfc")
+          ? Configuration.create(Path.of(settings))
+          : Configuration.getConfiguration(settings);
+    } catch (IOException e) {
+      throw new UncheckedIOException("JFRの設定を読み込めません: " + settings, e);
+    } catch (ParseException e) {
+      throw new IllegalStateException("JFRの設定を解析できません: " + settings, e);
+    }
+  }
+}
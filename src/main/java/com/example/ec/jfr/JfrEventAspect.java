@@ -0,0 +1,107 @@
+package com.example.ec.jfr;
+
+import com.example.ec.metrics.RepositoryMetricsAspect;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * リポジトリ・JWT・パスワード照合のJFRイベントを発行するアスペクト
+ *
+ * <p>リポジトリのメソッドを{@link RepositoryQueryEvent}、{@code JwtService}の生成・検証を{@link JwtOperationEvent}、
+ * {@code PasswordEncoder#matches}を{@link PasswordVerifyEvent}として記録する。
+ * 記録中でない（またはイベントが無効な）場合は{@link jdk.jfr.Event#isEnabled()}の判定だけでメソッドを呼び出す。
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "jfr", name = "enabled", havingValue = "true")
+public class JfrEventAspect {
+
+  /**
+   * リポジトリのメソッドを実行し、イベントを記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around(
+      "execution(public * org.springframework.data.repository.Repository+.*(..))"
+          + " || @within(org.springframework.stereotype.Repository)")
+  public Object recordRepositoryQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+    RepositoryQueryEvent event = new RepositoryQueryEvent();
+    if (!event.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    event.begin();
+    Object target = joinPoint.getTarget();
+    String method = joinPoint.getSignature().getName();
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable e) {
+      event.complete(RepositoryMetricsAspect.repositoryName(target), method, -1, false);
+      throw e;
+    }
+    event.complete(
+        RepositoryMetricsAspect.repositoryName(target),
+        method,
+        RepositoryMetricsAspect.rowCount(result),
+        true);
+    return result;
+  }
+
+  /**
+   * JWTの生成・検証を実行し、イベントを記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around(
+      "execution(* com.example.ec.service.JwtService.generateAccessToken(..))"
+          + " || execution(* com.example.ec.service.JwtService.generateRefreshToken(..))"
+          + " || execution(* com.example.ec.service.JwtService.validateToken(..))"
+          + " || execution(* com.example.ec.service.JwtService.getUsernameFromToken(..))")
+  public Object recordJwtOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+    JwtOperationEvent event = new JwtOperationEvent();
+    if (!event.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    event.begin();
+    String operation = joinPoint.getSignature().getName();
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable e) {
+      event.complete(operation, false);
+      throw e;
+    }
+    event.complete(operation, !Boolean.FALSE.equals(result));
+    return result;
+  }
+
+  /**
+   * パスワードを照合し、イベントを記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @return 照合結果
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around(
+      "execution(* org.springframework.security.crypto.password.PasswordEncoder.matches(..))")
+  public Object recordPasswordVerify(ProceedingJoinPoint joinPoint) throws Throwable {
+    PasswordVerifyEvent event = new PasswordVerifyEvent();
+    if (!event.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    event.begin();
+    Object result = joinPoint.proceed();
+    event.complete(
+        AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName(),
+        Boolean.TRUE.equals(result));
+    return result;
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.ec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JWTの生成・検証のJFRイベント */
+@Name("com.example.ec.JwtOperation")
+@Label("JWT Operation")
+@Category({"EC", "Security"})
+@Description("JWTの署名・検証・クレームの取得")
+@StackTrace(false)
+public class JwtOperationEvent extends Event {
+
+  @Label("Operation")
+  @Description("JwtServiceのメソッド名")
+  String operation;
+
+  @Label("Succeeded")
+  @Description("例外なく終了し、検証の場合は有効と判定した場合true")
+  boolean succeeded;
+
+  /**
+   * 処理を終了し、記録中であればイベントを書き込む
+   *
+   * @param operationName JwtServiceのメソッド名
+   * @param success 成功した場合true
+   */
+  public void complete(String operationName, boolean success) {
+    end();
+    if (shouldCommit()) {
+      operation = operationName;
+      succeeded = success;
+      commit();
+    }
+  }
+}
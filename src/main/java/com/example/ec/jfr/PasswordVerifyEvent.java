@@ -0,0 +1,38 @@
+package com.example.ec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** パスワードの照合のJFRイベント */
+@Name("com.example.ec.PasswordVerify")
+@Label("Password Verify")
+@Category({"EC", "Security"})
+@Description("パスワードのハッシュとの照合")
+@StackTrace(false)
+public class PasswordVerifyEvent extends Event {
+
+  @Label("Encoder")
+  String encoder;
+
+  @Label("Matched")
+  boolean matched;
+
+  /**
+   * 照合を終了し、記録中であればイベントを書き込む
+   *
+   * @param encoderName PasswordEncoderのクラス名
+   * @param match 一致した場合true
+   */
+  public void complete(String encoderName, boolean match) {
+    end();
+    if (shouldCommit()) {
+      encoder = encoderName;
+      matched = match;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.ec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * リポジトリのメソッドの呼び出しのJFRイベント
+ *
+ * <p>イベントの期間がメソッドの処理時間となる。 呼び出し元を調べる場合は記録の設定で{@code stackTrace}を有効にする。
+ */
+@Name("com.example.ec.RepositoryQuery")
+@Label("Repository Query")
+@Category({"EC", "Database"})
+@Description("リポジトリのメソッドの呼び出し")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+  @Label("Repository")
+  String repository;
+
+  @Label("Method")
+  String method;
+
+  @Label("Rows")
+  @Description("取得した行数（戻り値がコレクション・ページ・Optional以外は-1）")
+  long rows;
+
+  @Label("Succeeded")
+  boolean succeeded;
+
+  /**
+   * 呼び出しを終了し、記録中であればイベントを書き込む
+   *
+   * @param repositoryName リポジトリ名
+   * @param methodName メソッド名
+   * @param rowCount 取得した行数
+   * @param success 正常終了した場合true
+   */
+  public void complete(String repositoryName, String methodName, long rowCount, boolean success) {
+    end();
+    if (shouldCommit()) {
+      repository = repositoryName;
+      method = methodName;
+      rows = rowCount;
+      succeeded = success;
+      commit();
+    }
+  }
+}
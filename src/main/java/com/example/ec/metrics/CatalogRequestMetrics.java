@@ -0,0 +1,233 @@
+package com.example.ec.metrics;
+
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * カタログのリクエストの処理時間メトリクス
+ *
+ * <p>カテゴリ一覧・カテゴリ詳細の処理時間を{@code catalog.requests}（タグ{@code endpoint}・{@code category}・
+ * {@code sort}・{@code page.size}・{@code cache}）、商品のDTOへの変換時間を{@code catalog.product.conversion}
+ * （タグ{@code source}）に記録する。
+ *
+ * <p>タグの組み合わせごとのタイマーは初回の記録時に生成して配列に保持し、2回目以降は添字の計算だけで取得するため、
+ * 記録ごとにタグを生成しない。 カテゴリは最初に記録した{@code timing-metrics.max-category-tags}件まで個別のタグとし、
+ * 以降は{@code other}にまとめる（存在しないカテゴリは記録しないため、任意の文字列でタグが増えない）。
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "timing-metrics",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class CatalogRequestMetrics {
+
+  private static final String REQUEST_METRIC = "catalog.requests";
+  private static final String CONVERSION_METRIC = "catalog.product.conversion";
+  private static final String[] SORTS = {"name", "price", "createdAt", "other"};
+  private static final String[] PAGE_SIZES = {"le20", "le50", "le100"};
+  private static final int CACHES = Cache.values().length;
+  private static final String NONE = "none";
+
+  private final MeterRegistry meterRegistry;
+  private final TimingMetricsConfig config;
+  private final int maxCategoryTags;
+  private final Map<String, Integer> categoryIndexes = new ConcurrentHashMap<>();
+  private final String[] categoryTags;
+  private final AtomicReferenceArray<Timer> detailTimers;
+  private final Timer categoriesTimer;
+  private final Timer jpaConversionTimer;
+  private final Timer jdbcConversionTimer;
+
+  /**
+   * カタログのリクエストの処理時間メトリクスを生成する
+   *
+   * @param config 処理時間メトリクス設定
+   * @param meterRegistry メトリクスレジストリ
+   */
+  public CatalogRequestMetrics(TimingMetricsConfig config, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.config = config;
+    this.maxCategoryTags = config.getMaxCategoryTags();
+    this.categoryTags = new String[maxCategoryTags + 1];
+    this.categoryTags[maxCategoryTags] = "other";
+    this.detailTimers =
+        new AtomicReferenceArray<>(
+            (maxCategoryTags + 1) * SORTS.length * PAGE_SIZES.length * CACHES);
+    this.categoriesTimer =
+        requestTimer()
+            .tags(
+                "endpoint",
+                "categories",
+                "category",
+                NONE,
+                "sort",
+                NONE,
+                "page.size",
+                NONE,
+                "cache",
+                NONE)
+            .register(meterRegistry);
+    this.jpaConversionTimer = conversionTimer("jpa");
+    this.jdbcConversionTimer = conversionTimer("jdbc");
+  }
+
+  /**
+   * カテゴリ一覧の処理時間を記録する
+   *
+   * @param nanos 処理時間（ナノ秒）
+   */
+  public void recordCategories(long nanos) {
+    categoriesTimer.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * カテゴリ詳細の処理時間を記録する
+   *
+   * @param categoryCode カテゴリコード（存在するカテゴリのもの）
+   * @param sortField ソート項目（エンティティのプロパティ名）
+   * @param pageSize ページサイズ
+   * @param cache 結果の取得元
+   * @param nanos 処理時間（ナノ秒）
+   */
+  public void recordCategoryDetail(
+      String categoryCode, String sortField, int pageSize, Cache cache, long nanos) {
+    int category = categoryIndex(categoryCode);
+    int sort = sortIndex(sortField);
+    int size = pageSize <= 20 ? 0 : pageSize <= 50 ? 1 : 2;
+    int index =
+        ((category * SORTS.length + sort) * PAGE_SIZES.length + size) * CACHES + cache.ordinal();
+    Timer timer = detailTimers.get(index);
+    if (timer == null) {
+      timer =
+          requestTimer()
+              .tags(
+                  "endpoint",
+                  "categoryDetail",
+                  "category",
+                  categoryTags[category],
+                  "sort",
+                  SORTS[sort],
+                  "page.size",
+                  PAGE_SIZES[size],
+                  "cache",
+                  cache.tag)
+              .register(meterRegistry);
+      detailTimers.compareAndSet(index, null, timer);
+    }
+    timer.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 商品のページをDTOに変換した時間を記録する
+   *
+   * @param jdbc JDBC読み取りリポジトリの行から変換した場合true（エンティティから変換した場合false）
+   * @param nanos 変換時間（ナノ秒）
+   */
+  public void recordConversion(boolean jdbc, long nanos) {
+    (jdbc ? jdbcConversionTimer : jpaConversionTimer).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * カテゴリコードのタグの添字を取得する（未登録で上限に達していない場合は登録する）
+   *
+   * @param categoryCode カテゴリコード
+   * @return 添字（上限を超えたカテゴリは{@code other}の添字）
+   */
+  private int categoryIndex(String categoryCode) {
+    Integer index = categoryIndexes.get(categoryCode);
+    if (index != null) {
+      return index;
+    }
+    synchronized (categoryIndexes) {
+      index = categoryIndexes.get(categoryCode);
+      if (index != null) {
+        return index;
+      }
+      if (categoryIndexes.size() >= maxCategoryTags) {
+        return maxCategoryTags;
+      }
+      int next = categoryIndexes.size();
+      categoryTags[next] = categoryCode;
+      categoryIndexes.put(categoryCode, next);
+      return next;
+    }
+  }
+
+  /**
+   * ソート項目のタグの添字を取得する
+   *
+   * @param sortField ソート項目
+   * @return 添字（想定外の項目は{@code other}の添字）
+   */
+  private static int sortIndex(String sortField) {
+    for (int i = 0; i < SORTS.length - 1; i++) {
+      if (SORTS[i].equals(sortField)) {
+        return i;
+      }
+    }
+    return SORTS.length - 1;
+  }
+
+  /**
+   * リクエストの処理時間のタイマーのビルダーを生成する
+   *
+   * @return タイマーのビルダー
+   */
+  private Timer.Builder requestTimer() {
+    return TimingMeters.timer(REQUEST_METRIC, "カタログのリクエストの処理時間", config);
+  }
+
+  /**
+   * DTOへの変換時間のタイマーを登録する
+   *
+   * @param source 変換元（{@code jpa}・{@code jdbc}）
+   * @return タイマー
+   */
+  private Timer conversionTimer(String source) {
+    return TimingMeters.timer(CONVERSION_METRIC, "商品のページのDTOへの変換時間", config)
+        .tag("source", source)
+        .register(meterRegistry);
+  }
+
+  /** カテゴリ詳細の結果の取得元 */
+  public enum Cache {
+    /** インメモリカタログエンジン */
+    ENGINE("engine"),
+    /** 検索結果キャッシュの有効期限内のエントリ */
+    HIT("hit"),
+    /** 検索結果キャッシュになくDBを検索した */
+    MISS("miss"),
+    /** DB障害のため検索結果キャッシュの期限切れのエントリ */
+    STALE("stale"),
+    /** 検索結果キャッシュが無効でDBを検索した */
+    NONE("none");
+
+    private final String tag;
+
+    /**
+     * 取得元を生成する
+     *
+     * @param tag タグの値
+     */
+    Cache(String tag) {
+      this.tag = tag;
+    }
+
+    /**
+     * タグの値を取得する
+     *
+     * @return タグの値
+     */
+    public String tag() {
+      return tag;
+    }
+  }
+}
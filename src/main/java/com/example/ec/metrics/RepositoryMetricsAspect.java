@@ -0,0 +1,193 @@
+package com.example.ec.metrics;
+
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * リポジトリの処理時間メトリクスのアスペクト
+ *
+ * <p>Spring Dataのリポジトリと{@code @Repository}のクラスのメソッドの処理時間を{@code repository.calls}
+ * （タグ{@code repository}・{@code method}・{@code outcome}）、取得した行数を{@code repository.rows}
+ * （タグ{@code repository}・{@code method}、戻り値がコレクション・ページ・Optionalの場合のみ）に記録する。
+ *
+ * <p>リポジトリのメソッドが同じリポジトリの別のメソッドを呼び出す場合（デフォルトメソッドからの委譲など）は、外側の呼び出しだけを記録する。
+ * 内側の呼び出しも記録すると、1回の呼び出しが2回分の呼び出し・行数として数えられる。
+ *
+ * <p>メーターはリポジトリとメソッドの組み合わせごとに初回の呼び出しで生成して保持し、以降の呼び出しではタグを生成しない。
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(
+    prefix = "timing-metrics",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class RepositoryMetricsAspect {
+
+  private final MeterRegistry meterRegistry;
+  private final TimingMetricsConfig config;
+  private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+  /** 現在のスレッドで記録中のリポジトリ（記録中でない場合はnull） */
+  private final ThreadLocal<Object> activeRepository = new ThreadLocal<>();
+
+  /**
+   * リポジトリの処理時間メトリクスのアスペクトを生成する
+   *
+   * @param config 処理時間メトリクス設定
+   * @param meterRegistry メトリクスレジストリ
+   */
+  public RepositoryMetricsAspect(TimingMetricsConfig config, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.config = config;
+  }
+
+  /**
+   * リポジトリのメソッドを実行し、処理時間と行数を記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around(
+      "execution(public * org.springframework.data.repository.Repository+.*(..))"
+          + " || @within(org.springframework.stereotype.Repository)")
+  public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    Object target = joinPoint.getTarget();
+    Object outer = activeRepository.get();
+    if (outer == target) {
+      return joinPoint.proceed();
+    }
+    activeRepository.set(target);
+    try {
+      return timeOutermost(joinPoint, target);
+    } finally {
+      if (outer != null) {
+        activeRepository.set(outer);
+      } else {
+        activeRepository.remove();
+      }
+    }
+  }
+
+  /**
+   * 同じリポジトリの外側の呼び出しがないメソッドを実行し、処理時間と行数を記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @param target リポジトリ
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  private Object timeOutermost(ProceedingJoinPoint joinPoint, Object target) throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    Map<Method, MethodMeters> methods = meters.get(target.getClass());
+    MethodMeters methodMeters = methods != null ? methods.get(method) : null;
+    if (methodMeters == null) {
+      methodMeters =
+          meters
+              .computeIfAbsent(target.getClass(), type -> new ConcurrentHashMap<>())
+              .computeIfAbsent(method, key -> createMeters(target, key));
+    }
+    long startedAt = System.nanoTime();
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable e) {
+      methodMeters.failure().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+    methodMeters.success().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    long rows = rowCount(result);
+    if (rows >= 0) {
+      methodMeters.rows().record(rows);
+    }
+    return result;
+  }
+
+  /**
+   * リポジトリとメソッドのメーターを生成する
+   *
+   * @param target リポジトリ（Spring Dataのリポジトリはプロキシ）
+   * @param method メソッド
+   * @return メーター
+   */
+  private MethodMeters createMeters(Object target, Method method) {
+    String repository = repositoryName(target);
+    String methodName = method.getName();
+    return new MethodMeters(
+        TimingMeters.timer("repository.calls", "リポジトリのメソッドの処理時間", config)
+            .tags("repository", repository, "method", methodName, "outcome", "success")
+            .register(meterRegistry),
+        TimingMeters.timer("repository.calls", "リポジトリのメソッドの処理時間", config)
+            .tags("repository", repository, "method", methodName, "outcome", "error")
+            .register(meterRegistry),
+        DistributionSummary.builder("repository.rows")
+            .description("リポジトリのメソッドで取得した行数")
+            .baseUnit("rows")
+            .tags("repository", repository, "method", methodName)
+            .register(meterRegistry));
+  }
+
+  /**
+   * リポジトリ名を取得する
+   *
+   * <p>Spring Dataのリポジトリはプロキシが実装するアプリケーションのリポジトリインターフェースの名前、それ以外は実装クラスの名前とする。
+   *
+   * @param target リポジトリ
+   * @return リポジトリ名
+   */
+  public static String repositoryName(Object target) {
+    for (Class<?> type : target.getClass().getInterfaces()) {
+      if (Repository.class.isAssignableFrom(type)
+          && !type.getName().startsWith("org.springframework.")) {
+        return type.getSimpleName();
+      }
+    }
+    return AopUtils.getTargetClass(target).getSimpleName();
+  }
+
+  /**
+   * 戻り値から取得した行数を求める
+   *
+   * @param result 戻り値
+   * @return 行数（コレクション・ページ・Optional以外は-1）
+   */
+  public static long rowCount(Object result) {
+    if (result instanceof Collection<?> collection) {
+      return collection.size();
+    }
+    if (result instanceof Slice<?> slice) {
+      return slice.getNumberOfElements();
+    }
+    if (result instanceof Optional<?> optional) {
+      return optional.isPresent() ? 1 : 0;
+    }
+    return -1;
+  }
+
+  /**
+   * リポジトリのメソッドのメーター
+   *
+   * @param success 正常終了した呼び出しの処理時間
+   * @param failure 例外で終了した呼び出しの処理時間
+   * @param rows 取得した行数
+   */
+  private record MethodMeters(Timer success, Timer failure, DistributionSummary rows) {}
+}
@@ -0,0 +1,106 @@
+package com.example.ec.metrics;
+
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 認証処理の処理時間メトリクスのアスペクト
+ *
+ * <p>JWTの署名（アクセストークンの生成）と検証の処理時間を{@code security.jwt}（タグ{@code operation}）、
+ * パスワードの照合の処理時間を{@code security.password.matches}に記録する。
+ * どちらもCPUを使う処理で、ログインの集中時のレイテンシの内訳を確認するために使う。
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(
+    prefix = "timing-metrics",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SecurityMetricsAspect {
+
+  private final Timer jwtSignTimer;
+  private final Timer jwtValidateTimer;
+  private final Timer passwordMatchesTimer;
+
+  /**
+   * 認証処理の処理時間メトリクスのアスペクトを生成する
+   *
+   * @param config 処理時間メトリクス設定
+   * @param meterRegistry メトリクスレジストリ
+   */
+  public SecurityMetricsAspect(TimingMetricsConfig config, MeterRegistry meterRegistry) {
+    this.jwtSignTimer =
+        TimingMeters.timer("security.jwt", "JWTの署名・検証の処理時間", config)
+            .tag("operation", "sign")
+            .register(meterRegistry);
+    this.jwtValidateTimer =
+        TimingMeters.timer("security.jwt", "JWTの署名・検証の処理時間", config)
+            .tag("operation", "validate")
+            .register(meterRegistry);
+    this.passwordMatchesTimer =
+        TimingMeters.timer("security.password.matches", "パスワードの照合の処理時間", config)
+            .register(meterRegistry);
+  }
+
+  /**
+   * アクセストークンを生成し、処理時間を記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @return 生成したアクセストークン
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around("execution(* com.example.ec.service.JwtService.generateAccessToken(..))")
+  public Object timeJwtSign(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(jwtSignTimer, joinPoint);
+  }
+
+  /**
+   * JWTを検証し、処理時間を記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @return 検証結果
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around("execution(* com.example.ec.service.JwtService.validateToken(..))")
+  public Object timeJwtValidate(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(jwtValidateTimer, joinPoint);
+  }
+
+  /**
+   * パスワードを照合し、処理時間を記録する
+   *
+   * @param joinPoint ジョインポイント
+   * @return 照合結果
+   * @throws Throwable メソッドがスローした例外
+   */
+  @Around(
+      "execution(* org.springframework.security.crypto.password.PasswordEncoder.matches(..))")
+  public Object timePasswordMatches(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(passwordMatchesTimer, joinPoint);
+  }
+
+  /**
+   * メソッドを実行し、例外で終了した場合も含めて処理時間を記録する
+   *
+   * @param timer タイマー
+   * @param joinPoint ジョインポイント
+   * @return メソッドの戻り値
+   * @throws Throwable メソッドがスローした例外
+   */
+  private static Object time(Timer timer, ProceedingJoinPoint joinPoint) throws Throwable {
+    long startedAt = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+  }
+}
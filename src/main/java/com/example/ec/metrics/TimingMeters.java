@@ -0,0 +1,31 @@
+package com.example.ec.metrics;
+
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+
+/**
+ * 処理時間メトリクスのタイマーの共通設定
+ *
+ * <p>設定したSLOのバケットとパーセンタイルのヒストグラムを付けたタイマーのビルダーを生成する。
+ */
+public final class TimingMeters {
+
+  private TimingMeters() {}
+
+  /**
+   * SLOのバケットとヒストグラムを設定したタイマーのビルダーを生成する
+   *
+   * @param name メトリクス名
+   * @param description 説明
+   * @param config 処理時間メトリクス設定
+   * @return タイマーのビルダー
+   */
+  public static Timer.Builder timer(String name, String description, TimingMetricsConfig config) {
+    return Timer.builder(name)
+        .description(description)
+        .serviceLevelObjectives(
+            config.getSlo().stream().map(Duration::ofMillis).toArray(Duration[]::new))
+        .publishPercentileHistogram(config.isPercentileHistogram());
+  }
+}
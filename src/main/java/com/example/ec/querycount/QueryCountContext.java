@@ -0,0 +1,52 @@
+package com.example.ec.querycount;
+
+/**
+ * 現在のスレッドのクエリ数の計測先
+ *
+ * <p>{@link QueryCountingDataSource}はステートメントの作成時にここで設定された計測先がある場合のみステートメントを包み、SQLの実行を記録する。
+ */
+public final class QueryCountContext {
+
+  private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+  private QueryCountContext() {}
+
+  /**
+   * 現在のスレッドの計測先を取得する
+   *
+   * @return 計測先（設定されていない場合はnull）
+   */
+  public static RequestQueryStats current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * 計測先を設定する（戻り値を閉じると元の計測先に戻す）
+   *
+   * <p>既に計測先が設定されている場合（テストのクエリ数の検証中にリクエストを処理する場合など）、元の計測先にも記録する。
+   *
+   * @param stats 計測先
+   * @return 元に戻すためのスコープ
+   */
+  public static Scope enter(RequestQueryStats stats) {
+    RequestQueryStats previous = CURRENT.get();
+    stats.attach(previous);
+    CURRENT.set(stats);
+    return () -> {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    };
+  }
+
+  /** 計測先の設定範囲 */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+
+    /** 元の計測先に戻す */
+    @Override
+    void close();
+  }
+}
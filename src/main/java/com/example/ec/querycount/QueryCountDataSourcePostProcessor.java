@@ -0,0 +1,35 @@
+package com.example.ec.querycount;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * アプリケーションのDataSourceを{@link QueryCountingDataSource}で包むポストプロセッサー
+ *
+ * <p>JPA・JDBC読み取りリポジトリが使う{@code dataSource}のBeanだけを包む（振り分け設定の個別のコネクションプールは包まない）。
+ */
+@Component
+@ConditionalOnProperty(prefix = "query-count", name = "enabled", havingValue = "true")
+public class QueryCountDataSourcePostProcessor implements BeanPostProcessor {
+
+  private static final String DATA_SOURCE_BEAN = "dataSource";
+
+  /**
+   * アプリケーションのDataSourceを包む
+   *
+   * @param bean Bean
+   * @param beanName Bean名
+   * @return 包んだDataSource（対象外のBeanはそのまま）
+   */
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (DATA_SOURCE_BEAN.equals(beanName)
+        && bean instanceof DataSource dataSource
+        && !(bean instanceof QueryCountingDataSource)) {
+      return new QueryCountingDataSource(dataSource);
+    }
+    return bean;
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.ec.querycount;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * N+1の疑いの管理エンドポイント
+ *
+ * <p>{@code GET /actuator/querycount}（{@code ?limit=20}で件数を指定）で、同じ形のSQLを繰り返し実行した箇所を
+ * 繰り返し実行されたSQLの合計回数の多い順に返す。
+ * 公開するには{@code management.endpoints.web.exposure.include}に追加する（ADMINロールが必要）。
+ */
+@Component
+@Endpoint(id = "querycount")
+@ConditionalOnProperty(prefix = "query-count", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class QueryCountEndpoint {
+
+  private static final int DEFAULT_LIMIT = 20;
+
+  private final QueryCountRecorder queryCountRecorder;
+
+  /**
+   * N+1の疑いが多い箇所を取得する
+   *
+   * @param limit 最大件数（省略時は20件）
+   * @return 箇所（エンドポイント・SQLの形・検出したリクエスト数・合計回数・最大の実行回数）
+   */
+  @ReadOperation
+  public Map<String, Object> offenders(@Nullable Integer limit) {
+    List<QueryCountRecorder.OffenderSummary> offenders =
+        queryCountRecorder.topOffenders(limit != null ? limit : DEFAULT_LIMIT);
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("offenders", offenders);
+    return result;
+  }
+}
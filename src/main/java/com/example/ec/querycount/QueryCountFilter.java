@@ -0,0 +1,82 @@
+package com.example.ec.querycount;
+
+import com.example.ec.config.QueryCountConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * リクエストごとのSQLの実行状況の計測フィルター
+ *
+ * <p>リクエストの処理中は{@link QueryCountContext}に計測先を設定し、処理後に{@link QueryCountRecorder}へ記録する。
+ * {@code query-count.response-headers=true}の場合は、SQLの実行回数を{@code X-Db-Query-Count}、
+ * DB時間を{@code Server-Timing}ヘッダーで返す（ヘッダーを本文より後に設定するため、本文をバッファリングする）。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "query-count", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+  static final String QUERY_COUNT_HEADER = "X-Db-Query-Count";
+  static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  private final QueryCountConfig queryCountConfig;
+  private final QueryCountRecorder queryCountRecorder;
+
+  /**
+   * リクエストを処理し、SQLの実行状況を記録する
+   *
+   * @param request リクエスト
+   * @param response レスポンス
+   * @param filterChain フィルターチェーン
+   * @throws ServletException サーブレットエラー
+   * @throws IOException 入出力エラー
+   */
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    RequestQueryStats stats = new RequestQueryStats();
+    ContentCachingResponseWrapper buffered =
+        queryCountConfig.isResponseHeaders() ? new ContentCachingResponseWrapper(response) : null;
+    try (QueryCountContext.Scope scope = QueryCountContext.enter(stats)) {
+      filterChain.doFilter(request, buffered != null ? buffered : response);
+    } finally {
+      queryCountRecorder.record(endpoint(request), stats);
+      if (buffered != null) {
+        buffered.setHeader(QUERY_COUNT_HEADER, Integer.toString(stats.statements()));
+        buffered.setHeader(
+            SERVER_TIMING_HEADER,
+            String.format(
+                Locale.ROOT,
+                "db;dur=%.3f;desc=\"%d queries\"",
+                stats.nanos() / 1_000_000.0,
+                stats.statements()));
+        buffered.copyBodyToResponse();
+      }
+    }
+  }
+
+  /**
+   * メトリクスのタグに使うエンドポイントを取得する
+   *
+   * @param request リクエスト
+   * @return メソッドとURIパターン（ハンドラーに対応しないリクエストは{@code UNMAPPED}）
+   */
+  private static String endpoint(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+  }
+}
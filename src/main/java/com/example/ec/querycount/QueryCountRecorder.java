@@ -0,0 +1,247 @@
+package com.example.ec.querycount;
+
+import com.example.ec.config.QueryCountConfig;
+import com.example.ec.config.TimingMetricsConfig;
+import com.example.ec.metrics.TimingMeters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * リクエストごとのSQLの実行状況の集計
+ *
+ * <p>エンドポイント（URIパターン）ごとに、SQLの実行回数を{@code db.request.statements}、DB時間を{@code db.request.time}、
+ * N+1の疑いがあったリクエスト数を{@code db.request.repeated}に記録する。 N+1の疑いはエンドポイントとSQLの形の組み合わせごとに
+ * 集計して{@code /actuator/querycount}で多い順に返し、警告ログは組み合わせごとに{@code query-count.log-interval}に1回だけ出力する。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "query-count", name = "enabled", havingValue = "true")
+public class QueryCountRecorder {
+
+  private final QueryCountConfig config;
+  private final TimingMetricsConfig timingMetricsConfig;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, EndpointMeters> endpointMeters = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Offender>> offenders = new ConcurrentHashMap<>();
+  private final AtomicInteger offenderCount = new AtomicInteger();
+
+  /**
+   * リクエストごとのSQLの実行状況の集計を生成する
+   *
+   * @param config クエリ数計測設定
+   * @param timingMetricsConfig 処理時間メトリクス設定（DB時間のバケット）
+   * @param meterRegistry メトリクスレジストリ
+   */
+  public QueryCountRecorder(
+      QueryCountConfig config,
+      TimingMetricsConfig timingMetricsConfig,
+      MeterRegistry meterRegistry) {
+    this.config = config;
+    this.timingMetricsConfig = timingMetricsConfig;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * リクエストのSQLの実行状況を記録する
+   *
+   * @param endpoint エンドポイント（URIパターン）
+   * @param stats SQLの実行状況
+   * @return N+1の疑いがあるSQL（実行回数の多い順）
+   */
+  public List<RequestQueryStats.RepeatedStatement> record(
+      String endpoint, RequestQueryStats stats) {
+    EndpointMeters meters = endpointMeters.get(endpoint);
+    if (meters == null) {
+      meters = endpointMeters.computeIfAbsent(endpoint, this::createMeters);
+    }
+    meters.statements().record(stats.statements());
+    meters.time().record(stats.nanos(), TimeUnit.NANOSECONDS);
+    if (stats.statements() < config.getRepeatThreshold()) {
+      return List.of();
+    }
+    List<RequestQueryStats.RepeatedStatement> repeated =
+        stats.repeated(config.getRepeatThreshold());
+    if (!repeated.isEmpty()) {
+      meters.repeated().increment();
+      for (RequestQueryStats.RepeatedStatement statement : repeated) {
+        recordOffender(endpoint, statement);
+      }
+    }
+    return repeated;
+  }
+
+  /**
+   * N+1の疑いが多い箇所を取得する
+   *
+   * @param limit 最大件数
+   * @return 繰り返し実行されたSQLの合計回数の多い順の箇所
+   */
+  public List<OffenderSummary> topOffenders(int limit) {
+    return offenders.values().stream()
+        .flatMap(shapes -> shapes.values().stream())
+        .map(Offender::summary)
+        .sorted(Comparator.comparingLong(OffenderSummary::statements).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  /**
+   * N+1の疑いを箇所ごとに集計し、間隔を空けて警告ログを出力する
+   *
+   * @param endpoint エンドポイント
+   * @param statement 繰り返し実行されたSQL
+   */
+  private void recordOffender(String endpoint, RequestQueryStats.RepeatedStatement statement) {
+    Map<String, Offender> shapes =
+        offenders.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+    Offender offender = shapes.get(statement.shape());
+    if (offender == null) {
+      if (offenderCount.get() >= config.getMaxOffenders()) {
+        return;
+      }
+      // 上限の判定と加算を一度に行い、同時に登録されても上限を超えないようにする
+      offender =
+          shapes.computeIfAbsent(
+              statement.shape(),
+              shape -> {
+                if (offenderCount.incrementAndGet() > config.getMaxOffenders()) {
+                  offenderCount.decrementAndGet();
+                  return null;
+                }
+                return new Offender(endpoint, shape);
+              });
+      if (offender == null) {
+        return;
+      }
+    }
+    offender.record(statement.count());
+    if (offender.shouldLog(System.currentTimeMillis(), config.getLogInterval())) {
+      log.warn(
+          "N+1の疑いがあります: endpoint={}, count={}, sql={}",
+          endpoint,
+          statement.count(),
+          statement.shape());
+    }
+  }
+
+  /**
+   * エンドポイントのメーターを生成する
+   *
+   * @param endpoint エンドポイント
+   * @return メーター
+   */
+  private EndpointMeters createMeters(String endpoint) {
+    return new EndpointMeters(
+        DistributionSummary.builder("db.request.statements")
+            .description("リクエストごとのSQLの実行回数")
+            .baseUnit("statements")
+            .publishPercentileHistogram(timingMetricsConfig.isPercentileHistogram())
+            .tag("endpoint", endpoint)
+            .register(meterRegistry),
+        TimingMeters.timer("db.request.time", "リクエストごとのSQLの実行時間の合計", timingMetricsConfig)
+            .tag("endpoint", endpoint)
+            .register(meterRegistry),
+        Counter.builder("db.request.repeated")
+            .description("同じ形のSQLを繰り返し実行した（N+1の疑いがある）リクエスト数")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry));
+  }
+
+  /**
+   * エンドポイントのメーター
+   *
+   * @param statements SQLの実行回数
+   * @param time SQLの実行時間の合計
+   * @param repeated N+1の疑いがあったリクエスト数
+   */
+  private record EndpointMeters(DistributionSummary statements, Timer time, Counter repeated) {}
+
+  /**
+   * N+1の疑いがある箇所の集計値
+   *
+   * @param endpoint エンドポイント
+   * @param sql SQLの形
+   * @param requests 検出したリクエスト数
+   * @param statements 繰り返し実行されたSQLの合計回数
+   * @param maxRepeats 1つのリクエストでの最大の実行回数
+   */
+  public record OffenderSummary(
+      String endpoint, String sql, long requests, long statements, int maxRepeats) {}
+
+  /**
+   * N+1の疑いがある箇所
+   *
+   * <p>集計値は不変の{@link OffenderSummary}をCASで差し替えて更新する。 値ごとに別々のカウンターで加算すると、
+   * 取得中の更新で検出数と合計回数の組み合わせが食い違うことがあるため。
+   */
+  private static final class Offender {
+
+    private final String endpoint;
+    private final String shape;
+    private final AtomicReference<OffenderSummary> totals;
+    private final AtomicLong lastLoggedAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * N+1の疑いがある箇所を生成する
+     *
+     * @param endpoint エンドポイント
+     * @param shape SQLの形
+     */
+    Offender(String endpoint, String shape) {
+      this.endpoint = endpoint;
+      this.shape = shape;
+      this.totals = new AtomicReference<>(new OffenderSummary(endpoint, shape, 0, 0, 0));
+    }
+
+    /**
+     * 1つのリクエストでの検出を記録する
+     *
+     * @param count 実行回数
+     */
+    void record(int count) {
+      totals.updateAndGet(
+          current ->
+              new OffenderSummary(
+                  endpoint,
+                  shape,
+                  current.requests() + 1,
+                  current.statements() + count,
+                  Math.max(current.maxRepeats(), count)));
+    }
+
+    /**
+     * 警告ログを出力するかどうかを判定する（出力する場合は最終出力時刻を更新する）
+     *
+     * @param now 現在時刻（エポックミリ秒）
+     * @param interval 出力間隔（ミリ秒）
+     * @return 前回の出力から間隔が空いている場合true
+     */
+    boolean shouldLog(long now, long interval) {
+      long last = lastLoggedAt.get();
+      return (last == Long.MIN_VALUE || now - last >= interval)
+          && lastLoggedAt.compareAndSet(last, now);
+    }
+
+    /**
+     * 集計値を取得する
+     *
+     * @return 集計値
+     */
+    OffenderSummary summary() {
+      return totals.get();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.example.ec.querycount;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * SQLの実行を計測するDataSource
+ *
+ * <p>取得した接続を包み、{@link QueryCountContext}に計測先が設定されたスレッドで作成したステートメントの
+ * {@code execute*}の呼び出しごとの実行時間・SQLを計測先に記録する。 接続の取得は取得時に計測先がある場合に記録する。
+ * トランザクション（テストの{@code @Transactional}を含む）の開始時に取得済みの接続でも、計測中に作成したステートメントは記録する。
+ * 計測先がない場合（バックグラウンド処理・起動時のマイグレーションなど）はステートメントを包まない。
+ * 計測先が詳細を記録する場合は結果セットも包み、読み取った行数を記録する。 Hibernateが発行するSQLとJDBC読み取りリポジトリのSQLの両方を
+ * 記録できるよう、HibernateのStatementInspectorではなくJDBCの層で計測する。
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+  /**
+   * SQLの実行を計測するDataSourceを生成する
+   *
+   * @param targetDataSource 包むDataSource
+   */
+  public QueryCountingDataSource(DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  /**
+   * 接続を取得する
+   *
+   * @return 接続（計測中の場合は計測用に包んだもの）
+   * @throws SQLException 接続の取得エラー
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    return track(super.getConnection());
+  }
+
+  /**
+   * 認証情報を指定して接続を取得する
+   *
+   * @param username ユーザー名
+   * @param password パスワード
+   * @return 接続（計測中の場合は計測用に包んだもの）
+   * @throws SQLException 接続の取得エラー
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return track(super.getConnection(username, password));
+  }
+
+  /**
+   * 接続を包み、計測中の場合は接続の取得を記録する
+   *
+   * @param connection 接続
+   * @return 包んだ接続
+   */
+  private static Connection track(Connection connection) {
+    RequestQueryStats current = QueryCountContext.current();
+    if (current != null) {
+      current.recordConnection();
+    }
+    InvocationHandler handler =
+        (proxy, method, args) -> {
+          Object result = invoke(method, connection, args);
+          if (result instanceof Statement statement) {
+            RequestQueryStats stats = QueryCountContext.current();
+            if (stats == null) {
+              return statement;
+            }
+            String sql =
+                method.getName().startsWith("prepare") && args[0] instanceof String s ? s : null;
+            return wrapStatement(statement, sql, stats);
+          }
+          return result;
+        };
+    return (Connection)
+        Proxy.newProxyInstance(
+            QueryCountingDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            handler);
+  }
+
+  /**
+   * ステートメントを包み、SQLの実行を記録する
+   *
+   * @param statement ステートメント
+   * @param preparedSql 準備したSQL（{@link Connection#createStatement()}の場合はnull）
+   * @param stats 計測先
+   * @return 包んだステートメント
+   */
+  private static Statement wrapStatement(
+      Statement statement, String preparedSql, RequestQueryStats stats) {
+    Class<?> type =
+        statement instanceof CallableStatement
+            ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+    InvocationHandler handler =
+        (proxy, method, args) -> {
+          String name = method.getName();
+          if (!name.startsWith("execute")) {
+            Object result = invoke(method, statement, args);
+            return name.equals("getResultSet") ? wrapResultSet(result, stats) : result;
+          }
+          String sql =
+              args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+          long startedAt = System.nanoTime();
+          Object result;
+          try {
+            result = invoke(method, statement, args);
+          } finally {
+            stats.recordStatement(sql, System.nanoTime() - startedAt);
+          }
+          return wrapResultSet(result, stats);
+        };
+    return (Statement)
+        Proxy.newProxyInstance(
+            QueryCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+  }
+
+  /**
+   * 計測先が詳細を記録する場合、結果セットを包んで読み取った行数を記録する
+   *
+   * @param result ステートメントのメソッドの戻り値
+   * @param stats 計測先
+   * @return 包んだ結果セット（結果セット以外・行数を数えない場合はそのまま）
+   */
+  private static Object wrapResultSet(Object result, RequestQueryStats stats) {
+    if (!(result instanceof ResultSet resultSet) || !stats.countsRows()) {
+      return result;
+    }
+    InvocationHandler handler =
+        (proxy, method, args) -> {
+          Object value = invoke(method, resultSet, args);
+          if (method.getName().equals("next") && Boolean.TRUE.equals(value)) {
+            stats.recordRow();
+          }
+          return value;
+        };
+    return Proxy.newProxyInstance(
+        QueryCountingDataSource.class.getClassLoader(), new Class<?>[] {ResultSet.class}, handler);
+  }
+
+  /**
+   * 対象のメソッドを呼び出し、呼び出し先の例外をそのまま投げる
+   *
+   * @param method メソッド
+   * @param target 対象
+   * @param args 引数
+   * @return 戻り値
+   * @throws Throwable 呼び出し先の例外
+   */
+  private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
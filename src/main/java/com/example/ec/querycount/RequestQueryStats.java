@@ -0,0 +1,167 @@
+package com.example.ec.querycount;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 1つのリクエストのSQLの実行状況
+ *
+ * <p>SQLの実行回数・実行時間の合計・接続の取得回数と、SQLの形ごとの実行回数を記録する。
+ * 詳細を記録する場合（テストのクエリ数の上限の検証）は、実行したSQLと結果セットから読み取った行数も記録する。
+ * 計測先を入れ子に設定した場合は外側の計測先にも記録する。 リクエストを処理するスレッドからのみ使うため同期しない。
+ */
+public final class RequestQueryStats {
+
+  private final boolean detailed;
+  private final Map<String, Integer> shapes = new HashMap<>();
+  private final List<String> executed;
+  private RequestQueryStats parent;
+  private boolean countRows;
+  private int statements;
+  private long nanos;
+  private int connections;
+  private long rows;
+
+  /** 実行回数・実行時間・接続の取得回数だけを記録する実行状況を生成する */
+  public RequestQueryStats() {
+    this(false);
+  }
+
+  /**
+   * 実行状況を生成する
+   *
+   * @param detailed 実行したSQLと読み取った行数も記録する場合true
+   */
+  public RequestQueryStats(boolean detailed) {
+    this.detailed = detailed;
+    this.countRows = detailed;
+    this.executed = detailed ? new ArrayList<>() : null;
+  }
+
+  /**
+   * 外側の計測先を設定する
+   *
+   * @param parent 外側の計測先（ない場合はnull）
+   */
+  void attach(RequestQueryStats parent) {
+    this.parent = parent;
+    this.countRows = detailed || (parent != null && parent.countRows);
+  }
+
+  /**
+   * 結果セットの行数を数えるかどうかを判定する
+   *
+   * @return 自身または外側の計測先が詳細を記録する場合true
+   */
+  boolean countsRows() {
+    return countRows;
+  }
+
+  /** 接続の取得を記録する */
+  void recordConnection() {
+    for (RequestQueryStats stats = this; stats != null; stats = stats.parent) {
+      stats.connections++;
+    }
+  }
+
+  /**
+   * SQLの実行を記録する
+   *
+   * @param sql SQL（不明な場合はnull）
+   * @param elapsedNanos 実行時間（ナノ秒）
+   */
+  void recordStatement(String sql, long elapsedNanos) {
+    String shape = sql != null ? SqlShape.of(sql) : null;
+    for (RequestQueryStats stats = this; stats != null; stats = stats.parent) {
+      stats.statements++;
+      stats.nanos += elapsedNanos;
+      if (shape != null) {
+        stats.shapes.merge(shape, 1, Integer::sum);
+      }
+      if (stats.detailed) {
+        stats.executed.add(shape != null ? shape : "(unknown)");
+      }
+    }
+  }
+
+  /** 結果セットから1行読み取ったことを記録する */
+  void recordRow() {
+    for (RequestQueryStats stats = this; stats != null; stats = stats.parent) {
+      stats.rows++;
+    }
+  }
+
+  /**
+   * SQLの実行回数を取得する
+   *
+   * @return 実行回数
+   */
+  public int statements() {
+    return statements;
+  }
+
+  /**
+   * SQLの実行時間の合計を取得する（結果セットの読み取り時間は含まない）
+   *
+   * @return 実行時間（ナノ秒）
+   */
+  public long nanos() {
+    return nanos;
+  }
+
+  /**
+   * 接続の取得回数を取得する
+   *
+   * @return 取得回数
+   */
+  public int connections() {
+    return connections;
+  }
+
+  /**
+   * 結果セットから読み取った行数を取得する
+   *
+   * @return 行数（自身と外側の計測先のいずれも詳細を記録しない場合は0）
+   */
+  public long rows() {
+    return rows;
+  }
+
+  /**
+   * 実行したSQLの形を実行順に取得する
+   *
+   * @return SQLの形（詳細を記録しない場合は空）
+   */
+  public List<String> executedStatements() {
+    return executed != null ? Collections.unmodifiableList(executed) : List.of();
+  }
+
+  /**
+   * 指定した回数以上実行された形のSQLを取得する
+   *
+   * @param threshold 実行回数の下限
+   * @return 繰り返し実行されたSQL（実行回数の多い順）
+   */
+  public List<RepeatedStatement> repeated(int threshold) {
+    List<RepeatedStatement> repeated = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+      if (entry.getValue() >= threshold) {
+        repeated.add(new RepeatedStatement(entry.getKey(), entry.getValue()));
+      }
+    }
+    repeated.sort(Comparator.comparingInt(RepeatedStatement::count).reversed());
+    return repeated;
+  }
+
+  /**
+   * 繰り返し実行されたSQL
+   *
+   * @param shape SQLの形
+   * @param count 実行回数
+   */
+  public record RepeatedStatement(String shape, int count) {}
+}
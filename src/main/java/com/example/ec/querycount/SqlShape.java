@@ -0,0 +1,55 @@
+package com.example.ec.querycount;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQLの形
+ *
+ * <p>空白をまとめ、文字列・数値のリテラルと{@code IN}句のパラメータの並びを{@code ?}に置き換えて、
+ * バインド値やパラメータ数だけが異なるSQLを同じ形として扱う。 アプリケーションが発行するSQLの種類は限られるため、
+ * 正規化の結果は上限まで保持して再利用する。
+ */
+public final class SqlShape {
+
+  private static final int MAX_CACHED = 2000;
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+  private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+  private SqlShape() {}
+
+  /**
+   * SQLの形を取得する
+   *
+   * @param sql SQL
+   * @return 正規化したSQL
+   */
+  public static String of(String sql) {
+    String shape = CACHE.get(sql);
+    if (shape != null) {
+      return shape;
+    }
+    shape = normalize(sql);
+    if (CACHE.size() < MAX_CACHED) {
+      CACHE.put(sql, shape);
+    }
+    return shape;
+  }
+
+  /**
+   * SQLを正規化する
+   *
+   * @param sql SQL
+   * @return 正規化したSQL
+   */
+  static String normalize(String sql) {
+    String shape = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+    shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    return IN_LIST.matcher(shape).replaceAll("(?)");
+  }
+}
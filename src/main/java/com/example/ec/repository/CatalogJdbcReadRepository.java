@@ -0,0 +1,377 @@
+package com.example.ec.repository;
+
+import com.example.ec.catalog.CatalogData;
+import com.example.ec.catalog.CatalogFacet;
+import com.example.ec.catalog.CatalogFilter;
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.entity.ImageUrls;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.stereotype.Repository;
+
+/**
+ * カタログ読み取り用のJDBCリポジトリ
+ *
+ * <p>カテゴリ一覧・カテゴリ詳細のDB検索を、永続化コンテキスト（1次キャッシュ・スナップショット・遅延ロード用プロキシ）を介さずに行い、
+ * 結果を変更不可のレコードに直接詰める。 IDやファセット値のリストは{@code = ANY(配列)}の1つのパラメータとして渡す。
+ * 検索条件の意味はJPAのリポジトリ（{@link ProductRepository}・{@link ProductSpecifications}）と同じ。
+ */
+@Repository
+@ConditionalOnProperty(prefix = "catalog.jdbc-read", name = "enabled", havingValue = "true")
+public class CatalogJdbcReadRepository {
+
+  private static final String CATEGORY_COLUMNS =
+      "c.category_code, c.display_name, c.hero_image_url, c.lead_text, c.display_order";
+  private static final String CATEGORY_SUMMARIES_SQL =
+      "SELECT "
+          + CATEGORY_COLUMNS
+          + ", COUNT(p.id) AS product_count FROM categories c "
+          + "LEFT JOIN products p ON p.category_code = c.category_code AND p.is_active = TRUE "
+          + "WHERE c.is_active = TRUE GROUP BY "
+          + CATEGORY_COLUMNS
+          + " ORDER BY c.display_order";
+  private static final String ACTIVE_CATEGORY_SQL =
+      "SELECT " + CATEGORY_COLUMNS + " FROM categories c "
+          + "WHERE c.category_code = ? AND c.is_active = TRUE";
+  private static final String PRODUCT_COLUMNS =
+      "p.id, p.name, p.description, p.price, p.category_code, p.created_at";
+  private static final String VARIANTS_SQL =
+      "SELECT id, product_id, manufacturer, model_name, storage_capacity, color_code, color_name, "
+          + "CAST(image_urls AS TEXT) AS image_urls FROM product_variants "
+          + "WHERE product_id = ANY(?) ORDER BY product_id, id";
+  private static final String CAMPAIGN_BADGES_SQL =
+      "SELECT pc.product_id, c.campaign_code, c.badge_text, c.valid_from, c.valid_to "
+          + "FROM product_campaigns pc JOIN campaigns c ON c.id = pc.campaign_id "
+          + "WHERE pc.product_id = ANY(?) AND c.is_active = TRUE "
+          + "AND (c.valid_to IS NULL OR c.valid_to >= ?) "
+          + "ORDER BY pc.product_id, c.id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * JDBC読み取りリポジトリを生成する
+   *
+   * @param dataSource DataSource
+   * @param catalogConfig カタログ設定
+   */
+  public CatalogJdbcReadRepository(DataSource dataSource, CatalogConfig catalogConfig) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(catalogConfig.getJdbcRead().getFetchSize());
+  }
+
+  /**
+   * アクティブなカテゴリをアクティブな商品数とともに表示順に取得する（1回のクエリで集計する）
+   *
+   * @return カテゴリと商品数
+   */
+  public List<CategorySummary> findActiveCategorySummaries() {
+    return jdbcTemplate.query(
+        CATEGORY_SUMMARIES_SQL,
+        (rs, rowNum) -> new CategorySummary(mapCategory(rs), rs.getLong("product_count")));
+  }
+
+  /**
+   * カテゴリコードでアクティブなカテゴリを取得する
+   *
+   * @param categoryCode カテゴリコード
+   * @return カテゴリ（存在しない場合はOptional.empty()）
+   */
+  public Optional<CatalogData.CategoryRow> findActiveCategory(String categoryCode) {
+    return jdbcTemplate
+        .query(ACTIVE_CATEGORY_SQL, (rs, rowNum) -> mapCategory(rs), categoryCode)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * カテゴリ・キーワード・絞り込み条件に一致するアクティブな商品の1ページを取得する
+   *
+   * <p>先頭ページの件数がページサイズに満たない場合は、件数のクエリを省略する。
+   *
+   * @param categoryCode カテゴリコード
+   * @param keyword 検索キーワード（キーワードなしの場合は空文字列）
+   * @param filter 絞り込み条件
+   * @param sortColumn ソート列（name・price・created_at）
+   * @param descending 降順の場合はtrue
+   * @param page ページ番号（0始まり）
+   * @param size ページサイズ
+   * @return 商品のページ
+   */
+  public ProductPage findProductPage(
+      String categoryCode,
+      String keyword,
+      CatalogFilter filter,
+      String sortColumn,
+      boolean descending,
+      int page,
+      int size) {
+    List<Object> args = new ArrayList<>();
+    String where = productWhere(categoryCode, keyword, filter, args);
+    List<Object> pageArgs = new ArrayList<>(args);
+    pageArgs.add(size);
+    pageArgs.add((long) page * size);
+    List<CatalogData.ProductRow> products =
+        jdbcTemplate.query(
+            "SELECT "
+                + PRODUCT_COLUMNS
+                + " FROM products p"
+                + where
+                + " ORDER BY p."
+                + sortColumn
+                + (descending ? " DESC" : " ASC")
+                + ", p.id LIMIT ? OFFSET ?",
+            CatalogJdbcReadRepository::mapProduct,
+            pageArgs.toArray());
+    long total;
+    if (page == 0 && products.size() < size) {
+      total = products.size();
+    } else {
+      Long count =
+          jdbcTemplate.queryForObject(
+              "SELECT COUNT(*) FROM products p" + where, Long.class, args.toArray());
+      total = count != null ? count : 0L;
+    }
+    return new ProductPage(products, total);
+  }
+
+  /**
+   * 商品IDでバリアントを取得する
+   *
+   * @param productIds 商品ID
+   * @return バリアント（商品ID、バリアントID順）
+   */
+  public List<CatalogData.VariantRow> findVariants(List<Long> productIds) {
+    if (productIds.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(
+        VARIANTS_SQL,
+        CatalogJdbcReadRepository::mapVariant,
+        new ArrayValue("bigint", productIds.toArray()));
+  }
+
+  /**
+   * 商品IDで終了していないアクティブなキャンペーンのバッジを取得する
+   *
+   * <p>これから開始するキャンペーンも含めて返すため、現在表示すべきかは{@link CampaignBadgeRow#isValidAt}で判定する
+   * （開始・終了の時刻は検索結果をキャッシュできる期限の算出にも使う）。
+   *
+   * @param productIds 商品ID
+   * @param now キャンペーンの終了判定に使う現在時刻
+   * @return キャンペーンバッジ（商品ID、キャンペーンID順）
+   */
+  public List<CampaignBadgeRow> findCampaignBadges(List<Long> productIds, Instant now) {
+    if (productIds.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(
+        CAMPAIGN_BADGES_SQL,
+        CatalogJdbcReadRepository::mapCampaignBadge,
+        new ArrayValue("bigint", productIds.toArray()),
+        Timestamp.from(now));
+  }
+
+  /**
+   * 商品検索のWHERE句を組み立て、バインドする値を追加する
+   *
+   * @param categoryCode カテゴリコード
+   * @param keyword 検索キーワード（キーワードなしの場合は空文字列）
+   * @param filter 絞り込み条件
+   * @param args バインドする値の追加先
+   * @return WHERE句（先頭に空白を含む）
+   */
+  private static String productWhere(
+      String categoryCode, String keyword, CatalogFilter filter, List<Object> args) {
+    StringBuilder where = new StringBuilder(" WHERE p.category_code = ? AND p.is_active = TRUE");
+    args.add(categoryCode);
+    if (!keyword.isEmpty()) {
+      // JPAのリポジトリと同じく、小文字化はJVMのロケールに依存しないようDBのLOWERで行う
+      String pattern = "%" + keyword + "%";
+      where.append(" AND (LOWER(p.name) LIKE LOWER(?) OR LOWER(p.description) LIKE LOWER(?))");
+      args.add(pattern);
+      args.add(pattern);
+    }
+    if (filter.minPrice() != null) {
+      where.append(" AND p.price >= ?");
+      args.add(filter.minPrice());
+    }
+    if (filter.maxPrice() != null) {
+      where.append(" AND p.price <= ?");
+      args.add(filter.maxPrice());
+    }
+    for (CatalogFacet facet : CatalogFacet.values()) {
+      List<String> selected = filter.values(facet);
+      if (!selected.isEmpty()) {
+        where
+            .append(" AND EXISTS (SELECT 1 FROM product_variants v")
+            .append(" WHERE v.product_id = p.id AND v.")
+            .append(facetColumn(facet))
+            .append(" = ANY(?))");
+        args.add(new ArrayValue("varchar", selected.toArray()));
+      }
+    }
+    return where.toString();
+  }
+
+  /**
+   * ファセットに対応するバリアントの列名を取得する
+   *
+   * @param facet ファセット
+   * @return 列名
+   */
+  private static String facetColumn(CatalogFacet facet) {
+    return switch (facet) {
+      case MANUFACTURER -> "manufacturer";
+      case STORAGE_CAPACITY -> "storage_capacity";
+      case COLOR_NAME -> "color_name";
+    };
+  }
+
+  /**
+   * 結果セットの現在行をカテゴリに変換する
+   *
+   * @param rs 結果セット
+   * @return カテゴリ
+   * @throws SQLException 読み取りエラー
+   */
+  private static CatalogData.CategoryRow mapCategory(ResultSet rs) throws SQLException {
+    return new CatalogData.CategoryRow(
+        rs.getString("category_code"),
+        rs.getString("display_name"),
+        rs.getString("hero_image_url"),
+        rs.getString("lead_text"),
+        rs.getInt("display_order"));
+  }
+
+  /**
+   * 結果セットの1行を商品に変換する
+   *
+   * @param rs 結果セット
+   * @param rowNum 行番号
+   * @return 商品
+   * @throws SQLException 読み取りエラー
+   */
+  private static CatalogData.ProductRow mapProduct(ResultSet rs, int rowNum) throws SQLException {
+    Timestamp createdAt = rs.getTimestamp("created_at");
+    return new CatalogData.ProductRow(
+        rs.getLong("id"),
+        rs.getString("name"),
+        rs.getString("description"),
+        rs.getBigDecimal("price"),
+        rs.getString("category_code"),
+        createdAt != null ? createdAt.toInstant() : null);
+  }
+
+  /**
+   * 結果セットの1行をバリアントに変換する
+   *
+   * @param rs 結果セット
+   * @param rowNum 行番号
+   * @return バリアント（画像URLはアクセス時にデコードする）
+   * @throws SQLException 読み取りエラー
+   */
+  private static CatalogData.VariantRow mapVariant(ResultSet rs, int rowNum) throws SQLException {
+    return new CatalogData.VariantRow(
+        rs.getLong("id"),
+        rs.getLong("product_id"),
+        rs.getString("manufacturer"),
+        rs.getString("model_name"),
+        rs.getString("storage_capacity"),
+        rs.getString("color_code"),
+        rs.getString("color_name"),
+        ImageUrls.fromJson(rs.getString("image_urls")));
+  }
+
+  /**
+   * 結果セットの1行をキャンペーンバッジに変換する
+   *
+   * @param rs 結果セット
+   * @param rowNum 行番号
+   * @return キャンペーンバッジ
+   * @throws SQLException 読み取りエラー
+   */
+  private static CampaignBadgeRow mapCampaignBadge(ResultSet rs, int rowNum) throws SQLException {
+    Timestamp validFrom = rs.getTimestamp("valid_from");
+    Timestamp validTo = rs.getTimestamp("valid_to");
+    return new CampaignBadgeRow(
+        rs.getLong("product_id"),
+        rs.getString("campaign_code"),
+        rs.getString("badge_text"),
+        validFrom != null ? validFrom.toInstant() : null,
+        validTo != null ? validTo.toInstant() : null);
+  }
+
+  /**
+   * カテゴリと商品数
+   *
+   * @param category カテゴリ
+   * @param productCount アクティブな商品数
+   */
+  public record CategorySummary(CatalogData.CategoryRow category, long productCount) {}
+
+  /**
+   * 商品のページ
+   *
+   * @param products ページ内の商品
+   * @param total 条件に一致する商品の総数
+   */
+  public record ProductPage(List<CatalogData.ProductRow> products, long total) {}
+
+  /**
+   * 商品のキャンペーンバッジ
+   *
+   * @param productId 商品ID
+   * @param campaignCode キャンペーンコード
+   * @param badgeText バッジテキスト
+   * @param validFrom 開始日時（null可）
+   * @param validTo 終了日時（null可）
+   */
+  public record CampaignBadgeRow(
+      long productId, String campaignCode, String badgeText, Instant validFrom, Instant validTo) {
+
+    /**
+     * 指定した時刻にキャンペーンが有効かを判定する
+     *
+     * @param now 判定する時刻
+     * @return 開始日時以降かつ終了日時以前であればtrue
+     */
+    public boolean isValidAt(Instant now) {
+      return (validFrom == null || !now.isBefore(validFrom))
+          && (validTo == null || !now.isAfter(validTo));
+    }
+  }
+
+  /**
+   * 配列として1つのパラメータにバインドする値
+   *
+   * @param elementType 要素のSQL型名
+   * @param elements 要素
+   */
+  private record ArrayValue(String elementType, Object[] elements) implements SqlTypeValue {
+
+    /**
+     * 接続から配列を生成してバインドする
+     *
+     * @param ps プリペアドステートメント
+     * @param paramIndex パラメータ位置
+     * @param sqlType SQL型（未使用）
+     * @param typeName 型名（未使用）
+     * @throws SQLException バインドエラー
+     */
+    @Override
+    public void setTypeValue(PreparedStatement ps, int paramIndex, int sqlType, String typeName)
+        throws SQLException {
+      ps.setArray(paramIndex, ps.getConnection().createArrayOf(elementType, elements));
+    }
+  }
+}
@@ -1,10 +1,14 @@
 package com.example.ec.repository;
 
+import com.example.ec.entity.CacheRegions;
 import com.example.ec.entity.Category;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,8 +23,16 @@ public interface CategoryRepository extends JpaRepository<Category, String> {
   /**
    * アクティブなカテゴリを表示順で取得する
    *
+   * <p>結果はクエリキャッシュに保持され、カテゴリが更新されると無効化される。
+   *
    * @return アクティブなカテゴリのリスト
    */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(
+        name = HibernateHints.HINT_CACHE_REGION,
+        value = CacheRegions.ACTIVE_CATEGORIES_QUERY)
+  })
   List<Category> findByIsActiveTrueOrderByDisplayOrder();
 
   /**
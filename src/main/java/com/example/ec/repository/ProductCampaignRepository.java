@@ -0,0 +1,52 @@
+package com.example.ec.repository;
+
+import com.example.ec.entity.ProductCampaign;
+import com.example.ec.entity.ProductCampaignId;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 商品キャンペーン関連リポジトリ
+ *
+ * <p>商品キャンペーン関連エンティティのデータアクセスを提供するリポジトリインターフェース。
+ */
+@Repository
+public interface ProductCampaignRepository
+    extends JpaRepository<ProductCampaign, ProductCampaignId> {
+
+  /**
+   * アクティブなキャンペーンとの関連をキャンペーンと合わせて取得する
+   *
+   * @return 商品キャンペーン関連のリスト
+   */
+  @Query("SELECT pc FROM ProductCampaign pc JOIN FETCH pc.campaign c WHERE c.isActive = true")
+  List<ProductCampaign> findAllWithActiveCampaign();
+
+  /**
+   * 指定した商品とアクティブなキャンペーンとの関連をキャンペーンと合わせて取得する
+   *
+   * @param productIds 商品IDのコレクション（空でないこと）
+   * @return 商品キャンペーン関連のリスト
+   */
+  @Query(
+      "SELECT pc FROM ProductCampaign pc JOIN FETCH pc.campaign c "
+          + "WHERE c.isActive = true AND pc.id.productId IN :productIds")
+  List<ProductCampaign> findWithActiveCampaignByProductIdIn(
+      @Param("productIds") Collection<Long> productIds);
+
+  /**
+   * 指定したアクティブなキャンペーンと商品との関連をキャンペーンと合わせて取得する
+   *
+   * @param campaignIds キャンペーンIDのコレクション（空でないこと）
+   * @return 商品キャンペーン関連のリスト
+   */
+  @Query(
+      "SELECT pc FROM ProductCampaign pc JOIN FETCH pc.campaign c "
+          + "WHERE c.isActive = true AND pc.id.campaignId IN :campaignIds")
+  List<ProductCampaign> findWithActiveCampaignByCampaignIdIn(
+      @Param("campaignIds") Collection<Long> campaignIds);
+}
@@ -1,9 +1,12 @@
 package com.example.ec.repository;
 
 import com.example.ec.entity.Product;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +17,8 @@ import org.springframework.stereotype.Repository;
  * <p>商品エンティティのデータアクセスを提供するリポジトリインターフェース。
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository
+    extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
   /**
    * カテゴリコードでアクティブな商品を取得する
@@ -56,4 +60,25 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
       "SELECT COUNT(p) FROM Product p WHERE p.category.categoryCode = :categoryCode "
           + "AND p.isActive = true")
   Long countByCategoryCodeAndIsActiveTrue(@Param("categoryCode") String categoryCode);
+
+  /**
+   * アクティブなカテゴリに属するアクティブな商品をカテゴリと合わせて全件取得する
+   *
+   * @return 商品のリスト（ID順）
+   */
+  @Query(
+      "SELECT p FROM Product p JOIN FETCH p.category c "
+          + "WHERE p.isActive = true AND c.isActive = true ORDER BY p.id")
+  List<Product> findAllActiveWithCategory();
+
+  /**
+   * 指定したIDのうち、アクティブなカテゴリに属するアクティブな商品をカテゴリと合わせて取得する
+   *
+   * @param ids 商品IDのコレクション（空でないこと）
+   * @return 商品のリスト（ID順）
+   */
+  @Query(
+      "SELECT p FROM Product p JOIN FETCH p.category c "
+          + "WHERE p.id IN :ids AND p.isActive = true AND c.isActive = true ORDER BY p.id")
+  List<Product> findActiveWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
 }
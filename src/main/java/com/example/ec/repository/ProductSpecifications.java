@@ -0,0 +1,68 @@
+package com.example.ec.repository;
+
+import com.example.ec.catalog.CatalogFacet;
+import com.example.ec.catalog.CatalogFilter;
+import com.example.ec.entity.Product;
+import com.example.ec.entity.ProductVariant;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 商品検索条件
+ *
+ * <p>インメモリカタログエンジンを利用できない場合に、カテゴリ詳細の絞り込み条件をDBで評価するための検索条件を提供する。
+ */
+public final class ProductSpecifications {
+
+  private ProductSpecifications() {}
+
+  /**
+   * カテゴリ・キーワード・絞り込み条件に一致するアクティブな商品の検索条件を生成する
+   *
+   * @param categoryCode カテゴリコード
+   * @param keyword 検索キーワード（null可）
+   * @param filter 絞り込み条件
+   * @return 検索条件
+   */
+  public static Specification<Product> matching(
+      String categoryCode, String keyword, CatalogFilter filter) {
+    return (root, query, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      predicates.add(cb.equal(root.get("category").get("categoryCode"), categoryCode));
+      predicates.add(cb.isTrue(root.get("isActive")));
+      if (keyword != null && !keyword.isEmpty()) {
+        // DBのLOWERと一致させるため、JVMのデフォルトロケールに依存しない小文字化を使う
+        String pattern = "%" + keyword.toLowerCase(Locale.ROOT) + "%";
+        predicates.add(
+            cb.or(
+                cb.like(cb.lower(root.get("name")), pattern),
+                cb.like(cb.lower(root.get("description")), pattern)));
+      }
+      if (filter.minPrice() != null) {
+        predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+      }
+      if (filter.maxPrice() != null) {
+        predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+      }
+      for (CatalogFacet facet : CatalogFacet.values()) {
+        List<String> selected = filter.values(facet);
+        if (!selected.isEmpty()) {
+          Subquery<Long> variants = query.subquery(Long.class);
+          Root<ProductVariant> variant = variants.from(ProductVariant.class);
+          variants
+              .select(variant.get("id"))
+              .where(
+                  cb.equal(variant.get("product"), root),
+                  variant.get(facet.getAttributeName()).in(selected));
+          predicates.add(cb.exists(variants));
+        }
+      }
+      return cb.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+}
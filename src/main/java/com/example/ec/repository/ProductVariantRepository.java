@@ -26,9 +26,41 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
   /**
    * 商品IDリストでバリアントを取得する
    *
+   * <p>件数によらず同じSQLになるよう、IDを1つの配列パラメータとして渡す（{@link #findByProductIdArray}）。 空のリストではDBに問い合わせない。
+   *
    * @param productIds 商品IDリスト
-   * @return バリアントのリスト
+   * @return バリアントのリスト（商品ID、バリアントID順）
+   */
+  default List<ProductVariant> findByProductIds(List<Long> productIds) {
+    if (productIds.isEmpty()) {
+      return List.of();
+    }
+    return findByProductIdArray(productIds.toArray(Long[]::new));
+  }
+
+  /**
+   * 商品IDの配列でバリアントを取得する
+   *
+   * <p>{@code IN (?, ?, ...)}はIDの件数ごとに別のSQLとなり、Hibernateのクエリプランキャッシュと
+   * PostgreSQLのプリペアドステートメントを件数の種類だけ消費するため、{@code = ANY(配列)}の1つのSQLで問い合わせる。
+   *
+   * @param productIds 商品IDの配列
+   * @return バリアントのリスト（商品ID、バリアントID順）
+   */
+  @Query(
+      value =
+          "SELECT * FROM product_variants WHERE product_id = ANY(CAST(:productIds AS bigint[])) "
+              + "ORDER BY product_id, id",
+      nativeQuery = true)
+  List<ProductVariant> findByProductIdArray(@Param("productIds") Long[] productIds);
+
+  /**
+   * アクティブな商品のバリアントを商品と合わせて全件取得する
+   *
+   * @return バリアントのリスト（商品ID、バリアントID順）
    */
-  @Query("SELECT pv FROM ProductVariant pv WHERE pv.product.id IN :productIds")
-  List<ProductVariant> findByProductIds(@Param("productIds") List<Long> productIds);
+  @Query(
+      "SELECT pv FROM ProductVariant pv JOIN FETCH pv.product p "
+          + "WHERE p.isActive = true ORDER BY p.id, pv.id")
+  List<ProductVariant> findAllOfActiveProducts();
 }
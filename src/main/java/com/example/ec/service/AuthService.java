@@ -1,5 +1,7 @@
 package com.example.ec.service;
 
+import com.example.ec.datasource.Workload;
+import com.example.ec.datasource.WorkloadType;
 import com.example.ec.dto.AuthResponse;
 import com.example.ec.dto.LoginRequest;
 import com.example.ec.dto.UserResponse;
@@ -16,8 +18,10 @@ import org.springframework.transaction.annotation.Transactional;
  * 認証サービス
  *
  * <p>ユーザー認証のビジネスロジックを提供するサービスクラス。 メールアドレスとパスワードによる認証をサポートする。
+ * ログインの集中がカタログの読み取りの接続を枯渇させないよう、認証用のコネクションプールを使う。
  */
 @Service
+@Workload(WorkloadType.AUTH)
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
@@ -1,5 +1,16 @@
 package com.example.ec.service;
 
+import com.example.ec.catalog.CatalogData;
+import com.example.ec.catalog.CatalogFacets;
+import com.example.ec.catalog.CatalogFilter;
+import com.example.ec.catalog.CatalogSearchCache;
+import com.example.ec.catalog.CatalogSearchKey;
+import com.example.ec.catalog.CatalogSingleFlight;
+import com.example.ec.catalog.CatalogSnapshot;
+import com.example.ec.catalog.CatalogSortKey;
+import com.example.ec.catalog.InMemoryCatalogEngine;
+import com.example.ec.catalog.SearchTextNormalizer;
+import com.example.ec.datasource.PrimaryReadContext;
 import com.example.ec.dto.CategoryDetailRequest;
 import com.example.ec.dto.CategoryDetailResponse;
 import com.example.ec.dto.CategoryListResponse;
@@ -10,27 +21,43 @@ import com.example.ec.entity.Product;
 import com.example.ec.entity.ProductCampaign;
 import com.example.ec.entity.ProductVariant;
 import com.example.ec.exception.CategoryNotFoundException;
+import com.example.ec.jfr.CatalogRequestEvent;
+import com.example.ec.metrics.CatalogRequestMetrics;
+import com.example.ec.repository.CatalogJdbcReadRepository;
 import com.example.ec.repository.CategoryRepository;
 import com.example.ec.repository.ProductRepository;
+import com.example.ec.repository.ProductSpecifications;
 import com.example.ec.repository.ProductVariantRepository;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * 商品カテゴリサービス
  *
  * <p>商品カテゴリに関するビジネスロジックを提供するサービスクラス。
+ *
+ * <p>JDBC読み取りリポジトリが有効な場合（{@code catalog.jdbc-read.enabled=true}）、カテゴリ一覧とカテゴリ詳細のDB検索は
+ * エンティティを経由せず、行を直接DTOに変換する。
  */
 @Service
 @Transactional(readOnly = true)
@@ -41,6 +68,12 @@ public class ProductCategoryService {
   private final CategoryRepository categoryRepository;
   private final ProductRepository productRepository;
   private final ProductVariantRepository productVariantRepository;
+  private final ObjectProvider<InMemoryCatalogEngine> catalogEngineProvider;
+  private final ObjectProvider<CatalogSearchCache> searchCacheProvider;
+  private final ObjectProvider<CatalogSingleFlight> singleFlightProvider;
+  private final ObjectProvider<CatalogJdbcReadRepository> jdbcReadRepositoryProvider;
+  private final ObjectProvider<CatalogRequestMetrics> requestMetricsProvider;
+  private final PlatformTransactionManager transactionManager;
 
   /**
    * カテゴリ一覧を取得する
@@ -50,25 +83,20 @@ public class ProductCategoryService {
   public CategoryListResponse getCategories() {
     log.info("カテゴリ一覧を取得します");
 
-    List<Category> categories = categoryRepository.findByIsActiveTrueOrderByDisplayOrder();
-
+    CatalogRequestEvent event = new CatalogRequestEvent();
+    event.begin();
+    long startedAt = System.nanoTime();
+    CatalogJdbcReadRepository jdbcReadRepository = jdbcReadRepositoryProvider.getIfAvailable();
     List<CategoryListResponse.CategorySummary> summaries =
-        categories.stream()
-            .map(
-                category -> {
-                  Long productCount =
-                      productRepository.countByCategoryCodeAndIsActiveTrue(
-                          category.getCategoryCode());
-                  return CategoryListResponse.CategorySummary.builder()
-                      .categoryCode(category.getCategoryCode())
-                      .displayName(category.getDisplayName())
-                      .heroImageUrl(category.getHeroImageUrl())
-                      .leadText(category.getLeadText())
-                      .productCount(productCount)
-                      .build();
-                })
-            .collect(Collectors.toList());
+        jdbcReadRepository != null
+            ? findCategorySummaries(jdbcReadRepository)
+            : findCategorySummaries();
 
+    CatalogRequestMetrics requestMetrics = requestMetricsProvider.getIfAvailable();
+    if (requestMetrics != null) {
+      requestMetrics.recordCategories(System.nanoTime() - startedAt);
+    }
+    event.completeCategories();
     return CategoryListResponse.builder()
         .success(true)
         .message("カテゴリ一覧を取得しました")
@@ -78,30 +106,230 @@ public class ProductCategoryService {
         .build();
   }
 
+  /**
+   * カテゴリごとの商品数をJPAのリポジトリで取得する
+   *
+   * @return カテゴリの概要
+   */
+  private List<CategoryListResponse.CategorySummary> findCategorySummaries() {
+    List<Category> categories = categoryRepository.findByIsActiveTrueOrderByDisplayOrder();
+
+    return categories.stream()
+        .map(
+            category -> {
+              Long productCount =
+                  productRepository.countByCategoryCodeAndIsActiveTrue(category.getCategoryCode());
+              return CategoryListResponse.CategorySummary.builder()
+                  .categoryCode(category.getCategoryCode())
+                  .displayName(category.getDisplayName())
+                  .heroImageUrl(category.getHeroImageUrl())
+                  .leadText(category.getLeadText())
+                  .productCount(productCount)
+                  .build();
+            })
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * カテゴリごとの商品数をJDBC読み取りリポジトリで1回のクエリで取得する
+   *
+   * @param jdbcReadRepository JDBC読み取りリポジトリ
+   * @return カテゴリの概要
+   */
+  private List<CategoryListResponse.CategorySummary> findCategorySummaries(
+      CatalogJdbcReadRepository jdbcReadRepository) {
+    return jdbcReadRepository.findActiveCategorySummaries().stream()
+        .map(
+            summary ->
+                CategoryListResponse.CategorySummary.builder()
+                    .categoryCode(summary.category().categoryCode())
+                    .displayName(summary.category().displayName())
+                    .heroImageUrl(summary.category().heroImageUrl())
+                    .leadText(summary.category().leadText())
+                    .productCount(summary.productCount())
+                    .build())
+        .collect(Collectors.toList());
+  }
+
   /**
    * カテゴリ詳細を取得する
    *
+   * <p>インメモリエンジン・検索結果キャッシュから返せる場合や、同一検索の合流待ちの間にDB接続を占有しないよう、
+   * メソッド全体ではトランザクションを開始せず、DB検索の間だけ読み取り専用トランザクションを開始する。
+   *
    * @param categoryCode カテゴリコード
    * @param request リクエストパラメータ
    * @return カテゴリ詳細レスポンス
    * @throws CategoryNotFoundException カテゴリが見つからない場合
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public CategoryDetailResponse getCategoryDetail(
       String categoryCode, CategoryDetailRequest request) {
     log.info("カテゴリ詳細を取得します: categoryCode={}", categoryCode);
 
+    CatalogRequestEvent event = new CatalogRequestEvent();
+    event.begin();
+    long startedAt = System.nanoTime();
+    // DBにはリクエストのキーワードをそのまま渡し、正規化はキャッシュのキーにのみ適用する
+    String keyword = request.getKeyword() != null ? request.getKeyword() : "";
+    boolean hasKeyword = !keyword.isEmpty();
+    CatalogFilter filter = toCatalogFilter(request);
+    if (!hasKeyword) {
+      Optional<CatalogSnapshot.CategoryPage> inMemoryPage =
+          findInMemoryPage(categoryCode, filter, request);
+      if (inMemoryPage.isPresent()) {
+        CatalogSnapshot.CategoryPage categoryPage = inMemoryPage.get();
+        CategoryDetailResponse.CategoryInfo categoryInfo =
+            CategoryDetailResponse.CategoryInfo.builder()
+                .categoryCode(categoryPage.category().categoryCode())
+                .displayName(categoryPage.category().displayName())
+                .heroImageUrl(categoryPage.category().heroImageUrl())
+                .leadText(categoryPage.category().leadText())
+                .build();
+        int pages = (int) Math.ceil((double) categoryPage.total() / request.getSize());
+        CategoryDetailResponse response =
+            buildCategoryDetailResponse(
+                categoryInfo,
+                categoryPage.products(),
+                request,
+                categoryPage.total(),
+                pages,
+                toFacetsDto(categoryPage.facets()),
+                false);
+        recordCategoryDetail(
+            categoryCode, request, CatalogRequestMetrics.Cache.ENGINE, startedAt, event);
+        return response;
+      }
+    }
+
+    CatalogSearchKey searchKey =
+        new CatalogSearchKey(
+            categoryCode,
+            SearchTextNormalizer.normalizeCacheKey(keyword),
+            filter,
+            mapSortField(request.getSort()),
+            "desc".equalsIgnoreCase(request.getOrder()) ? "desc" : "asc",
+            request.getPage(),
+            request.getSize());
+    CatalogSearchCache searchCache = searchCacheProvider.getIfAvailable();
+    Supplier<CatalogSearchCache.SearchPage> search =
+        () -> {
+          // キャッシュのキーのバージョンはプライマリで取得するため、キャッシュに入れる結果もプライマリから読む
+          try (PrimaryReadContext.Scope scope =
+              searchCache != null ? PrimaryReadContext.enter() : () -> {}) {
+            return new TransactionTemplate(transactionManager, readOnlyTransaction())
+                .execute(status -> searchDatabase(categoryCode, keyword, filter, request));
+          }
+        };
+    CatalogSingleFlight singleFlight = singleFlightProvider.getIfAvailable();
+    Supplier<CatalogSearchCache.SearchPage> loader =
+        singleFlight != null ? () -> singleFlight.execute(searchKey, search) : search;
+    CatalogSearchCache.Lookup lookup =
+        searchCache != null
+            ? searchCache.get(searchKey, loader)
+            : new CatalogSearchCache.Lookup(loader.get(), false, false);
+    CatalogSearchCache.SearchPage searchPage = lookup.page();
+
+    CategoryDetailResponse response =
+        buildCategoryDetailResponse(
+            searchPage.category(),
+            searchPage.products(),
+            request,
+            searchPage.total(),
+            searchPage.pages(),
+            null,
+            lookup.stale());
+    recordCategoryDetail(
+        categoryCode,
+        request,
+        searchCache == null
+            ? CatalogRequestMetrics.Cache.NONE
+            : lookup.stale()
+                ? CatalogRequestMetrics.Cache.STALE
+                : lookup.hit() ? CatalogRequestMetrics.Cache.HIT : CatalogRequestMetrics.Cache.MISS,
+        startedAt,
+        event);
+    return response;
+  }
+
+  /**
+   * カテゴリ詳細の処理時間を記録し（処理時間メトリクスが無効な場合は除く）、JFRイベントを終了する
+   *
+   * @param categoryCode カテゴリコード
+   * @param request リクエストパラメータ
+   * @param cache 結果の取得元
+   * @param startedAt 処理の開始時刻（{@link System#nanoTime()}）
+   * @param event 処理の開始時に開始したJFRイベント
+   */
+  private void recordCategoryDetail(
+      String categoryCode,
+      CategoryDetailRequest request,
+      CatalogRequestMetrics.Cache cache,
+      long startedAt,
+      CatalogRequestEvent event) {
+    CatalogRequestMetrics requestMetrics = requestMetricsProvider.getIfAvailable();
+    if (requestMetrics != null) {
+      requestMetrics.recordCategoryDetail(
+          categoryCode,
+          mapSortField(request.getSort()),
+          request.getSize(),
+          cache,
+          System.nanoTime() - startedAt);
+    }
+    event.completeCategoryDetail(
+        categoryCode,
+        request.getPage(),
+        request.getSize(),
+        mapSortField(request.getSort()),
+        request.getOrder(),
+        cache.tag());
+  }
+
+  /**
+   * 商品のページのDTOへの変換時間を記録する（処理時間メトリクスが無効な場合は何もしない）
+   *
+   * @param jdbc JDBC読み取りリポジトリの行から変換した場合true
+   * @param startedAt 変換の開始時刻（{@link System#nanoTime()}）
+   */
+  private void recordConversion(boolean jdbc, long startedAt) {
+    CatalogRequestMetrics requestMetrics = requestMetricsProvider.getIfAvailable();
+    if (requestMetrics != null) {
+      requestMetrics.recordConversion(jdbc, System.nanoTime() - startedAt);
+    }
+  }
+
+  /**
+   * DBからカテゴリの商品ページを検索する
+   *
+   * @param categoryCode カテゴリコード
+   * @param keyword 検索キーワード（キーワードなしの場合は空文字列）
+   * @param filter 絞り込み条件
+   * @param request リクエストパラメータ
+   * @return 検索結果
+   * @throws CategoryNotFoundException カテゴリが見つからない場合
+   */
+  private CatalogSearchCache.SearchPage searchDatabase(
+      String categoryCode, String keyword, CatalogFilter filter, CategoryDetailRequest request) {
+    CatalogJdbcReadRepository jdbcReadRepository = jdbcReadRepositoryProvider.getIfAvailable();
+    if (jdbcReadRepository != null) {
+      return searchJdbc(jdbcReadRepository, categoryCode, keyword, filter, request);
+    }
+
     Category category =
         categoryRepository
             .findActiveCategoryByCode(categoryCode)
             .orElseThrow(() -> new CategoryNotFoundException(categoryCode));
 
     Pageable pageable = createPageable(request);
+    Instant now = Instant.now();
 
     Page<Product> productPage;
-    if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
+    if (!filter.isEmpty()) {
       productPage =
-          productRepository.findByCategoryCodeAndKeyword(
-              categoryCode, request.getKeyword(), pageable);
+          productRepository.findAll(
+              ProductSpecifications.matching(categoryCode, keyword, filter), pageable);
+    } else if (!keyword.isEmpty()) {
+      productPage = productRepository.findByCategoryCodeAndKeyword(categoryCode, keyword, pageable);
     } else {
       productPage = productRepository.findByCategoryCodeAndIsActiveTrue(categoryCode, pageable);
     }
@@ -111,10 +339,24 @@ public class ProductCategoryService {
 
     List<ProductVariant> variants = productVariantRepository.findByProductIds(productIds);
 
+    long conversionStartedAt = System.nanoTime();
     List<CategoryDetailResponse.ProductItem> productItems =
         productPage.getContent().stream()
             .map(product -> convertToProductItem(product, variants))
             .collect(Collectors.toList());
+    recordConversion(false, conversionStartedAt);
+
+    long validUntil = Long.MAX_VALUE;
+    for (Product product : productPage.getContent()) {
+      for (ProductCampaign productCampaign : product.getProductCampaigns()) {
+        Campaign campaign = productCampaign.getCampaign();
+        if (Boolean.TRUE.equals(campaign.getIsActive())) {
+          validUntil =
+              earliestCampaignChange(
+                  validUntil, campaign.getValidFrom(), campaign.getValidTo(), now);
+        }
+      }
+    }
 
     CategoryDetailResponse.CategoryInfo categoryInfo =
         CategoryDetailResponse.CategoryInfo.builder()
@@ -124,16 +366,144 @@ public class ProductCategoryService {
             .leadText(category.getLeadText())
             .build();
 
+    return new CatalogSearchCache.SearchPage(
+        categoryInfo,
+        productItems,
+        productPage.getTotalElements(),
+        productPage.getTotalPages(),
+        validUntil);
+  }
+
+  /**
+   * JDBC読み取りリポジトリでカテゴリの商品ページを検索する
+   *
+   * @param jdbcReadRepository JDBC読み取りリポジトリ
+   * @param categoryCode カテゴリコード
+   * @param keyword 検索キーワード（キーワードなしの場合は空文字列）
+   * @param filter 絞り込み条件
+   * @param request リクエストパラメータ
+   * @return 検索結果
+   * @throws CategoryNotFoundException カテゴリが見つからない場合
+   */
+  private CatalogSearchCache.SearchPage searchJdbc(
+      CatalogJdbcReadRepository jdbcReadRepository,
+      String categoryCode,
+      String keyword,
+      CatalogFilter filter,
+      CategoryDetailRequest request) {
+    CatalogData.CategoryRow category =
+        jdbcReadRepository
+            .findActiveCategory(categoryCode)
+            .orElseThrow(() -> new CategoryNotFoundException(categoryCode));
+
+    CatalogJdbcReadRepository.ProductPage productPage =
+        jdbcReadRepository.findProductPage(
+            categoryCode,
+            keyword,
+            filter,
+            mapSortColumn(request.getSort()),
+            "desc".equalsIgnoreCase(request.getOrder()),
+            request.getPage(),
+            request.getSize());
+
+    List<Long> productIds =
+        productPage.products().stream().map(CatalogData.ProductRow::id).toList();
+    Map<Long, List<CatalogData.VariantRow>> variantsByProduct =
+        jdbcReadRepository.findVariants(productIds).stream()
+            .collect(Collectors.groupingBy(CatalogData.VariantRow::productId));
+    Instant now = Instant.now();
+    List<CatalogJdbcReadRepository.CampaignBadgeRow> campaignBadges =
+        jdbcReadRepository.findCampaignBadges(productIds, now);
+    Map<Long, List<CatalogJdbcReadRepository.CampaignBadgeRow>> badgesByProduct =
+        campaignBadges.stream()
+            .filter(badge -> badge.isValidAt(now))
+            .collect(Collectors.groupingBy(CatalogJdbcReadRepository.CampaignBadgeRow::productId));
+    long validUntil = Long.MAX_VALUE;
+    for (CatalogJdbcReadRepository.CampaignBadgeRow badge : campaignBadges) {
+      validUntil = earliestCampaignChange(validUntil, badge.validFrom(), badge.validTo(), now);
+    }
+
+    long conversionStartedAt = System.nanoTime();
+    List<CategoryDetailResponse.ProductItem> productItems =
+        productPage.products().stream()
+            .map(
+                product ->
+                    convertToProductItem(
+                        product,
+                        variantsByProduct.getOrDefault(product.id(), List.of()),
+                        badgesByProduct.getOrDefault(product.id(), List.of())))
+            .collect(Collectors.toList());
+    recordConversion(true, conversionStartedAt);
+
+    CategoryDetailResponse.CategoryInfo categoryInfo =
+        CategoryDetailResponse.CategoryInfo.builder()
+            .categoryCode(category.categoryCode())
+            .displayName(category.displayName())
+            .heroImageUrl(category.heroImageUrl())
+            .leadText(category.leadText())
+            .build();
+
+    int pages = (int) Math.ceil((double) productPage.total() / request.getSize());
+    return new CatalogSearchCache.SearchPage(
+        categoryInfo, productItems, productPage.total(), pages, validUntil);
+  }
+
+  /**
+   * キャンペーンの開始・終了のうち、現在時刻より後でバッジの表示が変わる最も早い時刻を求める
+   *
+   * @param earliest これまでに求めた最も早い時刻（エポックミリ秒）
+   * @param validFrom 開始日時（null可）
+   * @param validTo 終了日時（null可）
+   * @param now 現在時刻
+   * @return 最も早い時刻（エポックミリ秒）
+   */
+  private static long earliestCampaignChange(
+      long earliest, Instant validFrom, Instant validTo, Instant now) {
+    long result = earliest;
+    if (validFrom != null && validFrom.isAfter(now)) {
+      result = Math.min(result, validFrom.toEpochMilli());
+    }
+    // 終了日時ちょうどまでは有効なため、その直後にバッジが外れる
+    if (validTo != null && !validTo.isBefore(now)) {
+      result = Math.min(result, validTo.toEpochMilli() + 1);
+    }
+    return result;
+  }
+
+  /**
+   * カテゴリ詳細レスポンスを組み立てる
+   *
+   * @param categoryInfo カテゴリ情報
+   * @param productItems ページ内の商品
+   * @param request リクエストパラメータ
+   * @param total 商品総数
+   * @param pages 総ページ数
+   * @param facets ファセット情報（インメモリカタログエンジン以外ではnull）
+   * @param stale 期限切れのキャッシュから返す場合はtrue
+   * @return カテゴリ詳細レスポンス
+   */
+  private CategoryDetailResponse buildCategoryDetailResponse(
+      CategoryDetailResponse.CategoryInfo categoryInfo,
+      List<CategoryDetailResponse.ProductItem> productItems,
+      CategoryDetailRequest request,
+      long total,
+      int pages,
+      CategoryDetailResponse.Facets facets,
+      boolean stale) {
     CategoryDetailResponse.Pagination pagination =
         CategoryDetailResponse.Pagination.builder()
             .page(request.getPage())
             .perPage(request.getSize())
-            .total(productPage.getTotalElements())
-            .pages(productPage.getTotalPages())
+            .total(total)
+            .pages(pages)
             .build();
 
     CategoryDetailResponse.Meta meta =
-        CategoryDetailResponse.Meta.builder().pagination(pagination).build();
+        CategoryDetailResponse.Meta.builder()
+            .pagination(pagination)
+            .facets(facets)
+            .stale(stale)
+            .build();
 
     CategoryDetailResponse.DataWrapper data =
         CategoryDetailResponse.DataWrapper.builder()
@@ -183,6 +553,97 @@ public class ProductCategoryService {
         .build();
   }
 
+  /**
+   * インメモリカタログエンジンからカテゴリの商品ページを取得する
+   *
+   * @param categoryCode カテゴリコード
+   * @param filter 絞り込み条件
+   * @param request リクエストパラメータ
+   * @return 商品ページ（エンジンが無効・未構築、またはカテゴリが存在しない場合はOptional.empty()）
+   */
+  private Optional<CatalogSnapshot.CategoryPage> findInMemoryPage(
+      String categoryCode, CatalogFilter filter, CategoryDetailRequest request) {
+    InMemoryCatalogEngine engine = catalogEngineProvider.getIfAvailable();
+    if (engine == null) {
+      return Optional.empty();
+    }
+    return engine
+        .currentSnapshot()
+        .flatMap(
+            snapshot ->
+                snapshot.categoryPage(
+                    categoryCode,
+                    filter,
+                    CatalogSortKey.from(request.getSort()),
+                    "desc".equalsIgnoreCase(request.getOrder()),
+                    request.getPage(),
+                    request.getSize(),
+                    Instant.now()));
+  }
+
+  /**
+   * 読み取り専用トランザクションの定義を作成する
+   *
+   * @return トランザクション定義
+   */
+  private static TransactionDefinition readOnlyTransaction() {
+    DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+    definition.setReadOnly(true);
+    return definition;
+  }
+
+  /**
+   * リクエストパラメータから絞り込み条件を作成する
+   *
+   * @param request リクエストパラメータ
+   * @return 絞り込み条件
+   */
+  private CatalogFilter toCatalogFilter(CategoryDetailRequest request) {
+    return new CatalogFilter(
+        request.getManufacturer(),
+        request.getStorageCapacity(),
+        request.getColorName(),
+        request.getMinPrice(),
+        request.getMaxPrice());
+  }
+
+  /**
+   * ファセット集計結果をDTOに変換する
+   *
+   * @param facets ファセット集計結果
+   * @return ファセット情報DTO
+   */
+  private CategoryDetailResponse.Facets toFacetsDto(CatalogFacets facets) {
+    return CategoryDetailResponse.Facets.builder()
+        .manufacturer(toFacetValues(facets.manufacturers()))
+        .storageCapacity(toFacetValues(facets.storageCapacities()))
+        .colorName(toFacetValues(facets.colorNames()))
+        .price(
+            CategoryDetailResponse.PriceRange.builder()
+                .min(facets.minPrice())
+                .max(facets.maxPrice())
+                .build())
+        .build();
+  }
+
+  /**
+   * ファセット値ごとの件数をDTOに変換する
+   *
+   * @param counts ファセット値ごとの件数
+   * @return ファセット値DTOのリスト
+   */
+  private List<CategoryDetailResponse.FacetValue> toFacetValues(
+      List<CatalogFacets.FacetCount> counts) {
+    return counts.stream()
+        .map(
+            count ->
+                CategoryDetailResponse.FacetValue.builder()
+                    .value(count.value())
+                    .count(count.count())
+                    .build())
+        .collect(Collectors.toList());
+  }
+
   /**
    * ページング情報を作成する
    *
@@ -210,14 +671,30 @@ public class ProductCategoryService {
     };
   }
 
+  /**
+   * ソートフィールドをテーブルの列名にマッピングする
+   *
+   * @param sort クライアントから指定されたソートフィールド
+   * @return 商品テーブルの列名
+   */
+  private String mapSortColumn(String sort) {
+    return switch (sort) {
+      case "price" -> "price";
+      case "createdAt" -> "created_at";
+      default -> "name";
+    };
+  }
+
   /**
    * 商品エンティティをDTOに変換する
    *
+   * <p>ベンチマーク（{@code ProductItemConversionBenchmark}）から呼び出すためパッケージプライベートとする。
+   *
    * @param product 商品エンティティ
    * @param allVariants 全バリアントリスト
    * @return 商品アイテムDTO
    */
-  private CategoryDetailResponse.ProductItem convertToProductItem(
+  static CategoryDetailResponse.ProductItem convertToProductItem(
       Product product, List<ProductVariant> allVariants) {
     List<ProductVariant> productVariants =
         allVariants.stream()
@@ -252,4 +729,41 @@ public class ProductCategoryService {
         .campaigns(campaignBadges)
         .build();
   }
+
+  /**
+   * JDBCで読み取った商品レコードをDTOに変換する
+   *
+   * @param product 商品レコード
+   * @param variants 商品のバリアント（バリアントID順）
+   * @param campaignBadges 商品の現在有効なキャンペーンバッジ
+   * @return 商品アイテムDTO
+   */
+  private CategoryDetailResponse.ProductItem convertToProductItem(
+      CatalogData.ProductRow product,
+      List<CatalogData.VariantRow> variants,
+      List<CatalogJdbcReadRepository.CampaignBadgeRow> campaignBadges) {
+    CatalogData.VariantRow firstVariant = variants.isEmpty() ? null : variants.get(0);
+
+    return CategoryDetailResponse.ProductItem.builder()
+        .productId(product.id())
+        .productName(product.name())
+        .description(product.description())
+        .price(product.price())
+        .manufacturer(firstVariant != null ? firstVariant.manufacturer() : null)
+        .modelName(firstVariant != null ? firstVariant.modelName() : null)
+        .storageCapacity(firstVariant != null ? firstVariant.storageCapacity() : null)
+        .colorCode(firstVariant != null ? firstVariant.colorCode() : null)
+        .colorName(firstVariant != null ? firstVariant.colorName() : null)
+        .imageUrls(firstVariant != null ? firstVariant.imageUrls() : new ArrayList<>())
+        .campaigns(
+            campaignBadges.stream()
+                .map(
+                    badge ->
+                        CategoryDetailResponse.CampaignBadge.builder()
+                            .campaignCode(badge.campaignCode())
+                            .badgeText(badge.badgeText())
+                            .build())
+                .collect(Collectors.toList()))
+        .build();
+  }
 }
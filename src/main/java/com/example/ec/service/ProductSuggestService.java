@@ -0,0 +1,72 @@
+package com.example.ec.service;
+
+import com.example.ec.catalog.CatalogSuggestIndex;
+import com.example.ec.dto.CategorySuggestRequest;
+import com.example.ec.dto.CategorySuggestResponse;
+import com.example.ec.exception.CategoryNotFoundException;
+import com.example.ec.repository.CategoryRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * 商品入力補完サービス
+ *
+ * <p>カテゴリ内の商品名・モデル名・メーカーの入力補完を提供するサービスクラス。 キー入力ごとに呼び出されるため、
+ * DBにはアクセスせずメモリ上の{@link CatalogSuggestIndex}のみを参照する（トランザクションも開始しない）。
+ * インデックスはインメモリカタログエンジンの有効時のみ存在し、無効時はカテゴリの存在だけをDBで確認して空の候補を返す。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggestService {
+
+  private final ObjectProvider<CatalogSuggestIndex> catalogSuggestIndexProvider;
+  private final CategoryRepository categoryRepository;
+
+  /**
+   * 入力補完候補を取得する
+   *
+   * @param categoryCode カテゴリコード
+   * @param request リクエストパラメータ
+   * @return 入力補完レスポンス
+   * @throws CategoryNotFoundException カテゴリが見つからない場合
+   */
+  public CategorySuggestResponse getSuggestions(
+      String categoryCode, CategorySuggestRequest request) {
+    log.debug("入力補完候補を取得します: categoryCode={}, q={}", categoryCode, request.getQ());
+
+    CatalogSuggestIndex catalogSuggestIndex = catalogSuggestIndexProvider.getIfAvailable();
+    List<String> suggestions;
+    if (catalogSuggestIndex != null) {
+      suggestions =
+          catalogSuggestIndex
+              .suggest(categoryCode, request.getQ(), request.getLimit())
+              .orElseThrow(() -> new CategoryNotFoundException(categoryCode));
+    } else {
+      // インデックスがない場合も、存在しないカテゴリには他のエンドポイントと同じく404を返す
+      categoryRepository
+          .findActiveCategoryByCode(categoryCode)
+          .orElseThrow(() -> new CategoryNotFoundException(categoryCode));
+      suggestions = List.of();
+    }
+
+    CategorySuggestResponse.DataWrapper data =
+        CategorySuggestResponse.DataWrapper.builder()
+            .query(request.getQ())
+            .suggestions(suggestions)
+            .build();
+
+    return CategorySuggestResponse.builder()
+        .success(true)
+        .message("入力補完候補を取得しました")
+        .data(data)
+        .timestamp(Instant.now())
+        .requestId(UUID.randomUUID().toString())
+        .build();
+  }
+}
@@ -0,0 +1,65 @@
+-- カタログ変更ログテーブルの作成
+-- 各ノードのキャッシュ無効化用。通知を取りこぼしたノードは seq をもとに差分を読み直す
+CREATE TABLE catalog_change_log (
+    seq BIGSERIAL PRIMARY KEY,
+    table_name VARCHAR(64) NOT NULL,
+    operation CHAR(1) NOT NULL,
+    row_key VARCHAR(100) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- インデックスの作成（古い変更ログの削除のため）
+CREATE INDEX idx_catalog_change_log_changed_at ON catalog_change_log(changed_at);
+
+-- 変更を記録して catalog_changes チャネルに通知するトリガー関数
+-- 引数にはイベントのキーとする列名を指定する
+-- 通知ペイロード例: {"seq":123,"table":"products","op":"U","key":"45"}
+CREATE OR REPLACE FUNCTION notify_catalog_change() RETURNS trigger AS $$
+DECLARE
+    changed_row JSONB;
+    change_key TEXT;
+    change_seq BIGINT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_row := to_jsonb(OLD);
+    ELSE
+        changed_row := to_jsonb(NEW);
+    END IF;
+    change_key := changed_row ->> TG_ARGV[0];
+
+    INSERT INTO catalog_change_log (table_name, operation, row_key)
+    VALUES (TG_TABLE_NAME, left(TG_OP, 1), change_key)
+    RETURNING seq INTO change_seq;
+
+    PERFORM pg_notify(
+        'catalog_changes',
+        json_build_object(
+            'seq', change_seq,
+            'table', TG_TABLE_NAME,
+            'op', left(TG_OP, 1),
+            'key', change_key)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- トリガーの作成
+CREATE TRIGGER trg_categories_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE ON categories
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change('category_code');
+
+CREATE TRIGGER trg_products_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE ON products
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change('id');
+
+CREATE TRIGGER trg_product_variants_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE ON product_variants
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change('id');
+
+CREATE TRIGGER trg_campaigns_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE ON campaigns
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change('id');
+
+-- 商品キャンペーン関連は商品単位で無効化するため商品IDをキーとする
+CREATE TRIGGER trg_product_campaigns_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE ON product_campaigns
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change('product_id');
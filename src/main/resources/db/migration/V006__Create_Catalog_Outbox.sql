@@ -0,0 +1,73 @@
+-- カタログアウトボックステーブルの作成
+-- 商品・バリアント・キャンペーンの書き込みと同じトランザクションでトリガーが追記し、
+-- アウトボックスポーラーが各プロジェクター（派生データの差分更新）に配信する
+CREATE TABLE catalog_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    payload JSONB,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+-- インデックスの作成（未処理イベントの取得と処理済みイベントの削除のため）
+CREATE INDEX idx_catalog_outbox_unprocessed ON catalog_outbox(id) WHERE processed_at IS NULL;
+CREATE INDEX idx_catalog_outbox_processed_at ON catalog_outbox(processed_at);
+
+-- 変更された行をアウトボックスに追記するトリガー関数
+-- 引数には集約の種類と、集約IDとする列名を指定する
+CREATE OR REPLACE FUNCTION append_catalog_outbox() RETURNS trigger AS $$
+DECLARE
+    changed_row JSONB;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_row := to_jsonb(OLD);
+    ELSE
+        changed_row := to_jsonb(NEW);
+    END IF;
+
+    INSERT INTO catalog_outbox (aggregate_type, aggregate_id, event_type, payload)
+    VALUES (
+        TG_ARGV[0],
+        changed_row ->> TG_ARGV[1],
+        lower(TG_TABLE_NAME || '.' || TG_OP),
+        changed_row);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- トリガーの作成（バリアント・商品キャンペーン関連は商品の集約として扱う）
+CREATE TRIGGER trg_products_catalog_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON products
+    FOR EACH ROW EXECUTE FUNCTION append_catalog_outbox('product', 'id');
+
+CREATE TRIGGER trg_product_variants_catalog_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON product_variants
+    FOR EACH ROW EXECUTE FUNCTION append_catalog_outbox('product', 'product_id');
+
+CREATE TRIGGER trg_product_campaigns_catalog_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON product_campaigns
+    FOR EACH ROW EXECUTE FUNCTION append_catalog_outbox('product', 'product_id');
+
+CREATE TRIGGER trg_campaigns_catalog_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON campaigns
+    FOR EACH ROW EXECUTE FUNCTION append_catalog_outbox('campaign', 'id');
+
+-- 商品検索ドキュメントテーブルの作成（アウトボックスから差分更新する読み取りモデル）
+-- search_text は商品名・説明・バリアントの属性をキーワード検索と同じ規則で正規化して連結したもの
+CREATE TABLE product_search_documents (
+    product_id BIGINT PRIMARY KEY,
+    category_code VARCHAR(50) NOT NULL,
+    search_text TEXT NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_product_search_documents_category ON product_search_documents(category_code);
+
+-- 既存商品の検索ドキュメントをプロジェクターで作成するためのイベントを追記
+INSERT INTO catalog_outbox (aggregate_type, aggregate_id, event_type)
+SELECT 'product', id::text, 'backfill' FROM products ORDER BY id;
@@ -0,0 +1,22 @@
+-- リポジトリのクエリ用の複合インデックスの追加
+-- 実行計画の回帰テスト（queryPlanTest）でシーケンシャルスキャン・ソートの書き出しが見つかったクエリに対応する
+
+-- カテゴリ内のアクティブな商品を名前・価格・作成日時で並べたページを、インデックス順の読み取りで返す
+-- （昇順・降順とも同じインデックスを逆向きに読める。件数の取得もインデックスだけで済む）
+CREATE INDEX idx_products_active_category_name ON products(category_code, name) WHERE is_active = true;
+CREATE INDEX idx_products_active_category_price ON products(category_code, price) WHERE is_active = true;
+CREATE INDEX idx_products_active_category_created_at ON products(category_code, created_at) WHERE is_active = true;
+
+-- 商品IDの配列によるバリアントの取得と全件取得を、ソートせずに商品ID・バリアントID順で返す
+-- （商品IDだけのインデックスはこのインデックスの先頭列と重複するため削除する）
+CREATE INDEX idx_product_variants_product_id_id ON product_variants(product_id, id);
+DROP INDEX idx_product_variants_product_id;
+
+-- ファセット（メーカー・ストレージ容量・カラー名）による絞り込みのEXISTS副問い合わせを、インデックスだけで評価する
+CREATE INDEX idx_product_variants_manufacturer ON product_variants(manufacturer, product_id);
+CREATE INDEX idx_product_variants_storage_capacity ON product_variants(storage_capacity, product_id);
+CREATE INDEX idx_product_variants_color_name ON product_variants(color_name, product_id);
+
+-- 現在有効なキャンペーン（終了日時が未来または未設定）の取得
+-- 終了したキャンペーンが蓄積しても、有効期間の開始日時が先頭の既存インデックスでは絞り込めないため
+CREATE INDEX idx_campaigns_active_valid_to ON campaigns(valid_to) WHERE is_active = true;
@@ -0,0 +1,40 @@
+-- カタログバージョンテーブルの作成
+-- カタログ関連テーブルへの書き込みごとにトリガーが version を1つ進め、バージョン監視は主キーで1行を読むだけで変化を検知する
+-- 更新は行ロックで直列化されるため、コミット済みの値はコミット順に単調増加する
+-- （SQLによる直接更新・商品キャンペーン関連の付け替え・TRUNCATEも検知できる）
+CREATE TABLE catalog_version (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO catalog_version (id, version) VALUES (1, 1);
+
+-- カタログバージョンを進めるトリガー関数（文単位で1回だけ実行する）
+CREATE OR REPLACE FUNCTION bump_catalog_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE catalog_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- トリガーの作成
+CREATE TRIGGER trg_categories_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON categories
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER trg_products_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON products
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER trg_product_variants_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product_variants
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER trg_campaigns_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON campaigns
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER trg_product_campaigns_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product_campaigns
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
@@ -0,0 +1,8 @@
+-- カタログ変更ログに書き込んだトランザクションのIDを記録する
+-- 連番（BIGSERIAL）は採番順でコミット順ではないため、小さい連番の変更が後からコミットされることがある。
+-- 切断後の読み直しは連番ではなく、切断前に確認した「実行中トランザクションの最小ID（xmin）」以上の
+-- トランザクションが書いた行を対象にし、コミットが遅れた変更を取りこぼさないようにする
+ALTER TABLE catalog_change_log ADD COLUMN xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+-- インデックスの作成（切断後の読み直しのため）
+CREATE INDEX idx_catalog_change_log_xid ON catalog_change_log(xid);
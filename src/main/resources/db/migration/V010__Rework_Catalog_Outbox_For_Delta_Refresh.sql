@@ -0,0 +1,69 @@
+-- カタログアウトボックスをインメモリカタログの差分更新に使えるようにする
+-- 各ノードのインメモリカタログエンジンはアウトボックスを確保せずにログとして読み、変更された集約だけを読み直す。
+-- 連番（BIGSERIAL）は採番順でコミット順ではないため、読み直しは前回の構築前に確認した
+-- 「実行中トランザクションの最小ID（xmin）」以上のトランザクションが書いた行を対象にする
+ALTER TABLE catalog_outbox ADD COLUMN xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+-- インデックスの作成（差分の読み取りのため）
+CREATE INDEX idx_catalog_outbox_xid ON catalog_outbox(xid);
+
+-- 変更された行をアウトボックスに追記するトリガー関数（行の内容は記録しない）
+-- プロジェクター・差分更新はいずれも集約の現在の状態を読み直すため、行全体のJSONは使われずに書き込み量だけを増やしていた
+CREATE OR REPLACE FUNCTION append_catalog_outbox() RETURNS trigger AS $$
+DECLARE
+    changed_row JSONB;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_row := to_jsonb(OLD);
+    ELSE
+        changed_row := to_jsonb(NEW);
+    END IF;
+
+    INSERT INTO catalog_outbox (aggregate_type, aggregate_id, event_type)
+    VALUES (
+        TG_ARGV[0],
+        changed_row ->> TG_ARGV[1],
+        lower(TG_TABLE_NAME || '.' || TG_OP));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- TRUNCATEをアウトボックスに追記するトリガー関数（文単位で1回だけ実行する）
+-- 行単位のトリガーは発火しないため、カタログ全体の集約として記録して全件の再構築を促す
+CREATE OR REPLACE FUNCTION append_catalog_outbox_truncate() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO catalog_outbox (aggregate_type, aggregate_id, event_type)
+    VALUES ('catalog', TG_TABLE_NAME, lower(TG_TABLE_NAME || '.' || TG_OP));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- トリガーの作成（カテゴリの変更は配下の商品全体に影響するため、カテゴリの集約として記録する）
+CREATE TRIGGER trg_categories_catalog_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON categories
+    FOR EACH ROW EXECUTE FUNCTION append_catalog_outbox('category', 'category_code');
+
+CREATE TRIGGER trg_categories_catalog_outbox_truncate
+    AFTER TRUNCATE ON categories
+    FOR EACH STATEMENT EXECUTE FUNCTION append_catalog_outbox_truncate();
+
+CREATE TRIGGER trg_products_catalog_outbox_truncate
+    AFTER TRUNCATE ON products
+    FOR EACH STATEMENT EXECUTE FUNCTION append_catalog_outbox_truncate();
+
+CREATE TRIGGER trg_product_variants_catalog_outbox_truncate
+    AFTER TRUNCATE ON product_variants
+    FOR EACH STATEMENT EXECUTE FUNCTION append_catalog_outbox_truncate();
+
+CREATE TRIGGER trg_campaigns_catalog_outbox_truncate
+    AFTER TRUNCATE ON campaigns
+    FOR EACH STATEMENT EXECUTE FUNCTION append_catalog_outbox_truncate();
+
+CREATE TRIGGER trg_product_campaigns_catalog_outbox_truncate
+    AFTER TRUNCATE ON product_campaigns
+    FOR EACH STATEMENT EXECUTE FUNCTION append_catalog_outbox_truncate();
+
+-- 読み取りに使われていない商品検索ドキュメントを削除する
+-- 検索はインメモリカタログ（ファセットのビットマップ・入力補完のトライ木を含む）とDBの商品テーブルから返しており、
+-- このテーブルを参照する読み取りはなかった
+DROP TABLE product_search_documents;
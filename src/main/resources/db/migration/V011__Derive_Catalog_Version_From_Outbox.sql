@@ -0,0 +1,15 @@
+-- カタログバージョンをアウトボックスから求めるようにし、catalog_versionの1行の更新をやめる
+-- 1行の更新は行ロックをコミットまで保持するため、カタログへの書き込みがすべて直列化され、複数の文を実行する
+-- トランザクション同士がこの行と他の行を逆順にロックするとデッドロックしていた。 また文単位のトリガーは
+-- 対象が0行の文でも発火し、変更のない文ごとに全ノードで再構築させていた。
+-- バージョンは行単位のトリガーが書き込むアウトボックス（TRUNCATEは文単位で記録）のうち、
+-- 実行中トランザクションの最小ID（xmin）より小さいトランザクションが書いた行の最大のトランザクションIDとする。
+-- xminより小さいトランザクションはすべて終了しているため、後からコミットされる変更のIDは必ず現在の値より大きくなり、
+-- バージョンは単調増加して変更を取りこぼさない
+DROP TRIGGER trg_categories_catalog_version ON categories;
+DROP TRIGGER trg_products_catalog_version ON products;
+DROP TRIGGER trg_product_variants_catalog_version ON product_variants;
+DROP TRIGGER trg_campaigns_catalog_version ON campaigns;
+DROP TRIGGER trg_product_campaigns_catalog_version ON product_campaigns;
+DROP FUNCTION bump_catalog_version();
+DROP TABLE catalog_version;
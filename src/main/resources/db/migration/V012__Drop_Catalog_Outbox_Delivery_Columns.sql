@@ -0,0 +1,13 @@
+-- アウトボックスの配信状態の列を削除する
+-- イベントを確保してプロジェクターに配信するポーラーを廃止し、アウトボックスは各ノードのインメモリカタログが
+-- 差分読み取りに使うログになったため、処理済み・試行回数・エラーの記録と行の内容（V010以降は書き込まれていない）は使われない
+DROP INDEX idx_catalog_outbox_unprocessed;
+DROP INDEX idx_catalog_outbox_processed_at;
+ALTER TABLE catalog_outbox
+    DROP COLUMN processed_at,
+    DROP COLUMN attempts,
+    DROP COLUMN last_error,
+    DROP COLUMN payload;
+
+-- インデックスの作成（保持期間を過ぎたイベントの削除のため）
+CREATE INDEX idx_catalog_outbox_created_at ON catalog_outbox(created_at);
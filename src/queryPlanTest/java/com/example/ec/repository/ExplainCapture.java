@@ -0,0 +1,209 @@
+package com.example.ec.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+
+/**
+ * 実行計画の取得
+ *
+ * <p>DataSourceを包み、リポジトリが実行するSELECTごとに、同じ接続・同じバインド値で
+ * {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}を実行して計画を記録してから本来のクエリを実行する。
+ * Hibernateが生成したSQLとバインド値をそのまま使うため、テストでSQLを書き写す必要がない。
+ */
+final class ExplainCapture {
+
+  private static final String EXPLAIN_PREFIX = "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final List<CapturedPlan> plans = new ArrayList<>();
+  private boolean enabled;
+
+  /**
+   * DataSourceを包み、取得する接続で実行されるSELECTの実行計画を記録する
+   *
+   * @param target 包むDataSource
+   * @return 実行計画を記録するDataSource
+   */
+  DataSource wrap(DataSource target) {
+    return proxy(
+        DataSource.class,
+        target,
+        (method, args, result) ->
+            result instanceof Connection connection ? wrapConnection(connection) : result);
+  }
+
+  /** 記録を開始する（それまでの記録は破棄する） */
+  synchronized void start() {
+    plans.clear();
+    enabled = true;
+  }
+
+  /**
+   * 記録を終了し、開始後に記録した実行計画を取得する
+   *
+   * @return 実行計画（実行順）
+   */
+  synchronized List<CapturedPlan> stop() {
+    enabled = false;
+    return List.copyOf(plans);
+  }
+
+  /**
+   * 接続を包み、準備したステートメントのバインド値を記録する
+   *
+   * @param connection 接続
+   * @return 包んだ接続
+   */
+  private Connection wrapConnection(Connection connection) {
+    return proxy(
+        Connection.class,
+        connection,
+        (method, args, result) ->
+            method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps
+                ? wrapStatement(ps, connection, (String) args[0])
+                : result);
+  }
+
+  /**
+   * ステートメントを包み、実行の直前に同じバインド値で実行計画を取得する
+   *
+   * @param statement ステートメント
+   * @param connection ステートメントの接続
+   * @param sql SQL
+   * @return 包んだステートメント
+   */
+  private PreparedStatement wrapStatement(
+      PreparedStatement statement, Connection connection, String sql) {
+    Map<Integer, Binding> bindings = new TreeMap<>();
+    InvocationHandler handler =
+        (proxy, method, args) -> {
+          String name = method.getName();
+          if (name.startsWith("set")
+              && args != null
+              && args.length >= 2
+              && args[0] instanceof Integer index) {
+            bindings.put(index, new Binding(method, args));
+          } else if (name.equals("clearParameters")) {
+            bindings.clear();
+          } else if (name.equals("executeQuery") && (args == null || args.length == 0)) {
+            explain(connection, sql, bindings);
+          }
+          return invoke(method, statement, args);
+        };
+    return (PreparedStatement)
+        Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class}, handler);
+  }
+
+  /**
+   * 記録中の場合、SELECTの実行計画を取得して記録する
+   *
+   * @param connection 接続
+   * @param sql SQL
+   * @param bindings バインド値
+   * @throws SQLException 実行計画の取得エラー
+   */
+  private void explain(Connection connection, String sql, Map<Integer, Binding> bindings)
+      throws SQLException {
+    synchronized (this) {
+      if (!enabled || !sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+        return;
+      }
+    }
+    try (PreparedStatement explain = connection.prepareStatement(EXPLAIN_PREFIX + sql)) {
+      for (Binding binding : bindings.values()) {
+        invoke(binding.method(), explain, binding.args());
+      }
+      try (ResultSet rs = explain.executeQuery()) {
+        rs.next();
+        JsonNode plan = OBJECT_MAPPER.readTree(rs.getString(1));
+        synchronized (this) {
+          plans.add(new CapturedPlan(sql, plan));
+        }
+      }
+    } catch (SQLException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new SQLException("実行計画を取得できません: " + sql, e);
+    }
+  }
+
+  /**
+   * 対象のメソッドを呼び出し、結果を後処理するプロキシを生成する
+   *
+   * @param type インターフェース
+   * @param target 対象
+   * @param after 結果の後処理
+   * @param <T> インターフェースの型
+   * @return プロキシ
+   */
+  private static <T> T proxy(Class<T> type, T target, AfterInvocation after) {
+    InvocationHandler handler =
+        (proxy, method, args) -> after.apply(method, args, invoke(method, target, args));
+    return type.cast(
+        Proxy.newProxyInstance(
+            ExplainCapture.class.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  /**
+   * 対象のメソッドを呼び出し、呼び出し先の例外をそのまま投げる
+   *
+   * @param method メソッド
+   * @param target 対象
+   * @param args 引数
+   * @return 戻り値
+   * @throws Throwable 呼び出し先の例外
+   */
+  private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** 呼び出し結果の後処理 */
+  @FunctionalInterface
+  private interface AfterInvocation {
+
+    /**
+     * 呼び出し結果を後処理する
+     *
+     * @param method 呼び出したメソッド
+     * @param args 引数
+     * @param result 戻り値
+     * @return 呼び出し元に返す値
+     */
+    Object apply(Method method, Object[] args, Object result);
+  }
+
+  /**
+   * バインド値の設定
+   *
+   * @param method 設定に使ったメソッド（setLong・setArrayなど）
+   * @param args 引数（先頭はパラメータ位置）
+   */
+  private record Binding(Method method, Object[] args) {}
+
+  /**
+   * 取得した実行計画
+   *
+   * @param sql 実行したSQL
+   * @param plan {@code EXPLAIN (FORMAT JSON)}の結果
+   */
+  record CapturedPlan(String sql, JsonNode plan) {}
+}
@@ -0,0 +1,89 @@
+package com.example.ec.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 実行計画の検査
+ *
+ * <p>{@code EXPLAIN (ANALYZE, FORMAT JSON)}の計画ノードをたどり、次の問題を指摘する。
+ *
+ * <ul>
+ *   <li>大きなテーブルのシーケンシャルスキャン（全件を読む一括取得では許可できる）
+ *   <li>work_memに収まらずディスクに書き出したソート・複数バッチに分かれたハッシュ
+ *   <li>推定行数と実際の行数の大きな乖離（LIMITの下にあるノードは途中で打ち切られるため対象外）
+ * </ul>
+ */
+final class QueryPlanInspector {
+
+  /** シーケンシャルスキャンを禁止するテーブル（小さなマスタは全件読む方が速いため含めない） */
+  static final Set<String> LARGE_TABLES =
+      Set.of("products", "product_variants", "product_campaigns", "campaigns", "users");
+
+  /** 推定行数と実際の行数の比の上限 */
+  static final double MAX_ESTIMATE_RATIO = 100.0;
+
+  /** 推定・実際のいずれかがこの行数以上のノードだけ推定の乖離を検査する（少数行の誤差は無視する） */
+  static final long MIN_ROWS_FOR_ESTIMATE_CHECK = 100L;
+
+  private QueryPlanInspector() {}
+
+  /**
+   * 実行計画の問題を列挙する
+   *
+   * @param explain {@code EXPLAIN (FORMAT JSON)}の結果（ルートの配列）
+   * @param allowSeqScan シーケンシャルスキャンを許可する場合true
+   * @return 問題（なければ空リスト）
+   */
+  static List<String> violations(JsonNode explain, boolean allowSeqScan) {
+    List<String> violations = new ArrayList<>();
+    inspect(explain.get(0).get("Plan"), allowSeqScan, false, violations);
+    return violations;
+  }
+
+  /**
+   * 計画ノードとその子を再帰的に検査する
+   *
+   * @param node 計画ノード
+   * @param allowSeqScan シーケンシャルスキャンを許可する場合true
+   * @param underLimit LIMITの下にあるノードの場合true
+   * @param violations 問題の追加先
+   */
+  private static void inspect(
+      JsonNode node, boolean allowSeqScan, boolean underLimit, List<String> violations) {
+    String nodeType = node.path("Node Type").asText();
+    String relation = node.path("Relation Name").asText("");
+    if (!allowSeqScan && nodeType.equals("Seq Scan") && LARGE_TABLES.contains(relation)) {
+      violations.add("シーケンシャルスキャン: " + relation);
+    }
+    if (node.path("Sort Space Type").asText("").equals("Disk")) {
+      violations.add(
+          "ディスクに書き出したソート: "
+              + node.path("Sort Key")
+              + " ("
+              + node.path("Sort Space Used").asLong()
+              + "kB)");
+    }
+    if (node.path("Hash Batches").asInt(1) > 1) {
+      violations.add("複数バッチのハッシュ: " + node.path("Hash Batches").asInt() + "バッチ");
+    }
+    if (!underLimit) {
+      long estimated = node.path("Plan Rows").asLong();
+      long actual = node.path("Actual Rows").asLong();
+      double ratio = (double) (Math.max(estimated, actual) + 1) / (Math.min(estimated, actual) + 1);
+      if (Math.max(estimated, actual) >= MIN_ROWS_FOR_ESTIMATE_CHECK
+          && ratio > MAX_ESTIMATE_RATIO) {
+        violations.add(
+            String.format(
+                "推定行数の乖離: %s%s 推定=%d 実際=%d",
+                nodeType, relation.isEmpty() ? "" : " on " + relation, estimated, actual));
+      }
+    }
+    boolean childUnderLimit = underLimit || nodeType.equals("Limit");
+    for (JsonNode child : node.path("Plans")) {
+      inspect(child, allowSeqScan, childUnderLimit, violations);
+    }
+  }
+}
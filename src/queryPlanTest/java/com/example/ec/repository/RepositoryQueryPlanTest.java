@@ -0,0 +1,325 @@
+package com.example.ec.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.catalog.CatalogFilter;
+import com.example.ec.datagen.CatalogDataGenerator;
+import com.example.ec.datagen.CatalogDataSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * リポジトリのクエリの実行計画の回帰テストクラス
+ *
+ * <p>マイグレーションを適用したPostgreSQLに{@link CatalogDataGenerator}で本番規模を想定した合成データ（カテゴリ40件・商品20万件・
+ * バリアントは商品あたり1〜30件・キャンペーン10万件・ユーザー10万件）を投入し、
+ * 各リポジトリメソッド（商品ページはソート項目・昇順降順の組み合わせごと）が実行するSELECTを
+ * {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}で取得して{@link QueryPlanInspector}で検査する。
+ * 取得した実行計画は{@code queryPlan.reportDir}（既定は{@code build/reports/query-plans}）にケースごとに書き出す。
+ * Dockerが使えない環境ではスキップする。
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RepositoryQueryPlanTest.ExplainCaptureConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RepositoryQueryPlanTest {
+
+  private static final CatalogDataSpec SPEC =
+      CatalogDataSpec.production().withProducts(200_000).withUsers(100_000);
+  private static final String CATEGORY = "iphone";
+  private static final String KEYWORD = "pro";
+  private static final int DEEP_PAGE = 50;
+  private static final int PAGE_SIZE = 20;
+  private static final CatalogFilter FILTER =
+      new CatalogFilter(
+          List.of("Samsung", "Google"),
+          List.of("256GB"),
+          null,
+          new BigDecimal("30000"),
+          new BigDecimal("150000"));
+  private static final ExplainCapture CAPTURE = new ExplainCapture();
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+  private static List<Long> sampleProductIds;
+
+  @Autowired private ProductRepository productRepository;
+
+  @Autowired private ProductVariantRepository productVariantRepository;
+
+  @Autowired private CampaignRepository campaignRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private ProductCampaignRepository productCampaignRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  /**
+   * PostgreSQLコンテナを接続先に設定する
+   *
+   * @param registry プロパティの登録先
+   */
+  @DynamicPropertySource
+  static void datasourceProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  /**
+   * マイグレーションを適用し、合成データを投入して統計情報を更新する
+   *
+   * @throws Exception 投入に失敗した場合
+   */
+  @BeforeAll
+  static void seed() throws Exception {
+    SingleConnectionDataSource dataSource =
+        new SingleConnectionDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), true);
+    try {
+      Flyway.configure().dataSource(dataSource).load().migrate();
+      CatalogDataGenerator.load(dataSource, SPEC);
+      JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+      sampleProductIds =
+          jdbcTemplate.queryForList(
+              "SELECT id FROM products WHERE category_code = ? AND is_active "
+                  + "ORDER BY id LIMIT ?",
+              Long.class,
+              CATEGORY,
+              PAGE_SIZE * 5);
+    } finally {
+      dataSource.destroy();
+    }
+  }
+
+  /**
+   * 各リポジトリメソッドの実行計画を検査する
+   *
+   * @return ケースごとのテスト
+   */
+  @TestFactory
+  Stream<DynamicTest> repositoryQueryPlans() {
+    return queryCases().stream()
+        .map(queryCase -> DynamicTest.dynamicTest(queryCase.name(), () -> verify(queryCase)));
+  }
+
+  /**
+   * 検査するリポジトリメソッドの呼び出しを列挙する
+   *
+   * @return ケース
+   */
+  private List<QueryCase> queryCases() {
+    List<QueryCase> cases = new ArrayList<>();
+    for (String sortField : List.of("name", "price", "createdAt")) {
+      for (Sort.Direction direction : Sort.Direction.values()) {
+        Pageable pageable = PageRequest.of(DEEP_PAGE, PAGE_SIZE, Sort.by(direction, sortField));
+        String suffix = " [" + sortField + " " + direction + "]";
+        cases.add(
+            new QueryCase(
+                "ProductRepository.findByCategoryCodeAndIsActiveTrue" + suffix,
+                false,
+                () -> productRepository.findByCategoryCodeAndIsActiveTrue(CATEGORY, pageable)));
+        cases.add(
+            new QueryCase(
+                "ProductRepository.findByCategoryCodeAndKeyword" + suffix,
+                false,
+                () ->
+                    productRepository.findByCategoryCodeAndKeyword(CATEGORY, KEYWORD, pageable)));
+        cases.add(
+            new QueryCase(
+                "ProductRepository.findAll(ProductSpecifications.matching)" + suffix,
+                false,
+                () ->
+                    productRepository.findAll(
+                        ProductSpecifications.matching(CATEGORY, "", FILTER), pageable)));
+      }
+    }
+    cases.add(
+        new QueryCase(
+            "ProductRepository.countByCategoryCodeAndIsActiveTrue",
+            false,
+            () -> productRepository.countByCategoryCodeAndIsActiveTrue(CATEGORY)));
+    cases.add(
+        new QueryCase(
+            "Product.productCampaigns（ページ内の商品の一括ロード）",
+            false,
+            () ->
+                productRepository
+                    .findByCategoryCodeAndIsActiveTrue(
+                        CATEGORY, PageRequest.of(0, PAGE_SIZE, Sort.by("name")))
+                    .forEach(product -> product.getProductCampaigns().size())));
+    cases.add(
+        new QueryCase(
+            "ProductRepository.findAllActiveWithCategory",
+            true,
+            () -> productRepository.findAllActiveWithCategory()));
+    cases.add(
+        new QueryCase(
+            "ProductVariantRepository.findByProductId",
+            false,
+            () -> productVariantRepository.findByProductId(sampleProductIds.get(0))));
+    cases.add(
+        new QueryCase(
+            "ProductVariantRepository.findByProductIds",
+            false,
+            () -> productVariantRepository.findByProductIds(sampleProductIds)));
+    cases.add(
+        new QueryCase(
+            "ProductVariantRepository.findAllOfActiveProducts",
+            true,
+            () -> productVariantRepository.findAllOfActiveProducts()));
+    cases.add(
+        new QueryCase(
+            "CampaignRepository.findCurrentlyValidCampaigns",
+            false,
+            () -> campaignRepository.findCurrentlyValidCampaigns()));
+    cases.add(
+        new QueryCase(
+            "CategoryRepository.findByIsActiveTrueOrderByDisplayOrder",
+            false,
+            () -> categoryRepository.findByIsActiveTrueOrderByDisplayOrder()));
+    cases.add(
+        new QueryCase(
+            "CategoryRepository.findActiveCategoryByCode",
+            false,
+            () -> categoryRepository.findActiveCategoryByCode(CATEGORY)));
+    cases.add(
+        new QueryCase(
+            "UserRepository.findByEmail",
+            false,
+            () -> userRepository.findByEmail(CatalogDataGenerator.email(12345))));
+    cases.add(
+        new QueryCase(
+            "UserRepository.existsByEmail",
+            false,
+            () -> userRepository.existsByEmail(CatalogDataGenerator.email(12345))));
+    cases.add(
+        new QueryCase(
+            "ProductCampaignRepository.findAllWithActiveCampaign",
+            true,
+            () -> productCampaignRepository.findAllWithActiveCampaign()));
+    return cases;
+  }
+
+  /**
+   * 読み取り専用トランザクションでケースを実行し、実行されたSELECTの実行計画を検査する
+   *
+   * @param queryCase ケース
+   * @throws IOException 実行計画の書き出しエラー
+   */
+  private void verify(QueryCase queryCase) throws IOException {
+    entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+
+    CAPTURE.start();
+    List<ExplainCapture.CapturedPlan> plans;
+    try {
+      readOnlyTransaction.executeWithoutResult(status -> queryCase.query().run());
+    } finally {
+      plans = CAPTURE.stop();
+    }
+    writeReport(queryCase.name(), plans);
+
+    assertThat(plans).as("%s で実行されたSELECT", queryCase.name()).isNotEmpty();
+    List<String> violations = new ArrayList<>();
+    for (ExplainCapture.CapturedPlan plan : plans) {
+      for (String violation : QueryPlanInspector.violations(plan.plan(), queryCase.bulk())) {
+        violations.add(violation + System.lineSeparator() + "    " + plan.sql());
+      }
+    }
+    assertThat(violations).as("%s の実行計画", queryCase.name()).isEmpty();
+  }
+
+  /**
+   * ケースの実行計画をJSONファイルに書き出す
+   *
+   * @param name ケース名
+   * @param plans 実行計画
+   * @throws IOException 書き出しエラー
+   */
+  private static void writeReport(String name, List<ExplainCapture.CapturedPlan> plans)
+      throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    ArrayNode report = objectMapper.createArrayNode();
+    for (ExplainCapture.CapturedPlan plan : plans) {
+      report.addObject().put("sql", plan.sql()).set("plan", plan.plan());
+    }
+    Path directory =
+        Path.of(System.getProperty("queryPlan.reportDir", "build/reports/query-plans"));
+    Files.createDirectories(directory);
+    Path file = directory.resolve(name.replaceAll("[^A-Za-z0-9._-]+", "_") + ".json");
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+  }
+
+  /**
+   * 検査するリポジトリメソッドの呼び出し
+   *
+   * @param name ケース名
+   * @param bulk 全件を読む一括取得の場合true（シーケンシャルスキャンを許可する）
+   * @param query リポジトリメソッドの呼び出し
+   */
+  private record QueryCase(String name, boolean bulk, Runnable query) {}
+
+  /** リポジトリが使うDataSourceを、実行計画を記録するDataSourceで包む設定 */
+  @TestConfiguration
+  static class ExplainCaptureConfig {
+
+    /**
+     * DataSourceを包むBeanPostProcessorを生成する
+     *
+     * @return BeanPostProcessor
+     */
+    @Bean
+    static BeanPostProcessor explainCapturingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource ? CAPTURE.wrap(dataSource) : bean;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.dto.CategoryDetailResponse;
+import com.example.ec.stress.StressResult;
+import com.example.ec.stress.StressRunner;
+import com.example.ec.stress.StressThreadKind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * CatalogSearchCacheのストレステストクラス
+ *
+ * <p>多数のスレッドからの検索と、カタログバージョンの変化による全エントリの破棄を同時に繰り返す。
+ */
+class CatalogSearchCacheStressTest {
+
+  private static final long OPERATIONS = 200_000;
+  private static final Duration CONTENTION_BUDGET = Duration.ofMillis(500);
+  private static final List<String> CATEGORIES = List.of("iphone", "android", "refurbished");
+  private static final int PAGES = 16;
+  private static final int VERSION_CHANGE_INTERVAL = 200;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CatalogVersionTracker catalogVersionTracker;
+  private CatalogSearchCache searchCache;
+  private AtomicLong loads;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    CatalogVersionProbe catalogVersionProbe = mock(CatalogVersionProbe.class);
+    AtomicLong version = new AtomicLong();
+    when(catalogVersionProbe.currentVersion()).thenAnswer(invocation -> version.incrementAndGet());
+    catalogVersionTracker =
+        new CatalogVersionTracker(
+            catalogVersionProbe,
+            event -> searchCache.onCatalogChanged((CatalogChangedEvent) event));
+    catalogVersionTracker.poll();
+    searchCache =
+        new CatalogSearchCache(new CatalogConfig(), catalogVersionTracker, meterRegistry);
+    loads = new AtomicLong();
+  }
+
+  @AfterEach
+  void tearDown() {
+    searchCache.shutdown();
+  }
+
+  @ParameterizedTest
+  @EnumSource(StressThreadKind.class)
+  @DisplayName("バージョンの変化と破棄が並行しても、各リクエストは自身の検索条件の結果を受け取る")
+  void get_neverMixesUpKeys(StressThreadKind kind) throws Exception {
+    assumeTrue(kind.isSupported(), "実行環境が仮想スレッドに対応していません");
+
+    StressResult result =
+        StressRunner.run(
+            "catalog-search-cache",
+            kind,
+            OPERATIONS,
+            CONTENTION_BUDGET,
+            (thread, iteration) -> {
+              // カタログの変更を検知するのは1スレッドだけ（本番のポーリングと同じく直列）
+              if (thread == 0 && iteration % VERSION_CHANGE_INTERVAL == 0) {
+                catalogVersionTracker.poll();
+              }
+              String categoryCode = CATEGORIES.get((thread + iteration) % CATEGORIES.size());
+              int page = (thread * 31 + iteration) % PAGES;
+              CatalogSearchKey key =
+                  new CatalogSearchKey(
+                      categoryCode, "", CatalogFilter.none(), "name", "asc", page, 20);
+
+              CatalogSearchCache.Lookup lookup = searchCache.get(key, () -> load(key));
+
+              assertThat(lookup.stale()).isFalse();
+              assertThat(lookup.page().category().getCategoryCode()).isEqualTo(categoryCode);
+              assertThat(lookup.page().total()).isEqualTo(page);
+            });
+
+    result.assertHealthy();
+    assertThat(count("hit") + count("miss")).isEqualTo(result.operations());
+    assertThat(count("miss")).isLessThanOrEqualTo(loads.get());
+    assertThat(count("stale")).isZero();
+  }
+
+  /**
+   * 検索条件から一意に決まる検索結果を生成する
+   *
+   * @param key 検索条件
+   * @return 検索結果（総件数にページ番号を入れる）
+   */
+  private CatalogSearchCache.SearchPage load(CatalogSearchKey key) {
+    loads.incrementAndGet();
+    return new CatalogSearchCache.SearchPage(
+        CategoryDetailResponse.CategoryInfo.builder().categoryCode(key.categoryCode()).build(),
+        List.of(),
+        key.page(),
+        key.page() + 1,
+        Long.MAX_VALUE);
+  }
+
+  /**
+   * 結果別のリクエスト数を全カテゴリで合計する
+   *
+   * @param result 結果（hit・miss・stale）
+   * @return リクエスト数
+   */
+  private long count(String result) {
+    return (long)
+        meterRegistry
+            .find("catalog.search.cache.requests")
+            .tag("result", result)
+            .counters()
+            .stream()
+            .mapToDouble(Counter::count)
+            .sum();
+  }
+}
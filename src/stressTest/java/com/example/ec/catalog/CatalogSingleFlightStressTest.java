@@ -0,0 +1,103 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.stress.StressResult;
+import com.example.ec.stress.StressRunner;
+import com.example.ec.stress.StressThreadKind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * CatalogSingleFlightのストレステストクラス
+ *
+ * <p>少数の検索条件に多数のスレッドを集中させ、合流の排他性と件数の整合を検証する。
+ */
+class CatalogSingleFlightStressTest {
+
+  private static final long OPERATIONS = 200_000;
+  private static final Duration CONTENTION_BUDGET = Duration.ofMillis(500);
+  private static final long SEARCH_NANOS = 50_000;
+  private static final CatalogSearchKey[] KEYS =
+      IntStream.range(0, 8)
+          .mapToObj(
+              page ->
+                  new CatalogSearchKey("iphone", "", CatalogFilter.none(), "name", "asc", page, 20))
+          .toArray(CatalogSearchKey[]::new);
+
+  private SimpleMeterRegistry meterRegistry;
+  private CatalogSingleFlight singleFlight;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    CatalogConfig catalogConfig = new CatalogConfig();
+    // 待ち時間の上限で自ら検索すると同じ条件の検索が並行するため、上限に達しない長さにする
+    catalogConfig.getSingleFlight().setMaxWait(60_000L);
+    singleFlight = new CatalogSingleFlight(catalogConfig, meterRegistry);
+  }
+
+  @ParameterizedTest
+  @EnumSource(StressThreadKind.class)
+  @DisplayName("同じ検索条件の検索は同時に1件だけ実行され、全リクエストが自身の条件の結果を受け取る")
+  void execute_isExclusivePerKey(StressThreadKind kind) throws Exception {
+    assumeTrue(kind.isSupported(), "実行環境が仮想スレッドに対応していません");
+    AtomicIntegerArray running = new AtomicIntegerArray(KEYS.length);
+    AtomicLong overlaps = new AtomicLong();
+    AtomicLong searches = new AtomicLong();
+
+    StressResult result =
+        StressRunner.run(
+            "catalog-single-flight",
+            kind,
+            OPERATIONS,
+            CONTENTION_BUDGET,
+            (thread, iteration) -> {
+              int key = (thread + iteration) % KEYS.length;
+              int found =
+                  singleFlight.execute(
+                      KEYS[key],
+                      () -> {
+                        if (running.incrementAndGet(key) > 1) {
+                          overlaps.incrementAndGet();
+                        }
+                        searches.incrementAndGet();
+                        LockSupport.parkNanos(SEARCH_NANOS);
+                        running.decrementAndGet(key);
+                        return key;
+                      });
+              assertThat(found).isEqualTo(key);
+            });
+
+    result.assertHealthy();
+    assertThat(overlaps).hasValue(0);
+    assertThat(count("leader")).isEqualTo(searches.get());
+    assertThat(count("fallthrough")).isZero();
+    assertThat(count("leader") + count("coalesced")).isEqualTo(result.operations());
+  }
+
+  /**
+   * 結果別の処理件数を取得する
+   *
+   * @param outcome 結果（leader・coalesced・fallthrough）
+   * @return 処理件数
+   */
+  private long count(String outcome) {
+    return (long)
+        meterRegistry
+            .get("catalog.singleflight.requests")
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+  }
+}
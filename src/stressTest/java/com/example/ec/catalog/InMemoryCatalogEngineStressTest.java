@@ -0,0 +1,137 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.stress.StressResult;
+import com.example.ec.stress.StressRunner;
+import com.example.ec.stress.StressThreadKind;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * InMemoryCatalogEngineのストレステストクラス
+ *
+ * <p>1スレッドがスナップショットを再構築して差し替える間に、残りのスレッドが読み取りを繰り返す。
+ * 世代ごとに商品数を変え、バージョンと内容の組み合わせで読み取ったスナップショットが一貫していることを確かめる。
+ */
+class InMemoryCatalogEngineStressTest {
+
+  private static final long OPERATIONS = 400_000;
+  private static final Duration CONTENTION_BUDGET = Duration.ofMillis(100);
+  private static final int REFRESH_INTERVAL = 50;
+  private static final Instant BASE_TIME = Instant.parse("2024-04-01T00:00:00Z");
+
+  private InMemoryCatalogEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    CatalogDataLoader catalogDataLoader = mock(CatalogDataLoader.class);
+    CatalogVersionProbe catalogVersionProbe = mock(CatalogVersionProbe.class);
+    // 差分の読み取り位置はモックの既定値（Optional.empty()）となり、毎回全件を読み込む
+    CatalogDeltaLoader catalogDeltaLoader = mock(CatalogDeltaLoader.class);
+    AtomicLong generation = new AtomicLong();
+    // refresh()はバージョン・データの順に取得するため、バージョンで世代を進めてデータはその世代で作る
+    when(catalogVersionProbe.currentVersion())
+        .thenAnswer(invocation -> generation.incrementAndGet());
+    when(catalogDataLoader.loadAll()).thenAnswer(invocation -> data(generation.get()));
+    CatalogConfig catalogConfig = new CatalogConfig();
+    catalogConfig.getEngine().getSnapshot().setEnabled(false);
+    engine =
+        new InMemoryCatalogEngine(
+            catalogDataLoader,
+            catalogDeltaLoader,
+            catalogVersionProbe,
+            mock(CatalogVersionTracker.class),
+            catalogConfig,
+            event -> {});
+    engine.refresh();
+  }
+
+  @ParameterizedTest
+  @EnumSource(StressThreadKind.class)
+  @DisplayName("再構築と並行して読み取っても、スナップショットは一貫し、バージョンは後退しない")
+  void currentSnapshot_isNeverTorn(StressThreadKind kind) throws Exception {
+    assumeTrue(kind.isSupported(), "実行環境が仮想スレッドに対応していません");
+    long[] lastSeenVersions = new long[kind.threads()];
+
+    StressResult result =
+        StressRunner.run(
+            "in-memory-catalog-engine",
+            kind,
+            OPERATIONS,
+            CONTENTION_BUDGET,
+            (thread, iteration) -> {
+              if (thread == 0 && iteration % REFRESH_INTERVAL == 0) {
+                engine.refresh();
+                return;
+              }
+              CatalogSnapshot snapshot = engine.currentSnapshot().orElseThrow();
+              long version = snapshot.version();
+              assertThat(version).isGreaterThanOrEqualTo(lastSeenVersions[thread]);
+              lastSeenVersions[thread] = version;
+              assertThat(snapshot.productCount()).isEqualTo(productCount(version));
+              CatalogSnapshot.CategoryPage page =
+                  snapshot
+                      .categoryPage(
+                          "iphone",
+                          CatalogFilter.none(),
+                          CatalogSortKey.PRICE,
+                          false,
+                          0,
+                          100,
+                          BASE_TIME)
+                      .orElseThrow();
+              assertThat(page.total()).isEqualTo(productCount(version));
+              assertThat(page.products()).hasSize(productCount(version));
+            });
+
+    result.assertHealthy();
+  }
+
+  /**
+   * 世代ごとの商品数を計算する
+   *
+   * @param generation 世代（カタログバージョン）
+   * @return 商品数（1〜20件）
+   */
+  private static int productCount(long generation) {
+    return (int) (generation % 20) + 1;
+  }
+
+  /**
+   * 世代ごとのカタログデータを生成する
+   *
+   * @param generation 世代
+   * @return iPhoneカテゴリに世代ごとの件数の商品を持つカタログデータ
+   */
+  private static CatalogData data(long generation) {
+    return new CatalogData(
+        List.of(new CatalogData.CategoryRow("iphone", "iPhone", null, null, 1)),
+        LongStream.rangeClosed(1, productCount(generation))
+            .mapToObj(
+                id ->
+                    new CatalogData.ProductRow(
+                        id,
+                        "product-" + generation + "-" + id,
+                        null,
+                        BigDecimal.valueOf(1000 * id),
+                        "iphone",
+                        BASE_TIME.plusSeconds(id)))
+            .toList(),
+        List.of(),
+        List.of(),
+        List.of());
+  }
+}
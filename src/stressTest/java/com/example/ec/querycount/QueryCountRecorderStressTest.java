@@ -0,0 +1,139 @@
+package com.example.ec.querycount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.example.ec.config.QueryCountConfig;
+import com.example.ec.config.TimingMetricsConfig;
+import com.example.ec.stress.StressResult;
+import com.example.ec.stress.StressRunner;
+import com.example.ec.stress.StressThreadKind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * QueryCountRecorderのストレステストクラス
+ *
+ * <p>上限を大きく超える種類のN+1の疑いを多数のスレッドから同時に記録しながら、集計値を読み取る。
+ */
+class QueryCountRecorderStressTest {
+
+  private static final long OPERATIONS = 400_000;
+  private static final Duration CONTENTION_BUDGET = Duration.ofMillis(200);
+  private static final List<String> ENDPOINTS =
+      List.of(
+          "GET /api/v1/products/categories",
+          "GET /api/v1/products/categories/{categoryCode}",
+          "GET /api/v1/products/{productId}",
+          "GET /api/v1/products/suggest");
+  private static final int SHAPES = 64;
+  private static final int MAX_OFFENDERS = 16;
+  private static final int REPEAT_THRESHOLD = 3;
+  private static final int MAX_REPEATS = REPEAT_THRESHOLD + 4;
+  private static final int READ_INTERVAL = 100;
+
+  private SimpleMeterRegistry meterRegistry;
+  private QueryCountRecorder recorder;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    QueryCountConfig config = new QueryCountConfig();
+    config.setMaxOffenders(MAX_OFFENDERS);
+    config.setRepeatThreshold(REPEAT_THRESHOLD);
+    recorder = new QueryCountRecorder(config, new TimingMetricsConfig(), meterRegistry);
+  }
+
+  @ParameterizedTest
+  @EnumSource(StressThreadKind.class)
+  @DisplayName("同時に記録しても件数を取りこぼさず、箇所は上限を超えず、集計値は食い違わない")
+  void record_isLinearizable(StressThreadKind kind) throws Exception {
+    assumeTrue(kind.isSupported(), "実行環境が仮想スレッドに対応していません");
+    LongAdder expectedStatements = new LongAdder();
+
+    StressResult result =
+        StressRunner.run(
+            "query-count-recorder",
+            kind,
+            OPERATIONS,
+            CONTENTION_BUDGET,
+            (thread, iteration) -> {
+              if (thread == 1 && iteration % READ_INTERVAL == 0) {
+                assertConsistent(recorder.topOffenders(Integer.MAX_VALUE));
+              }
+              int repeats = REPEAT_THRESHOLD + iteration % (MAX_REPEATS - REPEAT_THRESHOLD + 1);
+              int shape = (thread * 7 + iteration) % SHAPES;
+              RequestQueryStats stats = new RequestQueryStats();
+              for (int i = 0; i < repeats; i++) {
+                stats.recordStatement(sql(shape), 1_000L);
+              }
+
+              List<RequestQueryStats.RepeatedStatement> repeated =
+                  recorder.record(ENDPOINTS.get((thread + iteration) % ENDPOINTS.size()), stats);
+
+              assertThat(repeated).hasSize(1);
+              assertThat(repeated.get(0).count()).isEqualTo(repeats);
+              expectedStatements.add(repeats);
+            });
+
+    result.assertHealthy();
+    List<QueryCountRecorder.OffenderSummary> offenders = recorder.topOffenders(Integer.MAX_VALUE);
+    assertThat(offenders).hasSize(MAX_OFFENDERS);
+    assertConsistent(offenders);
+    List<DistributionSummary> summaries =
+        List.copyOf(meterRegistry.find("db.request.statements").summaries());
+    assertThat(summaries.stream().mapToLong(DistributionSummary::count).sum())
+        .isEqualTo(result.operations());
+    assertThat(summaries.stream().mapToDouble(DistributionSummary::totalAmount).sum())
+        .isEqualTo((double) expectedStatements.sum());
+    assertThat(
+            meterRegistry.find("db.request.repeated").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum())
+        .isEqualTo((double) result.operations());
+  }
+
+  /**
+   * 読み取った集計値が上限内で、検出数と合計回数が食い違っていないことを検証する
+   *
+   * @param offenders N+1の疑いがある箇所の集計値
+   */
+  private static void assertConsistent(List<QueryCountRecorder.OffenderSummary> offenders) {
+    assertThat(offenders).hasSizeLessThanOrEqualTo(MAX_OFFENDERS);
+    for (QueryCountRecorder.OffenderSummary offender : offenders) {
+      if (offender.requests() == 0) {
+        // 登録直後で、最初の検出をまだ加算していない箇所
+        assertThat(offender.statements()).isZero();
+        continue;
+      }
+      assertThat(offender.maxRepeats()).isBetween(REPEAT_THRESHOLD, MAX_REPEATS);
+      assertThat(offender.statements())
+          .isBetween(
+              offender.requests() * REPEAT_THRESHOLD,
+              offender.requests() * offender.maxRepeats());
+    }
+  }
+
+  /**
+   * 形の番号ごとに異なるSQLを生成する
+   *
+   * <p>数値はSQLの形の正規化で置き換えられるため、テーブル名は英字で区別する。
+   *
+   * @param shape 形の番号
+   * @return SQL
+   */
+  private static String sql(int shape) {
+    return "select * from variants_"
+        + (char) ('a' + shape / 26)
+        + (char) ('a' + shape % 26)
+        + " where product_id = ?";
+  }
+}
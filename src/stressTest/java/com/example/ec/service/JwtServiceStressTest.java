@@ -0,0 +1,61 @@
+package com.example.ec.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.example.ec.config.JwtConfig;
+import com.example.ec.stress.StressResult;
+import com.example.ec.stress.StressRunner;
+import com.example.ec.stress.StressThreadKind;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * JwtServiceのストレステストクラス
+ *
+ * <p>共有した1つのインスタンスで、多数のスレッドからトークンの生成と検証を同時に繰り返す。
+ */
+class JwtServiceStressTest {
+
+  private static final long OPERATIONS = 100_000;
+  private static final Duration CONTENTION_BUDGET = Duration.ofMillis(200);
+
+  private JwtService jwtService;
+
+  @BeforeEach
+  void setUp() {
+    JwtConfig jwtConfig = new JwtConfig();
+    jwtConfig.setSecret("dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdGVzdGluZy0xMjM0NTY3ODkw");
+    jwtConfig.setAccessTokenExpiration(3600000L);
+    jwtConfig.setRefreshTokenExpiration(86400000L);
+    jwtService = new JwtService(jwtConfig);
+  }
+
+  @ParameterizedTest
+  @EnumSource(StressThreadKind.class)
+  @DisplayName("同時に生成・検証しても、各スレッドのトークンは自身のメールアドレスだけを表す")
+  void generateAndValidate_isThreadSafe(StressThreadKind kind) throws Exception {
+    assumeTrue(kind.isSupported(), "実行環境が仮想スレッドに対応していません");
+
+    StressResult result =
+        StressRunner.run(
+            "jwt-service",
+            kind,
+            OPERATIONS,
+            CONTENTION_BUDGET,
+            (thread, iteration) -> {
+              String email = "user" + thread + "-" + iteration + "@example.com";
+              String token =
+                  iteration % 2 == 0
+                      ? jwtService.generateAccessToken(email)
+                      : jwtService.generateRefreshToken(email);
+              assertThat(jwtService.validateToken(token)).isTrue();
+              assertThat(jwtService.getUsernameFromToken(token)).isEqualTo(email);
+            });
+
+    result.assertHealthy();
+  }
+}
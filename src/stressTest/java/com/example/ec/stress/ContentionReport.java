@@ -0,0 +1,66 @@
+package com.example.ec.stress;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ストレステスト中のモニターロック競合の集計
+ *
+ * <p>JFRの{@code jdk.JavaMonitorEnter}イベント（{@code synchronized}の入口で他のスレッドの解放を待った時間）を、
+ * モニターのクラスと待たされた箇所（スタックの先頭のフレーム）の組み合わせごとに合計したもの。
+ *
+ * @param events イベント数
+ * @param totalBlocked 待ち時間の合計
+ * @param sites 箇所ごとの集計（待ち時間の長い順）
+ */
+public record ContentionReport(long events, Duration totalBlocked, List<Site> sites) {
+
+  private static final int REPORTED_SITES = 20;
+
+  /**
+   * 待ち時間の合計が予算を超えたかどうかを判定する
+   *
+   * @param budget 許容する待ち時間の合計
+   * @return 超えた場合true
+   */
+  public boolean exceeds(Duration budget) {
+    return totalBlocked.compareTo(budget) > 0;
+  }
+
+  /**
+   * 待ち時間の長い箇所をテキストに整形する
+   *
+   * @return 1箇所1行のテキスト（上位20箇所）
+   */
+  public String format() {
+    StringBuilder text = new StringBuilder();
+    text.append(
+        String.format(
+            Locale.ROOT,
+            "monitor contention: events=%d, blocked=%.3fms%n",
+            events,
+            totalBlocked.toNanos() / 1_000_000.0));
+    for (Site site : sites.subList(0, Math.min(sites.size(), REPORTED_SITES))) {
+      text.append(
+          String.format(
+              Locale.ROOT,
+              "  %10.3fms %8d  %s @ %s%n",
+              site.blocked().toNanos() / 1_000_000.0,
+              site.events(),
+              site.monitorClass(),
+              site.frame()));
+    }
+    return text.toString();
+  }
+
+  /**
+   * 競合した箇所
+   *
+   * @param monitorClass モニター（ロック対象のオブジェクト）のクラス名
+   * @param frame 待たされたメソッドと行番号
+   * @param events イベント数
+   * @param blocked 待ち時間の合計
+   */
+  public record Site(String monitorClass, String frame, long events, Duration blocked) {}
+}
@@ -0,0 +1,131 @@
+package com.example.ec.stress;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * JFRによるモニターロック競合の記録
+ *
+ * <p>閾値なしで{@code jdk.JavaMonitorEnter}をスタックトレース付きで記録し、停止時にファイルへ書き出してから、
+ * 負荷をかけたスレッド（名前の接頭辞で判別）のイベントだけを集計する。 競合のない{@code synchronized}はイベントにならないため、
+ * 記録によるオーバーヘッドは競合の発生数に比例する。
+ */
+final class MonitorContentionRecorder implements AutoCloseable {
+
+  private static final String EVENT_NAME = "jdk.JavaMonitorEnter";
+
+  private final Recording recording;
+  private final String threadNamePrefix;
+
+  /**
+   * 記録を生成する
+   *
+   * @param recording JFRの記録
+   * @param threadNamePrefix 集計対象のスレッド名の接頭辞
+   */
+  private MonitorContentionRecorder(Recording recording, String threadNamePrefix) {
+    this.recording = recording;
+    this.threadNamePrefix = threadNamePrefix;
+  }
+
+  /**
+   * 記録を開始する
+   *
+   * @param threadNamePrefix 集計対象のスレッド名の接頭辞
+   * @return 開始した記録
+   */
+  static MonitorContentionRecorder start(String threadNamePrefix) {
+    Recording recording = new Recording();
+    recording.setName(threadNamePrefix);
+    recording.enable(EVENT_NAME).withThreshold(Duration.ZERO).withStackTrace();
+    recording.start();
+    return new MonitorContentionRecorder(recording, threadNamePrefix);
+  }
+
+  /**
+   * 記録を停止してファイルに書き出し、競合を集計する
+   *
+   * @param file 書き出し先（JDK Mission Controlなどで開ける{@code .jfr}ファイル）
+   * @return 競合の集計
+   * @throws IOException 書き出し・読み込みに失敗した場合
+   */
+  ContentionReport stop(Path file) throws IOException {
+    recording.stop();
+    recording.dump(file);
+    Map<List<String>, long[]> totals = new HashMap<>();
+    long events = 0;
+    long blockedNanos = 0;
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      if (!EVENT_NAME.equals(event.getEventType().getName()) || !isStressThread(event)) {
+        continue;
+      }
+      long nanos = event.getDuration().toNanos();
+      long[] total =
+          totals.computeIfAbsent(
+              List.of(event.getClass("monitorClass").getName(), topFrame(event)),
+              key -> new long[2]);
+      total[0]++;
+      total[1] += nanos;
+      events++;
+      blockedNanos += nanos;
+    }
+    List<ContentionReport.Site> sites = new ArrayList<>();
+    totals.forEach(
+        (key, total) ->
+            sites.add(
+                new ContentionReport.Site(
+                    key.get(0), key.get(1), total[0], Duration.ofNanos(total[1]))));
+    sites.sort(Comparator.comparing(ContentionReport.Site::blocked).reversed());
+    return new ContentionReport(events, Duration.ofNanos(blockedNanos), sites);
+  }
+
+  /** 記録を破棄する */
+  @Override
+  public void close() {
+    recording.close();
+  }
+
+  /**
+   * 負荷をかけたスレッドのイベントかどうかを判定する
+   *
+   * @param event イベント
+   * @return 負荷をかけたスレッドのイベントの場合true
+   */
+  private boolean isStressThread(RecordedEvent event) {
+    RecordedThread thread = event.getThread();
+    return thread != null
+        && thread.getJavaName() != null
+        && thread.getJavaName().startsWith(threadNamePrefix);
+  }
+
+  /**
+   * 待たされた箇所（スタックの先頭のフレーム）を取得する
+   *
+   * @param event イベント
+   * @return クラス名・メソッド名・行番号（スタックトレースがない場合は{@code <unknown>}）
+   */
+  private static String topFrame(RecordedEvent event) {
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+      return "<unknown>";
+    }
+    RecordedFrame frame = stackTrace.getFrames().get(0);
+    return frame.getMethod().getType().getName()
+        + "."
+        + frame.getMethod().getName()
+        + ":"
+        + frame.getLineNumber();
+  }
+}
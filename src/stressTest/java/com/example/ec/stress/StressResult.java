@@ -0,0 +1,79 @@
+package com.example.ec.stress;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ストレステストの結果
+ *
+ * @param name テスト名
+ * @param kind スレッドの種類
+ * @param threads スレッド数
+ * @param operations 完了した操作数
+ * @param elapsed 開始の合図から全スレッドの終了までの時間
+ * @param failures 失敗（スレッドごとに最初の1件、タイムアウトを含む）
+ * @param contention モニターロック競合の集計
+ * @param contentionBudget 許容する競合の待ち時間の合計
+ */
+public record StressResult(
+    String name,
+    StressThreadKind kind,
+    int threads,
+    long operations,
+    Duration elapsed,
+    List<Throwable> failures,
+    ContentionReport contention,
+    Duration contentionBudget) {
+
+  /**
+   * 失敗がなく、競合の待ち時間が予算内であることを検証する
+   *
+   * @throws AssertionError 失敗があった場合（最初の失敗を原因とする）、または予算を超えた場合（競合の内訳を含む）
+   */
+  public void assertHealthy() {
+    if (!failures.isEmpty()) {
+      throw new AssertionError(
+          String.format(
+              Locale.ROOT,
+              "%s (%s): %d/%d スレッドで不変条件の違反または例外がありました",
+              name,
+              kind,
+              failures.size(),
+              threads),
+          failures.get(0));
+    }
+    if (contention.exceeds(contentionBudget)) {
+      throw new AssertionError(
+          String.format(
+              Locale.ROOT,
+              "%s (%s): ロック競合の待ち時間が予算 %dms を超えました%n%s",
+              name,
+              kind,
+              contentionBudget.toMillis(),
+              contention.format()));
+    }
+  }
+
+  /**
+   * 結果をテキストに整形する
+   *
+   * @return テキスト
+   */
+  public String format() {
+    double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+    return String.format(
+            Locale.ROOT,
+            "%s (%s)%nthreads=%d, operations=%d, elapsed=%dms, throughput=%.0fops/s, failures=%d%n"
+                + "contention budget=%dms%n",
+            name,
+            kind,
+            threads,
+            operations,
+            elapsed.toMillis(),
+            operations / seconds,
+            failures.size(),
+            contentionBudget.toMillis())
+        + contention.format();
+  }
+}
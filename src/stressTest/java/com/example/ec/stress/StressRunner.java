@@ -0,0 +1,128 @@
+package com.example.ec.stress;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 多数のスレッドから同時に操作を繰り返すストレステストの実行
+ *
+ * <p>全スレッドを開始の合図で揃えてから同じ操作を繰り返させ、その間のモニターロック競合をJFRで記録する。
+ * 結果とJFRの記録は{@code stressTest.reportDir}（デフォルト{@code build/reports/stress-test}）に
+ * {@code <テスト名>-<スレッドの種類>.txt}・{@code .jfr}として書き出す。
+ *
+ * <p>操作数は{@code stressTest.iterationScale}、競合の予算は{@code stressTest.contentionBudgetScale}の倍率で調整できる。
+ */
+public final class StressRunner {
+
+  private static final String THREAD_NAME_PREFIX = "stress-";
+
+  private StressRunner() {}
+
+  /**
+   * ストレステストを実行する
+   *
+   * @param name テスト名（スレッド名とレポートのファイル名に使う）
+   * @param kind スレッドの種類
+   * @param operations 全スレッドの合計の操作数（スレッド数で等分する）
+   * @param contentionBudget 許容するモニターロック競合の待ち時間の合計
+   * @param task 各スレッドが繰り返す操作
+   * @return 結果
+   * @throws IOException レポートの書き出しに失敗した場合
+   * @throws InterruptedException 待機中に割り込まれた場合
+   */
+  public static StressResult run(
+      String name,
+      StressThreadKind kind,
+      long operations,
+      Duration contentionBudget,
+      StressTask task)
+      throws IOException, InterruptedException {
+    int threadCount = kind.threads();
+    double iterationScale =
+        Double.parseDouble(System.getProperty("stressTest.iterationScale", "1"));
+    long scaledOperations = Math.max(threadCount, (long) (operations * iterationScale));
+    int iterations = (int) ((scaledOperations + threadCount - 1) / threadCount);
+    Duration budget =
+        Duration.ofNanos(
+            (long)
+                (contentionBudget.toNanos()
+                    * Double.parseDouble(
+                        System.getProperty("stressTest.contentionBudgetScale", "1"))));
+    Duration timeout = Duration.ofSeconds(Long.getLong("stressTest.timeoutSeconds", 300));
+
+    String threadNamePrefix = THREAD_NAME_PREFIX + name + "-";
+    Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    AtomicLong completed = new AtomicLong();
+    CountDownLatch ready = new CountDownLatch(threadCount);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      int thread = i;
+      threads.add(
+          kind.newThread(
+              threadNamePrefix + i,
+              () -> {
+                ready.countDown();
+                try {
+                  start.await();
+                  for (int iteration = 0; iteration < iterations; iteration++) {
+                    task.run(thread, iteration);
+                    completed.incrementAndGet();
+                  }
+                } catch (Throwable e) {
+                  failures.add(e);
+                }
+              }));
+    }
+
+    Path reportDir =
+        Path.of(System.getProperty("stressTest.reportDir", "build/reports/stress-test"));
+    Files.createDirectories(reportDir);
+    String fileName = name + "-" + kind.name().toLowerCase(Locale.ROOT);
+    try (MonitorContentionRecorder recorder = MonitorContentionRecorder.start(threadNamePrefix)) {
+      threads.forEach(Thread::start);
+      ready.await();
+      long startedAt = System.nanoTime();
+      start.countDown();
+      long deadline = startedAt + timeout.toNanos();
+      for (Thread thread : threads) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+          thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+        }
+        if (thread.isAlive()) {
+          failures.add(
+              new AssertionError(thread.getName() + " が" + timeout + "以内に終了しませんでした"));
+          thread.interrupt();
+        }
+      }
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+      ContentionReport contention = recorder.stop(reportDir.resolve(fileName + ".jfr"));
+
+      StressResult result =
+          new StressResult(
+              name,
+              kind,
+              threadCount,
+              completed.get(),
+              elapsed,
+              List.copyOf(failures),
+              contention,
+              budget);
+      Files.writeString(
+          reportDir.resolve(fileName + ".txt"), result.format(), StandardCharsets.UTF_8);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.ec.stress;
+
+/** ストレステストで各スレッドが繰り返し実行する操作 */
+@FunctionalInterface
+public interface StressTask {
+
+  /**
+   * 1回分の操作を実行する
+   *
+   * <p>不変条件の違反は{@link AssertionError}などの例外で通知する。 例外を投げたスレッドはそこで停止し、失敗として集計される。
+   *
+   * @param thread スレッドの番号（0始まり）
+   * @param iteration スレッド内の繰り返しの番号（0始まり）
+   * @throws Exception 操作に失敗した場合
+   */
+  void run(int thread, int iteration) throws Exception;
+}
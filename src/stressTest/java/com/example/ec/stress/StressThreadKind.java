@@ -0,0 +1,141 @@
+package com.example.ec.stress;
+
+import java.lang.reflect.Method;
+
+/**
+ * ストレステストで負荷をかけるスレッドの種類
+ *
+ * <p>ビルドはJava 17を対象とするため、仮想スレッドは{@code Thread.ofVirtual()}をリフレクションで呼び出して生成する。
+ * Java 21より前の実行環境では{@link #isSupported()}がfalseになり、仮想スレッドのテストはスキップされる。
+ */
+public enum StressThreadKind {
+
+  /** プラットフォームスレッド */
+  PLATFORM("stressTest.platformThreads", 200),
+
+  /** 仮想スレッド（Java 21以降の実行環境のみ） */
+  VIRTUAL("stressTest.virtualThreads", 2000);
+
+  private final String threadsProperty;
+  private final int defaultThreads;
+
+  /**
+   * スレッドの種類を定義する
+   *
+   * @param threadsProperty スレッド数を指定するシステムプロパティ
+   * @param defaultThreads スレッド数のデフォルト値
+   */
+  StressThreadKind(String threadsProperty, int defaultThreads) {
+    this.threadsProperty = threadsProperty;
+    this.defaultThreads = defaultThreads;
+  }
+
+  /**
+   * 負荷をかけるスレッド数を取得する
+   *
+   * @return スレッド数（システムプロパティで上書き可能）
+   */
+  public int threads() {
+    return Integer.getInteger(threadsProperty, defaultThreads);
+  }
+
+  /**
+   * 実行環境でこの種類のスレッドを生成できるかどうかを判定する
+   *
+   * @return 生成できる場合true
+   */
+  public boolean isSupported() {
+    return this == PLATFORM || VirtualThreadFactory.SUPPORTED;
+  }
+
+  /**
+   * 開始前のスレッドを生成する
+   *
+   * @param name スレッド名
+   * @param task 実行する処理
+   * @return 開始前のスレッド
+   */
+  Thread newThread(String name, Runnable task) {
+    if (this == VIRTUAL) {
+      return VirtualThreadFactory.newThread(name, task);
+    }
+    Thread thread = new Thread(task, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /** リフレクションによる仮想スレッドの生成 */
+  private static final class VirtualThreadFactory {
+
+    private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+    private static final Method NAME = method(builderType(), "name", String.class);
+    private static final Method UNSTARTED = method(builderType(), "unstarted", Runnable.class);
+    private static final boolean SUPPORTED = probe();
+
+    private VirtualThreadFactory() {}
+
+    /**
+     * 開始前の仮想スレッドを生成する
+     *
+     * @param name スレッド名
+     * @param task 実行する処理
+     * @return 開始前の仮想スレッド
+     */
+    static Thread newThread(String name, Runnable task) {
+      try {
+        Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name);
+        return (Thread) UNSTARTED.invoke(builder, task);
+      } catch (ReflectiveOperationException | NullPointerException e) {
+        throw new UnsupportedOperationException("仮想スレッドを生成できません", e);
+      }
+    }
+
+    /**
+     * 仮想スレッドを実際に生成できるかどうかを確かめる
+     *
+     * <p>Java 19・20ではプレビュー機能のため、メソッドが存在しても生成時に例外となる場合がある。
+     *
+     * @return 生成できる場合true
+     */
+    private static boolean probe() {
+      try {
+        newThread("stress-probe", () -> {});
+        return true;
+      } catch (UnsupportedOperationException e) {
+        return false;
+      }
+    }
+
+    /**
+     * {@code Thread.Builder}の型を取得する
+     *
+     * @return 型（存在しない実行環境ではnull）
+     */
+    private static Class<?> builderType() {
+      try {
+        return Class.forName("java.lang.Thread$Builder");
+      } catch (ClassNotFoundException e) {
+        return null;
+      }
+    }
+
+    /**
+     * publicメソッドを取得する
+     *
+     * @param type 型（nullの場合はnullを返す）
+     * @param name メソッド名
+     * @param parameterTypes 引数の型
+     * @return メソッド（存在しない場合はnull）
+     */
+    private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+      if (type == null) {
+        return null;
+      }
+      try {
+        return type.getMethod(name, parameterTypes);
+      } catch (NoSuchMethodException e) {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.ec.config.CatalogConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * CatalogChangeListenerのテストクラス
+ *
+ * <p>カタログ変更通知の解析・イベント発行の単体テスト（PostgreSQLへの接続は行わない）。
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogChangeListenerTest {
+
+  @Mock private DataSourceProperties dataSourceProperties;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private CatalogVersionTracker catalogVersionTracker;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CatalogChangeListener listener;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    listener =
+        new CatalogChangeListener(
+            dataSourceProperties,
+            new ObjectMapper(),
+            eventPublisher,
+            catalogVersionTracker,
+            new CatalogConfig(),
+            meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    listener.stop();
+  }
+
+  @Test
+  @DisplayName("通知ペイロードを型付きの無効化イベントとして発行し、別スレッドでまとめて1回バージョンを確認する")
+  void handleNotifications_publishesTypedEvents() {
+    listener.handleNotifications(
+        List.of(
+            "{\"seq\":10,\"table\":\"products\",\"op\":\"U\",\"key\":\"45\"}",
+            "{\"seq\":11,\"table\":\"categories\",\"op\":\"D\",\"key\":\"iphone\"}"));
+
+    ArgumentCaptor<CatalogInvalidationEvent> captor =
+        ArgumentCaptor.forClass(CatalogInvalidationEvent.class);
+    verify(eventPublisher, times(2)).publishEvent(captor.capture());
+    assertThat(captor.getAllValues())
+        .containsExactly(
+            new CatalogInvalidationEvent(
+                10L, CatalogTable.PRODUCTS, CatalogInvalidationEvent.Operation.UPDATE, "45"),
+            new CatalogInvalidationEvent(
+                11L, CatalogTable.CATEGORIES, CatalogInvalidationEvent.Operation.DELETE, "iphone"));
+    verify(catalogVersionTracker, timeout(5_000).times(1)).poll();
+    assertThat(listener.lastSequence()).isEqualTo(11L);
+    assertThat(
+            meterRegistry
+                .get("catalog.change.events")
+                .tag("table", "products")
+                .tag("source", "notify")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("待ち時間中に続けて届いた通知は1回のバージョン確認にまとめる")
+  void handleNotifications_debouncesVersionPoll() {
+    listener.handleNotifications(
+        List.of("{\"seq\":20,\"table\":\"products\",\"op\":\"U\",\"key\":\"1\"}"));
+    listener.handleNotifications(
+        List.of("{\"seq\":21,\"table\":\"products\",\"op\":\"U\",\"key\":\"2\"}"));
+
+    verify(catalogVersionTracker, after(1_000).times(1)).poll();
+  }
+
+  @Test
+  @DisplayName("解析できない通知や対象外のテーブルは無視し、バージョンも確認しない")
+  void handleNotifications_ignoresUnknownPayloads() {
+    listener.handleNotifications(
+        List.of("not json", "{\"seq\":12,\"table\":\"users\",\"op\":\"I\",\"key\":\"1\"}"));
+
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+    verify(catalogVersionTracker, after(500).never()).poll();
+    assertThat(listener.lastSequence()).isEqualTo(12L);
+  }
+}
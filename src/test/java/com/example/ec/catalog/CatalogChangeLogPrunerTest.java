@@ -0,0 +1,57 @@
+package com.example.ec.catalog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.CatalogConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * CatalogChangeLogPrunerのテストクラス
+ *
+ * <p>カタログ変更ログの定期削除の単体テスト。
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogChangeLogPrunerTest {
+
+  private static final String PRUNE_SQL = "DELETE FROM catalog_change_log WHERE changed_at < ?";
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  private CatalogChangeLogPruner pruner;
+
+  @BeforeEach
+  void setUp() {
+    pruner = new CatalogChangeLogPruner(jdbcTemplate, new CatalogConfig());
+  }
+
+  @Test
+  @DisplayName("保持期間を過ぎた変更ログを削除する")
+  void prune_deletesExpiredRows() {
+    when(jdbcTemplate.update(eq(PRUNE_SQL), any())).thenReturn(3);
+
+    pruner.prune();
+
+    verify(jdbcTemplate).update(eq(PRUNE_SQL), any());
+  }
+
+  @Test
+  @DisplayName("古い変更ログの削除に失敗しても例外を送出しない")
+  void prune_failureIsIgnored() {
+    when(jdbcTemplate.update(eq(PRUNE_SQL), any()))
+        .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+    pruner.prune();
+
+    verify(jdbcTemplate).update(eq(PRUNE_SQL), any());
+  }
+}
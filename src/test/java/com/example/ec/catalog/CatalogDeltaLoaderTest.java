@@ -0,0 +1,345 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.entity.Campaign;
+import com.example.ec.entity.Category;
+import com.example.ec.entity.Product;
+import com.example.ec.entity.ProductCampaign;
+import com.example.ec.entity.ProductCampaignId;
+import com.example.ec.entity.ProductVariant;
+import com.example.ec.repository.ProductCampaignRepository;
+import com.example.ec.repository.ProductRepository;
+import com.example.ec.repository.ProductVariantRepository;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * CatalogDeltaLoaderのテストクラス
+ *
+ * <p>アウトボックスによるカタログデータの差分読み込みの単体テスト。
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogDeltaLoaderTest {
+
+  private static final Instant CREATED_AT = Instant.parse("2024-04-01T00:00:00Z");
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private ProductRepository productRepository;
+
+  @Mock private ProductVariantRepository productVariantRepository;
+
+  @Mock private ProductCampaignRepository productCampaignRepository;
+
+  @Mock private ResultSet resultSet;
+
+  private CatalogConfig catalogConfig;
+  private CatalogDeltaLoader loader;
+
+  @BeforeEach
+  void setUp() {
+    catalogConfig = new CatalogConfig();
+    loader =
+        new CatalogDeltaLoader(
+            jdbcTemplate,
+            productRepository,
+            productVariantRepository,
+            productCampaignRepository,
+            catalogConfig);
+  }
+
+  @Test
+  @DisplayName("変更された商品のバリアント・キャンペーン関連を読み直し、他の商品はそのまま残す")
+  void loadChanges_reloadsChangedProducts() throws Exception {
+    changes(new String[] {"product", "1"});
+    Category category = Category.builder().categoryCode("phone").isActive(true).build();
+    Product renamed = product(1L, "新しい名前", category);
+    when(productRepository.findActiveWithCategoryByIdIn(Set.of(1L))).thenReturn(List.of(renamed));
+    when(productVariantRepository.findByProductIds(List.of(1L)))
+        .thenReturn(List.of(variant(11L, renamed, "Orange"), variant(12L, renamed, "Black")));
+    when(productCampaignRepository.findWithActiveCampaignByProductIdIn(Set.of(1L)))
+        .thenReturn(List.of());
+
+    CatalogData merged = loader.loadChanges(base(), position(Duration.ZERO)).orElseThrow();
+
+    assertThat(merged.products())
+        .extracting(CatalogData.ProductRow::id, CatalogData.ProductRow::name)
+        .containsExactlyInAnyOrder(tuple(1L, "新しい名前"), tuple(2L, "商品2"));
+    assertThat(merged.variants())
+        .extracting(CatalogData.VariantRow::id)
+        .containsExactlyInAnyOrder(11L, 12L, 20L);
+    // 商品1はキャンペーンから外れたため、関連のなくなったキャンペーン100も含めない
+    assertThat(merged.productCampaigns())
+        .containsExactly(new CatalogData.ProductCampaignRow(2L, 200L));
+    assertThat(merged.campaigns()).extracting(CatalogData.CampaignRow::id).containsExactly(200L);
+  }
+
+  @Test
+  @DisplayName("非アクティブになった商品はバリアントごと取り除く")
+  void loadChanges_removesDeactivatedProducts() throws Exception {
+    changes(new String[] {"product", "2"});
+    when(productRepository.findActiveWithCategoryByIdIn(Set.of(2L))).thenReturn(List.of());
+    when(productCampaignRepository.findWithActiveCampaignByProductIdIn(Set.of(2L)))
+        .thenReturn(List.of());
+
+    CatalogData merged = loader.loadChanges(base(), position(Duration.ZERO)).orElseThrow();
+
+    assertThat(merged.products()).extracting(CatalogData.ProductRow::id).containsExactly(1L);
+    assertThat(merged.variants()).extracting(CatalogData.VariantRow::id).containsExactly(10L);
+    assertThat(merged.campaigns()).extracting(CatalogData.CampaignRow::id).containsExactly(100L);
+  }
+
+  @Test
+  @DisplayName("変更されたキャンペーンは内容と関連を読み直す")
+  void loadChanges_reloadsChangedCampaigns() throws Exception {
+    changes(new String[] {"campaign", "100"});
+    Campaign changed = campaign(100L, "新しいバッジ");
+    when(productCampaignRepository.findWithActiveCampaignByCampaignIdIn(Set.of(100L)))
+        .thenReturn(List.of(link(1L, changed), link(2L, changed)));
+
+    CatalogData merged = loader.loadChanges(base(), position(Duration.ZERO)).orElseThrow();
+
+    assertThat(merged.productCampaigns())
+        .containsExactlyInAnyOrder(
+            new CatalogData.ProductCampaignRow(2L, 200L),
+            new CatalogData.ProductCampaignRow(1L, 100L),
+            new CatalogData.ProductCampaignRow(2L, 100L));
+    assertThat(merged.campaigns())
+        .extracting(CatalogData.CampaignRow::id, CatalogData.CampaignRow::badgeText)
+        .containsExactlyInAnyOrder(tuple(100L, "新しいバッジ"), tuple(200L, "バッジ200"));
+    verifyNoInteractions(productRepository, productVariantRepository);
+  }
+
+  @Test
+  @DisplayName("変更がなければ反映元のデータをそのまま返す")
+  void loadChanges_returnsBaseWithoutChanges() throws Exception {
+    changes();
+    CatalogData base = base();
+
+    Optional<CatalogData> merged = loader.loadChanges(base, position(Duration.ZERO));
+
+    assertThat(merged).containsSame(base);
+    verifyNoInteractions(productRepository, productVariantRepository, productCampaignRepository);
+  }
+
+  @Test
+  @DisplayName("カテゴリの変更・TRUNCATEは差分で反映せず、全件の読み込みを求める")
+  void loadChanges_fallsBackOnOtherAggregates() throws Exception {
+    changes(new String[] {"product", "1"}, new String[] {"category", "phone"});
+
+    assertThat(loader.loadChanges(base(), position(Duration.ZERO))).isEmpty();
+    verifyNoInteractions(productRepository, productVariantRepository, productCampaignRepository);
+  }
+
+  @Test
+  @DisplayName("変更された集約が上限を超える場合は全件の読み込みを求める")
+  void loadChanges_fallsBackOnTooManyAggregates() throws Exception {
+    catalogConfig.getEngine().setDeltaMaxAggregates(1);
+    changes(new String[] {"product", "1"}, new String[] {"product", "2"});
+
+    assertThat(loader.loadChanges(base(), position(Duration.ZERO))).isEmpty();
+    verifyNoInteractions(productRepository, productVariantRepository, productCampaignRepository);
+  }
+
+  @Test
+  @DisplayName("読み取り位置が保持期間の半分より古い場合はアウトボックスを読まずに全件の読み込みを求める")
+  void loadChanges_fallsBackOnStalePosition() {
+    Duration age = Duration.ofMillis(catalogConfig.getOutbox().getRetention() / 2 + 60_000);
+
+    assertThat(loader.loadChanges(base(), position(age))).isEmpty();
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  /**
+   * アウトボックスから読み取る変更（集約の種類と集約IDの組）を設定する
+   *
+   * @param rows 変更された集約
+   * @throws Exception 結果セットのモックの設定エラー
+   */
+  private void changes(String[]... rows) throws Exception {
+    if (rows.length > 0) {
+      String[] types = new String[rows.length];
+      String[] ids = new String[rows.length];
+      for (int i = 0; i < rows.length; i++) {
+        types[i] = rows[i][0];
+        ids[i] = rows[i][1];
+      }
+      when(resultSet.getString("aggregate_type")).thenReturn(types[0], tail(types));
+      when(resultSet.getString("aggregate_id")).thenReturn(ids[0], tail(ids));
+    }
+    doAnswer(
+            invocation -> {
+              RowCallbackHandler handler = invocation.getArgument(1);
+              for (int i = 0; i < rows.length; i++) {
+                handler.processRow(resultSet);
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), eq("100"), any());
+  }
+
+  /**
+   * 配列の2番目以降の要素を取得する
+   *
+   * @param values 配列
+   * @return 2番目以降の要素
+   */
+  private static String[] tail(String[] values) {
+    return Arrays.copyOfRange(values, 1, values.length);
+  }
+
+  /**
+   * 反映元のカタログデータを生成する
+   *
+   * <p>商品1（バリアント10、キャンペーン100）と商品2（バリアント20、キャンペーン200）を含む。
+   *
+   * @return カタログデータ
+   */
+  private static CatalogData base() {
+    return new CatalogData(
+        List.of(new CatalogData.CategoryRow("phone", "スマートフォン", null, null, 1)),
+        List.of(productRow(1L), productRow(2L)),
+        List.of(variantRow(10L, 1L), variantRow(20L, 2L)),
+        List.of(campaignRow(100L), campaignRow(200L)),
+        List.of(
+            new CatalogData.ProductCampaignRow(1L, 100L),
+            new CatalogData.ProductCampaignRow(2L, 200L)));
+  }
+
+  /**
+   * 指定した時間だけ前に取得した読み取り位置を生成する
+   *
+   * @param age 取得からの経過時間
+   * @return 読み取り位置
+   */
+  private static CatalogDeltaLoader.Position position(Duration age) {
+    return new CatalogDeltaLoader.Position("100", Instant.now().minus(age));
+  }
+
+  /**
+   * 商品レコードを生成する
+   *
+   * @param id 商品ID
+   * @return 商品レコード
+   */
+  private static CatalogData.ProductRow productRow(long id) {
+    return new CatalogData.ProductRow(
+        id, "商品" + id, null, BigDecimal.valueOf(1000), "phone", CREATED_AT);
+  }
+
+  /**
+   * バリアントレコードを生成する
+   *
+   * @param id バリアントID
+   * @param productId 商品ID
+   * @return バリアントレコード
+   */
+  private static CatalogData.VariantRow variantRow(long id, long productId) {
+    return new CatalogData.VariantRow(
+        id, productId, "Apple", "iPhone", "128GB", "#000000", "Black", List.of());
+  }
+
+  /**
+   * キャンペーンレコードを生成する
+   *
+   * @param id キャンペーンID
+   * @return キャンペーンレコード
+   */
+  private static CatalogData.CampaignRow campaignRow(long id) {
+    return new CatalogData.CampaignRow(id, "C" + id, "バッジ" + id, null, null);
+  }
+
+  /**
+   * 商品エンティティを生成する
+   *
+   * @param id 商品ID
+   * @param name 商品名
+   * @param category カテゴリ
+   * @return 商品エンティティ
+   */
+  private static Product product(long id, String name, Category category) {
+    return Product.builder()
+        .id(id)
+        .name(name)
+        .price(BigDecimal.valueOf(1000))
+        .category(category)
+        .isActive(true)
+        .createdAt(CREATED_AT)
+        .build();
+  }
+
+  /**
+   * バリアントエンティティを生成する
+   *
+   * @param id バリアントID
+   * @param product 商品
+   * @param colorName カラー名
+   * @return バリアントエンティティ
+   */
+  private static ProductVariant variant(long id, Product product, String colorName) {
+    return ProductVariant.builder()
+        .id(id)
+        .product(product)
+        .manufacturer("Apple")
+        .modelName("iPhone")
+        .storageCapacity("128GB")
+        .colorCode("#000000")
+        .colorName(colorName)
+        .imageUrls(List.of())
+        .build();
+  }
+
+  /**
+   * キャンペーンエンティティを生成する
+   *
+   * @param id キャンペーンID
+   * @param badgeText バッジテキスト
+   * @return キャンペーンエンティティ
+   */
+  private static Campaign campaign(long id, String badgeText) {
+    return Campaign.builder()
+        .id(id)
+        .campaignCode("C" + id)
+        .badgeText(badgeText)
+        .isActive(true)
+        .build();
+  }
+
+  /**
+   * 商品キャンペーン関連エンティティを生成する
+   *
+   * @param productId 商品ID
+   * @param campaign キャンペーン
+   * @return 商品キャンペーン関連エンティティ
+   */
+  private static ProductCampaign link(long productId, Campaign campaign) {
+    return ProductCampaign.builder()
+        .id(new ProductCampaignId(productId, campaign.getId()))
+        .campaign(campaign)
+        .build();
+  }
+}
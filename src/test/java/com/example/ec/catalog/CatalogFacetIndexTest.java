@@ -0,0 +1,111 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * CatalogFacetIndexのテストクラス
+ *
+ * <p>ファセット値ごとの行番号のビットマップの単体テスト。
+ */
+class CatalogFacetIndexTest {
+
+  private static final int IPHONE = 0;
+  private static final int ANDROID = 1;
+
+  private CatalogFacetIndex index;
+
+  @BeforeEach
+  void setUp() {
+    // 行0・1はiPhone（行0はバリアント2件）、行2はAndroid、行3はバリアントのないiPhone
+    StringDictionary.Builder dictionary = new StringDictionary.Builder();
+    int[] manufacturers = {
+      dictionary.encode("Apple"),
+      dictionary.encode("Apple"),
+      dictionary.encode("Apple"),
+      dictionary.encode("Google")
+    };
+    int[] colorNames = {
+      dictionary.encode("ブラック"),
+      dictionary.encode(null),
+      dictionary.encode("ホワイト"),
+      dictionary.encode(null)
+    };
+    int[] storageCapacities = {
+      dictionary.encode("128GB"),
+      dictionary.encode("128GB"),
+      dictionary.encode("64GB"),
+      dictionary.encode("128GB")
+    };
+    index =
+        new CatalogFacetIndex(
+            2,
+            new int[] {IPHONE, IPHONE, ANDROID, IPHONE},
+            new int[] {0, 2, 3, 4, 4},
+            Map.of(
+                CatalogFacet.MANUFACTURER, manufacturers,
+                CatalogFacet.STORAGE_CAPACITY, storageCapacities,
+                CatalogFacet.COLOR_NAME, colorNames),
+            dictionary.build());
+  }
+
+  @Test
+  @DisplayName("カテゴリごとに商品の行番号を保持する")
+  void categoryRows() {
+    assertThat(index.categoryRows(IPHONE).toArray()).containsExactly(0, 1, 3);
+    assertThat(index.categoryRows(ANDROID).toArray()).containsExactly(2);
+  }
+
+  @Test
+  @DisplayName("値を持つバリアントが一つ以上ある商品をカテゴリ内で値の昇順に保持し、nullの値は含めない")
+  void values_perCategorySorted() {
+    Map<String, RoaringBitmap> colors = index.values(IPHONE, CatalogFacet.COLOR_NAME);
+
+    assertThat(colors).containsOnlyKeys("ブラック", "ホワイト");
+    assertThat(colors.keySet()).containsExactly("ブラック", "ホワイト");
+    assertThat(colors.get("ブラック").toArray()).containsExactly(0);
+    assertThat(colors.get("ホワイト").toArray()).containsExactly(1);
+    assertThat(index.values(IPHONE, CatalogFacet.MANUFACTURER).get("Apple").toArray())
+        .containsExactly(0, 1);
+    assertThat(index.values(ANDROID, CatalogFacet.COLOR_NAME)).isEmpty();
+    assertThat(index.values(ANDROID, CatalogFacet.MANUFACTURER)).containsOnlyKeys("Google");
+  }
+
+  @Test
+  @DisplayName("同じ商品の複数のバリアントが同じ値を持っても行番号は1つ")
+  void values_deduplicatesRowsWithinProduct() {
+    assertThat(index.values(IPHONE, CatalogFacet.STORAGE_CAPACITY).get("128GB").toArray())
+        .containsExactly(0);
+    assertThat(index.values(IPHONE, CatalogFacet.STORAGE_CAPACITY).get("64GB").toArray())
+        .containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("選択値のいずれかに一致する行番号の和集合を返し、存在しない値は無視する")
+  void matching_unionOfSelectedValues() {
+    assertThat(
+            index
+                .matching(IPHONE, CatalogFacet.COLOR_NAME, List.of("ブラック", "ホワイト", "レッド"))
+                .toArray())
+        .containsExactly(0, 1);
+    assertThat(index.matching(IPHONE, CatalogFacet.MANUFACTURER, List.of("Google")).isEmpty())
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("返したビットマップを変更しても、インデックスは変わらない（和集合は新しいビットマップ）")
+  void matching_returnsNewBitmap() {
+    RoaringBitmap matched = index.matching(IPHONE, CatalogFacet.COLOR_NAME, List.of("ブラック"));
+
+    matched.add(3);
+
+    assertThat(index.values(IPHONE, CatalogFacet.COLOR_NAME).get("ブラック").toArray())
+        .containsExactly(0);
+  }
+}
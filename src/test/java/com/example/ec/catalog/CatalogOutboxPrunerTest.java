@@ -0,0 +1,61 @@
+package com.example.ec.catalog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.CatalogConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * CatalogOutboxPrunerのテストクラス
+ *
+ * <p>カタログアウトボックスの定期削除の単体テスト。
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogOutboxPrunerTest {
+
+  private static final String KEEP_LATEST = " AND xid < (SELECT max(xid) FROM catalog_outbox)";
+  private static final String PRUNE_SQL =
+      "DELETE FROM catalog_outbox WHERE created_at < ?" + KEEP_LATEST;
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  private CatalogConfig catalogConfig;
+  private CatalogOutboxPruner pruner;
+
+  @BeforeEach
+  void setUp() {
+    catalogConfig = new CatalogConfig();
+    pruner = new CatalogOutboxPruner(jdbcTemplate, catalogConfig);
+  }
+
+  @Test
+  @DisplayName("作成から保持期間を過ぎたイベントを削除する")
+  void prune_deletesByCreatedAt() {
+    when(jdbcTemplate.update(eq(PRUNE_SQL), any())).thenReturn(3);
+
+    pruner.prune();
+
+    verify(jdbcTemplate).update(eq(PRUNE_SQL), any());
+  }
+
+  @Test
+  @DisplayName("アウトボックスの削除に失敗しても例外を送出しない")
+  void prune_failureIsIgnored() {
+    when(jdbcTemplate.update(eq(PRUNE_SQL), any()))
+        .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+    pruner.prune();
+
+    verify(jdbcTemplate).update(eq(PRUNE_SQL), any());
+  }
+}
@@ -0,0 +1,298 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.dto.CategoryDetailResponse;
+import com.example.ec.exception.CategoryNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * CatalogSearchCacheのテストクラス
+ *
+ * <p>カテゴリ検索結果キャッシュの単体テスト。
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogSearchCacheTest {
+
+  private static final long BASE_TIME = 1_700_000_000_000L;
+  private static final long TIME_TO_LIVE = 60_000L;
+  private static final long STALE_IF_ERROR = 30_000L;
+
+  @Mock private CatalogVersionTracker catalogVersionTracker;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CatalogSearchCache searchCache;
+  private AtomicInteger loads;
+  private AtomicLong now;
+  private double random;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    now = new AtomicLong(BASE_TIME);
+    random = 0.5;
+    CatalogConfig catalogConfig = new CatalogConfig();
+    catalogConfig.getSearchCache().setTimeToLive(TIME_TO_LIVE);
+    catalogConfig.getSearchCache().setStaleIfError(STALE_IF_ERROR);
+    searchCache =
+        new CatalogSearchCache(
+            catalogConfig, catalogVersionTracker, meterRegistry, now::get, () -> random);
+    loads = new AtomicInteger();
+  }
+
+  @AfterEach
+  void tearDown() {
+    searchCache.shutdown();
+  }
+
+  @Test
+  @DisplayName("同じ条件の2回目はキャッシュから返し、カテゴリ別にヒット・ミスを記録する")
+  void get_hitAfterMiss() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+
+    CatalogSearchCache.SearchPage first = get("iphone", "pro");
+    CatalogSearchCache.SearchPage second = get("iphone", "pro");
+
+    assertThat(second).isSameAs(first);
+    assertThat(loads).hasValue(1);
+    assertThat(count("iphone", "miss")).isEqualTo(1.0);
+    assertThat(count("iphone", "hit")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("カタログバージョンが変わると再検索する")
+  void get_reloadAfterVersionChange() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L, 2L);
+
+    get("iphone", "pro");
+    get("iphone", "pro");
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("カタログ変更イベントで全エントリを破棄する")
+  void onCatalogChanged_invalidatesAll() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+
+    get("iphone", "pro");
+    searchCache.onCatalogChanged(new CatalogChangedEvent(1L));
+    get("iphone", "pro");
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("キャンペーンの開始・終了が有効期間より早ければ、その時刻で期限切れにする")
+  void get_expiresAtCampaignBoundary() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+    CatalogSearchKey key = key("iphone", "pro");
+    long campaignStartsAt = BASE_TIME + 5_000L;
+    CatalogSearchCache.SearchPage first =
+        new CatalogSearchCache.SearchPage(
+            CategoryDetailResponse.CategoryInfo.builder().categoryCode("iphone").build(),
+            List.of(),
+            0L,
+            0,
+            campaignStartsAt);
+    searchCache.get(key, () -> first);
+
+    now.set(campaignStartsAt - 1);
+    CatalogSearchCache.Lookup beforeStart = searchCache.get(key, () -> page("iphone"));
+    now.set(campaignStartsAt);
+    CatalogSearchCache.Lookup afterStart = searchCache.get(key, () -> page("iphone"));
+
+    assertThat(beforeStart.hit()).isTrue();
+    assertThat(beforeStart.page()).isSameAs(first);
+    assertThat(afterStart.hit()).isFalse();
+    assertThat(afterStart.page()).isNotSameAs(first);
+  }
+
+  @Test
+  @DisplayName("検索が失敗した場合は格納せず、メトリクスも記録しない")
+  void get_loaderFailure() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+
+    assertThatThrownBy(
+            () ->
+                searchCache.get(
+                    new CatalogSearchKey(
+                        "unknown", "", CatalogFilter.none(), "name", "asc", 0, 20),
+                    () -> {
+                      throw new CategoryNotFoundException("unknown");
+                    }))
+        .isInstanceOf(CategoryNotFoundException.class);
+
+    assertThat(meterRegistry.find("catalog.search.cache.requests").counters()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("有効期限の直前でXFetchの判定に当たるとバックグラウンドで再検索する")
+  void get_earlyRefreshBeforeExpiry() throws InterruptedException {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+    CountDownLatch refreshed = new CountDownLatch(1);
+    CatalogSearchKey key = key("iphone", "pro");
+
+    searchCache.get(
+        key,
+        () -> {
+          now.addAndGet(100L);
+          return page("iphone");
+        });
+    now.addAndGet(TIME_TO_LIVE - 1);
+    random = 1.0e-9;
+    CatalogSearchCache.Lookup lookup =
+        searchCache.get(
+            key,
+            () -> {
+              refreshed.countDown();
+              return page("iphone");
+            });
+
+    assertThat(lookup.stale()).isFalse();
+    assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("有効期限まで十分に余裕がある場合は早期再計算しない")
+  void get_noEarlyRefreshWhenFresh() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+
+    get("iphone", "pro");
+    now.addAndGet(1_000L);
+    get("iphone", "pro");
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("期限切れ後にDBエラーで検索できない場合は猶予内なら期限切れの結果を返す")
+  void get_staleIfError() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+    CatalogSearchCache.SearchPage first = get("iphone", "pro");
+
+    now.addAndGet(TIME_TO_LIVE + STALE_IF_ERROR - 1);
+    CatalogSearchCache.Lookup lookup =
+        searchCache.get(
+            key("iphone", "pro"),
+            () -> {
+              throw new DataAccessResourceFailureException("connection refused");
+            });
+
+    assertThat(lookup.stale()).isTrue();
+    assertThat(lookup.page()).isSameAs(first);
+    assertThat(count("iphone", "stale")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("猶予を過ぎた場合はDBエラーをそのまま送出する")
+  void get_staleIfErrorWindowExceeded() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+    get("iphone", "pro");
+
+    now.addAndGet(TIME_TO_LIVE + STALE_IF_ERROR);
+
+    assertThatThrownBy(
+            () ->
+                searchCache.get(
+                    key("iphone", "pro"),
+                    () -> {
+                      throw new DataAccessResourceFailureException("connection refused");
+                    }))
+        .isInstanceOf(DataAccessResourceFailureException.class);
+  }
+
+  @Test
+  @DisplayName("DB起因でない例外では期限切れの結果を返さない")
+  void get_noStaleForNonDatabaseError() {
+    when(catalogVersionTracker.lastKnownVersion()).thenReturn(1L);
+    get("iphone", "pro");
+
+    now.addAndGet(TIME_TO_LIVE);
+
+    assertThatThrownBy(
+            () ->
+                searchCache.get(
+                    key("iphone", "pro"),
+                    () -> {
+                      throw new CategoryNotFoundException("iphone");
+                    }))
+        .isInstanceOf(CategoryNotFoundException.class);
+  }
+
+  /**
+   * テスト用の検索処理を呼び出し回数を数えながらキャッシュ経由で実行する
+   *
+   * @param categoryCode カテゴリコード
+   * @param keyword キーワード
+   * @return 検索結果
+   */
+  private CatalogSearchCache.SearchPage get(String categoryCode, String keyword) {
+    return searchCache
+        .get(
+            key(categoryCode, keyword),
+            () -> {
+              loads.incrementAndGet();
+              return page(categoryCode);
+            })
+        .page();
+  }
+
+  /**
+   * テスト用の検索条件を生成する
+   *
+   * @param categoryCode カテゴリコード
+   * @param keyword キーワード
+   * @return 検索条件
+   */
+  private CatalogSearchKey key(String categoryCode, String keyword) {
+    return new CatalogSearchKey(categoryCode, keyword, CatalogFilter.none(), "name", "asc", 0, 20);
+  }
+
+  /**
+   * テスト用の検索結果を生成する
+   *
+   * @param categoryCode カテゴリコード
+   * @return 検索結果
+   */
+  private CatalogSearchCache.SearchPage page(String categoryCode) {
+    return new CatalogSearchCache.SearchPage(
+        CategoryDetailResponse.CategoryInfo.builder().categoryCode(categoryCode).build(),
+        List.of(),
+        0L,
+        0,
+        Long.MAX_VALUE);
+  }
+
+  /**
+   * カテゴリ・結果別のカウンター値を取得する
+   *
+   * @param categoryCode カテゴリコード
+   * @param result hit・miss・staleのいずれか
+   * @return カウンター値
+   */
+  private double count(String categoryCode, String result) {
+    return meterRegistry
+        .get("catalog.search.cache.requests")
+        .tag("category", categoryCode)
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,162 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.exception.CategoryNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CatalogSingleFlightのテストクラス
+ *
+ * <p>カタログ検索のリクエスト合流の単体テスト。
+ */
+class CatalogSingleFlightTest {
+
+  private static final CatalogSearchKey KEY =
+      new CatalogSearchKey("iphone", "", CatalogFilter.none(), "name", "asc", 0, 20);
+
+  private SimpleMeterRegistry meterRegistry;
+  private CatalogConfig catalogConfig;
+  private CatalogSingleFlight singleFlight;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    catalogConfig = new CatalogConfig();
+    singleFlight = new CatalogSingleFlight(catalogConfig, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("実行中の同一検索に合流し、結果を共有する")
+  void execute_coalescesConcurrentCalls() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+
+    CompletableFuture<String> leader =
+        CompletableFuture.supplyAsync(
+            () ->
+                singleFlight.execute(
+                    KEY,
+                    () -> {
+                      executions.incrementAndGet();
+                      started.countDown();
+                      await(release);
+                      return "result";
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> follower =
+        CompletableFuture.supplyAsync(
+            () ->
+                singleFlight.execute(
+                    KEY,
+                    () -> {
+                      executions.incrementAndGet();
+                      return "other";
+                    }));
+    awaitInFlightFollower();
+    release.countDown();
+
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    assertThat(executions).hasValue(1);
+    assertThat(singleFlight.coalescingRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  @DisplayName("待ち時間の上限を超えた場合は自ら検索する")
+  void execute_fallsThroughAfterMaxWait() throws Exception {
+    catalogConfig.getSingleFlight().setMaxWait(10L);
+    singleFlight = new CatalogSingleFlight(catalogConfig, new SimpleMeterRegistry());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> leader =
+        CompletableFuture.supplyAsync(
+            () ->
+                singleFlight.execute(
+                    KEY,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return "slow";
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    String result = singleFlight.execute(KEY, () -> "fast");
+
+    release.countDown();
+    assertThat(result).isEqualTo("fast");
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+  }
+
+  @Test
+  @DisplayName("先行する検索の例外を合流したリクエストにも返す")
+  void execute_sharesException() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Object> leader =
+        CompletableFuture.supplyAsync(
+            () ->
+                singleFlight.execute(
+                    KEY,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      throw new CategoryNotFoundException("iphone");
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<Object> follower =
+        CompletableFuture.supplyAsync(() -> singleFlight.execute(KEY, () -> "other"));
+    awaitInFlightFollower();
+    release.countDown();
+
+    assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(CategoryNotFoundException.class);
+    assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(CategoryNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("完了後の同一検索は新たに実行する")
+  void execute_afterCompletion() {
+    assertThat(singleFlight.execute(KEY, () -> "first")).isEqualTo("first");
+    assertThat(singleFlight.execute(KEY, () -> "second")).isEqualTo("second");
+    assertThat(singleFlight.coalescingRatio()).isZero();
+  }
+
+  /**
+   * ラッチが開くまで待つ
+   *
+   * @param latch ラッチ
+   */
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * 後続のリクエストが合流待ちに入るまで少し待つ
+   *
+   * @throws InterruptedException 割り込まれた場合
+   */
+  private static void awaitInFlightFollower() throws InterruptedException {
+    Thread.sleep(100);
+  }
+}
@@ -0,0 +1,108 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * CatalogSnapshotFileのテストクラス
+ *
+ * <p>スナップショットファイルの書き出し・メモリマップ読み込みの単体テスト。
+ */
+class CatalogSnapshotFileTest {
+
+  private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("書き出したファイルを読み込むと同じカタログデータが復元される")
+  void writeAndRead_roundTrip() throws IOException {
+    Path path = tempDir.resolve("snapshot/catalog.bin");
+    CatalogData data = sampleData();
+
+    CatalogSnapshotFile.write(path, 42L, data);
+    CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(path);
+
+    assertThat(contents.catalogVersion()).isEqualTo(42L);
+    assertThat(contents.writtenAt()).isNotNull();
+    assertThat(contents.data()).isEqualTo(data);
+  }
+
+  @Test
+  @DisplayName("ペイロードが改ざんされている場合はチェックサム不一致で読み込みに失敗する")
+  void read_corruptedPayload() throws IOException {
+    Path path = tempDir.resolve("catalog.bin");
+    CatalogSnapshotFile.write(path, 1L, sampleData());
+
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      long position = CatalogSnapshotFile.HEADER_SIZE + 8;
+      file.seek(position);
+      int original = file.read();
+      file.seek(position);
+      file.write(original ^ 0xFF);
+    }
+
+    assertThatThrownBy(() -> CatalogSnapshotFile.read(path))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("チェックサム");
+  }
+
+  @Test
+  @DisplayName("フォーマットバージョンが異なる場合は読み込みに失敗する")
+  void read_unsupportedFormatVersion() throws IOException {
+    Path path = tempDir.resolve("catalog.bin");
+    CatalogSnapshotFile.write(path, 1L, sampleData());
+
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.seek(4);
+      file.writeInt(CatalogSnapshotFile.FORMAT_VERSION + 1);
+    }
+
+    assertThatThrownBy(() -> CatalogSnapshotFile.read(path))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("フォーマットバージョン");
+  }
+
+  @Test
+  @DisplayName("スナップショット以外のファイルは読み込みに失敗する")
+  void read_notSnapshotFile() throws IOException {
+    Path path = tempDir.resolve("catalog.bin");
+    Files.write(path, new byte[CatalogSnapshotFile.HEADER_SIZE]);
+
+    assertThatThrownBy(() -> CatalogSnapshotFile.read(path)).isInstanceOf(IOException.class);
+  }
+
+  /**
+   * テスト用のカタログデータを生成する
+   *
+   * @return カタログデータ
+   */
+  private CatalogData sampleData() {
+    return new CatalogData(
+        List.of(
+            new CatalogData.CategoryRow("iphone", "iPhone", "hero.jpg", "最新のiPhone", 1),
+            new CatalogData.CategoryRow("android", "Android", null, null, 2)),
+        List.of(
+            new CatalogData.ProductRow(
+                1L, "iPhone 15", "標準モデル", new BigDecimal("124800.00"), "iphone", BASE_TIME),
+            new CatalogData.ProductRow(
+                2L, "Galaxy S24", null, new BigDecimal("99800.50"), "android", null)),
+        List.of(
+            new CatalogData.VariantRow(
+                10L, 1L, "Apple", "iPhone 15", "128GB", "#000000", "ブラック", List.of("a.jpg")),
+            new CatalogData.VariantRow(11L, 2L, "Samsung", "Galaxy S24", null, null, null, null)),
+        List.of(new CatalogData.CampaignRow(100L, "SPRING", "春のセール", BASE_TIME, null)),
+        List.of(new CatalogData.ProductCampaignRow(1L, 100L)));
+  }
+}
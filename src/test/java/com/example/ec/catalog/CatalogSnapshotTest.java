@@ -0,0 +1,258 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.dto.CategoryDetailResponse;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CatalogSnapshotのテストクラス
+ *
+ * <p>列指向カタログスナップショットの単体テスト。
+ */
+class CatalogSnapshotTest {
+
+  private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+  private CatalogSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    CatalogData data =
+        new CatalogData(
+            List.of(
+                new CatalogData.CategoryRow("iphone", "iPhone", null, "最新のiPhone", 1),
+                new CatalogData.CategoryRow("android", "Android", null, null, 2)),
+            List.of(
+                new CatalogData.ProductRow(
+                    1L, "iPhone 15", "標準モデル", new BigDecimal("124800.00"), "iphone", BASE_TIME),
+                new CatalogData.ProductRow(
+                    2L,
+                    "iPhone 15 Pro",
+                    "プロモデル",
+                    new BigDecimal("159800.00"),
+                    "iphone",
+                    BASE_TIME.plusSeconds(60)),
+                new CatalogData.ProductRow(
+                    3L,
+                    "iPhone SE",
+                    null,
+                    new BigDecimal("62800.00"),
+                    "iphone",
+                    BASE_TIME.plusSeconds(30)),
+                new CatalogData.ProductRow(
+                    4L, "Galaxy S24", "Android", new BigDecimal("99800.00"), "android", BASE_TIME)),
+            List.of(
+                new CatalogData.VariantRow(
+                    11L,
+                    2L,
+                    "Apple",
+                    "iPhone 15 Pro",
+                    "256GB",
+                    "#000000",
+                    "ブラック",
+                    List.of("b.jpg")),
+                new CatalogData.VariantRow(
+                    10L,
+                    2L,
+                    "Apple",
+                    "iPhone 15 Pro",
+                    "128GB",
+                    "#FFFFFF",
+                    "ホワイト",
+                    List.of("w.jpg"))),
+            List.of(
+                new CatalogData.CampaignRow(100L, "SPRING", "春のセール", null, null),
+                new CatalogData.CampaignRow(101L, "ENDED", "終了済み", null, BASE_TIME)),
+            List.of(
+                new CatalogData.ProductCampaignRow(2L, 100L),
+                new CatalogData.ProductCampaignRow(2L, 101L)));
+    snapshot = CatalogSnapshot.build(data, 42L);
+  }
+
+  @Test
+  @DisplayName("ページ切り出し: 価格の昇順")
+  void categoryPage_priceAscending() {
+    CatalogSnapshot.CategoryPage page =
+        snapshot
+            .categoryPage(
+                "iphone",
+                CatalogFilter.none(),
+                CatalogSortKey.PRICE,
+                false,
+                0,
+                20,
+                BASE_TIME.plusSeconds(3600))
+            .orElseThrow();
+
+    assertThat(page.total()).isEqualTo(3L);
+    assertThat(page.category().leadText()).isEqualTo("最新のiPhone");
+    assertThat(page.products())
+        .extracting(CategoryDetailResponse.ProductItem::getProductId)
+        .containsExactly(3L, 1L, 2L);
+    assertThat(page.products().get(0).getPrice()).isEqualByComparingTo("62800");
+  }
+
+  @Test
+  @DisplayName("ページ切り出し: 作成日時の降順と2ページ目")
+  void categoryPage_createdAtDescendingSecondPage() {
+    CatalogSnapshot.CategoryPage page =
+        snapshot
+            .categoryPage(
+                "iphone", CatalogFilter.none(), CatalogSortKey.CREATED_AT, true, 1, 2, BASE_TIME)
+            .orElseThrow();
+
+    assertThat(page.total()).isEqualTo(3L);
+    assertThat(page.products())
+        .extracting(CategoryDetailResponse.ProductItem::getProductId)
+        .containsExactly(1L);
+  }
+
+  @Test
+  @DisplayName("商品変換: 先頭バリアントと有効なキャンペーンのみを使用する")
+  void categoryPage_usesFirstVariantAndValidCampaigns() {
+    CategoryDetailResponse.ProductItem item =
+        snapshot
+            .categoryPage(
+                "iphone",
+                CatalogFilter.none(),
+                CatalogSortKey.NAME,
+                true,
+                0,
+                1,
+                BASE_TIME.plusSeconds(3600))
+            .orElseThrow()
+            .products()
+            .get(0);
+
+    assertThat(item.getProductName()).isEqualTo("iPhone SE");
+
+    CategoryDetailResponse.ProductItem pro =
+        snapshot
+            .categoryPage(
+                "iphone",
+                CatalogFilter.none(),
+                CatalogSortKey.NAME,
+                false,
+                1,
+                1,
+                BASE_TIME.plusSeconds(3600))
+            .orElseThrow()
+            .products()
+            .get(0);
+
+    assertThat(pro.getProductId()).isEqualTo(2L);
+    assertThat(pro.getStorageCapacity()).isEqualTo("128GB");
+    assertThat(pro.getImageUrls()).containsExactly("w.jpg");
+    assertThat(pro.getCampaigns())
+        .extracting(CategoryDetailResponse.CampaignBadge::getCampaignCode)
+        .containsExactly("SPRING");
+  }
+
+  @Test
+  @DisplayName("ページ切り出し: スナップショットに存在しないカテゴリ")
+  void categoryPage_unknownCategory() {
+    assertThat(
+            snapshot.categoryPage(
+                "unknown", CatalogFilter.none(), CatalogSortKey.NAME, false, 0, 20, BASE_TIME))
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("絞り込み: いずれかのバリアントが一致する商品に絞り込み、他ファセットの件数を集計する")
+  void categoryPage_facetFilter() {
+    CatalogFilter filter = new CatalogFilter(null, null, List.of("ブラック"), null, null);
+
+    CatalogSnapshot.CategoryPage page =
+        snapshot
+            .categoryPage("iphone", filter, CatalogSortKey.NAME, false, 0, 20, BASE_TIME)
+            .orElseThrow();
+
+    assertThat(page.total()).isEqualTo(1L);
+    assertThat(page.products())
+        .extracting(CategoryDetailResponse.ProductItem::getProductId)
+        .containsExactly(2L);
+    assertThat(page.facets().colorNames())
+        .containsExactly(
+            new CatalogFacets.FacetCount("ブラック", 1), new CatalogFacets.FacetCount("ホワイト", 1));
+    assertThat(page.facets().storageCapacities())
+        .containsExactly(
+            new CatalogFacets.FacetCount("128GB", 1), new CatalogFacets.FacetCount("256GB", 1));
+    assertThat(page.facets().minPrice()).isEqualByComparingTo("159800");
+    assertThat(page.facets().maxPrice()).isEqualByComparingTo("159800");
+  }
+
+  @Test
+  @DisplayName("絞り込み: 価格帯で絞り込み、価格帯は価格条件を除いて集計する")
+  void categoryPage_priceRangeFilter() {
+    CatalogFilter filter =
+        new CatalogFilter(null, null, null, new BigDecimal("62800"), new BigDecimal("124800"));
+
+    CatalogSnapshot.CategoryPage page =
+        snapshot
+            .categoryPage("iphone", filter, CatalogSortKey.PRICE, true, 0, 20, BASE_TIME)
+            .orElseThrow();
+
+    assertThat(page.total()).isEqualTo(2L);
+    assertThat(page.products())
+        .extracting(CategoryDetailResponse.ProductItem::getProductId)
+        .containsExactly(1L, 3L);
+    assertThat(page.facets().manufacturers())
+        .containsExactly(new CatalogFacets.FacetCount("Apple", 0));
+    assertThat(page.facets().minPrice()).isEqualByComparingTo("62800");
+    assertThat(page.facets().maxPrice()).isEqualByComparingTo("159800");
+  }
+
+  @Test
+  @DisplayName("絞り込み: 価格帯がlongの範囲を超えても例外にせず、範囲の端として扱う")
+  void categoryPage_hugePriceRange() {
+    BigDecimal huge = new BigDecimal("1e30");
+    CatalogFilter upTo = new CatalogFilter(null, null, null, BigDecimal.ZERO, huge);
+    CatalogFilter from = new CatalogFilter(null, null, null, huge, null);
+
+    CatalogSnapshot.CategoryPage all =
+        snapshot
+            .categoryPage("iphone", upTo, CatalogSortKey.PRICE, true, 0, 20, BASE_TIME)
+            .orElseThrow();
+    CatalogSnapshot.CategoryPage none =
+        snapshot
+            .categoryPage("iphone", from, CatalogSortKey.PRICE, true, 0, 20, BASE_TIME)
+            .orElseThrow();
+
+    assertThat(all.total()).isEqualTo(3L);
+    assertThat(none.total()).isZero();
+  }
+
+  @Test
+  @DisplayName("絞り込み: 該当しない値を指定した場合は0件")
+  void categoryPage_unknownFacetValue() {
+    CatalogFilter filter = new CatalogFilter(List.of("Google"), null, null, null, null);
+
+    CatalogSnapshot.CategoryPage page =
+        snapshot
+            .categoryPage("iphone", filter, CatalogSortKey.NAME, false, 0, 20, BASE_TIME)
+            .orElseThrow();
+
+    assertThat(page.total()).isZero();
+    assertThat(page.products()).isEmpty();
+    assertThat(page.facets().manufacturers())
+        .containsExactly(new CatalogFacets.FacetCount("Apple", 1));
+  }
+
+  @Test
+  @DisplayName("カタログデータ復元: 再構築しても同じ内容になる")
+  void toData_roundTrip() {
+    CatalogData restored = snapshot.toData();
+
+    assertThat(CatalogSnapshot.build(restored, 42L).toData()).isEqualTo(restored);
+    assertThat(restored.products()).hasSize(4);
+    assertThat(restored.variants())
+        .extracting(CatalogData.VariantRow::id)
+        .containsExactly(10L, 11L);
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+/**
+ * CatalogVersionPollerのテストクラス
+ *
+ * <p>カタログバージョンの定期ポーリングを登録する条件の単体テスト。
+ */
+class CatalogVersionPollerTest {
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner()
+          .withBean(CatalogVersionTracker.class, () -> mock(CatalogVersionTracker.class))
+          .withUserConfiguration(CatalogVersionPoller.class);
+
+  @Test
+  @DisplayName("既定の設定（検索結果キャッシュが有効）では、エンジンが無効でもポーリングする")
+  void registeredForSearchCacheByDefault() {
+    contextRunner.run(context -> assertThat(context).hasSingleBean(CatalogVersionPoller.class));
+  }
+
+  @Test
+  @DisplayName("検索結果キャッシュが無効でも、エンジンが有効であればポーリングする")
+  void registeredForEngine() {
+    contextRunner
+        .withPropertyValues("catalog.search-cache.enabled=false", "catalog.engine.enabled=true")
+        .run(context -> assertThat(context).hasSingleBean(CatalogVersionPoller.class));
+  }
+
+  @Test
+  @DisplayName("エンジン・検索結果キャッシュがどちらも無効の場合はポーリングしない")
+  void notRegisteredWithoutConsumers() {
+    contextRunner
+        .withPropertyValues("catalog.search-cache.enabled=false")
+        .run(context -> assertThat(context).doesNotHaveBean(CatalogVersionPoller.class));
+  }
+
+  @Test
+  @DisplayName("Flywayが無効（バージョンを求めるテーブルがない）場合はポーリングしない")
+  void notRegisteredWithoutFlyway() {
+    contextRunner
+        .withPropertyValues("spring.flyway.enabled=false")
+        .run(context -> assertThat(context).doesNotHaveBean(CatalogVersionPoller.class));
+  }
+}
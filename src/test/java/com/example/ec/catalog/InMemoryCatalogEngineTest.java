@@ -0,0 +1,134 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.CatalogConfig;
+import com.example.ec.datasource.PrimaryReadContext;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * InMemoryCatalogEngineのテストクラス
+ *
+ * <p>スナップショットファイルからの復元、再構築の失敗時の動作と読み取り先の単体テスト。
+ */
+class InMemoryCatalogEngineTest {
+
+  @TempDir Path tempDir;
+
+  private CatalogDataLoader catalogDataLoader;
+  private CatalogVersionProbe catalogVersionProbe;
+  private CatalogVersionTracker catalogVersionTracker;
+  private CatalogConfig catalogConfig;
+  private Path snapshotPath;
+  private InMemoryCatalogEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    catalogDataLoader = mock(CatalogDataLoader.class);
+    catalogVersionProbe = mock(CatalogVersionProbe.class);
+    catalogVersionTracker = mock(CatalogVersionTracker.class);
+    catalogConfig = new CatalogConfig();
+    snapshotPath = tempDir.resolve("catalog.bin");
+    catalogConfig.getEngine().getSnapshot().setPath(snapshotPath.toString());
+    engine =
+        new InMemoryCatalogEngine(
+            catalogDataLoader,
+            mock(CatalogDeltaLoader.class),
+            catalogVersionProbe,
+            catalogVersionTracker,
+            catalogConfig,
+            event -> {});
+  }
+
+  @Test
+  @DisplayName("ファイルから復元した場合、起動完了の直後にバックグラウンドでバージョンを照合する")
+  void onApplicationReady_checksRestoredVersion() throws Exception {
+    CatalogSnapshotFile.write(snapshotPath, 5L, data("iphone"));
+
+    engine.restoreFromFile();
+    engine.onApplicationReady();
+
+    assertThat(engine.currentSnapshot().orElseThrow().version()).isEqualTo(5L);
+    verify(catalogVersionTracker, timeout(5000)).poll();
+  }
+
+  @Test
+  @DisplayName("チェックサムが一致してもスナップショットを構築できないファイルは使わず、起動完了時にDBから構築する")
+  void restoreFromFile_fallsBackToDatabaseWhenBuildFails() throws Exception {
+    // 商品のカテゴリがカテゴリ一覧にないデータは、ファイルとしては正しくても構築に失敗する
+    CatalogSnapshotFile.write(snapshotPath, 5L, data("unknown"));
+    when(catalogVersionProbe.currentVersion()).thenReturn(6L);
+    when(catalogDataLoader.loadAll()).thenReturn(data("iphone"));
+
+    engine.restoreFromFile();
+    assertThat(engine.currentSnapshot()).isEmpty();
+    engine.onApplicationReady();
+
+    assertThat(engine.currentSnapshot().orElseThrow().version()).isEqualTo(6L);
+  }
+
+  @Test
+  @DisplayName("再構築がDBアクセス以外の例外で失敗しても、例外を伝えず現在のスナップショットを維持する")
+  void refresh_keepsSnapshotOnUnexpectedFailure() {
+    when(catalogVersionProbe.currentVersion()).thenReturn(1L, 2L);
+    when(catalogDataLoader.loadAll())
+        .thenReturn(data("iphone"))
+        .thenThrow(new IllegalStateException("unexpected"));
+    engine.refresh();
+
+    engine.refresh();
+
+    assertThat(engine.currentSnapshot().orElseThrow().version()).isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("再構築ではバージョンとデータをどちらもプライマリからの読み取りとして取得する")
+  void refresh_readsVersionAndDataFromPrimary() {
+    List<Boolean> primaryReads = new ArrayList<>();
+    when(catalogVersionProbe.currentVersion())
+        .thenAnswer(
+            invocation -> {
+              primaryReads.add(PrimaryReadContext.isActive());
+              return 1L;
+            });
+    when(catalogDataLoader.loadAll())
+        .thenAnswer(
+            invocation -> {
+              primaryReads.add(PrimaryReadContext.isActive());
+              return data("iphone");
+            });
+
+    engine.refresh();
+
+    assertThat(primaryReads).containsExactly(true, true);
+    assertThat(PrimaryReadContext.isActive()).isFalse();
+  }
+
+  /**
+   * iPhoneカテゴリと、指定したカテゴリの商品1件からなるカタログデータを生成する
+   *
+   * @param productCategoryCode 商品のカテゴリコード
+   * @return カタログデータ
+   */
+  private static CatalogData data(String productCategoryCode) {
+    return new CatalogData(
+        List.of(new CatalogData.CategoryRow("iphone", "iPhone", null, null, 1)),
+        List.of(
+            new CatalogData.ProductRow(
+                1L, "iPhone 15", null, new BigDecimal("124800"), productCategoryCode, null)),
+        List.of(),
+        List.of(),
+        List.of());
+  }
+}
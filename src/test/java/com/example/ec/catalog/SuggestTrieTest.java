@@ -0,0 +1,95 @@
+package com.example.ec.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * SuggestTrieのテストクラス
+ *
+ * <p>入力補完用トライ木と検索文字列の正規化の単体テスト。
+ */
+class SuggestTrieTest {
+
+  private SuggestTrie trie;
+
+  @BeforeEach
+  void setUp() {
+    trie =
+        new SuggestTrie.Builder()
+            .add("iPhone 15 Pro", 3)
+            .add("iPhone 15", 5)
+            .add("iPhone SE", 1)
+            .add("Apple", 10)
+            .add("エクスペリア 1 V", 2)
+            .build(3);
+  }
+
+  @Test
+  @DisplayName("正規化: 全角英数字・半角カナ・カタカナ・大文字・連続空白を揃える")
+  void normalize() {
+    assertThat(SearchTextNormalizer.normalize("ＩＰｈｏｎｅ　　15")).isEqualTo("iphone 15");
+    assertThat(SearchTextNormalizer.normalize("ｴｸｽﾍﾟﾘｱ")).isEqualTo("えくすぺりあ");
+    assertThat(SearchTextNormalizer.normalize(" ギャラクシー ")).isEqualTo("ぎゃらくしー");
+    assertThat(SearchTextNormalizer.normalize(null)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("補完: 重みの降順に上位K件を返す")
+  void suggest_ordersByWeight() {
+    assertThat(trie.suggest("i", 10)).containsExactly("iPhone 15", "iPhone 15 Pro", "iPhone SE");
+    assertThat(trie.suggest("i", 1)).containsExactly("iPhone 15");
+  }
+
+  @Test
+  @DisplayName("補完: 表記ゆれと単語の途中からの入力に対応する")
+  void suggest_normalizedAndWordBoundary() {
+    assertThat(trie.suggest("ＩＰＨＯＮＥ 15 p", 10)).containsExactly("iPhone 15 Pro");
+    assertThat(trie.suggest("pro", 10)).containsExactly("iPhone 15 Pro");
+    assertThat(trie.suggest("ｴｸｽ", 10)).containsExactly("エクスペリア 1 V");
+  }
+
+  @Test
+  @DisplayName("補完: 一致しない・空の入力は空リスト")
+  void suggest_noMatch() {
+    assertThat(trie.suggest("xperia", 10)).isEmpty();
+    assertThat(trie.suggest(" ", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("インデックス構築: カテゴリごとに商品数を重みとして候補語を登録する")
+  void catalogSuggestIndex_build() {
+    Instant now = Instant.now();
+    CatalogData data =
+        new CatalogData(
+            List.of(
+                new CatalogData.CategoryRow("iphone", "iPhone", null, null, 1),
+                new CatalogData.CategoryRow("android", "Android", null, null, 2)),
+            List.of(
+                new CatalogData.ProductRow(1L, "iPhone 15", null, BigDecimal.ONE, "iphone", now),
+                new CatalogData.ProductRow(
+                    2L, "iPhone 15 Pro", null, BigDecimal.ONE, "iphone", now),
+                new CatalogData.ProductRow(3L, "Pixel 8", null, BigDecimal.ONE, "android", now)),
+            List.of(
+                new CatalogData.VariantRow(10L, 1L, "Apple", "iPhone 15", null, null, null, null),
+                new CatalogData.VariantRow(11L, 1L, "Apple", "iPhone 15", null, null, null, null),
+                new CatalogData.VariantRow(
+                    20L, 2L, "Apple", "iPhone 15 Pro", null, null, null, null),
+                new CatalogData.VariantRow(30L, 3L, "Google", "Pixel 8", null, null, null, null)),
+            List.of(),
+            List.of());
+
+    Map<String, SuggestTrie> tries = CatalogSuggestIndex.build(data, 10);
+
+    assertThat(tries).containsOnlyKeys("iphone", "android");
+    assertThat(tries.get("iphone").suggest("a", 10)).containsExactly("Apple");
+    assertThat(tries.get("iphone").termCount()).isEqualTo(3);
+    assertThat(tries.get("android").suggest("i", 10)).isEmpty();
+  }
+}
@@ -11,9 +11,12 @@ import com.example.ec.dto.CategoryDetailRequest;
 import com.example.ec.dto.CategoryDetailResponse;
 import com.example.ec.dto.CategoryListResponse;
 import com.example.ec.dto.CategoryRecommendationResponse;
+import com.example.ec.dto.CategorySuggestRequest;
+import com.example.ec.dto.CategorySuggestResponse;
 import com.example.ec.exception.CategoryNotFoundException;
 import com.example.ec.exception.GlobalExceptionHandler;
 import com.example.ec.service.ProductCategoryService;
+import com.example.ec.service.ProductSuggestService;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -41,6 +44,8 @@ class ProductCategoryControllerTest {
 
   @Mock private ProductCategoryService productCategoryService;
 
+  @Mock private ProductSuggestService productSuggestService;
+
   @InjectMocks private ProductCategoryController productCategoryController;
 
   @BeforeEach
@@ -194,4 +199,48 @@ class ProductCategoryControllerTest {
         .andExpect(jsonPath("$.success").value(false))
         .andExpect(jsonPath("$.errorCode").value("CATEGORY_NOT_FOUND"));
   }
+
+  @Test
+  @DisplayName("入力補完: 正常系")
+  void getSuggestions_success() throws Exception {
+    CategorySuggestResponse response =
+        CategorySuggestResponse.builder()
+            .success(true)
+            .message("入力補完候補を取得しました")
+            .data(
+                CategorySuggestResponse.DataWrapper.builder()
+                    .query("iph")
+                    .suggestions(List.of("iPhone 15", "iPhone 15 Pro"))
+                    .build())
+            .timestamp(Instant.now())
+            .requestId(UUID.randomUUID().toString())
+            .build();
+
+    when(productSuggestService.getSuggestions(eq("iphone"), any(CategorySuggestRequest.class)))
+        .thenReturn(response);
+
+    mockMvc
+        .perform(get("/api/v1/products/categories/iphone/suggest").param("q", "iph"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.success").value(true))
+        .andExpect(jsonPath("$.data.suggestions[0]").value("iPhone 15"));
+  }
+
+  @Test
+  @DisplayName("カテゴリ詳細: 上限価格が価格の列の最大値を超える場合")
+  void getCategoryDetail_maxPriceTooLarge() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/products/categories/iphone").param("maxPrice", "1e30"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.success").value(false));
+  }
+
+  @Test
+  @DisplayName("入力補完: 入力文字列が空の場合")
+  void getSuggestions_blankQuery() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/products/categories/iphone/suggest").param("q", ""))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.success").value(false));
+  }
 }
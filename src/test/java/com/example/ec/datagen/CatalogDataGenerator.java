@@ -0,0 +1,804 @@
+package com.example.ec.datagen;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 合成カタログデータの生成
+ *
+ * <p>{@link CatalogDataSpec}の規模と乱数のシードから、次の分布のデータを決定的に生成する。
+ *
+ * <ul>
+ *   <li>カテゴリ: 商品数はZipf分布で、Flywayで投入済みのカテゴリ（表示順）が上位になる。 不足分のカテゴリも生成する
+ *   <li>商品: 日本語7割・英語3割の商品名と説明、カテゴリの種類ごとの対数正規分布の価格、過去3年に分散した作成日時
+ *   <li>バリアント: 商品あたり1〜上限件のZipf分布で、容量と色の組み合わせと1〜5件の画像URLのJSON配列を持つ
+ *   <li>キャンペーン: 過去1年〜30日後に順に開始し、1〜90日（5%は終了日時なし）の期間が重なり合う。 新しいキャンペーンほど対象商品が多い
+ *   <li>ユーザー: メールアドレスは{@link #email}、パスワードは{@link #password}。 ハッシュはパスワードの種類ごとに1回だけBCryptで計算する
+ * </ul>
+ *
+ * <p>商品・バリアント・商品キャンペーン関連の値はIDごとの乱数から導くため、テーブルごとに分けて生成しても互いに整合し、件数を変えても既存のIDの行は変わらない。
+ * {@link #load}はPostgreSQLに{@code COPY}で投入し、負荷テスト・ベンチマーク・実行計画の回帰テストと
+ * {@code ./gradlew generateCatalogData}から使う。
+ */
+public final class CatalogDataGenerator {
+
+  private static final long PRODUCT_STREAM = 1;
+  private static final long CAMPAIGN_STREAM = 2;
+  private static final long PRODUCT_CAMPAIGN_STREAM = 3;
+  private static final long USER_STREAM = 4;
+  private static final double JAPANESE_RATIO = 0.7;
+  private static final double ACTIVE_PRODUCT_RATIO = 0.95;
+  private static final double ACTIVE_CAMPAIGN_RATIO = 0.9;
+  private static final double OPEN_ENDED_CAMPAIGN_RATIO = 0.05;
+  private static final double PRODUCT_CAMPAIGN_RATIO = 0.4;
+  private static final double VARIANT_SKEW = 1.0;
+  private static final double BRAND_SKEW = 0.8;
+  private static final double CAMPAIGN_SKEW = 0.9;
+  private static final int MAX_IMAGES = 5;
+  private static final long PRODUCT_HISTORY_SECONDS = Duration.ofDays(3 * 365).toSeconds();
+  private static final long USER_HISTORY_SECONDS = Duration.ofDays(5 * 365).toSeconds();
+  private static final int CAMPAIGN_HISTORY_DAYS = 365;
+  private static final int CAMPAIGN_LEAD_DAYS = 30;
+  private static final int BCRYPT_STRENGTH = 10;
+  private static final List<Integer> CAMPAIGN_DAYS = List.of(1, 3, 7, 14, 30, 60, 90);
+  private static final List<String> STORAGES = List.of("64GB", "128GB", "256GB", "512GB", "1TB");
+  private static final List<String[]> COLORS =
+      List.of(
+          new String[] {"#1C1C1E", "ブラック"},
+          new String[] {"#F5F5F0", "ホワイト"},
+          new String[] {"#3A5A80", "ブルー"},
+          new String[] {"#C9A9A6", "ピンク"},
+          new String[] {"#4E5851", "グリーン"},
+          new String[] {"#D4AF37", "ゴールド"},
+          new String[] {"#C0C0C0", "シルバー"},
+          new String[] {"#6E5C8F", "パープル"},
+          new String[] {"#B22222", "レッド"},
+          new String[] {"#5C5B57", "グラファイト"});
+  private static final Brand APPLE = new Brand("Apple", List.of("iPhone"));
+  private static final List<Brand> ANDROID_BRANDS =
+      List.of(
+          new Brand("Samsung", List.of("Galaxy S", "Galaxy A", "Galaxy Z Flip")),
+          new Brand("Google", List.of("Pixel")),
+          new Brand("Sony", List.of("Xperia")),
+          new Brand("Sharp", List.of("AQUOS sense", "AQUOS R", "AQUOS wish")),
+          new Brand("FCNT", List.of("arrows We", "arrows N")),
+          new Brand("OPPO", List.of("Reno", "OPPO A")),
+          new Brand("Xiaomi", List.of("Redmi Note", "Xiaomi")),
+          new Brand("Motorola", List.of("moto g", "razr")),
+          new Brand("Kyocera", List.of("DIGNO", "TORQUE")));
+  private static final List<String> MODEL_SUFFIXES =
+      List.of("", "", " mini", " Plus", " Pro", " Pro Max", " Ultra", " Lite");
+  private static final List<String[]> ACCESSORY_ITEMS =
+      List.of(
+          new String[] {"手帳型ケース", "Folio Case"},
+          new String[] {"クリアケース", "Clear Case"},
+          new String[] {"ガラスフィルム", "Screen Protector"},
+          new String[] {"カメラレンズ保護フィルム", "Camera Lens Protector"},
+          new String[] {"USB-C急速充電器", "USB-C Fast Charger"},
+          new String[] {"ワイヤレス充電器", "Wireless Charger"},
+          new String[] {"モバイルバッテリー", "Power Bank"},
+          new String[] {"ワイヤレスイヤホン", "Wireless Earbuds"});
+  private static final List<String> ACCESSORY_MAKERS =
+      List.of("ELECOM", "Anker", "Belkin", "Spigen", "RASTA BANANA");
+  private static final Map<String, ProductKind> SEEDED_CATEGORY_KINDS =
+      Map.of(
+          "iphone",
+          ProductKind.IPHONE,
+          "android",
+          ProductKind.ANDROID,
+          "refurbished",
+          ProductKind.REFURBISHED,
+          "accessories",
+          ProductKind.ACCESSORY);
+  private static final List<ExtraCategory> EXTRA_CATEGORIES =
+      List.of(
+          new ExtraCategory("タブレット", ProductKind.ANDROID),
+          new ExtraCategory("ケース・カバー", ProductKind.ACCESSORY),
+          new ExtraCategory("充電器・ケーブル", ProductKind.ACCESSORY),
+          new ExtraCategory("スマートウォッチ", ProductKind.ANDROID),
+          new ExtraCategory("イヤホン・ヘッドホン", ProductKind.ACCESSORY),
+          new ExtraCategory("中古iPhone", ProductKind.REFURBISHED),
+          new ExtraCategory("保護フィルム", ProductKind.ACCESSORY),
+          new ExtraCategory("ゲーミングスマホ", ProductKind.ANDROID),
+          new ExtraCategory("モバイルバッテリー", ProductKind.ACCESSORY),
+          new ExtraCategory("シニア向けスマホ", ProductKind.ANDROID));
+  private static final List<String> CATEGORY_COLUMNS =
+      List.of(
+          "category_code",
+          "display_name",
+          "hero_image_url",
+          "lead_text",
+          "display_order",
+          "is_active");
+  private static final List<String> PRODUCT_COLUMNS =
+      List.of(
+          "id",
+          "name",
+          "description",
+          "price",
+          "category_code",
+          "is_active",
+          "created_at",
+          "updated_at");
+  private static final List<String> VARIANT_COLUMNS =
+      List.of(
+          "id",
+          "product_id",
+          "manufacturer",
+          "model_name",
+          "storage_capacity",
+          "color_code",
+          "color_name",
+          "image_urls",
+          "created_at",
+          "updated_at");
+  private static final List<String> CAMPAIGN_COLUMNS =
+      List.of(
+          "id",
+          "campaign_code",
+          "campaign_name",
+          "badge_text",
+          "valid_from",
+          "valid_to",
+          "is_active",
+          "created_at",
+          "updated_at");
+  private static final List<String> PRODUCT_CAMPAIGN_COLUMNS = List.of("product_id", "campaign_id");
+  private static final List<String> USER_COLUMNS =
+      List.of("id", "email", "name", "password_hash", "created_at", "updated_at");
+  private static final Set<String> OPTIONS =
+      Set.of(
+          "url",
+          "user",
+          "password",
+          "scale",
+          "seed",
+          "categories",
+          "products",
+          "campaigns",
+          "users",
+          "referenceTime");
+
+  private final CatalogDataSpec spec;
+  private final int existingCategories;
+  private final List<Category> categories = new ArrayList<>();
+  private final ZipfDistribution categoryDistribution;
+  private final ZipfDistribution variantDistribution;
+  private final ZipfDistribution brandDistribution;
+  private final ZipfDistribution campaignDistribution;
+
+  /**
+   * 生成器を生成する
+   *
+   * @param spec 規模と乱数のシード
+   * @param existingCategoryCodes 投入済みのカテゴリのカテゴリコード（表示順）
+   */
+  public CatalogDataGenerator(CatalogDataSpec spec, List<String> existingCategoryCodes) {
+    this.spec = spec;
+    this.existingCategories = existingCategoryCodes.size();
+    for (String code : existingCategoryCodes) {
+      categories.add(
+          new Category(
+              code, code, SEEDED_CATEGORY_KINDS.getOrDefault(code, ProductKind.ACCESSORY)));
+    }
+    for (int i = categories.size(); i < spec.categories(); i++) {
+      int extra = i - existingCategories;
+      ExtraCategory category = EXTRA_CATEGORIES.get(extra % EXTRA_CATEGORIES.size());
+      int round = extra / EXTRA_CATEGORIES.size();
+      categories.add(
+          new Category(
+              String.format(Locale.ROOT, "category-%02d", i + 1),
+              round == 0 ? category.name() : category.name() + " " + (round + 1),
+              category.kind()));
+    }
+    if (categories.isEmpty()) {
+      throw new IllegalArgumentException("カテゴリがありません");
+    }
+    this.categoryDistribution = new ZipfDistribution(categories.size(), spec.categorySkew());
+    this.variantDistribution = new ZipfDistribution(spec.maxVariants(), VARIANT_SKEW);
+    this.brandDistribution = new ZipfDistribution(ANDROID_BRANDS.size(), BRAND_SKEW);
+    this.campaignDistribution =
+        spec.campaigns() > 0 ? new ZipfDistribution(spec.campaigns(), CAMPAIGN_SKEW) : null;
+  }
+
+  /**
+   * ユーザーのメールアドレスを取得する
+   *
+   * @param userId ユーザーID（1始まり）
+   * @return メールアドレス
+   */
+  public static String email(long userId) {
+    return "user" + userId + "@example.com";
+  }
+
+  /**
+   * ユーザーのパスワード（平文）を取得する
+   *
+   * @param spec 規模と乱数のシード
+   * @param userId ユーザーID（1始まり）
+   * @return パスワード
+   */
+  public static String password(CatalogDataSpec spec, long userId) {
+    return "password-" + (userId % spec.passwordPool());
+  }
+
+  /**
+   * 全テーブルのデータを生成して書き込む
+   *
+   * <p>カテゴリ・キャンペーン・商品・バリアント・商品キャンペーン関連・ユーザーの順に書き込む。
+   *
+   * @param sink 書き込み先
+   * @return 書き込んだ件数
+   * @throws IOException 書き込みに失敗した場合
+   */
+  public Summary generate(CatalogDataSink sink) throws IOException {
+    int newCategories = writeCategories(sink);
+    writeCampaigns(sink);
+    writeProducts(sink);
+    long variants = writeVariants(sink);
+    long productCampaigns = writeProductCampaigns(sink);
+    writeUsers(sink);
+    return new Summary(
+        newCategories,
+        spec.products(),
+        variants,
+        spec.campaigns(),
+        productCampaigns,
+        spec.users());
+  }
+
+  /**
+   * PostgreSQLにCOPYで投入し、シーケンスを進めて統計情報を更新する
+   *
+   * <p>Flywayのマイグレーションを適用済みで、商品・キャンペーン・ユーザーが空のデータベースが対象。
+   * 変更通知・アウトボックスのトリガーと外部キーの検査を止めて1トランザクションで投入するため、スーパーユーザーで接続する。
+   * 起動済みのアプリケーションのキャッシュには変更が通知されないため、リクエストを受ける前に投入する。
+   *
+   * @param dataSource 投入先
+   * @param spec 規模と乱数のシード
+   * @return 投入した件数
+   * @throws SQLException 投入に失敗した場合
+   * @throws IOException COPYの送信に失敗した場合
+   */
+  public static Summary load(DataSource dataSource, CatalogDataSpec spec)
+      throws SQLException, IOException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      boolean autoCommit = connection.getAutoCommit();
+      try (ResultSet resultSet =
+          statement.executeQuery(
+              "SELECT EXISTS (SELECT 1 FROM products) OR EXISTS (SELECT 1 FROM campaigns)"
+                  + " OR EXISTS (SELECT 1 FROM users)")) {
+        resultSet.next();
+        if (resultSet.getBoolean(1)) {
+          throw new IllegalStateException("商品・キャンペーン・ユーザーが空のデータベースにのみ投入できます");
+        }
+      }
+      List<String> existingCategoryCodes = new ArrayList<>();
+      try (ResultSet resultSet =
+          statement.executeQuery(
+              "SELECT category_code FROM categories ORDER BY display_order, category_code")) {
+        while (resultSet.next()) {
+          existingCategoryCodes.add(resultSet.getString(1));
+        }
+      }
+      try {
+        connection.setAutoCommit(false);
+        statement.execute("SET LOCAL session_replication_role = replica");
+        Summary summary =
+            new CatalogDataGenerator(spec, existingCategoryCodes)
+                .generate(new PgCopySink(connection));
+        for (String table : List.of("products", "product_variants", "campaigns", "users")) {
+          statement.execute(
+              "SELECT setval(pg_get_serial_sequence('"
+                  + table
+                  + "', 'id'), COALESCE((SELECT MAX(id) FROM "
+                  + table
+                  + "), 0) + 1, false)");
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        statement.execute("VACUUM ANALYZE");
+        return summary;
+      } catch (SQLException | IOException | RuntimeException e) {
+        if (!connection.getAutoCommit()) {
+          connection.rollback();
+        }
+        throw e;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    }
+  }
+
+  /**
+   * コマンドラインから合成データを投入する
+   *
+   * <p>引数は{@code --名前=値}の形式で、{@code url}（必須）・{@code user}・{@code password}・{@code scale}
+   * （{@code small}または{@code production}、既定は{@code small}）と、規模を上書きする{@code seed}・{@code categories}・
+   * {@code products}・{@code campaigns}・{@code users}・{@code referenceTime}（ISO形式の日時）を指定できる。
+   *
+   * @param args 引数
+   * @throws Exception 投入に失敗した場合
+   */
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("引数は --名前=値 の形式で指定してください: " + arg);
+      }
+      String name = arg.substring(2, separator);
+      if (!OPTIONS.contains(name)) {
+        throw new IllegalArgumentException("未知の引数です: " + arg);
+      }
+      options.put(name, arg.substring(separator + 1));
+    }
+    String url = options.get("url");
+    if (url == null) {
+      throw new IllegalArgumentException("--url で投入先のJDBC URLを指定してください");
+    }
+    CatalogDataSpec spec = CatalogDataSpec.of(options.getOrDefault("scale", "small"));
+    if (options.containsKey("seed")) {
+      spec = spec.withSeed(Long.parseLong(options.get("seed")));
+    }
+    if (options.containsKey("categories")) {
+      spec = spec.withCategories(Integer.parseInt(options.get("categories")));
+    }
+    if (options.containsKey("products")) {
+      spec = spec.withProducts(Integer.parseInt(options.get("products")));
+    }
+    if (options.containsKey("campaigns")) {
+      spec = spec.withCampaigns(Integer.parseInt(options.get("campaigns")));
+    }
+    if (options.containsKey("users")) {
+      spec = spec.withUsers(Integer.parseInt(options.get("users")));
+    }
+    if (options.containsKey("referenceTime")) {
+      spec = spec.withReferenceTime(LocalDateTime.parse(options.get("referenceTime")));
+    }
+
+    SingleConnectionDataSource dataSource =
+        new SingleConnectionDataSource(
+            url, options.getOrDefault("user", ""), options.getOrDefault("password", ""), true);
+    try {
+      long startedAt = System.nanoTime();
+      Summary summary = load(dataSource, spec);
+      System.out.printf(
+          Locale.ROOT,
+          "categories=%d products=%d variants=%d campaigns=%d productCampaigns=%d users=%d"
+              + " elapsed=%ds%n",
+          summary.categories(),
+          summary.products(),
+          summary.variants(),
+          summary.campaigns(),
+          summary.productCampaigns(),
+          summary.users(),
+          Duration.ofNanos(System.nanoTime() - startedAt).toSeconds());
+    } finally {
+      dataSource.destroy();
+    }
+  }
+
+  /**
+   * 投入済みのカテゴリに不足するカテゴリを書き込む
+   *
+   * @param sink 書き込み先
+   * @return 書き込んだ件数
+   * @throws IOException 書き込みに失敗した場合
+   */
+  private int writeCategories(CatalogDataSink sink) throws IOException {
+    sink.begin("categories", CATEGORY_COLUMNS);
+    for (int i = existingCategories; i < categories.size(); i++) {
+      Category category = categories.get(i);
+      sink.row(
+          category.code(),
+          category.name(),
+          "https://img.example.com/categories/" + category.code() + ".jpg",
+          category.name() + "の人気商品をまとめてチェック。",
+          i + 1,
+          true);
+    }
+    sink.end();
+    return categories.size() - existingCategories;
+  }
+
+  /**
+   * キャンペーンを書き込む
+   *
+   * <p>開始日時は過去1年から30日後までIDの順に並べてずらし、期間の長さを変えて重なり合うようにする。
+   *
+   * @param sink 書き込み先
+   * @throws IOException 書き込みに失敗した場合
+   */
+  private void writeCampaigns(CatalogDataSink sink) throws IOException {
+    sink.begin("campaigns", CAMPAIGN_COLUMNS);
+    LocalDateTime firstStart = spec.referenceTime().minusDays(CAMPAIGN_HISTORY_DAYS);
+    long spanSeconds = Duration.ofDays(CAMPAIGN_HISTORY_DAYS + CAMPAIGN_LEAD_DAYS).toSeconds();
+    long jitterSeconds = Duration.ofDays(2).toSeconds();
+    for (int id = 1; id <= spec.campaigns(); id++) {
+      Random random = random(CAMPAIGN_STREAM, id);
+      boolean japanese = random.nextDouble() < JAPANESE_RATIO;
+      LocalDateTime validFrom =
+          firstStart.plusSeconds(
+              spanSeconds * id / (spec.campaigns() + 1)
+                  + random.nextLong(2 * jitterSeconds)
+                  - jitterSeconds);
+      LocalDateTime validTo =
+          random.nextDouble() < OPEN_ENDED_CAMPAIGN_RATIO
+              ? null
+              : validFrom.plusDays(CatalogText.pick(random, CAMPAIGN_DAYS));
+      LocalDateTime createdAt = validFrom.minusDays(random.nextInt(14));
+      if (createdAt.isAfter(spec.referenceTime())) {
+        createdAt = spec.referenceTime();
+      }
+      sink.row(
+          id,
+          String.format(Locale.ROOT, "CAMPAIGN-%06d", id),
+          CatalogText.campaignName(random, id, japanese),
+          CatalogText.badge(random),
+          validFrom,
+          validTo,
+          random.nextDouble() < ACTIVE_CAMPAIGN_RATIO,
+          createdAt,
+          createdAt);
+    }
+    sink.end();
+  }
+
+  /**
+   * 商品を書き込む
+   *
+   * @param sink 書き込み先
+   * @throws IOException 書き込みに失敗した場合
+   */
+  private void writeProducts(CatalogDataSink sink) throws IOException {
+    sink.begin("products", PRODUCT_COLUMNS);
+    for (long id = 1; id <= spec.products(); id++) {
+      Product product = product(random(PRODUCT_STREAM, id));
+      sink.row(
+          id,
+          product.name(),
+          product.description(),
+          product.price(),
+          product.categoryCode(),
+          product.active(),
+          product.createdAt(),
+          product.updatedAt());
+    }
+    sink.end();
+  }
+
+  /**
+   * 商品バリアントを書き込む
+   *
+   * <p>商品ごとに商品の値を導いた乱数の続きで、容量と色の組み合わせと画像URLを決める。
+   *
+   * @param sink 書き込み先
+   * @return 書き込んだ件数
+   * @throws IOException 書き込みに失敗した場合
+   */
+  private long writeVariants(CatalogDataSink sink) throws IOException {
+    sink.begin("product_variants", VARIANT_COLUMNS);
+    long variantId = 0;
+    StringBuilder imageUrls = new StringBuilder();
+    for (long id = 1; id <= spec.products(); id++) {
+      Random random = random(PRODUCT_STREAM, id);
+      Product product = product(random);
+      int count = product.variants();
+      int storageCount =
+          product.kind() == ProductKind.ACCESSORY
+              ? 0
+              : Math.min(
+                  STORAGES.size(),
+                  Math.max(1 + random.nextInt(3), (count + COLORS.size() - 1) / COLORS.size()));
+      int firstStorage = random.nextInt(STORAGES.size() - storageCount + 1);
+      int firstColor = random.nextInt(COLORS.size());
+      for (int v = 0; v < count; v++) {
+        variantId++;
+        String[] color =
+            COLORS.get(
+                (firstColor + (storageCount == 0 ? v : v / storageCount)) % COLORS.size());
+        imageUrls.setLength(0);
+        imageUrls.append('[');
+        int images = 1 + random.nextInt(MAX_IMAGES);
+        for (int i = 1; i <= images; i++) {
+          if (i > 1) {
+            imageUrls.append(',');
+          }
+          imageUrls
+              .append("\"https://img.example.com/products/")
+              .append(id)
+              .append('/')
+              .append(variantId)
+              .append('-')
+              .append(i)
+              .append(".jpg\"");
+        }
+        imageUrls.append(']');
+        sink.row(
+            variantId,
+            id,
+            product.manufacturer(),
+            product.model(),
+            storageCount == 0 ? null : STORAGES.get(firstStorage + v % storageCount),
+            color[0],
+            color[1],
+            imageUrls.toString(),
+            product.createdAt(),
+            product.updatedAt());
+      }
+    }
+    sink.end();
+    return variantId;
+  }
+
+  /**
+   * 商品キャンペーン関連を書き込む
+   *
+   * <p>4割の商品に1〜上限件のキャンペーンを、新しいキャンペーンほど選ばれやすいZipf分布で関連付ける。
+   *
+   * @param sink 書き込み先
+   * @return 書き込んだ件数
+   * @throws IOException 書き込みに失敗した場合
+   */
+  private long writeProductCampaigns(CatalogDataSink sink) throws IOException {
+    sink.begin("product_campaigns", PRODUCT_CAMPAIGN_COLUMNS);
+    long links = 0;
+    if (campaignDistribution != null && spec.maxCampaignsPerProduct() > 0) {
+      Set<Integer> campaignIds = new TreeSet<>();
+      for (long id = 1; id <= spec.products(); id++) {
+        Random random = random(PRODUCT_CAMPAIGN_STREAM, id);
+        if (random.nextDouble() >= PRODUCT_CAMPAIGN_RATIO) {
+          continue;
+        }
+        campaignIds.clear();
+        int count = 1 + random.nextInt(spec.maxCampaignsPerProduct());
+        for (int i = 0; i < count; i++) {
+          campaignIds.add(spec.campaigns() - campaignDistribution.sample(random));
+        }
+        for (int campaignId : campaignIds) {
+          sink.row(id, campaignId);
+          links++;
+        }
+      }
+    }
+    sink.end();
+    return links;
+  }
+
+  /**
+   * ユーザーを書き込む
+   *
+   * @param sink 書き込み先
+   * @throws IOException 書き込みに失敗した場合
+   */
+  private void writeUsers(CatalogDataSink sink) throws IOException {
+    sink.begin("users", USER_COLUMNS);
+    String[] passwordHashes = spec.users() > 0 ? passwordHashes() : new String[0];
+    for (long id = 1; id <= spec.users(); id++) {
+      Random random = random(USER_STREAM, id);
+      boolean japanese = random.nextDouble() < 0.8;
+      LocalDateTime createdAt =
+          spec.referenceTime().minusSeconds(random.nextLong(USER_HISTORY_SECONDS));
+      sink.row(
+          id,
+          email(id),
+          CatalogText.userName(random, japanese),
+          passwordHashes[(int) (id % spec.passwordPool())],
+          createdAt,
+          createdAt);
+    }
+    sink.end();
+  }
+
+  /**
+   * パスワードの種類ごとにBCryptのハッシュを計算する
+   *
+   * <p>ソルトもシードから生成するため、同じシードでは同じハッシュになる。 強度はアプリケーションの{@code PasswordEncoder}と同じ。
+   *
+   * @return パスワードのハッシュ（添字は{@code ユーザーID % 種類数}）
+   */
+  private String[] passwordHashes() {
+    SecureRandom saltRandom;
+    try {
+      saltRandom = SecureRandom.getInstance("SHA1PRNG");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    saltRandom.setSeed(spec.seed());
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(BCRYPT_STRENGTH, saltRandom);
+    String[] hashes = new String[spec.passwordPool()];
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = encoder.encode(password(spec, i));
+    }
+    return hashes;
+  }
+
+  /**
+   * 商品の値を導く
+   *
+   * @param random 商品IDごとの乱数
+   * @return 商品の値
+   */
+  private Product product(Random random) {
+    Category category = categories.get(categoryDistribution.sample(random));
+    ProductKind kind = category.kind();
+    boolean japanese = random.nextDouble() < JAPANESE_RATIO;
+    Brand device =
+        kind == ProductKind.IPHONE || (kind != ProductKind.ANDROID && random.nextBoolean())
+            ? APPLE
+            : ANDROID_BRANDS.get(brandDistribution.sample(random));
+    String model =
+        CatalogText.pick(random, device.series())
+            + " "
+            + (1 + random.nextInt(15))
+            + CatalogText.pick(random, MODEL_SUFFIXES);
+    String manufacturer;
+    String name;
+    if (kind == ProductKind.ACCESSORY) {
+      manufacturer = CatalogText.pick(random, ACCESSORY_MAKERS);
+      name =
+          CatalogText.accessoryName(
+              random, CatalogText.pick(random, ACCESSORY_ITEMS), model, japanese);
+    } else {
+      manufacturer = device.name();
+      name =
+          CatalogText.deviceName(
+              random, device.name(), model, kind == ProductKind.REFURBISHED, japanese);
+    }
+    String description = CatalogText.description(random, japanese);
+    long yen =
+        Math.round(Math.exp(kind.logPriceMean + kind.logPriceDeviation * random.nextGaussian()))
+            / 10
+            * 10;
+    BigDecimal price = BigDecimal.valueOf(Math.min(Math.max(yen, 100), 9_999_990));
+    boolean active = random.nextDouble() < ACTIVE_PRODUCT_RATIO;
+    LocalDateTime createdAt =
+        spec.referenceTime().minusSeconds(random.nextLong(PRODUCT_HISTORY_SECONDS));
+    LocalDateTime updatedAt =
+        createdAt.plusSeconds(
+            random.nextLong(Duration.between(createdAt, spec.referenceTime()).toSeconds() + 1));
+    int variants = 1 + variantDistribution.sample(random);
+    return new Product(
+        category.code(),
+        kind,
+        manufacturer,
+        model,
+        name,
+        description,
+        price,
+        active,
+        createdAt,
+        updatedAt,
+        variants);
+  }
+
+  /**
+   * テーブルとIDごとの乱数を生成する
+   *
+   * <p>シード・テーブル・IDを混ぜ合わせたシードで生成し、隣り合うIDの値が相関しないようにする。
+   *
+   * @param stream テーブルの番号
+   * @param id ID
+   * @return 乱数
+   */
+  private Random random(long stream, long id) {
+    long z = spec.seed() + stream * 0x9E3779B97F4A7C15L + id * 0xD1B54A32D192ED03L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return new Random(z ^ (z >>> 31));
+  }
+
+  /** 商品の種類（カテゴリごとに決まり、商品名・メーカー・容量の有無・価格帯が変わる） */
+  enum ProductKind {
+    IPHONE(11.8, 0.3),
+    ANDROID(11.0, 0.6),
+    REFURBISHED(10.8, 0.45),
+    ACCESSORY(8.0, 0.7);
+
+    private final double logPriceMean;
+    private final double logPriceDeviation;
+
+    /**
+     * 商品の種類を生成する
+     *
+     * @param logPriceMean 価格（円）の自然対数の平均
+     * @param logPriceDeviation 価格（円）の自然対数の標準偏差
+     */
+    ProductKind(double logPriceMean, double logPriceDeviation) {
+      this.logPriceMean = logPriceMean;
+      this.logPriceDeviation = logPriceDeviation;
+    }
+  }
+
+  /**
+   * 投入した件数
+   *
+   * @param categories 追加したカテゴリ数
+   * @param products 商品数
+   * @param variants 商品バリアント数
+   * @param campaigns キャンペーン数
+   * @param productCampaigns 商品キャンペーン関連数
+   * @param users ユーザー数
+   */
+  public record Summary(
+      int categories,
+      int products,
+      long variants,
+      int campaigns,
+      long productCampaigns,
+      int users) {}
+
+  /**
+   * メーカー
+   *
+   * @param name メーカー名
+   * @param series シリーズ名
+   */
+  private record Brand(String name, List<String> series) {}
+
+  /**
+   * カテゴリ
+   *
+   * @param code カテゴリコード
+   * @param name 表示名
+   * @param kind 商品の種類
+   */
+  private record Category(String code, String name, ProductKind kind) {}
+
+  /**
+   * 不足分として追加するカテゴリ
+   *
+   * @param name 表示名
+   * @param kind 商品の種類
+   */
+  private record ExtraCategory(String name, ProductKind kind) {}
+
+  /**
+   * 商品の値
+   *
+   * @param categoryCode カテゴリコード
+   * @param kind 商品の種類
+   * @param manufacturer メーカー名（アクセサリーはアクセサリーのメーカー）
+   * @param model モデル名（アクセサリーは対応する端末）
+   * @param name 商品名
+   * @param description 商品説明
+   * @param price 価格
+   * @param active 有効な場合true
+   * @param createdAt 作成日時
+   * @param updatedAt 更新日時
+   * @param variants バリアント数
+   */
+  private record Product(
+      String categoryCode,
+      ProductKind kind,
+      String manufacturer,
+      String model,
+      String name,
+      String description,
+      BigDecimal price,
+      boolean active,
+      LocalDateTime createdAt,
+      LocalDateTime updatedAt,
+      int variants) {}
+}
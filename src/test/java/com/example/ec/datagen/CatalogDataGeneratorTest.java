@@ -0,0 +1,214 @@
+package com.example.ec.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * CatalogDataGeneratorのテストクラス
+ *
+ * <p>DBに接続せず、生成した行をメモリに記録して決定性と分布を検証する。
+ */
+class CatalogDataGeneratorTest {
+
+  private static final List<String> SEEDED_CATEGORIES =
+      List.of("iphone", "android", "refurbished", "accessories");
+  private static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private CatalogDataSpec spec;
+
+  @BeforeEach
+  void setUp() {
+    spec = CatalogDataSpec.small().withUsers(50).withReferenceTime(REFERENCE_TIME);
+  }
+
+  @Test
+  @DisplayName("決定性: 同じシードでは同じ行、異なるシードでは異なる行を生成する")
+  void generate_isDeterministic() throws Exception {
+    RecordingSink first = generate(spec);
+    RecordingSink second = generate(spec);
+    RecordingSink other = generate(spec.withSeed(7));
+
+    assertThat(first.tables).isEqualTo(second.tables);
+    assertThat(first.rows("products")).isNotEqualTo(other.rows("products"));
+  }
+
+  @Test
+  @DisplayName("件数: 商品を増やしても既存の商品IDの行は変わらない")
+  void generate_isStableAcrossScale() throws Exception {
+    RecordingSink small = generate(spec.withProducts(100));
+    RecordingSink large = generate(spec.withProducts(200));
+
+    assertThat(large.rows("products").subList(0, 100)).isEqualTo(small.rows("products"));
+  }
+
+  @Test
+  @DisplayName("カテゴリ: 不足分を追加し、商品数はFlywayのカテゴリを上位とするZipf分布になる")
+  void generate_categorySizesAreZipfian() throws Exception {
+    RecordingSink sink = generate(spec);
+
+    assertThat(sink.rows("categories")).hasSize(spec.categories() - SEEDED_CATEGORIES.size());
+    Map<Object, Long> sizes =
+        sink.rows("products").stream()
+            .collect(Collectors.groupingBy(row -> row.get(4), Collectors.counting()));
+    assertThat(sizes).hasSize(spec.categories());
+    assertThat(sizes.get("iphone")).isGreaterThan(sizes.get("android"));
+    assertThat(sizes.get("android")).isGreaterThan(sizes.get("category-08"));
+    assertThat(sizes.get("iphone")).isGreaterThan(3 * sizes.get("category-08"));
+  }
+
+  @Test
+  @DisplayName("バリアント: 商品ごとに1〜30件で、画像URLは1〜5件のJSON配列")
+  void generate_variantsPerProduct() throws Exception {
+    RecordingSink sink = generate(spec);
+
+    Map<Object, Long> variantsPerProduct =
+        sink.rows("product_variants").stream()
+            .collect(Collectors.groupingBy(row -> row.get(1), Collectors.counting()));
+    assertThat(variantsPerProduct).hasSize(spec.products());
+    assertThat(variantsPerProduct.values()).allMatch(count -> count >= 1 && count <= 30);
+    assertThat(variantsPerProduct.values()).contains(1L).anyMatch(count -> count >= 20);
+    for (List<Object> variant : sink.rows("product_variants")) {
+      String[] urls = objectMapper.readValue((String) variant.get(7), String[].class);
+      assertThat(urls.length).isBetween(1, 5);
+    }
+    assertThat(sink.summary.variants()).isEqualTo(sink.rows("product_variants").size());
+  }
+
+  @Test
+  @DisplayName("キャンペーン: 基準日時に有効なキャンペーンが重なり合い、関連は既存のキャンペーンを重複なく指す")
+  void generate_campaignsOverlap() throws Exception {
+    RecordingSink sink = generate(spec);
+
+    long activeAtReference =
+        sink.rows("campaigns").stream()
+            .filter(
+                row ->
+                    !((LocalDateTime) row.get(4)).isAfter(REFERENCE_TIME)
+                        && (row.get(5) == null
+                            || ((LocalDateTime) row.get(5)).isAfter(REFERENCE_TIME)))
+            .count();
+    assertThat(activeAtReference).isGreaterThan(1);
+    Set<List<Object>> links = new HashSet<>(sink.rows("product_campaigns"));
+    assertThat(links).hasSameSizeAs(sink.rows("product_campaigns"));
+    assertThat(links)
+        .allMatch(link -> (int) link.get(1) >= 1 && (int) link.get(1) <= spec.campaigns());
+  }
+
+  @Test
+  @DisplayName("ユーザー: パスワードハッシュはpassword()の平文と一致する")
+  void generate_userPasswordsMatch() throws Exception {
+    RecordingSink sink = generate(spec);
+
+    List<List<Object>> users = sink.rows("users");
+    assertThat(users).hasSize(50);
+    assertThat(users.stream().map(row -> row.get(1)).distinct()).hasSize(50);
+    List<Object> user = users.get(6);
+    assertThat(user.get(1)).isEqualTo(CatalogDataGenerator.email(7));
+    assertThat(
+            new BCryptPasswordEncoder()
+                .matches(CatalogDataGenerator.password(spec, 7), (String) user.get(3)))
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("Zipf分布: 出現確率の合計が1で、順位が下がるほど小さい")
+  void zipfDistribution() {
+    ZipfDistribution distribution = new ZipfDistribution(10, 1.0);
+    double sum = 0;
+    for (int rank = 0; rank < distribution.size(); rank++) {
+      sum += distribution.probability(rank);
+      if (rank > 0) {
+        assertThat(distribution.probability(rank))
+            .isLessThan(distribution.probability(rank - 1));
+      }
+    }
+    assertThat(sum).isCloseTo(1.0, Offset.offset(1e-9));
+
+    Random random = new Random(1);
+    int[] counts = new int[distribution.size()];
+    for (int i = 0; i < 10_000; i++) {
+      counts[distribution.sample(random)]++;
+    }
+    assertThat(counts[0]).isGreaterThan(counts[9] * 5);
+    assertThat(Arrays.stream(counts).sum()).isEqualTo(10_000);
+  }
+
+  /**
+   * 合成データを生成してメモリに記録する
+   *
+   * @param spec 規模と乱数のシード
+   * @return 記録した書き込み先
+   * @throws Exception 生成に失敗した場合
+   */
+  private static RecordingSink generate(CatalogDataSpec spec) throws Exception {
+    RecordingSink sink = new RecordingSink();
+    sink.summary = new CatalogDataGenerator(spec, SEEDED_CATEGORIES).generate(sink);
+    return sink;
+  }
+
+  /** テーブルごとに行をメモリに記録する書き込み先 */
+  private static final class RecordingSink implements CatalogDataSink {
+
+    private final Map<String, List<List<Object>>> tables = new LinkedHashMap<>();
+    private List<String> columns;
+    private List<List<Object>> current;
+    private CatalogDataGenerator.Summary summary;
+
+    /**
+     * テーブルの記録を開始する
+     *
+     * @param table テーブル名
+     * @param columns 列名
+     */
+    @Override
+    public void begin(String table, List<String> columns) {
+      this.columns = columns;
+      current = new ArrayList<>();
+      tables.put(table, current);
+    }
+
+    /**
+     * 列数を検証して1行を記録する
+     *
+     * @param values 列の値
+     */
+    @Override
+    public void row(Object... values) {
+      assertThat(values).hasSize(columns.size());
+      current.add(Arrays.asList(values));
+    }
+
+    /** テーブルの記録を終了する */
+    @Override
+    public void end() {
+      current = null;
+    }
+
+    /**
+     * テーブルの行を取得する
+     *
+     * @param table テーブル名
+     * @return 行
+     */
+    List<List<Object>> rows(String table) {
+      return tables.getOrDefault(table, List.of());
+    }
+  }
+}
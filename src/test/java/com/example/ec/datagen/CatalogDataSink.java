@@ -0,0 +1,38 @@
+package com.example.ec.datagen;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 合成カタログデータの書き込み先
+ *
+ * <p>{@link CatalogDataGenerator}はテーブルごとに{@link #begin}・{@link #row}の繰り返し・{@link #end}の順に呼び出す。
+ * 値は{@code String}・{@code Integer}・{@code Long}・{@code BigDecimal}・{@code Boolean}・
+ * {@code LocalDateTime}・nullのいずれか。
+ */
+public interface CatalogDataSink {
+
+  /**
+   * テーブルへの書き込みを開始する
+   *
+   * @param table テーブル名
+   * @param columns 列名
+   * @throws IOException 書き込みに失敗した場合
+   */
+  void begin(String table, List<String> columns) throws IOException;
+
+  /**
+   * 1行を書き込む
+   *
+   * @param values 列の値（{@link #begin}の列の順）
+   * @throws IOException 書き込みに失敗した場合
+   */
+  void row(Object... values) throws IOException;
+
+  /**
+   * テーブルへの書き込みを終了する
+   *
+   * @throws IOException 書き込みに失敗した場合
+   */
+  void end() throws IOException;
+}
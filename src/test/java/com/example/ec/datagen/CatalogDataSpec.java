@@ -0,0 +1,204 @@
+package com.example.ec.datagen;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 合成カタログデータの規模と乱数のシード
+ *
+ * <p>同じ値を指定すれば{@link CatalogDataGenerator}は同じデータを生成する（IDの採番・BCryptのソルトを含む）。
+ * キャンペーンの期間と作成日時は基準日時からの相対で決めるため、現在有効なキャンペーンを含めるには基準日時を現在付近にする。
+ *
+ * @param seed 乱数のシード
+ * @param categories カテゴリ数（Flywayで投入済みのカテゴリを含む）
+ * @param categorySkew カテゴリごとの商品数のZipf分布の指数
+ * @param products 商品数
+ * @param maxVariants 商品あたりのバリアント数の上限（1〜上限のZipf分布）
+ * @param campaigns キャンペーン数
+ * @param maxCampaignsPerProduct 商品あたりのキャンペーン数の上限
+ * @param users ユーザー数
+ * @param passwordPool ユーザーのパスワードの種類数（種類ごとに1回だけBCryptでハッシュ化する）
+ * @param referenceTime 基準日時
+ */
+public record CatalogDataSpec(
+    long seed,
+    int categories,
+    double categorySkew,
+    int products,
+    int maxVariants,
+    int campaigns,
+    int maxCampaignsPerProduct,
+    int users,
+    int passwordPool,
+    LocalDateTime referenceTime) {
+
+  /** 規模を検証する */
+  public CatalogDataSpec {
+    if (categories < 1 || products < 0 || campaigns < 0 || users < 0) {
+      throw new IllegalArgumentException("件数が不正です");
+    }
+    if (maxVariants < 1 || maxCampaignsPerProduct < 0 || passwordPool < 1) {
+      throw new IllegalArgumentException("上限が不正です");
+    }
+    if (categorySkew < 0) {
+      throw new IllegalArgumentException("categorySkew must not be negative: " + categorySkew);
+    }
+    if (referenceTime == null) {
+      throw new IllegalArgumentException("referenceTime is required");
+    }
+  }
+
+  /**
+   * 負荷テスト・ベンチマーク向けの小規模な構成（商品2,000件・ユーザー1,000件）を取得する
+   *
+   * @return 構成（基準日時は当日0時）
+   */
+  public static CatalogDataSpec small() {
+    return new CatalogDataSpec(
+        42L, 8, 1.1, 2_000, 30, 50, 3, 1_000, 4, LocalDate.now().atStartOfDay());
+  }
+
+  /**
+   * 本番規模を想定した構成（カテゴリ40件・商品100万件・キャンペーン10万件・ユーザー200万件）を取得する
+   *
+   * @return 構成（基準日時は当日0時）
+   */
+  public static CatalogDataSpec production() {
+    return new CatalogDataSpec(
+        42L, 40, 1.1, 1_000_000, 30, 100_000, 3, 2_000_000, 16, LocalDate.now().atStartOfDay());
+  }
+
+  /**
+   * 名前から構成を取得する
+   *
+   * @param scale 構成の名前（{@code small}または{@code production}）
+   * @return 構成
+   */
+  public static CatalogDataSpec of(String scale) {
+    return switch (scale) {
+      case "small" -> small();
+      case "production" -> production();
+      default -> throw new IllegalArgumentException("未知の規模です: " + scale);
+    };
+  }
+
+  /**
+   * 乱数のシードを変更した構成を取得する
+   *
+   * @param seed 乱数のシード
+   * @return 構成
+   */
+  public CatalogDataSpec withSeed(long seed) {
+    return new CatalogDataSpec(
+        seed,
+        categories,
+        categorySkew,
+        products,
+        maxVariants,
+        campaigns,
+        maxCampaignsPerProduct,
+        users,
+        passwordPool,
+        referenceTime);
+  }
+
+  /**
+   * カテゴリ数を変更した構成を取得する
+   *
+   * @param categories カテゴリ数
+   * @return 構成
+   */
+  public CatalogDataSpec withCategories(int categories) {
+    return new CatalogDataSpec(
+        seed,
+        categories,
+        categorySkew,
+        products,
+        maxVariants,
+        campaigns,
+        maxCampaignsPerProduct,
+        users,
+        passwordPool,
+        referenceTime);
+  }
+
+  /**
+   * 商品数を変更した構成を取得する
+   *
+   * @param products 商品数
+   * @return 構成
+   */
+  public CatalogDataSpec withProducts(int products) {
+    return new CatalogDataSpec(
+        seed,
+        categories,
+        categorySkew,
+        products,
+        maxVariants,
+        campaigns,
+        maxCampaignsPerProduct,
+        users,
+        passwordPool,
+        referenceTime);
+  }
+
+  /**
+   * キャンペーン数を変更した構成を取得する
+   *
+   * @param campaigns キャンペーン数
+   * @return 構成
+   */
+  public CatalogDataSpec withCampaigns(int campaigns) {
+    return new CatalogDataSpec(
+        seed,
+        categories,
+        categorySkew,
+        products,
+        maxVariants,
+        campaigns,
+        maxCampaignsPerProduct,
+        users,
+        passwordPool,
+        referenceTime);
+  }
+
+  /**
+   * ユーザー数を変更した構成を取得する
+   *
+   * @param users ユーザー数
+   * @return 構成
+   */
+  public CatalogDataSpec withUsers(int users) {
+    return new CatalogDataSpec(
+        seed,
+        categories,
+        categorySkew,
+        products,
+        maxVariants,
+        campaigns,
+        maxCampaignsPerProduct,
+        users,
+        passwordPool,
+        referenceTime);
+  }
+
+  /**
+   * 基準日時を変更した構成を取得する
+   *
+   * @param referenceTime 基準日時
+   * @return 構成
+   */
+  public CatalogDataSpec withReferenceTime(LocalDateTime referenceTime) {
+    return new CatalogDataSpec(
+        seed,
+        categories,
+        categorySkew,
+        products,
+        maxVariants,
+        campaigns,
+        maxCampaignsPerProduct,
+        users,
+        passwordPool,
+        referenceTime);
+  }
+}
@@ -0,0 +1,164 @@
+package com.example.ec.datagen;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 合成カタログデータの日本語・英語の文言
+ *
+ * <p>商品名・商品説明・キャンペーン名・ユーザー名を語句の組み合わせで作る。 検索や並べ替えの対象になる列の長さと文字種（全角・半角の混在）を
+ * 実データに近づけるためのもので、文として自然であることは重視しない。
+ */
+final class CatalogText {
+
+  private static final List<String> JA_PHONE_FORMATS =
+      List.of("%s SIMフリー", "%s 5G対応", "%s（%s）", "%s 国内版");
+  private static final List<String> EN_PHONE_FORMATS =
+      List.of("%s Unlocked", "%s 5G", "%2$s %1$s", "%s Dual SIM");
+  private static final List<String> JA_SENTENCES =
+      List.of(
+          "大画面で動画もゲームも快適に楽しめます。",
+          "夜景もくっきり撮れる高性能カメラを搭載。",
+          "1日中使える大容量バッテリー。",
+          "防水・防塵に対応し、キッチンやアウトドアでも安心です。",
+          "おサイフケータイに対応しています。",
+          "軽量で持ちやすいコンパクトなデザイン。",
+          "急速充電に対応し、短時間で充電できます。",
+          "eSIMとnanoSIMのデュアルSIMで使えます。",
+          "動作確認済みの整備済み品です。",
+          "指紋認証と顔認証の両方に対応。");
+  private static final List<String> EN_SENTENCES =
+      List.of(
+          "A bright display for movies and games.",
+          "Pro-grade camera system with night mode.",
+          "All-day battery life.",
+          "Water and dust resistant.",
+          "Lightweight design that fits in one hand.",
+          "Supports fast charging and wireless charging.",
+          "Dual SIM with eSIM support.",
+          "Inspected and tested refurbished device.",
+          "Secure unlock with fingerprint and face recognition.");
+  private static final List<String> JA_CAMPAIGN_THEMES =
+      List.of("新生活", "夏の", "ブラックフライデー", "年末年始", "春の", "のりかえ", "学割", "決算");
+  private static final List<String> EN_CAMPAIGN_THEMES =
+      List.of("Spring", "Summer", "Black Friday", "Holiday", "Back to School", "Anniversary");
+  private static final List<String> JA_CAMPAIGN_SUFFIXES =
+      List.of("セール", "キャンペーン", "ポイント還元", "特価");
+  private static final List<String> BADGES =
+      List.of("セール", "ポイント還元", "期間限定", "送料無料", "新生活", "SALE", "NEW");
+  private static final List<String> JA_FAMILY_NAMES =
+      List.of("佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤");
+  private static final List<String> JA_GIVEN_NAMES =
+      List.of("太郎", "花子", "翔", "結衣", "大輔", "美咲", "健太", "陽菜", "蓮", "さくら");
+  private static final List<String> EN_FIRST_NAMES =
+      List.of("James", "Mary", "John", "Emma", "Michael", "Olivia", "David", "Sophia");
+  private static final List<String> EN_LAST_NAMES =
+      List.of("Smith", "Johnson", "Brown", "Taylor", "Wilson", "Clark", "Lee", "Walker");
+
+  private CatalogText() {}
+
+  /**
+   * 端末の商品名を作る
+   *
+   * @param random 乱数
+   * @param brand メーカー名
+   * @param model モデル名
+   * @param refurbished 整備済み品の場合true
+   * @param japanese 日本語の場合true
+   * @return 商品名
+   */
+  static String deviceName(
+      Random random, String brand, String model, boolean refurbished, boolean japanese) {
+    String name =
+        String.format(pick(random, japanese ? JA_PHONE_FORMATS : EN_PHONE_FORMATS), model, brand);
+    if (!refurbished) {
+      return name;
+    }
+    return japanese ? "【整備済み品】" + name : "Refurbished " + name;
+  }
+
+  /**
+   * アクセサリーの商品名を作る
+   *
+   * @param random 乱数
+   * @param item アクセサリーの種類（日本語・英語）
+   * @param model 対応する端末のモデル名
+   * @param japanese 日本語の場合true
+   * @return 商品名
+   */
+  static String accessoryName(Random random, String[] item, String model, boolean japanese) {
+    String variant = random.nextBoolean() ? "" : (japanese ? " 2個セット" : " (2-Pack)");
+    return japanese ? model + "対応 " + item[0] + variant : item[1] + " for " + model + variant;
+  }
+
+  /**
+   * 商品説明を作る（2〜4文）
+   *
+   * @param random 乱数
+   * @param japanese 日本語の場合true
+   * @return 商品説明
+   */
+  static String description(Random random, boolean japanese) {
+    List<String> sentences = japanese ? JA_SENTENCES : EN_SENTENCES;
+    int count = 2 + random.nextInt(3);
+    StringBuilder description = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (!japanese && i > 0) {
+        description.append(' ');
+      }
+      description.append(pick(random, sentences));
+    }
+    return description.toString();
+  }
+
+  /**
+   * キャンペーン名を作る
+   *
+   * @param random 乱数
+   * @param number キャンペーンの通し番号
+   * @param japanese 日本語の場合true
+   * @return キャンペーン名
+   */
+  static String campaignName(Random random, int number, boolean japanese) {
+    if (!japanese) {
+      return pick(random, EN_CAMPAIGN_THEMES) + " Sale #" + number;
+    }
+    String theme = pick(random, JA_CAMPAIGN_THEMES);
+    return theme + pick(random, JA_CAMPAIGN_SUFFIXES) + " 第" + number + "弾";
+  }
+
+  /**
+   * キャンペーンのバッジの文言を選ぶ
+   *
+   * @param random 乱数
+   * @return バッジの文言
+   */
+  static String badge(Random random) {
+    return pick(random, BADGES);
+  }
+
+  /**
+   * ユーザー名を作る
+   *
+   * @param random 乱数
+   * @param japanese 日本語の場合true
+   * @return ユーザー名
+   */
+  static String userName(Random random, boolean japanese) {
+    return japanese
+        ? pick(random, JA_FAMILY_NAMES) + " " + pick(random, JA_GIVEN_NAMES)
+        : pick(random, EN_FIRST_NAMES) + " " + pick(random, EN_LAST_NAMES);
+  }
+
+  /**
+   * 候補から1つ選ぶ
+   *
+   * @param <T> 候補の型
+   * @param random 乱数
+   * @param candidates 候補
+   * @return 選んだ候補
+   */
+  static <T> T pick(Random random, List<T> candidates) {
+    return candidates.get(random.nextInt(candidates.size()));
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.ec.datagen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * PostgreSQLの{@code COPY ... FROM STDIN}で書き込む書き込み先
+ *
+ * <p>行をCSV形式で組み立て、一定量ごとにまとめてサーバーへ送る。 INSERTを1行ずつ実行するより桁違いに速く、数百万行を数分で投入できる。
+ */
+final class PgCopySink implements CatalogDataSink {
+
+  private static final int FLUSH_THRESHOLD = 1 << 16;
+  private static final DateTimeFormatter TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private final CopyManager copyManager;
+  private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+  private CopyIn copyIn;
+
+  /**
+   * 書き込み先を生成する
+   *
+   * @param connection PostgreSQLの接続（プールの接続など、PGConnectionを包んだものでもよい）
+   * @throws SQLException PostgreSQLの接続でない場合
+   */
+  PgCopySink(Connection connection) throws SQLException {
+    this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+  }
+
+  /**
+   * COPYを開始する
+   *
+   * @param table テーブル名
+   * @param columns 列名
+   * @throws IOException COPYを開始できない場合
+   */
+  @Override
+  public void begin(String table, List<String> columns) throws IOException {
+    try {
+      copyIn =
+          copyManager.copyIn(
+              "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)");
+    } catch (SQLException e) {
+      throw new IOException(table + " のCOPYを開始できません", e);
+    }
+  }
+
+  /**
+   * 1行をCSV形式でバッファに追加し、一定量を超えたら送る
+   *
+   * @param values 列の値
+   * @throws IOException 送信に失敗した場合
+   */
+  @Override
+  public void row(Object... values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        buffer.append(',');
+      }
+      append(values[i]);
+    }
+    buffer.append('\n');
+    if (buffer.length() >= FLUSH_THRESHOLD) {
+      flush();
+    }
+  }
+
+  /**
+   * 残りの行を送ってCOPYを終了する
+   *
+   * @throws IOException 送信に失敗した場合
+   */
+  @Override
+  public void end() throws IOException {
+    flush();
+    try {
+      copyIn.endCopy();
+    } catch (SQLException e) {
+      throw new IOException("COPYを終了できません", e);
+    } finally {
+      copyIn = null;
+    }
+  }
+
+  /**
+   * 値をCSVの1項目として追加する（nullは空の項目、文字列は常に引用符で囲む）
+   *
+   * @param value 値
+   */
+  private void append(Object value) {
+    if (value == null) {
+      return;
+    }
+    if (value instanceof Boolean bool) {
+      buffer.append(bool ? 't' : 'f');
+    } else if (value instanceof LocalDateTime timestamp) {
+      TIMESTAMP.formatTo(timestamp, buffer);
+    } else if (value instanceof Number) {
+      buffer.append(value);
+    } else {
+      String text = value.toString();
+      buffer.append('"');
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c == '"') {
+          buffer.append('"');
+        }
+        buffer.append(c);
+      }
+      buffer.append('"');
+    }
+  }
+
+  /**
+   * バッファの行を送る
+   *
+   * @throws IOException 送信に失敗した場合
+   */
+  private void flush() throws IOException {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    buffer.setLength(0);
+    try {
+      copyIn.writeToCopy(bytes, 0, bytes.length);
+    } catch (SQLException e) {
+      throw new IOException("COPYの送信に失敗しました", e);
+    }
+  }
+}
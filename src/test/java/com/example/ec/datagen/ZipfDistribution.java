@@ -0,0 +1,69 @@
+package com.example.ec.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf分布
+ *
+ * <p>順位kの出現確率を{@code 1 / k^s}に比例させる。 カテゴリごとの商品数・商品あたりのバリアント数・キャンペーンごとの対象商品数のように、
+ * 少数の値に集中して長い裾を持つ分布を再現するために使う。 累積確率の表を二分探索して標本を取るため、1回の抽出は{@code O(log n)}。
+ */
+final class ZipfDistribution {
+
+  private final double[] cumulative;
+
+  /**
+   * Zipf分布を生成する
+   *
+   * @param size 順位の数
+   * @param exponent 指数s（大きいほど上位に集中する。0の場合は一様分布）
+   */
+  ZipfDistribution(int size, double exponent) {
+    if (size < 1) {
+      throw new IllegalArgumentException("size must be positive: " + size);
+    }
+    if (exponent < 0) {
+      throw new IllegalArgumentException("exponent must not be negative: " + exponent);
+    }
+    cumulative = new double[size];
+    double sum = 0;
+    for (int k = 1; k <= size; k++) {
+      sum += 1 / Math.pow(k, exponent);
+      cumulative[k - 1] = sum;
+    }
+    for (int i = 0; i < size; i++) {
+      cumulative[i] /= sum;
+    }
+  }
+
+  /**
+   * 順位の数を取得する
+   *
+   * @return 順位の数
+   */
+  int size() {
+    return cumulative.length;
+  }
+
+  /**
+   * 順位を抽出する
+   *
+   * @param random 乱数
+   * @return 順位（0始まり、0が最も出現しやすい）
+   */
+  int sample(Random random) {
+    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+    return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+  }
+
+  /**
+   * 順位の出現確率を取得する
+   *
+   * @param rank 順位（0始まり）
+   * @return 出現確率
+   */
+  double probability(int rank) {
+    return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+  }
+}
@@ -0,0 +1,228 @@
+package com.example.ec.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ReplicaRoutingDataSourceのテストクラス
+ *
+ * <p>読み取り専用トランザクションの振り分け・遅延による除外・プライマリへのフォールバックの単体テスト。
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+  private static final long MAX_LAG = 5000L;
+  private static final Object ENTITY_MANAGER_KEY = new Object();
+
+  @Mock private DataSource primary;
+
+  @Mock private DataSource replicaDataSource;
+
+  @Mock private Connection primaryConnection;
+
+  @Mock private Connection replicaConnection;
+
+  @Mock private Statement statement;
+
+  @Mock private ResultSet resultSet;
+
+  @Mock private EntityManager entityManager;
+
+  @Mock private Session session;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ReplicaRoutingDataSource routingDataSource;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    routingDataSource =
+        new ReplicaRoutingDataSource(
+            primary,
+            List.of(new ReplicaRoutingDataSource.Replica("replica-0", replicaDataSource)),
+            MAX_LAG,
+            meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    TransactionSynchronizationManager.unbindResourceIfPossible(ENTITY_MANAGER_KEY);
+  }
+
+  @Test
+  @DisplayName("読み取り専用でないトランザクションはプライマリへ振り分ける")
+  void getConnection_writeGoesToPrimary() throws SQLException {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    assertThat(routingCount("primary", "write")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("遅延が上限以内のレプリカには読み取り専用トランザクションを振り分ける")
+  void getConnection_readOnlyGoesToHealthyReplica() throws SQLException {
+    stubLag(1200.0);
+    routingDataSource.checkReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    assertThat(routingCount("replica-0", "read")).isEqualTo(1.0);
+    assertThat(routingDataSource.getReplicas().get(0).getLag()).isEqualTo(1200L);
+    assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(1.2);
+    verify(primary, never()).getConnection();
+  }
+
+  @Test
+  @DisplayName("プライマリからの読み取りを指定した範囲では、正常なレプリカがあっても読み取り専用トランザクションをプライマリへ振り分ける")
+  void getConnection_primaryReadGoesToPrimary() throws SQLException {
+    stubLag(0.0);
+    routingDataSource.checkReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    try (PrimaryReadContext.Scope scope = PrimaryReadContext.enter()) {
+      assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+    assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+
+    assertThat(routingCount("primary", "primary-read")).isEqualTo(1.0);
+    assertThat(routingCount("replica-0", "read")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("レプリカへ振り分けたトランザクションのセッションは第2レベルキャッシュに書き込まない")
+  void getConnection_replicaReadDisablesSecondLevelCachePut() throws SQLException {
+    stubLag(0.0);
+    routingDataSource.checkReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    bindEntityManager();
+    when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+    routingDataSource.getConnection();
+
+    verify(session).setCacheMode(CacheMode.GET);
+  }
+
+  @Test
+  @DisplayName("プライマリへフォールバックしたトランザクションは第2レベルキャッシュに書き込める")
+  void getConnection_primaryFallbackKeepsSecondLevelCachePut() throws SQLException {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    bindEntityManager();
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    routingDataSource.getConnection();
+
+    verifyNoInteractions(entityManager);
+  }
+
+  @Test
+  @DisplayName("遅延が上限を超えたレプリカは除外し、プライマリへフォールバックする")
+  void getConnection_laggingReplicaFallsBackToPrimary() throws SQLException {
+    stubLag(MAX_LAG + 1.0);
+    routingDataSource.checkReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+    assertThat(routingCount("primary", "fallback")).isEqualTo(1.0);
+    assertThat(meterRegistry.get("datasource.replica.healthy").gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("ヘルスチェック前のレプリカには振り分けない")
+  void getConnection_uncheckedReplicaIsNotUsed() throws SQLException {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    verify(replicaDataSource, never()).getConnection();
+  }
+
+  @Test
+  @DisplayName("レプリカへの接続に失敗した場合はプライマリへフォールバックし、次のヘルスチェックまで除外する")
+  void getConnection_replicaFailureFallsBackToPrimary() throws SQLException {
+    stubLag(0.0);
+    routingDataSource.checkReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(replicaDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+    assertThat(routingDataSource.getReplicas().get(0).getLastError())
+        .isEqualTo("connection refused");
+  }
+
+  @Test
+  @DisplayName("遅延が不明（一度もWALを適用していない）なレプリカは除外する")
+  void checkReplicas_unknownLagIsUnhealthy() throws SQLException {
+    stubLag(0.0);
+    when(resultSet.wasNull()).thenReturn(true);
+
+    routingDataSource.checkReplicas();
+
+    assertThat(routingDataSource.getReplicas().get(0).isHealthy()).isFalse();
+    assertThat(routingDataSource.getReplicas().get(0).getLag()).isEqualTo(-1L);
+  }
+
+  /**
+   * レプリカのヘルスチェックが指定した遅延を返すように設定する
+   *
+   * @param lag 遅延（ミリ秒）
+   * @throws SQLException 設定エラー
+   */
+  private void stubLag(double lag) throws SQLException {
+    when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+    when(replicaConnection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(ReplicaRoutingDataSource.LAG_SQL)).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getDouble(1)).thenReturn(lag);
+  }
+
+  /** 現在のトランザクションにエンティティマネージャーを登録する */
+  private void bindEntityManager() {
+    TransactionSynchronizationManager.bindResource(
+        ENTITY_MANAGER_KEY, new EntityManagerHolder(entityManager));
+  }
+
+  /**
+   * 振り分け結果のカウンター値を取得する
+   *
+   * @param target 振り分け先
+   * @param reason 振り分けの理由
+   * @return カウンター値
+   */
+  private double routingCount(String target, String reason) {
+    return meterRegistry
+        .get("datasource.routing.connections")
+        .tag("target", target)
+        .tag("reason", reason)
+        .counter()
+        .count();
+  }
+}
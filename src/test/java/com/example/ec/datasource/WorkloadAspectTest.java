@@ -0,0 +1,84 @@
+package com.example.ec.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.config.ConnectionPoolConfig;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * WorkloadAspectのテストクラス
+ *
+ * <p>アノテーション・{@code @Scheduled}・パッケージによるワークロードの決定の単体テスト。
+ */
+class WorkloadAspectTest {
+
+  private WorkloadAspect aspect;
+
+  @BeforeEach
+  void setUp() {
+    ConnectionPoolConfig config = new ConnectionPoolConfig();
+    config.getPackages().put("com.example", WorkloadType.BACKGROUND);
+    config.getPackages().put("com.example.ec.datasource", WorkloadType.CATALOG);
+    aspect = new WorkloadAspect(config);
+  }
+
+  @Test
+  @DisplayName("メソッドのアノテーションはクラスのアノテーションより優先する")
+  void resolve_methodAnnotationWins() throws NoSuchMethodException {
+    assertThat(resolve(AnnotatedService.class, "login")).isEqualTo(WorkloadType.AUTH);
+    assertThat(resolve(AnnotatedService.class, "search")).isEqualTo(WorkloadType.CATALOG);
+  }
+
+  @Test
+  @DisplayName("アノテーションのない@Scheduledメソッドはバックグラウンドとする")
+  void resolve_scheduledIsBackground() throws NoSuchMethodException {
+    assertThat(resolve(PlainService.class, "poll")).isEqualTo(WorkloadType.BACKGROUND);
+  }
+
+  @Test
+  @DisplayName("アノテーションのないメソッドはクラス名に最も長く一致するパッケージのワークロードとする")
+  void resolve_longestPackageMatch() throws NoSuchMethodException {
+    assertThat(resolve(PlainService.class, "find")).isEqualTo(WorkloadType.CATALOG);
+    assertThat(resolve(String.class, "length")).isNull();
+  }
+
+  /**
+   * メソッド名を指定してワークロードを決める
+   *
+   * @param type クラス
+   * @param methodName メソッド名
+   * @return ワークロード
+   * @throws NoSuchMethodException メソッドがない場合
+   */
+  private WorkloadType resolve(Class<?> type, String methodName) throws NoSuchMethodException {
+    Method method = type.getDeclaredMethod(methodName);
+    return aspect.resolve(method, type);
+  }
+
+  /** クラスとメソッドにワークロードを指定したサービス */
+  @Workload(WorkloadType.CATALOG)
+  static class AnnotatedService {
+
+    /** 認証用のプールを使うメソッド */
+    @Workload(WorkloadType.AUTH)
+    void login() {}
+
+    /** クラスの指定に従うメソッド */
+    void search() {}
+  }
+
+  /** ワークロードを指定していないサービス */
+  static class PlainService {
+
+    /** 定期実行されるメソッド */
+    @Scheduled(fixedDelay = 1000)
+    void poll() {}
+
+    /** パッケージの指定に従うメソッド */
+    void find() {}
+  }
+}
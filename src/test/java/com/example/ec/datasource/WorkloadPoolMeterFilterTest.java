@@ -0,0 +1,60 @@
+package com.example.ec.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * WorkloadPoolMeterFilterのテストクラス
+ *
+ * <p>コネクションプールのメトリクスへのワークロードのタグ付けの単体テスト。
+ */
+class WorkloadPoolMeterFilterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    meterRegistry.config().meterFilter(new WorkloadPoolMeterFilter());
+  }
+
+  @Test
+  @DisplayName("ワークロードのプールのHikariCPメトリクスにworkloadタグを付ける")
+  void map_tagsWorkloadPool() {
+    AtomicInteger active = new AtomicInteger(3);
+    meterRegistry.gauge("hikaricp.connections.active", Tags.of("pool", "auth"), active);
+
+    assertThat(
+            meterRegistry
+                .get("hikaricp.connections.active")
+                .tag("pool", "auth")
+                .tag("workload", "auth")
+                .gauge()
+                .value())
+        .isEqualTo(active.doubleValue());
+  }
+
+  @Test
+  @DisplayName("ワークロードに対応しないプールのメトリクスにはタグを付けない")
+  void map_ignoresUnknownPool() {
+    meterRegistry.gauge(
+        "hikaricp.connections.active", Tags.of("pool", "replica-0"), new AtomicInteger());
+
+    assertThat(meterRegistry.get("hikaricp.connections.active").gauge().getId().getTag("workload"))
+        .isNull();
+  }
+
+  @Test
+  @DisplayName("HikariCP以外のメトリクスにはタグを付けない")
+  void map_ignoresOtherMeters() {
+    meterRegistry.counter("jdbc.connections", "pool", "catalog").increment();
+
+    assertThat(meterRegistry.get("jdbc.connections").counter().getId().getTag("workload")).isNull();
+  }
+}
@@ -0,0 +1,94 @@
+package com.example.ec.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * WorkloadRoutingDataSourceのテストクラス
+ *
+ * <p>ワークロードによるコネクションプールの振り分けと、プール間の分離（バルクヘッド）の単体テスト。
+ */
+class WorkloadRoutingDataSourceTest {
+
+  @Test
+  @DisplayName("設定されたワークロードのプールから接続を取得し、未設定の場合は既定のプールを使う")
+  void getConnection_routesByWorkload() throws SQLException {
+    DataSource defaultPool = mock(DataSource.class);
+    DataSource authPool = mock(DataSource.class);
+    Connection defaultConnection = mock(Connection.class);
+    Connection authConnection = mock(Connection.class);
+    when(defaultPool.getConnection()).thenReturn(defaultConnection);
+    when(authPool.getConnection()).thenReturn(authConnection);
+    WorkloadRoutingDataSource dataSource =
+        new WorkloadRoutingDataSource(defaultPool, Map.of(WorkloadType.AUTH, authPool));
+
+    assertThat(dataSource.getConnection()).isSameAs(defaultConnection);
+    try (WorkloadContext.Scope scope = WorkloadContext.enter(WorkloadType.AUTH)) {
+      assertThat(dataSource.getConnection()).isSameAs(authConnection);
+    }
+    try (WorkloadContext.Scope scope = WorkloadContext.enter(WorkloadType.BACKGROUND)) {
+      assertThat(dataSource.getConnection()).isSameAs(defaultConnection);
+    }
+    assertThat(WorkloadContext.current()).isNull();
+  }
+
+  @Test
+  @DisplayName("認証用のプールを使い切っても、カタログ用のプールからは待たずに接続を取得できる")
+  void getConnection_authExhaustionDoesNotStarveCatalog() throws SQLException {
+    HikariDataSource defaultPool = pool("default", 1);
+    HikariDataSource authPool = pool("auth", 2);
+    HikariDataSource catalogPool = pool("catalog", 2);
+    List<Connection> held = new ArrayList<>();
+    try (WorkloadRoutingDataSource dataSource =
+        new WorkloadRoutingDataSource(
+            defaultPool, Map.of(WorkloadType.AUTH, authPool, WorkloadType.CATALOG, catalogPool))) {
+      try (WorkloadContext.Scope scope = WorkloadContext.enter(WorkloadType.AUTH)) {
+        held.add(dataSource.getConnection());
+        held.add(dataSource.getConnection());
+        assertThatThrownBy(dataSource::getConnection)
+            .isInstanceOf(SQLTransientConnectionException.class);
+      }
+
+      try (WorkloadContext.Scope scope = WorkloadContext.enter(WorkloadType.CATALOG);
+          Connection connection = dataSource.getConnection()) {
+        assertThat(connection.isValid(1)).isTrue();
+        assertThat(catalogPool.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+      }
+      for (Connection connection : held) {
+        connection.close();
+      }
+    } finally {
+      defaultPool.close();
+    }
+  }
+
+  /**
+   * H2のインメモリDBへのコネクションプールを生成する
+   *
+   * @param poolName プール名
+   * @param size 最大接続数
+   * @return コネクションプール
+   */
+  private HikariDataSource pool(String poolName, int size) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(poolName);
+    dataSource.setJdbcUrl("jdbc:h2:mem:workload;DB_CLOSE_DELAY=-1");
+    dataSource.setUsername("sa");
+    dataSource.setMaximumPoolSize(size);
+    dataSource.setConnectionTimeout(250);
+    return dataSource;
+  }
+}
@@ -0,0 +1,168 @@
+package com.example.ec.dbperf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.config.DbPerfConfig;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * DbPerfSamplerのテストクラス
+ *
+ * <p>{@code pg_stat_statements}の履歴と区間ごとの差分の単体テスト。
+ */
+@ExtendWith(MockitoExtension.class)
+class DbPerfSamplerTest {
+
+  private static final long BASE_TIME = 1_700_000_000_000L;
+  private static final long FIVE_MINUTES = 300_000L;
+  private static final long FIFTEEN_MINUTES = 900_000L;
+  private static final String METHOD = "ProductRepository.findByIdIn";
+
+  @Mock private PgStatStatementsReader reader;
+
+  private DbPerfConfig dbPerfConfig;
+  private DbPerfSampler sampler;
+  private AtomicLong now;
+
+  @BeforeEach
+  void setUp() {
+    now = new AtomicLong(BASE_TIME);
+    dbPerfConfig = new DbPerfConfig();
+    dbPerfConfig.setWindows(List.of(FIVE_MINUTES, FIFTEEN_MINUTES));
+    sampler = new DbPerfSampler(reader, dbPerfConfig, now::get);
+  }
+
+  @Test
+  @DisplayName("区間の開始時刻以前で最も新しい履歴との差分を返し、履歴が足りない区間は集計できた長さを短くする")
+  void windows_diffAgainstBaseline() {
+    sampleAt(BASE_TIME, stats(10, 100.0, 20.0));
+    sampleAt(BASE_TIME + FIVE_MINUTES, stats(30, 260.0, 20.0));
+    now.set(BASE_TIME + 2 * FIVE_MINUTES);
+    when(reader.read()).thenReturn(Map.of(METHOD, stats(50, 400.0, 20.0)));
+
+    List<DbPerfWindow> windows = sampler.windows(sampler.snapshot());
+
+    assertThat(windows).hasSize(2);
+    assertThat(windows.get(0).windowMs()).isEqualTo(FIVE_MINUTES);
+    assertThat(windows.get(0).coveredMs()).isEqualTo(FIVE_MINUTES);
+    assertThat(windows.get(0).methods().get(METHOD).calls()).isEqualTo(20);
+    assertThat(windows.get(0).methods().get(METHOD).totalTimeMs()).isEqualTo(140.0);
+    assertThat(windows.get(0).methods().get(METHOD).meanTimeMs()).isEqualTo(7.0);
+    assertThat(windows.get(1).windowMs()).isEqualTo(FIFTEEN_MINUTES);
+    assertThat(windows.get(1).coveredMs()).isEqualTo(2 * FIVE_MINUTES);
+    assertThat(windows.get(1).methods().get(METHOD).calls()).isEqualTo(40);
+  }
+
+  @Test
+  @DisplayName("最大実行時間は区間内に更新された場合のみ返し、更新されていない場合は-1とする")
+  void windows_maxOnlyWhenUpdated() {
+    sampleAt(BASE_TIME, Map.of(METHOD, stats(10, 100.0, 20.0), "other", stats(1, 5.0, 5.0)));
+    now.set(BASE_TIME + FIVE_MINUTES);
+    when(reader.read())
+        .thenReturn(Map.of(METHOD, stats(20, 300.0, 45.0), "other", stats(2, 8.0, 5.0)));
+
+    DbPerfWindow window = sampler.windows(sampler.snapshot()).get(0);
+
+    assertThat(window.methods().get(METHOD).maxTimeMs()).isEqualTo(45.0);
+    assertThat(window.methods().get("other").maxTimeMs()).isEqualTo(-1.0);
+  }
+
+  @Test
+  @DisplayName("実行回数が減った場合は統計がリセットされたとみなし、現在の値を差分とする")
+  void windows_resetUsesCurrentValue() {
+    sampleAt(BASE_TIME, stats(100, 1000.0, 50.0));
+    now.set(BASE_TIME + FIVE_MINUTES);
+    when(reader.read()).thenReturn(Map.of(METHOD, stats(3, 12.0, 6.0)));
+
+    StatementStats delta = sampler.windows(sampler.snapshot()).get(0).methods().get(METHOD);
+
+    assertThat(delta).isEqualTo(new StatementStats(3, 12.0, 6.0, 3, 30, 3));
+  }
+
+  @Test
+  @DisplayName("区間内に実行されていないメソッドは含めず、履歴がない場合は集計できた長さを0とする")
+  void windows_excludeIdleMethodsAndEmptyHistory() {
+    when(reader.read()).thenReturn(Map.of(METHOD, stats(10, 100.0, 20.0)));
+
+    List<DbPerfWindow> empty = sampler.windows(sampler.snapshot());
+    sampler.sample();
+    now.set(BASE_TIME + FIVE_MINUTES);
+    List<DbPerfWindow> idle = sampler.windows(sampler.snapshot());
+
+    assertThat(empty).allSatisfy(window -> assertThat(window.coveredMs()).isZero());
+    assertThat(empty).allSatisfy(window -> assertThat(window.methods()).isEmpty());
+    assertThat(idle.get(0).coveredMs()).isEqualTo(FIVE_MINUTES);
+    assertThat(idle.get(0).methods()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("最も長い区間の開始時刻より古い履歴は、基準となる1件を残して破棄する")
+  void sample_prunesOldHistory() {
+    for (int i = 0; i <= 8; i++) {
+      sampleAt(BASE_TIME + i * FIVE_MINUTES, stats(10L * i + 1, i, 1.0));
+    }
+    dbPerfConfig.setWindows(List.of(4 * FIFTEEN_MINUTES));
+    when(reader.read()).thenReturn(Map.of(METHOD, stats(81, 8.0, 1.0)));
+
+    DbPerfWindow window = sampler.windows(sampler.snapshot()).get(0);
+
+    assertThat(window.coveredMs()).isEqualTo(FIFTEEN_MINUTES);
+    assertThat(window.methods().get(METHOD).calls()).isEqualTo(30);
+  }
+
+  @Test
+  @DisplayName("pg_stat_statementsを取得できない場合は履歴に追加しない")
+  void sample_skipsOnFailure() {
+    when(reader.read()).thenThrow(new DataAccessResourceFailureException("extension missing"));
+
+    sampler.sample();
+
+    doReturn(Map.of(METHOD, stats(10, 100.0, 20.0))).when(reader).read();
+    assertThat(sampler.windows(sampler.snapshot()).get(0).coveredMs()).isZero();
+  }
+
+  /**
+   * 指定した時刻に1メソッドの統計を取得して履歴に追加する
+   *
+   * @param time 取得時刻（エポックミリ秒）
+   * @param stats {@link #METHOD}の累積の統計
+   */
+  private void sampleAt(long time, StatementStats stats) {
+    sampleAt(time, Map.of(METHOD, stats));
+  }
+
+  /**
+   * 指定した時刻に指定した統計を取得して履歴に追加する
+   *
+   * @param time 取得時刻（エポックミリ秒）
+   * @param methods メソッドごとの累積の統計
+   */
+  private void sampleAt(long time, Map<String, StatementStats> methods) {
+    now.set(time);
+    when(reader.read()).thenReturn(methods);
+    sampler.sample();
+  }
+
+  /**
+   * 1メソッドの累積の統計を生成する
+   *
+   * @param calls 実行回数
+   * @param totalTimeMs 実行時間の合計（ミリ秒）
+   * @param maxTimeMs 最大実行時間（ミリ秒）
+   * @return 行数は実行回数、ヒットしたブロック数は実行回数の10倍、読んだブロック数は実行回数と同じ統計
+   */
+  private static StatementStats stats(long calls, double totalTimeMs, double maxTimeMs) {
+    return new StatementStats(calls, totalTimeMs, maxTimeMs, calls, calls * 10, calls);
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.ec.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.ec.dto.CategoryDetailResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ImageUrlsのテストクラス
+ *
+ * <p>画像URLリストの遅延デコードとJSONの直接書き出しの単体テスト。
+ */
+class ImageUrlsTest {
+
+  private static final String JSON =
+      "[\"https://example.com/a.jpg\", \"https://example.com/b.jpg\"]";
+
+  @Test
+  @DisplayName("生成時はデコードせず、要素へのアクセス時に一度だけデコードする")
+  void decodesOnFirstAccess() {
+    ImageUrls urls = ImageUrls.fromJson(JSON);
+
+    assertThat(urls.isDecoded()).isFalse();
+    assertThat(urls.get(1)).isEqualTo("https://example.com/b.jpg");
+    assertThat(urls.isDecoded()).isTrue();
+    assertThat(urls).containsExactly("https://example.com/a.jpg", "https://example.com/b.jpg");
+  }
+
+  @Test
+  @DisplayName("レスポンスのシリアライズではデコードせず、保持しているJSONをそのまま書き出す")
+  void serializesRawJsonWithoutDecoding() throws Exception {
+    ImageUrls urls = ImageUrls.fromJson(JSON);
+    CategoryDetailResponse.ProductItem item =
+        CategoryDetailResponse.ProductItem.builder().productId(1L).imageUrls(urls).build();
+    ObjectMapper objectMapper =
+        new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    String json = objectMapper.writeValueAsString(item);
+
+    assertThat(json).contains("\"image_urls\":" + JSON);
+    assertThat(urls.isDecoded()).isFalse();
+    assertThat(objectMapper.readTree(json).get("image_urls").get(0).asText())
+        .isEqualTo("https://example.com/a.jpg");
+  }
+
+  @Test
+  @DisplayName("通常のリストはJSON配列に変換し、ImageUrlsは保持しているJSONをそのまま返す")
+  void toJson() {
+    assertThat(ImageUrls.toJson(List.of("a.jpg", "b.jpg"))).isEqualTo("[\"a.jpg\",\"b.jpg\"]");
+    assertThat(ImageUrls.toJson(ImageUrls.fromJson(JSON))).isSameAs(JSON);
+    assertThat(ImageUrls.toJson(null)).isNull();
+    assertThat(ImageUrls.fromJson(null)).isNull();
+  }
+
+  @Test
+  @DisplayName("同じJSONのImageUrlsはデコードせずに等しいと判定し、通常のリストとは要素で比較する")
+  void equalsByJsonOrElements() {
+    ImageUrls first = ImageUrls.fromJson("[\"a.jpg\"]");
+    ImageUrls second = ImageUrls.fromJson("[\"a.jpg\"]");
+
+    assertThat(first.equals(second)).isTrue();
+    assertThat(first.isDecoded()).isFalse();
+    assertThat(ImageUrls.fromJson("[ \"a.jpg\" ]")).isEqualTo(List.of("a.jpg"));
+    assertThat(first.hashCode()).isEqualTo(List.of("a.jpg").hashCode());
+  }
+
+  @Test
+  @DisplayName("変更操作は受け付けない")
+  void unmodifiable() {
+    ImageUrls urls = ImageUrls.fromJson(JSON);
+
+    assertThatThrownBy(() -> urls.add("c.jpg")).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
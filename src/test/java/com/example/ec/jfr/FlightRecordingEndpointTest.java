@@ -0,0 +1,133 @@
+package com.example.ec.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.config.JfrConfig;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+/**
+ * FlightRecordingEndpointのテストクラス
+ *
+ * <p>テストを実行しているJVMで実際にJFRの記録を開始・書き出して検証する。
+ */
+class FlightRecordingEndpointTest {
+
+  private static final long MAX_DURATION = 60_000L;
+
+  @TempDir Path directory;
+
+  private JfrConfig jfrConfig;
+  private FlightRecordingEndpoint endpoint;
+
+  @BeforeEach
+  void setUp() {
+    jfrConfig = new JfrConfig();
+    jfrConfig.setSettings("default");
+    jfrConfig.setMaxDuration(MAX_DURATION);
+    jfrConfig.setDirectory(directory.toString());
+    endpoint = new FlightRecordingEndpoint(jfrConfig);
+  }
+
+  @AfterEach
+  void tearDown() {
+    endpoint.shutdown();
+  }
+
+  @Test
+  @DisplayName("記録時間は上限で切り詰め、記録中は新たに開始しない")
+  void start_isBounded() {
+    assertThat(endpoint.status()).containsEntry("state", "NONE");
+
+    Map<String, Object> started = endpoint.start(10 * MAX_DURATION);
+    Map<String, Object> again = endpoint.start(null);
+
+    assertThat(started)
+        .containsEntry("started", true)
+        .containsEntry("state", "RUNNING")
+        .containsEntry("duration_ms", MAX_DURATION);
+    assertThat(again).containsEntry("started", false).containsEntry("name", started.get("name"));
+  }
+
+  @Test
+  @DisplayName("記録中のスナップショットにアプリケーションのカスタムイベントが含まれる")
+  void dump_containsCustomEvents() throws Exception {
+    String name = (String) endpoint.start(null).get("name");
+    CatalogRequestEvent event = new CatalogRequestEvent();
+    event.begin();
+    event.completeCategoryDetail("iphone", 1, 20, "price", "asc", "hit");
+
+    Resource snapshot = endpoint.dump(name);
+
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(snapshot.getFile().toPath()).stream()
+            .filter(
+                recorded ->
+                    recorded.getEventType().getName().equals("com.example.ec.CatalogRequest"))
+            .toList();
+    assertThat(events).hasSize(1);
+    RecordedEvent recorded = events.get(0);
+    assertThat(recorded.getString("endpoint")).isEqualTo("categoryDetail");
+    assertThat(recorded.getString("category")).isEqualTo("iphone");
+    assertThat(recorded.getInt("page")).isEqualTo(1);
+    assertThat(recorded.getString("cache")).isEqualTo("hit");
+  }
+
+  @Test
+  @DisplayName("終了すると記録をファイルに書き出し、記録名が一致する場合だけ返す")
+  void stop_writesRecording() {
+    String name = (String) endpoint.start(null).get("name");
+
+    Map<String, Object> stopped = endpoint.stop();
+
+    assertThat(stopped).containsEntry("state", "STOPPED");
+    assertThat(Files.exists(Path.of((String) stopped.get("file")))).isTrue();
+    assertThat(endpoint.dump(name).exists()).isTrue();
+    assertThat(endpoint.dump("ec-unknown")).isNull();
+  }
+
+  @Test
+  @DisplayName("記録を開始すると、上限を超えた古い記録ファイルを削除し、それ以外のファイルは残す")
+  void start_prunesOldRecordings() throws Exception {
+    jfrConfig.setMaxFiles(2);
+    Path oldest = Files.createFile(directory.resolve("ec-20240101-000000000.jfr"));
+    Path oldestSnapshot =
+        Files.createFile(directory.resolve("ec-20240101-000000000-snapshot.jfr"));
+    Path newer = Files.createFile(directory.resolve("ec-20240102-000000000.jfr"));
+    Path newest = Files.createFile(directory.resolve("ec-20240103-000000000.jfr"));
+    Path unrelated = Files.createFile(directory.resolve("notes.txt"));
+
+    endpoint.start(null);
+
+    assertThat(oldest).doesNotExist();
+    assertThat(oldestSnapshot).doesNotExist();
+    assertThat(newer).exists();
+    assertThat(newest).exists();
+    assertThat(unrelated).exists();
+  }
+
+  @Test
+  @DisplayName("スナップショットを書き出すと、直近の記録のファイルを含めて上限に収まるよう古い記録ファイルを削除する")
+  void dump_prunesOldRecordingsKeepingCurrent() throws Exception {
+    jfrConfig.setMaxFiles(2);
+    Path older = Files.createFile(directory.resolve("ec-20240101-000000000.jfr"));
+    Path newer = Files.createFile(directory.resolve("ec-20240102-000000000.jfr"));
+    String name = (String) endpoint.start(null).get("name");
+
+    Resource snapshot = endpoint.dump(name);
+
+    assertThat(snapshot.exists()).isTrue();
+    assertThat(older).doesNotExist();
+    assertThat(newer).exists();
+  }
+}
@@ -0,0 +1,100 @@
+package com.example.ec.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.ec.config.JwtConfig;
+import com.example.ec.service.JwtService;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * JfrEventAspectのテストクラス
+ *
+ * <p>アスペクトを適用したプロキシを呼び出し、JFRの記録に書き込まれたイベントを検証する。
+ */
+class JfrEventAspectTest {
+
+  @TempDir Path directory;
+
+  private JwtService jwtService;
+  private PasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  void setUp() {
+    JwtConfig jwtConfig = new JwtConfig();
+    jwtConfig.setSecret("dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdGVzdGluZy0xMjM0NTY3ODkw");
+    jwtConfig.setAccessTokenExpiration(3600000L);
+    jwtConfig.setRefreshTokenExpiration(86400000L);
+    jwtService = proxy(new JwtService(jwtConfig));
+    passwordEncoder = proxy(new BCryptPasswordEncoder(4));
+  }
+
+  @Test
+  @DisplayName("JWTの生成・検証とパスワードの照合を、成否とともにイベントとして記録する")
+  void recordsSecurityEvents() throws Exception {
+    String hash = new BCryptPasswordEncoder(4).encode("password");
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(JwtOperationEvent.class);
+      recording.enable(PasswordVerifyEvent.class);
+      recording.start();
+
+      String token = jwtService.generateAccessToken("user@example.com");
+      assertThat(jwtService.validateToken(token)).isTrue();
+      assertThat(jwtService.validateToken("invalid")).isFalse();
+      assertThat(passwordEncoder.matches("password", hash)).isTrue();
+      assertThat(passwordEncoder.matches("wrong", hash)).isFalse();
+
+      recording.stop();
+      Path file = directory.resolve("events.jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    }
+
+    assertThat(events)
+        .filteredOn(event -> event.getEventType().getName().equals("com.example.ec.JwtOperation"))
+        .extracting(event -> event.getString("operation"), event -> event.getBoolean("succeeded"))
+        .containsExactly(
+            tuple("generateAccessToken", true),
+            tuple("validateToken", true),
+            tuple("validateToken", false));
+    assertThat(events)
+        .filteredOn(event -> event.getEventType().getName().equals("com.example.ec.PasswordVerify"))
+        .extracting(event -> event.getString("encoder"), event -> event.getBoolean("matched"))
+        .containsExactly(
+            tuple("BCryptPasswordEncoder", true), tuple("BCryptPasswordEncoder", false));
+  }
+
+  @Test
+  @DisplayName("記録していない場合もメソッドの戻り値をそのまま返す")
+  void passesThroughWithoutRecording() {
+    String token = jwtService.generateAccessToken("user@example.com");
+
+    assertThat(jwtService.getUsernameFromToken(token)).isEqualTo("user@example.com");
+  }
+
+  /**
+   * アスペクトを適用したプロキシを生成する
+   *
+   * @param <T> 対象の型
+   * @param target 対象
+   * @return プロキシ
+   */
+  private static <T> T proxy(T target) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.setProxyTargetClass(true);
+    factory.addAspect(new JfrEventAspect());
+    return factory.getProxy();
+  }
+}
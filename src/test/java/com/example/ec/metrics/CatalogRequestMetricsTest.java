@@ -0,0 +1,129 @@
+package com.example.ec.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * CatalogRequestMetricsのテストクラス
+ *
+ * <p>カタログのリクエストの処理時間メトリクスの単体テスト。
+ */
+class CatalogRequestMetricsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private TimingMetricsConfig config;
+  private CatalogRequestMetrics requestMetrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    config = new TimingMetricsConfig();
+    requestMetrics = new CatalogRequestMetrics(config, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("カテゴリ詳細の処理時間をカテゴリ・ソート・ページサイズ・取得元のタグで記録する")
+  void recordCategoryDetail_tagsTimer() {
+    requestMetrics.recordCategoryDetail(
+        "iphone", "price", 20, CatalogRequestMetrics.Cache.HIT, TimeUnit.MILLISECONDS.toNanos(3));
+    requestMetrics.recordCategoryDetail(
+        "iphone", "price", 20, CatalogRequestMetrics.Cache.HIT, TimeUnit.MILLISECONDS.toNanos(5));
+
+    Timer timer = detailTimer("iphone", "price", "le20", "hit");
+    assertThat(timer.count()).isEqualTo(2);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(8.0);
+  }
+
+  @Test
+  @DisplayName("想定外のソート項目とページサイズは丸めたタグで記録する")
+  void recordCategoryDetail_bucketsSortAndPageSize() {
+    requestMetrics.recordCategoryDetail(
+        "iphone", "unknown", 100, CatalogRequestMetrics.Cache.MISS, 1L);
+
+    assertThat(detailTimer("iphone", "other", "le100", "miss").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("タグの上限を超えたカテゴリはotherにまとめる")
+  void recordCategoryDetail_capsCategoryTags() {
+    config.setMaxCategoryTags(1);
+    requestMetrics = new CatalogRequestMetrics(config, meterRegistry);
+
+    requestMetrics.recordCategoryDetail("iphone", "name", 20, CatalogRequestMetrics.Cache.NONE, 1L);
+    requestMetrics.recordCategoryDetail(
+        "android", "name", 20, CatalogRequestMetrics.Cache.NONE, 1L);
+    requestMetrics.recordCategoryDetail("ipad", "name", 20, CatalogRequestMetrics.Cache.NONE, 1L);
+
+    assertThat(detailTimer("iphone", "name", "le20", "none").count()).isEqualTo(1);
+    assertThat(detailTimer("other", "name", "le20", "none").count()).isEqualTo(2);
+    assertThat(meterRegistry.find("catalog.requests").tag("category", "android").timer()).isNull();
+  }
+
+  @Test
+  @DisplayName("カテゴリ一覧と変換時間のタイマーは生成時に登録する")
+  void constructor_registersFixedTimers() {
+    requestMetrics.recordCategories(1L);
+    requestMetrics.recordConversion(true, 1L);
+
+    assertThat(
+            meterRegistry
+                .get("catalog.requests")
+                .tag("endpoint", "categories")
+                .tag("cache", "none")
+                .timer()
+                .count())
+        .isEqualTo(1);
+    assertThat(conversionTimer("jdbc").count()).isEqualTo(1);
+    assertThat(conversionTimer("jpa").count()).isZero();
+  }
+
+  @Test
+  @DisplayName("戻り値の種類に応じて行数を求める")
+  void rowCount_countsCollectionsPagesAndOptionals() {
+    assertThat(RepositoryMetricsAspect.rowCount(List.of(1, 2, 3))).isEqualTo(3);
+    assertThat(RepositoryMetricsAspect.rowCount(new PageImpl<>(List.of(1, 2)))).isEqualTo(2);
+    assertThat(RepositoryMetricsAspect.rowCount(Optional.of(1))).isEqualTo(1);
+    assertThat(RepositoryMetricsAspect.rowCount(Optional.empty())).isZero();
+    assertThat(RepositoryMetricsAspect.rowCount(5L)).isEqualTo(-1);
+  }
+
+  /**
+   * 変換時間のタイマーを取得する
+   *
+   * @param source 変換元のタグ
+   * @return タイマー
+   */
+  private Timer conversionTimer(String source) {
+    return meterRegistry.get("catalog.product.conversion").tag("source", source).timer();
+  }
+
+  /**
+   * カテゴリ詳細のタイマーを取得する
+   *
+   * @param category カテゴリのタグ
+   * @param sort ソートのタグ
+   * @param pageSize ページサイズのタグ
+   * @param cache 取得元のタグ
+   * @return タイマー
+   */
+  private Timer detailTimer(String category, String sort, String pageSize, String cache) {
+    return meterRegistry
+        .get("catalog.requests")
+        .tag("endpoint", "categoryDetail")
+        .tag("category", category)
+        .tag("sort", sort)
+        .tag("page.size", pageSize)
+        .tag("cache", cache)
+        .timer();
+  }
+}
@@ -0,0 +1,134 @@
+package com.example.ec.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+
+/**
+ * RepositoryMetricsAspectのテストクラス
+ *
+ * <p>リポジトリの処理時間メトリクスのアスペクトの単体テスト。
+ */
+class RepositoryMetricsAspectTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SampleRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    SampleRepositoryImpl target = new SampleRepositoryImpl();
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.addAspect(new RepositoryMetricsAspect(new TimingMetricsConfig(), meterRegistry));
+    repository = factory.getProxy();
+    // Spring Dataのデフォルトメソッドと同じく、委譲先の呼び出しもプロキシを経由させる
+    target.self = repository;
+  }
+
+  @Test
+  @DisplayName("呼び出しの処理時間と取得した行数をリポジトリ・メソッドのタグで記録する")
+  void timeRepository_recordsCallAndRows() {
+    repository.findInner();
+
+    assertThat(calls("findInner")).isEqualTo(1);
+    assertThat(rows("findInner").totalAmount()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("同じリポジトリの別のメソッドへ委譲する呼び出しは、外側の呼び出しだけを記録する")
+  void timeRepository_recordsOnlyOutermostCall() {
+    repository.findOuter();
+
+    assertThat(calls("findOuter")).isEqualTo(1);
+    assertThat(meterRegistry.find("repository.calls").tag("method", "findInner").timer()).isNull();
+    assertThat(rows("findOuter").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("外側の呼び出しが終わった後の呼び出しは記録する")
+  void timeRepository_recordsCallAfterOutermostCall() {
+    repository.findOuter();
+    repository.findInner();
+
+    assertThat(calls("findOuter")).isEqualTo(1);
+    assertThat(calls("findInner")).isEqualTo(1);
+  }
+
+  /**
+   * 正常終了した呼び出しの回数を取得する
+   *
+   * @param method メソッド名
+   * @return 呼び出し回数
+   */
+  private long calls(String method) {
+    return meterRegistry
+        .get("repository.calls")
+        .tag("repository", "SampleRepository")
+        .tag("method", method)
+        .tag("outcome", "success")
+        .timer()
+        .count();
+  }
+
+  /**
+   * 取得した行数の分布を取得する
+   *
+   * @param method メソッド名
+   * @return 行数の分布
+   */
+  private DistributionSummary rows(String method) {
+    return meterRegistry.get("repository.rows").tag("method", method).summary();
+  }
+
+  /** 同じリポジトリの別のメソッドへ委譲するメソッドを持つテスト用のリポジトリ */
+  interface SampleRepository extends Repository<Object, Long> {
+
+    /**
+     * {@link #findInner()}へ委譲する
+     *
+     * @return 行のリスト
+     */
+    List<String> findOuter();
+
+    /**
+     * 行を取得する
+     *
+     * @return 行のリスト
+     */
+    List<String> findInner();
+  }
+
+  /** テスト用のリポジトリの実装 */
+  static class SampleRepositoryImpl implements SampleRepository {
+
+    private SampleRepository self;
+
+    /**
+     * プロキシを経由して{@link #findInner()}へ委譲する
+     *
+     * @return 行のリスト
+     */
+    @Override
+    public List<String> findOuter() {
+      return self.findInner();
+    }
+
+    /**
+     * 行を取得する
+     *
+     * @return 2行のリスト
+     */
+    @Override
+    public List<String> findInner() {
+      return List.of("a", "b");
+    }
+  }
+}
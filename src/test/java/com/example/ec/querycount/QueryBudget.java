@@ -0,0 +1,52 @@
+package com.example.ec.querycount;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * テストメソッドのクエリ数の上限
+ *
+ * <p>テストメソッドの本体（{@code @BeforeEach}・{@code @AfterEach}を除く）で実行したSQLの回数・結果セットから読み取った行数・
+ * 接続の取得回数が上限を超えた場合、実行したSQLの一覧を付けてテストを失敗させる。 アプリケーションのDataSourceが
+ * {@link QueryCountingDataSource}で包まれている必要がある（{@code query-count.enabled=true}）。
+ * クラスに付けた場合は全テストメソッドに適用し、メソッドに付けたものを優先する。
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;QueryBudget(statements = 1, rows = 1)
+ * void login() throws Exception {
+ *   mockMvc.perform(post("/api/v1/auth/login")...);
+ * }
+ * </pre>
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+  /**
+   * SQLの実行回数の上限
+   *
+   * @return 上限（省略時は上限なし）
+   */
+  int statements() default Integer.MAX_VALUE;
+
+  /**
+   * 結果セットから読み取った行数の上限
+   *
+   * @return 上限（省略時は上限なし）
+   */
+  long rows() default Long.MAX_VALUE;
+
+  /**
+   * 接続の取得回数の上限（テストのトランザクションで取得済みの接続は数えない）
+   *
+   * @return 上限（省略時は上限なし）
+   */
+  int connections() default Integer.MAX_VALUE;
+}
@@ -0,0 +1,128 @@
+package com.example.ec.querycount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * クエリ数の上限を検証するJUnitの拡張
+ *
+ * <p>{@link QueryBudget}を付けたテストメソッドの本体の実行中に詳細を記録する計測先を設定し、終了後に上限を検証する。
+ * 上限を超えた場合は、実行したSQLの形を実行順に並べ、上限を超えた分に{@code +}を付けた一覧と、繰り返し実行されたSQLを
+ * 失敗メッセージに含める。
+ */
+public class QueryBudgetExtension
+    implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+  private static final ExtensionContext.Namespace NAMESPACE =
+      ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+  private static final String STATS = "stats";
+  private static final String SCOPE = "scope";
+
+  /**
+   * テストメソッドの実行前に計測を開始する
+   *
+   * @param context 拡張コンテキスト
+   */
+  @Override
+  public void beforeTestExecution(ExtensionContext context) {
+    if (findBudget(context).isEmpty()) {
+      return;
+    }
+    RequestQueryStats stats = new RequestQueryStats(true);
+    ExtensionContext.Store store = context.getStore(NAMESPACE);
+    store.put(STATS, stats);
+    store.put(SCOPE, QueryCountContext.enter(stats));
+  }
+
+  /**
+   * テストメソッドの実行後に計測を終了し、上限を検証する
+   *
+   * @param context 拡張コンテキスト
+   */
+  @Override
+  public void afterTestExecution(ExtensionContext context) {
+    ExtensionContext.Store store = context.getStore(NAMESPACE);
+    QueryCountContext.Scope scope = store.remove(SCOPE, QueryCountContext.Scope.class);
+    if (scope == null) {
+      return;
+    }
+    scope.close();
+    RequestQueryStats stats = store.remove(STATS, RequestQueryStats.class);
+    if (context.getExecutionException().isPresent()) {
+      return;
+    }
+    QueryBudget budget = findBudget(context).orElseThrow();
+    List<String> violations = new ArrayList<>();
+    if (stats.statements() > budget.statements()) {
+      violations.add("SQLの実行回数: " + stats.statements() + " > " + budget.statements());
+    }
+    if (stats.rows() > budget.rows()) {
+      violations.add("読み取った行数: " + stats.rows() + " > " + budget.rows());
+    }
+    if (stats.connections() > budget.connections()) {
+      violations.add("接続の取得回数: " + stats.connections() + " > " + budget.connections());
+    }
+    if (!violations.isEmpty()) {
+      throw new AssertionFailedError(report(violations, stats, budget));
+    }
+  }
+
+  /**
+   * テストメソッドまたはテストクラスのクエリ数の上限を取得する
+   *
+   * @param context 拡張コンテキスト
+   * @return クエリ数の上限（付いていない場合はOptional.empty()）
+   */
+  private static Optional<QueryBudget> findBudget(ExtensionContext context) {
+    Optional<QueryBudget> budget =
+        AnnotationSupport.findAnnotation(context.getTestMethod(), QueryBudget.class);
+    return budget.isPresent()
+        ? budget
+        : AnnotationSupport.findAnnotation(context.getTestClass(), QueryBudget.class);
+  }
+
+  /**
+   * 失敗メッセージを組み立てる
+   *
+   * @param violations 超えた上限
+   * @param stats SQLの実行状況
+   * @param budget クエリ数の上限
+   * @return 失敗メッセージ
+   */
+  private static String report(
+      List<String> violations, RequestQueryStats stats, QueryBudget budget) {
+    StringBuilder message = new StringBuilder("クエリ数の上限を超えました\n");
+    for (String violation : violations) {
+      message.append("  ").append(violation).append('\n');
+    }
+    message.append("実行したSQL（+は上限を超えた分）:\n");
+    List<String> executed = stats.executedStatements();
+    for (int i = 0; i < executed.size(); i++) {
+      message
+          .append(i < budget.statements() ? "  " : "+ ")
+          .append(i + 1)
+          .append(". ")
+          .append(executed.get(i))
+          .append('\n');
+    }
+    List<RequestQueryStats.RepeatedStatement> repeated = stats.repeated(2);
+    if (!repeated.isEmpty()) {
+      message.append("繰り返し実行されたSQL:\n");
+      for (RequestQueryStats.RepeatedStatement statement : repeated) {
+        message
+            .append("  ")
+            .append(statement.count())
+            .append("回: ")
+            .append(statement.shape())
+            .append('\n');
+      }
+    }
+    return message.toString();
+  }
+}
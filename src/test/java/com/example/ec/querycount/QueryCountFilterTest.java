@@ -0,0 +1,135 @@
+package com.example.ec.querycount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.ec.config.QueryCountConfig;
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * QueryCountFilterのテストクラス
+ *
+ * <p>リクエストごとのSQLの実行状況の計測とレスポンスヘッダーの単体テスト。
+ */
+class QueryCountFilterTest {
+
+  private static final String PATTERN = "/api/v1/products/categories/{categoryCode}";
+  private static final String SQL = "select * from product where category_code = ?";
+
+  private SimpleMeterRegistry meterRegistry;
+  private QueryCountConfig config;
+  private QueryCountFilter filter;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    config = new QueryCountConfig();
+    config.setEnabled(true);
+    filter =
+        new QueryCountFilter(
+            config, new QueryCountRecorder(config, new TimingMetricsConfig(), meterRegistry));
+    request = new MockHttpServletRequest("GET", "/api/v1/products/categories/iphone");
+    response = new MockHttpServletResponse();
+  }
+
+  @Test
+  @DisplayName("レスポンスヘッダーが有効な場合、本文を書き出した後でもSQLの実行回数とDB時間をヘッダーで返す")
+  void doFilter_setsHeadersAfterBody() throws Exception {
+    config.setResponseHeaders(true);
+
+    filter.doFilter(
+        request,
+        response,
+        (req, res) -> {
+          executeStatements(2, 1_500_000L);
+          res.getWriter().write("{\"products\":[]}");
+          res.flushBuffer();
+        });
+
+    assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("2");
+    assertThat(response.getHeader(QueryCountFilter.SERVER_TIMING_HEADER))
+        .isEqualTo("db;dur=3.000;desc=\"2 queries\"");
+    assertThat(response.getContentAsString()).isEqualTo("{\"products\":[]}");
+    assertThat(statementsSummaryCount("GET " + PATTERN)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("レスポンスヘッダーが無効な場合、レスポンスをバッファリングせずヘッダーも付けない")
+  void doFilter_withoutHeadersPassesResponseThrough() throws Exception {
+    AtomicReference<Object> passedResponse = new AtomicReference<>();
+
+    filter.doFilter(
+        request,
+        response,
+        (req, res) -> {
+          passedResponse.set(res);
+          executeStatements(1, 1_000_000L);
+        });
+
+    assertThat(passedResponse.get()).isSameAs(response);
+    assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isNull();
+    assertThat(response.getHeader(QueryCountFilter.SERVER_TIMING_HEADER)).isNull();
+    assertThat(statementsSummaryCount("GET " + PATTERN)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("処理が例外で終わっても、実行状況を記録してヘッダーを付ける")
+  void doFilter_recordsOnFailure() {
+    config.setResponseHeaders(true);
+    FilterChain failing =
+        (req, res) -> {
+          executeStatements(3, 1_000_000L);
+          throw new ServletException("handler failed");
+        };
+
+    assertThatThrownBy(() -> filter.doFilter(request, response, failing))
+        .isInstanceOf(ServletException.class);
+
+    assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("3");
+    assertThat(statementsSummaryCount("GET " + PATTERN)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("ハンドラーに対応しないリクエストはUNMAPPEDのエンドポイントとして記録する")
+  void doFilter_recordsUnmappedEndpoint() throws Exception {
+    filter.doFilter(request, response, (req, res) -> {});
+
+    assertThat(statementsSummaryCount("GET UNMAPPED")).isEqualTo(1);
+  }
+
+  /**
+   * ハンドラーの処理中に実行したSQLを計測先に記録し、ハンドラーのURIパターンを設定する
+   *
+   * @param count SQLの実行回数
+   * @param elapsedNanos 1回あたりの実行時間（ナノ秒）
+   */
+  private void executeStatements(int count, long elapsedNanos) {
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+    RequestQueryStats stats = QueryCountContext.current();
+    for (int i = 0; i < count; i++) {
+      stats.recordStatement(SQL, elapsedNanos);
+    }
+  }
+
+  /**
+   * エンドポイントのSQLの実行回数を記録したリクエスト数を取得する
+   *
+   * @param endpoint エンドポイント
+   * @return リクエスト数
+   */
+  private long statementsSummaryCount(String endpoint) {
+    return meterRegistry.get("db.request.statements").tag("endpoint", endpoint).summary().count();
+  }
+}
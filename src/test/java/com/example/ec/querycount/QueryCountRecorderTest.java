@@ -0,0 +1,75 @@
+package com.example.ec.querycount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.config.QueryCountConfig;
+import com.example.ec.config.TimingMetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * QueryCountRecorderのテストクラス
+ *
+ * <p>リクエストごとのSQLの実行状況の集計の単体テスト。
+ */
+class QueryCountRecorderTest {
+
+  private static final String ENDPOINT = "GET /api/v1/products/categories";
+  private static final String COUNT_SQL = "select count(*) from product where category_code = ?";
+
+  private SimpleMeterRegistry meterRegistry;
+  private QueryCountConfig config;
+  private QueryCountRecorder recorder;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    config = new QueryCountConfig();
+    recorder = new QueryCountRecorder(config, new TimingMetricsConfig(), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("同じ形のSQLを閾値以上実行したリクエストをN+1の疑いとして集計する")
+  void record_collectsRepeatedStatements() {
+    recorder.record(ENDPOINT, stats(5));
+    recorder.record(ENDPOINT, stats(3));
+    recorder.record(ENDPOINT, stats(2));
+
+    assertThat(recorder.topOffenders(10))
+        .containsExactly(new QueryCountRecorder.OffenderSummary(ENDPOINT, COUNT_SQL, 2, 8, 5));
+    assertThat(meterRegistry.get("db.request.repeated").counter().count()).isEqualTo(2.0);
+    assertThat(meterRegistry.get("db.request.statements").summary().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("db.request.statements").summary().totalAmount())
+        .isEqualTo(10.0);
+  }
+
+  @Test
+  @DisplayName("記録する箇所は上限までとする")
+  void record_capsOffenders() {
+    config.setMaxOffenders(1);
+
+    recorder.record(ENDPOINT, stats(3));
+    recorder.record("GET /api/v1/products/categories/{categoryCode}", stats(3));
+
+    List<QueryCountRecorder.OffenderSummary> offenders = recorder.topOffenders(10);
+    assertThat(offenders).hasSize(1);
+    assertThat(offenders.get(0).endpoint()).isEqualTo(ENDPOINT);
+  }
+
+  /**
+   * カテゴリごとの商品数を指定した回数取得したリクエストの実行状況を生成する
+   *
+   * @param count 実行回数
+   * @return 実行状況
+   */
+  private static RequestQueryStats stats(int count) {
+    RequestQueryStats stats = new RequestQueryStats();
+    for (int i = 0; i < count; i++) {
+      stats.recordStatement(COUNT_SQL, 1_000L);
+    }
+    return stats;
+  }
+}
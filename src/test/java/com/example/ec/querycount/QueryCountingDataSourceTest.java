@@ -0,0 +1,133 @@
+package com.example.ec.querycount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * QueryCountingDataSourceのテストクラス
+ *
+ * <p>SQLの実行を計測するDataSourceとSQLの形の正規化の単体テスト。
+ */
+class QueryCountingDataSourceTest {
+
+  private JdbcDataSource target;
+  private QueryCountingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    target = new JdbcDataSource();
+    target.setURL("jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1");
+    dataSource = new QueryCountingDataSource(target);
+    try (Connection connection = target.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS item");
+      statement.execute("CREATE TABLE item (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+      statement.execute("INSERT INTO item VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+    }
+  }
+
+  @Test
+  @DisplayName("計測中はSQLの実行回数・接続の取得回数・繰り返し実行されたSQLを記録する")
+  void getConnection_recordsStatementsWhileTracking() throws SQLException {
+    RequestQueryStats stats = new RequestQueryStats();
+
+    try (QueryCountContext.Scope scope = QueryCountContext.enter(stats);
+        Connection connection = dataSource.getConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.executeQuery("SELECT COUNT(*) FROM item").close();
+      }
+      for (long id = 1; id <= 3; id++) {
+        try (PreparedStatement statement =
+            connection.prepareStatement("SELECT name FROM item WHERE id = ?")) {
+          statement.setLong(1, id);
+          try (ResultSet rs = statement.executeQuery()) {
+            assertThat(rs.next()).isTrue();
+          }
+        }
+      }
+    }
+
+    assertThat(stats.statements()).isEqualTo(4);
+    assertThat(stats.connections()).isEqualTo(1);
+    assertThat(stats.nanos()).isPositive();
+    assertThat(stats.repeated(3))
+        .containsExactly(
+            new RequestQueryStats.RepeatedStatement("SELECT name FROM item WHERE id = ?", 3));
+    assertThat(stats.repeated(4)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("計測中でない場合はステートメントを包まない")
+  void createStatement_returnsTargetStatementWithoutTracking() throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      assertThat(Proxy.isProxyClass(statement.getClass())).isFalse();
+    }
+  }
+
+  @Test
+  @DisplayName("計測前に取得した接続でも計測中に実行したSQLを記録する")
+  void createStatement_recordsStatementsOnEarlierConnection() throws SQLException {
+    RequestQueryStats stats = new RequestQueryStats();
+
+    try (Connection connection = dataSource.getConnection()) {
+      try (QueryCountContext.Scope scope = QueryCountContext.enter(stats);
+          Statement statement = connection.createStatement()) {
+        statement.executeQuery("SELECT COUNT(*) FROM item").close();
+      }
+    }
+
+    assertThat(stats.statements()).isEqualTo(1);
+    assertThat(stats.connections()).isZero();
+  }
+
+  @Test
+  @DisplayName("入れ子の計測先のSQLと行数を外側の詳細な計測先にも記録する")
+  void enter_propagatesToEnclosingDetailedStats() throws SQLException {
+    RequestQueryStats outer = new RequestQueryStats(true);
+    RequestQueryStats inner = new RequestQueryStats();
+
+    try (QueryCountContext.Scope outerScope = QueryCountContext.enter(outer)) {
+      try (QueryCountContext.Scope innerScope = QueryCountContext.enter(inner);
+          Connection connection = dataSource.getConnection();
+          Statement statement = connection.createStatement();
+          ResultSet rs = statement.executeQuery("SELECT id FROM item WHERE id <= 2")) {
+        while (rs.next()) {
+          assertThat(rs.getLong(1)).isPositive();
+        }
+      }
+    }
+
+    assertThat(inner.statements()).isEqualTo(1);
+    assertThat(outer.statements()).isEqualTo(1);
+    assertThat(outer.connections()).isEqualTo(1);
+    assertThat(outer.rows()).isEqualTo(2);
+    assertThat(outer.executedStatements()).containsExactly("SELECT id FROM item WHERE id <= ?");
+    assertThat(QueryCountContext.current()).isNull();
+  }
+
+  @Test
+  @DisplayName("リテラルとIN句のパラメータ数の違いを同じ形に正規化する")
+  void normalize_collapsesLiteralsAndInLists() {
+    List<String> shapes =
+        List.of(
+            SqlShape.normalize("select p.id from product p\n where p.id in (?, ?, ?)"),
+            SqlShape.normalize("select p.id from product p where p.id in (?)"),
+            SqlShape.normalize("select p.id from product p where p.id in (1, 2)"));
+
+    assertThat(shapes).containsOnly("select p.id from product p where p.id in (?)");
+    assertThat(SqlShape.normalize("select * from category c1_0 where c1_0.code = 'iphone'"))
+        .isEqualTo("select * from category c1_0 where c1_0.code = ?");
+  }
+}
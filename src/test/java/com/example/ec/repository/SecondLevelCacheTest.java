@@ -0,0 +1,292 @@
+package com.example.ec.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.ec.catalog.CatalogInvalidationEvent;
+import com.example.ec.catalog.CatalogTable;
+import com.example.ec.catalog.SecondLevelCacheInvalidator;
+import com.example.ec.config.SecondLevelCacheMetricsConfig;
+import com.example.ec.entity.CacheRegions;
+import com.example.ec.entity.Campaign;
+import com.example.ec.entity.Category;
+import com.example.ec.entity.Product;
+import com.example.ec.entity.ProductCampaign;
+import com.example.ec.entity.ProductCampaignId;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 第2レベルキャッシュのテストクラス
+ *
+ * <p>カテゴリ・キャンペーン関連のエンティティ・コレクション・クエリキャッシュが効いていること、 および更新時に古いデータを返さないことを検証する。
+ * キャッシュへの格納はトランザクションのコミット時に行われるため、テスト全体をトランザクションで囲まず、操作ごとにコミットする。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private ProductRepository productRepository;
+
+  @Autowired private CampaignRepository campaignRepository;
+
+  @Autowired private ProductCampaignRepository productCampaignRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private DataSource dataSource;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    categoryRepository.save(category("iphone", "iPhone", 1));
+    categoryRepository.save(category("android", "Android", 2));
+    entityManagerFactory.getCache().evictAll();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    productCampaignRepository.deleteAll();
+    productRepository.deleteAll();
+    campaignRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("2回目のカテゴリ取得は第2レベルキャッシュから返す")
+  void category_hitAfterFirstLoad() {
+    categoryRepository.findById("iphone");
+    categoryRepository.findById("iphone");
+
+    assertThat(entityManagerFactory.getCache().contains(Category.class, "iphone")).isTrue();
+    assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.CATEGORY).getHitCount())
+        .isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("Hibernateの統計によらず、リージョン別のヒット数をJCacheのメトリクスとして公開する")
+  void regionMetrics_exposedFromJCacheStatistics() {
+    statistics.setStatisticsEnabled(false);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    new SecondLevelCacheMetricsConfig()
+        .secondLevelCacheMetrics(entityManagerFactory)
+        .bindTo(meterRegistry);
+    FunctionCounter hits =
+        meterRegistry
+            .get("cache.gets")
+            .tag("cache", CacheRegions.CATEGORY)
+            .tag("result", "hit")
+            .functionCounter();
+    double before = hits.count();
+
+    categoryRepository.findById("iphone");
+    categoryRepository.findById("iphone");
+
+    assertThat(hits.count() - before).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("カテゴリを更新するとキャッシュ済みのエントリではなく更新後の値を返す")
+  void category_updateInvalidatesEntry() {
+    Category cached = categoryRepository.findById("iphone").orElseThrow();
+    cached.setDisplayName("iPhone（更新後）");
+    categoryRepository.save(cached);
+
+    assertThat(categoryRepository.findById("iphone").orElseThrow().getDisplayName())
+        .isEqualTo("iPhone（更新後）");
+  }
+
+  @Test
+  @DisplayName("アクティブなカテゴリ一覧はクエリキャッシュから返し、カテゴリの更新で無効化される")
+  void activeCategories_queryCacheInvalidatedOnUpdate() {
+    assertThat(categoryRepository.findByIsActiveTrueOrderByDisplayOrder()).hasSize(2);
+    assertThat(categoryRepository.findByIsActiveTrueOrderByDisplayOrder()).hasSize(2);
+    assertThat(
+            statistics
+                .getQueryRegionStatistics(CacheRegions.ACTIVE_CATEGORIES_QUERY)
+                .getHitCount())
+        .isEqualTo(1L);
+
+    Category android = categoryRepository.findById("android").orElseThrow();
+    android.setIsActive(false);
+    categoryRepository.save(android);
+
+    assertThat(categoryRepository.findByIsActiveTrueOrderByDisplayOrder())
+        .extracting(Category::getCategoryCode)
+        .containsExactly("iphone");
+  }
+
+  @Test
+  @DisplayName("商品のキャンペーン関連コレクションをキャッシュし、関連の追加で無効化される")
+  void productCampaigns_collectionCacheInvalidatedOnAdd() {
+    Long productId = saveProduct();
+    Campaign spring = campaignRepository.save(campaign("SPRING"));
+    Campaign summer = campaignRepository.save(campaign("SUMMER"));
+    link(productId, spring);
+
+    assertThat(campaignCodes(productId)).containsExactly("SPRING");
+    assertThat(campaignCodes(productId)).containsExactly("SPRING");
+    assertThat(
+            statistics
+                .getCollectionStatistics(Product.class.getName() + ".productCampaigns")
+                .getCacheHitCount())
+        .isEqualTo(1L);
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              Product product = productRepository.findById(productId).orElseThrow();
+              ProductCampaign productCampaign =
+                  ProductCampaign.builder()
+                      .id(new ProductCampaignId(productId, summer.getId()))
+                      .product(product)
+                      .campaign(campaignRepository.getReferenceById(summer.getId()))
+                      .build();
+              product.getProductCampaigns().add(productCampaign);
+            });
+
+    assertThat(campaignCodes(productId)).containsExactlyInAnyOrder("SPRING", "SUMMER");
+  }
+
+  @Test
+  @DisplayName("SQLで直接更新された行は変更通知のイベントを受けるまでキャッシュの値が残り、受けた後は読み直す")
+  void invalidator_evictsExternalUpdate() throws SQLException {
+    categoryRepository.findById("iphone");
+    updateDisplayNameDirectly("iphone", "iPhone（直接更新）");
+
+    assertThat(categoryRepository.findById("iphone").orElseThrow().getDisplayName())
+        .isEqualTo("iPhone");
+
+    new SecondLevelCacheInvalidator(entityManagerFactory)
+        .onCatalogInvalidation(
+            new CatalogInvalidationEvent(
+                1L, CatalogTable.CATEGORIES, CatalogInvalidationEvent.Operation.UPDATE, "iphone"));
+
+    assertThat(categoryRepository.findById("iphone").orElseThrow().getDisplayName())
+        .isEqualTo("iPhone（直接更新）");
+  }
+
+  /**
+   * テスト用のカテゴリを生成する
+   *
+   * @param categoryCode カテゴリコード
+   * @param displayName 表示名
+   * @param displayOrder 表示順
+   * @return カテゴリ
+   */
+  private Category category(String categoryCode, String displayName, int displayOrder) {
+    return Category.builder()
+        .categoryCode(categoryCode)
+        .displayName(displayName)
+        .displayOrder(displayOrder)
+        .isActive(true)
+        .build();
+  }
+
+  /**
+   * テスト用のキャンペーンを生成する
+   *
+   * @param campaignCode キャンペーンコード
+   * @return キャンペーン
+   */
+  private Campaign campaign(String campaignCode) {
+    return Campaign.builder()
+        .campaignCode(campaignCode)
+        .campaignName(campaignCode + "キャンペーン")
+        .isActive(true)
+        .build();
+  }
+
+  /**
+   * テスト用の商品を保存する
+   *
+   * @return 商品ID
+   */
+  private Long saveProduct() {
+    Product product =
+        Product.builder()
+            .name("iPhone 15")
+            .price(new BigDecimal("124800"))
+            .category(categoryRepository.findById("iphone").orElseThrow())
+            .isActive(true)
+            .build();
+    return productRepository.save(product).getId();
+  }
+
+  /**
+   * 商品とキャンペーンを関連付ける
+   *
+   * @param productId 商品ID
+   * @param campaign キャンペーン
+   */
+  private void link(Long productId, Campaign campaign) {
+    productCampaignRepository.save(
+        ProductCampaign.builder()
+            .id(new ProductCampaignId(productId, campaign.getId()))
+            .product(productRepository.findById(productId).orElseThrow())
+            .campaign(campaign)
+            .build());
+  }
+
+  /**
+   * 新しいセッションで商品のキャンペーンコードを取得する
+   *
+   * @param productId 商品ID
+   * @return キャンペーンコード
+   */
+  private List<String> campaignCodes(Long productId) {
+    return new TransactionTemplate(transactionManager)
+        .execute(
+            status ->
+                productRepository.findById(productId).orElseThrow().getProductCampaigns().stream()
+                    .map(productCampaign -> productCampaign.getCampaign().getCampaignCode())
+                    .toList());
+  }
+
+  /**
+   * Hibernateを経由せずにカテゴリの表示名を更新する（他ノードやSQLによる直接更新の再現）
+   *
+   * @param categoryCode カテゴリコード
+   * @param displayName 表示名
+   * @throws SQLException 更新エラー
+   */
+  private void updateDisplayNameDirectly(String categoryCode, String displayName)
+      throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement(
+                "UPDATE categories SET display_name = ? WHERE category_code = ?")) {
+      statement.setString(1, displayName);
+      statement.setString(2, categoryCode);
+      statement.executeUpdate();
+    }
+  }
+}
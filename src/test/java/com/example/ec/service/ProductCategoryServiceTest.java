@@ -5,8 +5,19 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.example.ec.catalog.CatalogData;
+import com.example.ec.catalog.CatalogFilter;
+import com.example.ec.catalog.CatalogSearchCache;
+import com.example.ec.catalog.CatalogSearchKey;
+import com.example.ec.catalog.CatalogSingleFlight;
+import com.example.ec.catalog.CatalogSnapshot;
+import com.example.ec.catalog.InMemoryCatalogEngine;
+import com.example.ec.datasource.PrimaryReadContext;
 import com.example.ec.dto.CategoryDetailRequest;
 import com.example.ec.dto.CategoryDetailResponse;
 import com.example.ec.dto.CategoryListResponse;
@@ -15,24 +26,31 @@ import com.example.ec.entity.Category;
 import com.example.ec.entity.Product;
 import com.example.ec.entity.ProductVariant;
 import com.example.ec.exception.CategoryNotFoundException;
+import com.example.ec.metrics.CatalogRequestMetrics;
+import com.example.ec.repository.CatalogJdbcReadRepository;
 import com.example.ec.repository.CategoryRepository;
 import com.example.ec.repository.ProductRepository;
 import com.example.ec.repository.ProductVariantRepository;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * ProductCategoryServiceのテストクラス
@@ -48,7 +66,19 @@ class ProductCategoryServiceTest {
 
   @Mock private ProductVariantRepository productVariantRepository;
 
-  @InjectMocks private ProductCategoryService productCategoryService;
+  @Mock private ObjectProvider<InMemoryCatalogEngine> catalogEngineProvider;
+
+  @Mock private ObjectProvider<CatalogSearchCache> searchCacheProvider;
+
+  @Mock private ObjectProvider<CatalogSingleFlight> singleFlightProvider;
+
+  @Mock private ObjectProvider<CatalogJdbcReadRepository> jdbcReadRepositoryProvider;
+
+  @Mock private ObjectProvider<CatalogRequestMetrics> requestMetricsProvider;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private ProductCategoryService productCategoryService;
 
   private Category testCategory;
   private Product testProduct;
@@ -56,6 +86,18 @@ class ProductCategoryServiceTest {
 
   @BeforeEach
   void setUp() {
+    productCategoryService =
+        new ProductCategoryService(
+            categoryRepository,
+            productRepository,
+            productVariantRepository,
+            catalogEngineProvider,
+            searchCacheProvider,
+            singleFlightProvider,
+            jdbcReadRepositoryProvider,
+            requestMetricsProvider,
+            transactionManager);
+
     testCategory =
         Category.builder()
             .categoryCode("iphone")
@@ -144,6 +186,109 @@ class ProductCategoryServiceTest {
     assertThat(response.getData().getProducts().get(0).getProductName()).isEqualTo("iPhone 15 Pro");
   }
 
+  @Test
+  @DisplayName("カテゴリ詳細取得: インメモリカタログエンジンから取得")
+  void getCategoryDetail_fromInMemoryEngine() {
+    CatalogData data =
+        new CatalogData(
+            List.of(new CatalogData.CategoryRow("iphone", "iPhone", null, null, 1)),
+            List.of(
+                new CatalogData.ProductRow(
+                    1L,
+                    "iPhone 15 Pro",
+                    "最新のiPhone",
+                    new BigDecimal("159800.00"),
+                    "iphone",
+                    Instant.now())),
+            List.of(),
+            List.of(),
+            List.of());
+    InMemoryCatalogEngine engine = mock(InMemoryCatalogEngine.class);
+    when(catalogEngineProvider.getIfAvailable()).thenReturn(engine);
+    when(engine.currentSnapshot()).thenReturn(Optional.of(CatalogSnapshot.build(data, 1L)));
+
+    CategoryDetailRequest request =
+        CategoryDetailRequest.builder().page(0).size(20).sort("price").order("desc").build();
+
+    CategoryDetailResponse response = productCategoryService.getCategoryDetail("iphone", request);
+
+    assertThat(response.getSuccess()).isTrue();
+    assertThat(response.getData().getCategory().getCategoryCode()).isEqualTo("iphone");
+    assertThat(response.getData().getProducts()).hasSize(1);
+    assertThat(response.getData().getMeta().getPagination().getTotal()).isEqualTo(1L);
+    assertThat(response.getData().getMeta().getPagination().getPages()).isEqualTo(1);
+    verifyNoInteractions(categoryRepository, productRepository, productVariantRepository);
+  }
+
+  @Test
+  @DisplayName("カテゴリ詳細取得: インメモリカタログエンジンで絞り込みとファセット集計")
+  void getCategoryDetail_fromInMemoryEngineWithFilter() {
+    CatalogData data =
+        new CatalogData(
+            List.of(new CatalogData.CategoryRow("iphone", "iPhone", null, null, 1)),
+            List.of(
+                new CatalogData.ProductRow(
+                    1L, "iPhone 15", null, new BigDecimal("124800.00"), "iphone", Instant.now()),
+                new CatalogData.ProductRow(
+                    2L,
+                    "iPhone 15 Pro",
+                    null,
+                    new BigDecimal("159800.00"),
+                    "iphone",
+                    Instant.now())),
+            List.of(
+                new CatalogData.VariantRow(
+                    10L, 1L, "Apple", "iPhone 15", "128GB", "#000000", "ブラック", List.of()),
+                new CatalogData.VariantRow(
+                    20L, 2L, "Apple", "iPhone 15 Pro", "256GB", "#FFFFFF", "ホワイト", List.of())),
+            List.of(),
+            List.of());
+    InMemoryCatalogEngine engine = mock(InMemoryCatalogEngine.class);
+    when(catalogEngineProvider.getIfAvailable()).thenReturn(engine);
+    when(engine.currentSnapshot()).thenReturn(Optional.of(CatalogSnapshot.build(data, 1L)));
+
+    CategoryDetailRequest request =
+        CategoryDetailRequest.builder().storageCapacity(List.of("256GB")).build();
+
+    CategoryDetailResponse response = productCategoryService.getCategoryDetail("iphone", request);
+
+    assertThat(response.getData().getProducts())
+        .extracting(CategoryDetailResponse.ProductItem::getProductId)
+        .containsExactly(2L);
+    assertThat(response.getData().getMeta().getPagination().getTotal()).isEqualTo(1L);
+    CategoryDetailResponse.Facets facets = response.getData().getMeta().getFacets();
+    assertThat(facets.getStorageCapacity())
+        .extracting(CategoryDetailResponse.FacetValue::getValue)
+        .containsExactly("128GB", "256GB");
+    assertThat(facets.getManufacturer().get(0).getCount()).isEqualTo(1);
+    assertThat(facets.getPrice().getMin()).isEqualByComparingTo("159800");
+    verifyNoInteractions(categoryRepository, productRepository, productVariantRepository);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  @DisplayName("カテゴリ詳細取得: エンジン無効時はDBで絞り込む")
+  void getCategoryDetail_withFilterFromDatabase() {
+    CategoryDetailRequest request =
+        CategoryDetailRequest.builder()
+            .manufacturer(List.of("Apple"))
+            .minPrice(new BigDecimal("100000"))
+            .build();
+
+    Page<Product> productPage = new PageImpl<>(List.of(testProduct));
+
+    when(categoryRepository.findActiveCategoryByCode("iphone"))
+        .thenReturn(Optional.of(testCategory));
+    when(productRepository.findAll(any(Specification.class), any(Pageable.class)))
+        .thenReturn(productPage);
+    when(productVariantRepository.findByProductIds(anyList())).thenReturn(List.of(testVariant));
+
+    CategoryDetailResponse response = productCategoryService.getCategoryDetail("iphone", request);
+
+    assertThat(response.getData().getProducts()).hasSize(1);
+    assertThat(response.getData().getMeta().getFacets()).isNull();
+  }
+
   @Test
   @DisplayName("カテゴリ詳細取得: キーワード検索")
   void getCategoryDetail_withKeyword() {
@@ -171,6 +316,93 @@ class ProductCategoryServiceTest {
     assertThat(response.getData().getProducts()).hasSize(1);
   }
 
+  @Test
+  @DisplayName("カテゴリ詳細取得: キーワードはキャッシュのキーでだけ小文字化し、DBにはそのまま渡す")
+  void getCategoryDetail_keywordPassedRawToDatabase() {
+    CategoryDetailRequest request =
+        CategoryDetailRequest.builder()
+            .keyword(" Ｐｒｏ ")
+            .page(0)
+            .size(20)
+            .sort("name")
+            .order("asc")
+            .build();
+    CatalogSearchCache searchCache = mock(CatalogSearchCache.class);
+    when(searchCacheProvider.getIfAvailable()).thenReturn(searchCache);
+    when(searchCache.get(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Supplier<CatalogSearchCache.SearchPage> loader = invocation.getArgument(1);
+              return new CatalogSearchCache.Lookup(loader.get(), false, false);
+            });
+    when(categoryRepository.findActiveCategoryByCode("iphone"))
+        .thenReturn(Optional.of(testCategory));
+    when(productRepository.findByCategoryCodeAndKeyword(
+            eq("iphone"), eq(" Ｐｒｏ "), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(testProduct)));
+    when(productVariantRepository.findByProductIds(anyList())).thenReturn(List.of(testVariant));
+
+    CategoryDetailResponse response = productCategoryService.getCategoryDetail("iphone", request);
+
+    assertThat(response.getData().getProducts()).hasSize(1);
+    ArgumentCaptor<CatalogSearchKey> key = ArgumentCaptor.forClass(CatalogSearchKey.class);
+    verify(searchCache).get(key.capture(), any());
+    assertThat(key.getValue().keyword()).isEqualTo(" ｐｒｏ ");
+  }
+
+  @Test
+  @DisplayName("カテゴリ詳細取得: 検索結果キャッシュに入れる結果はプライマリからの読み取りとして検索する")
+  void getCategoryDetail_cacheFillReadsFromPrimary() {
+    CategoryDetailRequest request =
+        CategoryDetailRequest.builder().page(0).size(20).sort("name").order("asc").build();
+    CatalogSearchCache searchCache = mock(CatalogSearchCache.class);
+    when(searchCacheProvider.getIfAvailable()).thenReturn(searchCache);
+    when(searchCache.get(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Supplier<CatalogSearchCache.SearchPage> loader = invocation.getArgument(1);
+              return new CatalogSearchCache.Lookup(loader.get(), false, false);
+            });
+    List<Boolean> primaryReads = new ArrayList<>();
+    when(categoryRepository.findActiveCategoryByCode("iphone"))
+        .thenAnswer(
+            invocation -> {
+              primaryReads.add(PrimaryReadContext.isActive());
+              return Optional.of(testCategory);
+            });
+    when(productRepository.findByCategoryCodeAndIsActiveTrue(eq("iphone"), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(testProduct)));
+    when(productVariantRepository.findByProductIds(anyList())).thenReturn(List.of(testVariant));
+
+    productCategoryService.getCategoryDetail("iphone", request);
+
+    assertThat(primaryReads).containsExactly(true);
+    assertThat(PrimaryReadContext.isActive()).isFalse();
+  }
+
+  @Test
+  @DisplayName("カテゴリ詳細取得: 期限切れのキャッシュから返した場合はメタ情報にstaleを設定する")
+  void getCategoryDetail_staleFromCache() {
+    CategoryDetailRequest request =
+        CategoryDetailRequest.builder().page(0).size(20).sort("name").order("asc").build();
+    CatalogSearchCache searchCache = mock(CatalogSearchCache.class);
+    CatalogSearchCache.SearchPage searchPage =
+        new CatalogSearchCache.SearchPage(
+            CategoryDetailResponse.CategoryInfo.builder().categoryCode("iphone").build(),
+            List.of(),
+            0L,
+            0,
+            Long.MAX_VALUE);
+    when(searchCacheProvider.getIfAvailable()).thenReturn(searchCache);
+    when(searchCache.get(any(), any()))
+        .thenReturn(new CatalogSearchCache.Lookup(searchPage, true, false));
+
+    CategoryDetailResponse response = productCategoryService.getCategoryDetail("iphone", request);
+
+    assertThat(response.getData().getMeta().isStale()).isTrue();
+    assertThat(response.getData().getCategory().getCategoryCode()).isEqualTo("iphone");
+  }
+
   @Test
   @DisplayName("カテゴリ詳細取得: カテゴリが見つからない場合")
   void getCategoryDetail_notFound() {
@@ -183,6 +415,74 @@ class ProductCategoryServiceTest {
         .hasMessageContaining("invalid");
   }
 
+  @Test
+  @DisplayName("カテゴリ一覧取得: JDBC読み取りリポジトリ有効時は商品数を1回のクエリで取得する")
+  void getCategories_fromJdbcReadRepository() {
+    CatalogJdbcReadRepository jdbcReadRepository = mock(CatalogJdbcReadRepository.class);
+    when(jdbcReadRepositoryProvider.getIfAvailable()).thenReturn(jdbcReadRepository);
+    when(jdbcReadRepository.findActiveCategorySummaries())
+        .thenReturn(
+            List.of(
+                new CatalogJdbcReadRepository.CategorySummary(
+                    new CatalogData.CategoryRow(
+                        "iphone", "iPhone", "https://example.com/iphone.jpg", "最新のiPhone", 1),
+                    10L)));
+
+    CategoryListResponse response = productCategoryService.getCategories();
+
+    assertThat(response.getData()).hasSize(1);
+    assertThat(response.getData().get(0).getCategoryCode()).isEqualTo("iphone");
+    assertThat(response.getData().get(0).getProductCount()).isEqualTo(10L);
+    verifyNoInteractions(categoryRepository, productRepository);
+  }
+
+  @Test
+  @DisplayName("カテゴリ詳細取得: JDBC読み取りリポジトリ有効時は行を直接DTOに変換する")
+  void getCategoryDetail_fromJdbcReadRepository() {
+    CatalogJdbcReadRepository jdbcReadRepository = mock(CatalogJdbcReadRepository.class);
+    when(jdbcReadRepositoryProvider.getIfAvailable()).thenReturn(jdbcReadRepository);
+    CategoryDetailRequest request =
+        CategoryDetailRequest.builder().page(0).size(20).sort("createdAt").order("desc").build();
+    CatalogData.ProductRow product =
+        new CatalogData.ProductRow(
+            1L, "iPhone 15 Pro", "最新のiPhone", new BigDecimal("159800"), "iphone", Instant.now());
+    when(jdbcReadRepository.findActiveCategory("iphone"))
+        .thenReturn(Optional.of(new CatalogData.CategoryRow("iphone", "iPhone", null, null, 1)));
+    when(jdbcReadRepository.findProductPage(
+            "iphone", "", CatalogFilter.none(), "created_at", true, 0, 20))
+        .thenReturn(new CatalogJdbcReadRepository.ProductPage(List.of(product), 21L));
+    when(jdbcReadRepository.findVariants(List.of(1L)))
+        .thenReturn(
+            List.of(
+                new CatalogData.VariantRow(
+                    1L,
+                    1L,
+                    "Apple",
+                    "iPhone 15 Pro",
+                    "256GB",
+                    "#000000",
+                    "ブラック",
+                    List.of("https://example.com/iphone15pro.jpg"))));
+    Instant now = Instant.now();
+    when(jdbcReadRepository.findCampaignBadges(eq(List.of(1L)), any(Instant.class)))
+        .thenReturn(
+            List.of(
+                new CatalogJdbcReadRepository.CampaignBadgeRow(
+                    1L, "SPRING", "春の特価", now.minus(1, ChronoUnit.DAYS), null),
+                new CatalogJdbcReadRepository.CampaignBadgeRow(
+                    1L, "SUMMER", "夏の特価", now.plus(1, ChronoUnit.DAYS), null)));
+
+    CategoryDetailResponse response = productCategoryService.getCategoryDetail("iphone", request);
+
+    CategoryDetailResponse.ProductItem item = response.getData().getProducts().get(0);
+    assertThat(item.getManufacturer()).isEqualTo("Apple");
+    assertThat(item.getImageUrls()).containsExactly("https://example.com/iphone15pro.jpg");
+    assertThat(item.getCampaigns()).extracting("campaignCode").containsExactly("SPRING");
+    assertThat(response.getData().getMeta().getPagination().getTotal()).isEqualTo(21L);
+    assertThat(response.getData().getMeta().getPagination().getPages()).isEqualTo(2);
+    verifyNoInteractions(categoryRepository, productRepository, productVariantRepository);
+  }
+
   @Test
   @DisplayName("おすすめ商品取得: 正常系")
   void getRecommendations_success() {
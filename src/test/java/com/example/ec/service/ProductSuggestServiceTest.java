@@ -0,0 +1,82 @@
+package com.example.ec.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.ec.catalog.CatalogSuggestIndex;
+import com.example.ec.dto.CategorySuggestRequest;
+import com.example.ec.dto.CategorySuggestResponse;
+import com.example.ec.entity.Category;
+import com.example.ec.exception.CategoryNotFoundException;
+import com.example.ec.repository.CategoryRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * ProductSuggestServiceのテストクラス
+ *
+ * <p>商品入力補完サービスの単体テスト。
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestServiceTest {
+
+  @Mock private ObjectProvider<CatalogSuggestIndex> catalogSuggestIndexProvider;
+
+  @Mock private CatalogSuggestIndex catalogSuggestIndex;
+
+  @Mock private CategoryRepository categoryRepository;
+
+  private ProductSuggestService productSuggestService;
+  private CategorySuggestRequest request;
+
+  @BeforeEach
+  void setUp() {
+    productSuggestService =
+        new ProductSuggestService(catalogSuggestIndexProvider, categoryRepository);
+    request = CategorySuggestRequest.builder().q("iph").build();
+  }
+
+  @Test
+  @DisplayName("インデックスがある場合はDBにアクセスせずインデックスの候補を返す")
+  void getSuggestions_fromIndex() {
+    when(catalogSuggestIndexProvider.getIfAvailable()).thenReturn(catalogSuggestIndex);
+    when(catalogSuggestIndex.suggest("iphone", "iph", 10))
+        .thenReturn(Optional.of(List.of("iPhone 15", "iPhone 15 Pro")));
+
+    CategorySuggestResponse response = productSuggestService.getSuggestions("iphone", request);
+
+    assertThat(response.getData().getSuggestions()).containsExactly("iPhone 15", "iPhone 15 Pro");
+    verifyNoInteractions(categoryRepository);
+  }
+
+  @Test
+  @DisplayName("インデックスがない場合、存在するカテゴリには空の候補を返す")
+  void getSuggestions_withoutIndexReturnsEmpty() {
+    when(catalogSuggestIndexProvider.getIfAvailable()).thenReturn(null);
+    when(categoryRepository.findActiveCategoryByCode("iphone"))
+        .thenReturn(Optional.of(Category.builder().categoryCode("iphone").build()));
+
+    CategorySuggestResponse response = productSuggestService.getSuggestions("iphone", request);
+
+    assertThat(response.getData().getSuggestions()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("インデックスがない場合も、存在しないカテゴリではCategoryNotFoundExceptionをスローする")
+  void getSuggestions_withoutIndexUnknownCategory() {
+    when(catalogSuggestIndexProvider.getIfAvailable()).thenReturn(null);
+    when(categoryRepository.findActiveCategoryByCode("unknown")).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> productSuggestService.getSuggestions("unknown", request))
+        .isInstanceOf(CategoryNotFoundException.class);
+  }
+}